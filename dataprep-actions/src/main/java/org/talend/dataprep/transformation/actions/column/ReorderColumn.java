@@ -13,6 +13,7 @@
 
 package org.talend.dataprep.transformation.actions.column;
 
+import static org.talend.dataprep.api.action.ActionDefinition.Behavior.METADATA_CHANGE_ROW;
 import static org.talend.dataprep.api.action.ActionDefinition.Behavior.VALUES_COLUMN;
 
 import java.util.*;
@@ -164,7 +165,7 @@ public class ReorderColumn extends AbstractActionMetadata implements DataSetActi
 
     @Override
     public Set<Behavior> getBehavior() {
-        return EnumSet.of(VALUES_COLUMN);
+        return EnumSet.of(VALUES_COLUMN, METADATA_CHANGE_ROW);
     }
 
 }
@@ -170,12 +170,13 @@ public class Lookup extends AbstractActionMetadata implements DataSetAction {
     }
 
     /**
-     * Return the list of columns to merge in the result from the parameters.
+     * Return the list of columns to merge in the result from the parameters (also used by row matchers to only load
+     * these columns).
      *
      * @param parameters the action parameters.
      * @return the list of columns to merge.
      */
-    private List<LookupSelectedColumnParameter> getColsToAdd(Map<String, String> parameters) {
+    public static List<LookupSelectedColumnParameter> getColsToAdd(Map<String, String> parameters) {
         List<LookupSelectedColumnParameter> result;
         try {
             final String cols = parameters.get(LOOKUP_SELECTED_COLS.getKey());
@@ -16,7 +16,7 @@ package org.talend.dataprep.transformation.actions.datablending;
 /**
  * Parameter used by the lookup action used to select the columns to add.
  */
-class LookupSelectedColumnParameter {
+public class LookupSelectedColumnParameter {
 
     /** The column id to add. */
     private String id;
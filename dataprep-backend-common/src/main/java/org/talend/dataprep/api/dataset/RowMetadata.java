@@ -28,6 +28,7 @@ import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.talend.dataprep.api.dataset.json.ColumnContextDeserializer;
+import org.talend.dataprep.api.dataset.row.ColumnSlots;
 import org.talend.dataprep.api.dataset.row.Flag;
 import org.talend.dataprep.api.dataset.row.RowMetadataUtils;
 
@@ -55,6 +56,9 @@ public class RowMetadata implements Serializable {
 
     private int nextId = 0;
 
+    /** Slots of column ids for rows described by this metadata (shared with clones of this metadata). */
+    private transient ColumnSlots slots;
+
     /**
      * Default empty constructor.
      */
@@ -71,6 +75,17 @@ public class RowMetadata implements Serializable {
         setColumns(columns);
     }
 
+    /**
+     * @return The slots of column ids used by rows described by this metadata. Slots are shared between this metadata
+     * and its {@link #clone() clones}.
+     */
+    public synchronized ColumnSlots slots() {
+        if (slots == null) {
+            slots = new ColumnSlots();
+        }
+        return slots;
+    }
+
     /**
      * @return The metadata of this row's columns.
      */
@@ -299,6 +314,7 @@ public class RowMetadata implements Serializable {
         columns.forEach(col -> copyColumns.add(ColumnMetadata.Builder.column().copy(col).build()));
         final RowMetadata clone = new RowMetadata(new ArrayList<>(copyColumns));
         clone.nextId = nextId;
+        clone.slots = slots();
         return clone;
     }
 
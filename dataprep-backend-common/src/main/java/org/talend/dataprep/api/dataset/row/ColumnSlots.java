@@ -0,0 +1,130 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.api.dataset.row;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * <p>
+ * Resolves column ids to integer slots: {@link DataSetRow} keeps its values in an array indexed by these slots instead
+ * of a map keyed by column id.
+ * </p>
+ * <p>
+ * Slots are only added (a slot is never reused for another column id), so the same instance can be shared by all rows
+ * of a data set and by all the {@link org.talend.dataprep.api.dataset.RowMetadata metadata} derived from the original
+ * one. Instances are thread safe.
+ * </p>
+ */
+public final class ColumnSlots implements Serializable {
+
+    /** Serialization UID. */
+    private static final long serialVersionUID = 1L;
+
+    /** Slot for each column id. */
+    private final Map<String, Integer> slots = new ConcurrentHashMap<>();
+
+    /** Column id for each slot. */
+    private volatile String[] ids = new String[16];
+
+    /** Number of slots. */
+    private volatile int size;
+
+    /** Slots sorted by column id (cached, computed again when slots are added). */
+    private volatile int[] sortedSlots = new int[0];
+
+    /**
+     * @param id A column id.
+     * @return The slot of the column id (a new slot is created if column id has none).
+     */
+    public int slot(String id) {
+        final Integer slot = slots.get(id);
+        if (slot != null) {
+            return slot;
+        }
+        return add(id);
+    }
+
+    /**
+     * @param id A column id.
+     * @return The slot of the column id or <code>-1</code> if column id has no slot.
+     */
+    public int find(String id) {
+        if (id == null) {
+            return -1;
+        }
+        final Integer slot = slots.get(id);
+        return slot == null ? -1 : slot;
+    }
+
+    /**
+     * @param slot A slot returned by {@link #slot(String)}.
+     * @return The column id for the slot.
+     */
+    public String id(int slot) {
+        return ids[slot];
+    }
+
+    /**
+     * @return The number of slots.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return All slots ordered by column id (returned array must not be modified).
+     */
+    int[] sortedSlots() {
+        final int[] sorted = sortedSlots;
+        if (sorted.length == size) {
+            return sorted;
+        }
+        synchronized (this) {
+            final String[] currentIds = ids;
+            final int currentSize = size;
+            if (sortedSlots.length != currentSize) {
+                sortedSlots = IntStream.range(0, currentSize) //
+                        .boxed() //
+                        .sorted(Comparator.comparing(slot -> currentIds[slot])) //
+                        .mapToInt(Integer::intValue) //
+                        .toArray();
+            }
+            return sortedSlots;
+        }
+    }
+
+    private synchronized int add(String id) {
+        if (id == null) {
+            throw new IllegalArgumentException("Column id cannot be null.");
+        }
+        final Integer existing = slots.get(id);
+        if (existing != null) {
+            return existing;
+        }
+        final int slot = size;
+        if (slot == ids.length) {
+            ids = Arrays.copyOf(ids, slot * 2);
+        }
+        ids[slot] = id;
+        size = slot + 1;
+        // Publish slot once column id is readable with id(int)
+        slots.put(id, slot);
+        return slot;
+    }
+}
@@ -14,15 +14,14 @@
 package org.talend.dataprep.api.dataset.row;
 
 import static java.util.stream.Collectors.joining;
-import static java.util.stream.StreamSupport.stream;
 import static org.talend.dataprep.api.dataset.row.FlagNames.INTERNAL_PROPERTY_PREFIX;
 import static org.talend.dataprep.api.dataset.row.FlagNames.TDP_INVALID;
 
 import java.io.Serializable;
 import java.util.*;
+import java.util.function.BiConsumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import org.apache.commons.lang.StringUtils;
 import org.talend.dataprep.api.dataset.ColumnMetadata;
@@ -30,7 +29,14 @@ import org.talend.dataprep.api.dataset.RowMetadata;
 import org.talend.dataprep.api.type.Type;
 
 /**
+ * <p>
  * A DataSetRow is a row of a dataset. Values in data set row are <b>alphabetically</b> ordered by name.
+ * </p>
+ * <p>
+ * Values are stored in an array indexed by the {@link ColumnSlots slots} of the column ids (slots are shared with the
+ * {@link RowMetadata#slots() row metadata}), and {@link #clone() clones} share this array until one of them is
+ * modified.
+ * </p>
  */
 public class DataSetRow implements Cloneable, Serializable {
 
@@ -50,8 +56,32 @@ public class DataSetRow implements Cloneable, Serializable {
     /** Metadata information (columns...) about this DataSetRow */
     private RowMetadata rowMetadata;
 
-    /** Values of the dataset row. */
-    private Map<String, String> values = new TreeMap<>();
+    /** Empty values (before first value is set). */
+    private static final Object[] NO_VALUES = new Object[0];
+
+    /** Empty invalid column ids (before first column is marked as invalid). */
+    private static final Set<String> NO_INVALID_COLUMN_IDS = Collections.emptySet();
+
+    /** Slots of column ids in {@link #values}. */
+    private ColumnSlots slots;
+
+    /**
+     * Values of the dataset row indexed by column slot: <code>null</code> when row has no value for the column,
+     * {@link NullValue#INSTANCE} when the value is <code>null</code>.
+     */
+    private Object[] values = NO_VALUES;
+
+    /** Number of values in this row. */
+    private int valueCount;
+
+    /** Slots of values in iteration order, <code>null</code> if values are iterated in column id order. */
+    private int[] order;
+
+    /** Number of slots in {@link #order}. */
+    private int orderSize;
+
+    /** True if {@link #values} is shared with a clone (and must be copied before a change). */
+    private boolean shared;
 
     /** True if this row is deleted. */
     private boolean deleted;
@@ -62,14 +92,18 @@ public class DataSetRow implements Cloneable, Serializable {
     /** Row id */
     private Long rowId;
 
-    /** A structure to speed up invalid related operations */
-    private final Set<String> invalidColumnIds = new HashSet<>();
+    /** A structure to speed up invalid related operations (see {@link #writableInvalidColumnIds()} for changes). */
+    private Set<String> invalidColumnIds = NO_INVALID_COLUMN_IDS;
+
+    /** True if {@link #invalidColumnIds} is shared with a clone (and must be copied before a change). */
+    private boolean invalidShared;
 
     /**
      * Constructor with values.
      */
     public DataSetRow(RowMetadata rowMetadata) {
         this.rowMetadata = rowMetadata;
+        this.slots = rowMetadata == null ? new ColumnSlots() : rowMetadata.slots();
         this.deleted = false;
     }
 
@@ -84,6 +118,7 @@ public class DataSetRow implements Cloneable, Serializable {
     }
 
     public DataSetRow(Map<String, String> values) {
+        slots = new ColumnSlots();
         for (Map.Entry<String, String> entry : values.entrySet()) {
             set(entry.getKey(), entry.getValue());
         }
@@ -113,11 +148,11 @@ public class DataSetRow implements Cloneable, Serializable {
     public DataSetRow set(final String id, final String value) {
         if (TDP_INVALID.equals(id)) {
             final List<String> ids = Arrays.asList(value.split(","));
-            invalidColumnIds.addAll(ids);
+            writableInvalidColumnIds().addAll(ids);
         } else if (FlagNames.TDP_ID.equals(id)) {
             setTdpId(Long.parseLong(value));
         } else {
-            values.put(id, value);
+            put(id, value);
         }
 
         return this;
@@ -133,7 +168,7 @@ public class DataSetRow implements Cloneable, Serializable {
         if (StringUtils.startsWith(id, INTERNAL_PROPERTY_PREFIX)) {
             return getInternalValues().get(id);
         } else {
-            return values.get(id);
+            return value(slots.find(id));
         }
     }
 
@@ -170,25 +205,26 @@ public class DataSetRow implements Cloneable, Serializable {
      */
     public Map<String, Object> values() {
 
-        final Map<String, Object> result = new LinkedHashMap<>(values.size() + 1);
+        final Map<String, Object> result = new LinkedHashMap<>(valueCount + 2);
 
         // put all invalid column ids
         getInternalValues().entrySet().forEach(e -> {
             if (!StringUtils.isEmpty(e.getValue())) {
-                values.put(e.getKey(), e.getValue());
+                put(e.getKey(), e.getValue());
             }
         });
 
         // if not old value, no diff to compute
         if (this.oldValue == null) {
-            result.putAll(values);
+            forEach(result::put);
             return result;
         }
 
+        final Map<String, String> currentValues = asMap();
         // row is no more deleted : we write row values with the *NEW* flag
         if (oldValue.isDeleted() && !isDeleted()) {
             result.put(FlagNames.ROW_DIFF_KEY, Flag.NEW.getValue());
-            result.putAll(values);
+            result.putAll(currentValues);
         }
         // row has been deleted : we write row values with the *DELETED* flag
         else if (!oldValue.isDeleted() && isDeleted()) {
@@ -203,7 +239,7 @@ public class DataSetRow implements Cloneable, Serializable {
         final Map<String, Object> originalValues = oldValue.values();
 
         // compute the new value (column is not found in old value)
-        values.entrySet().forEach(entry -> {
+        currentValues.entrySet().forEach(entry -> {
             if (!originalValues.containsKey(entry.getKey())) {
                 diff.put(entry.getKey(), Flag.NEW.getValue());
             }
@@ -211,7 +247,7 @@ public class DataSetRow implements Cloneable, Serializable {
 
         // compute the deleted values (column is deleted)
         originalValues.entrySet().forEach(entry -> {
-            if (!values.containsKey(entry.getKey())) {
+            if (!currentValues.containsKey(entry.getKey())) {
                 diff.put(entry.getKey(), Flag.DELETE.getValue());
                 // put back the original entry so that the value can be displayed
                 set(entry.getKey(), (String) entry.getValue());
@@ -219,7 +255,7 @@ public class DataSetRow implements Cloneable, Serializable {
         });
 
         // compute the update values (column is still here but value is different)
-        values.entrySet().forEach(entry -> {
+        currentValues.entrySet().forEach(entry -> {
             if (originalValues.containsKey(entry.getKey())) {
                 final Object originalValue = originalValues.get(entry.getKey());
                 if (!StringUtils.equals(entry.getValue(), (String) originalValue)) {
@@ -228,7 +264,8 @@ public class DataSetRow implements Cloneable, Serializable {
             }
         });
 
-        result.putAll(values);
+        // deleted values were put back in row
+        forEach(result::put);
         if (!diff.isEmpty()) {
             result.put(FlagNames.DIFF_KEY, diff);
         }
@@ -252,8 +289,20 @@ public class DataSetRow implements Cloneable, Serializable {
         deleted = false;
         oldValue = null;
         rowId = null;
-        values.clear();
-        invalidColumnIds.clear();
+        if (shared) {
+            values = new Object[values.length];
+            shared = false;
+        } else {
+            Arrays.fill(values, null);
+        }
+        valueCount = 0;
+        orderSize = 0;
+        if (invalidShared) {
+            invalidColumnIds = NO_INVALID_COLUMN_IDS;
+            invalidShared = false;
+        } else if (invalidColumnIds != NO_INVALID_COLUMN_IDS) {
+            invalidColumnIds.clear();
+        }
     }
 
     /**
@@ -261,8 +310,14 @@ public class DataSetRow implements Cloneable, Serializable {
      */
     @Override
     public DataSetRow clone() {
-        final DataSetRow clone = new DataSetRow(rowMetadata, values);
-        clone.invalidColumnIds.addAll(invalidColumnIds);
+        final DataSetRow clone = new DataSetRow(rowMetadata);
+        // Copy on write: clone shares values until one of the rows is modified
+        clone.slots = slots;
+        clone.values = values;
+        clone.valueCount = valueCount;
+        clone.shared = true;
+        shared = true;
+        shareInvalidColumnIds(clone);
         clone.setDeleted(this.isDeleted());
         clone.setTdpId(this.rowId);
         return clone;
@@ -289,7 +344,7 @@ public class DataSetRow implements Cloneable, Serializable {
         if (o == null || getClass() != o.getClass())
             return false;
         DataSetRow that = (DataSetRow) o;
-        return Objects.equals(deleted, that.deleted) && Objects.equals(values, that.values) && Objects.equals(rowId, that.rowId);
+        return Objects.equals(deleted, that.deleted) && Objects.equals(asMap(), that.asMap()) && Objects.equals(rowId, that.rowId);
     }
 
     /**
@@ -297,14 +352,14 @@ public class DataSetRow implements Cloneable, Serializable {
      */
     @Override
     public int hashCode() {
-        return Objects.hash(deleted, values);
+        return Objects.hash(deleted, asMap());
     }
 
     @Override
     public String toString() {
         return "DataSetRow{" + //
                 "rowMetadata=" + rowMetadata + //
-                ", values=" + values + //
+                ", values=" + asMap() + //
                 ", deleted=" + deleted + //
                 ", oldValue=" + oldValue + //
                 ", rowId=" + rowId + //
@@ -325,18 +380,18 @@ public class DataSetRow implements Cloneable, Serializable {
         if (columns.isEmpty()) {
             return this;
         }
-        if (columns.size() < values.size()) {
-            throw new IllegalArgumentException("Expected " + values.size() + " columns but got " + columns.size());
+        if (columns.size() < valueCount) {
+            throw new IllegalArgumentException("Expected " + valueCount + " columns but got " + columns.size());
         }
 
-        Map<String, String> orderedValues = new LinkedHashMap<>();
+        final DataSetRow dataSetRow = new DataSetRow(rowMetadata);
+        dataSetRow.slots = slots;
+        dataSetRow.values = new Object[values.length];
+        dataSetRow.order = new int[columns.size()];
         for (ColumnMetadata column : columns) {
             final String id = column.getId();
-            orderedValues.put(id, values.get(id));
+            dataSetRow.put(id, value(slots.find(id)));
         }
-
-        final DataSetRow dataSetRow = new DataSetRow(rowMetadata);
-        dataSetRow.values = orderedValues;
         return dataSetRow;
     }
 
@@ -360,12 +415,7 @@ public class DataSetRow implements Cloneable, Serializable {
      */
     public boolean deleteColumnById(String id) {
         rowMetadata.deleteColumnById(id);
-
-        if (values.containsKey(id)) {
-            values.remove(id);
-            return true;
-        }
-        return false;
+        return remove(id);
     }
 
     /**
@@ -377,16 +427,25 @@ public class DataSetRow implements Cloneable, Serializable {
      */
     @SafeVarargs
     public final String[] toArray(Predicate<Map.Entry<String, String>>... filters) {
-        Stream<Map.Entry<String, String>> stream = stream(values.entrySet().spliterator(), false);
-        // Apply filters
-        for (Predicate<Map.Entry<String, String>> filter : filters) {
-            stream = stream.filter(filter);
-        }
-        // Get as string array the selected columns
-        final List<String> strings = stream.map(Map.Entry::getValue) //
-                .map(String::valueOf) //
-                .collect(Collectors.toList());
-        return strings.toArray(new String[strings.size()]);
+        final String[] strings = new String[valueCount];
+        int length = 0;
+        final int[] iterationOrder = order == null ? slots.sortedSlots() : order;
+        final int count = order == null ? iterationOrder.length : orderSize;
+        for (int i = 0; i < count; i++) {
+            final int slot = iterationOrder[i];
+            if (slot >= values.length || values[slot] == null) {
+                continue;
+            }
+            final String value = value(slot);
+            if (filters.length > 0) {
+                final Map.Entry<String, String> entry = new AbstractMap.SimpleImmutableEntry<>(slots.id(slot), value);
+                if (!Arrays.stream(filters).allMatch(filter -> filter.test(entry))) {
+                    continue;
+                }
+            }
+            strings[length++] = String.valueOf(value);
+        }
+        return length == strings.length ? strings : Arrays.copyOf(strings, length);
     }
 
     public Long getTdpId() {
@@ -402,7 +461,12 @@ public class DataSetRow implements Cloneable, Serializable {
      * <code>false</code> otherwise.
      */
     public boolean isEmpty() {
-        return values.isEmpty() || values.values().stream().filter(s -> !StringUtils.isEmpty(s)).count() == 0;
+        for (Object value : values) {
+            if (value != null && value != NullValue.INSTANCE && !((String) value).isEmpty()) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -419,18 +483,19 @@ public class DataSetRow implements Cloneable, Serializable {
 
     public DataSetRow filter(List<ColumnMetadata> filteredColumns) {
         final Set<String> columnsToKeep = filteredColumns.stream().map(ColumnMetadata::getId).collect(Collectors.toSet());
-        final Set<String> columnsToDelete = values.entrySet().stream()
+        final Map<String, String> currentValues = asMap();
+        final Set<String> columnsToDelete = currentValues.entrySet().stream()
                 .filter(e -> !columnsToKeep.contains(e.getKey())) //
                 .map(Map.Entry::getKey)
                 .collect(Collectors.toSet());
         final RowMetadata rowMetadataClone = rowMetadata.clone();
-        final LinkedHashMap<String, String> filteredValues = new LinkedHashMap<>(this.values);
+        final LinkedHashMap<String, String> filteredValues = new LinkedHashMap<>(currentValues);
         for (String columnId : columnsToDelete) {
             filteredValues.remove(columnId);
             rowMetadataClone.deleteColumnById(columnId);
         }
         final DataSetRow filteredDataSetRow = new DataSetRow(rowMetadataClone, filteredValues);
-        filteredDataSetRow.invalidColumnIds.addAll(invalidColumnIds);
+        shareInvalidColumnIds(filteredDataSetRow);
         return filteredDataSetRow;
     }
 
@@ -452,7 +517,7 @@ public class DataSetRow implements Cloneable, Serializable {
      * @see #unsetInvalid(String)
      */
     public void setInvalid(String columnId) {
-        invalidColumnIds.add(columnId);
+        writableInvalidColumnIds().add(columnId);
     }
 
     /**
@@ -462,7 +527,9 @@ public class DataSetRow implements Cloneable, Serializable {
      * @see #setInvalid(String)
      */
     public void unsetInvalid(String columnId) {
-        invalidColumnIds.remove(columnId);
+        if (invalidColumnIds.contains(columnId)) {
+            writableInvalidColumnIds().remove(columnId);
+        }
     }
 
     /**
@@ -475,6 +542,123 @@ public class DataSetRow implements Cloneable, Serializable {
         return internalValues;
     }
 
+    /**
+     * @return {@link #invalidColumnIds} once it can be changed (copied if it is shared with another row).
+     */
+    private Set<String> writableInvalidColumnIds() {
+        if (invalidShared || invalidColumnIds == NO_INVALID_COLUMN_IDS) {
+            invalidColumnIds = new HashSet<>(invalidColumnIds);
+            invalidShared = false;
+        }
+        return invalidColumnIds;
+    }
+
+    /**
+     * Shares invalid column ids of this row with <code>row</code> (until one of the rows changes them).
+     */
+    private void shareInvalidColumnIds(DataSetRow row) {
+        if (!invalidColumnIds.isEmpty()) {
+            row.invalidColumnIds = invalidColumnIds;
+            row.invalidShared = true;
+            invalidShared = true;
+        }
+    }
+
+    /**
+     * @param slot A column slot (may be negative if column has no slot).
+     * @return The value in this row for the slot, <code>null</code> if there's none.
+     */
+    private String value(int slot) {
+        if (slot < 0 || slot >= values.length) {
+            return null;
+        }
+        final Object value = values[slot];
+        return value == NullValue.INSTANCE ? null : (String) value;
+    }
+
+    /**
+     * Set value of a column (column id may be an internal one, see {@link #values()}).
+     *
+     * @param id A column id.
+     * @param value The value for this column.
+     */
+    private void put(String id, String value) {
+        final int slot = slots.slot(id);
+        if (shared || slot >= values.length) {
+            values = Arrays.copyOf(values, Math.max(values.length, Math.max(slot + 1, slots.size())));
+            shared = false;
+        }
+        if (values[slot] == null) {
+            valueCount++;
+            if (order != null) {
+                if (orderSize == order.length) {
+                    order = Arrays.copyOf(order, Math.max(orderSize * 2, 4));
+                }
+                order[orderSize++] = slot;
+            }
+        }
+        values[slot] = value == null ? NullValue.INSTANCE : value;
+    }
+
+    /**
+     * @param id A column id.
+     * @return <code>true</code> if row had a value for this column, <code>false</code> otherwise.
+     */
+    private boolean remove(String id) {
+        final int slot = slots.find(id);
+        if (slot < 0 || slot >= values.length || values[slot] == null) {
+            return false;
+        }
+        if (shared) {
+            values = Arrays.copyOf(values, values.length);
+            shared = false;
+        }
+        values[slot] = null;
+        valueCount--;
+        if (order != null) {
+            for (int i = 0; i < orderSize; i++) {
+                if (order[i] == slot) {
+                    System.arraycopy(order, i + 1, order, i, orderSize - i - 1);
+                    orderSize--;
+                    break;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Iterates over values of this row (in column id order or in the order set by {@link #order(List)}).
+     *
+     * @param consumer The consumer for column id and value.
+     */
+    private void forEach(BiConsumer<String, String> consumer) {
+        final int[] iterationOrder = order == null ? slots.sortedSlots() : order;
+        final int count = order == null ? iterationOrder.length : orderSize;
+        for (int i = 0; i < count; i++) {
+            final int slot = iterationOrder[i];
+            if (slot < values.length && values[slot] != null) {
+                consumer.accept(slots.id(slot), value(slot));
+            }
+        }
+    }
+
+    /**
+     * @return The values of this row as map (in iteration order).
+     */
+    private Map<String, String> asMap() {
+        final Map<String, String> map = new LinkedHashMap<>(valueCount * 2);
+        forEach(map::put);
+        return map;
+    }
+
+    /**
+     * Marker for <code>null</code> values (a <code>null</code> slot means there's no value).
+     */
+    private enum NullValue {
+        INSTANCE
+    }
+
     /**
      * A wrapper implementation of {@link DataSetRow} that prevents changes on previous values and set empty string for
      * all new columns. This implementation allows modification on {@link RowMetadata}.
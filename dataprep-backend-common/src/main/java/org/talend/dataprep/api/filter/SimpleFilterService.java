@@ -15,13 +15,18 @@ package org.talend.dataprep.api.filter;
 import static org.apache.commons.lang.StringUtils.isEmpty;
 import static org.talend.dataprep.util.NumericHelper.isBigDecimal;
 
+import java.text.Format;
 import java.text.ParseException;
 import java.time.DateTimeException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.lang.math.NumberUtils;
@@ -38,11 +43,20 @@ import org.talend.dataprep.date.DateManipulator;
 import org.talend.dataprep.quality.AnalyzerService;
 import org.talend.dataprep.transformation.actions.Providers;
 import org.talend.dataprep.transformation.actions.date.DateParser;
-import org.talend.dataprep.util.NumericHelper;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+/**
+ * <p>
+ * {@link FilterService} for the JSON filters sent by the UI.
+ * </p>
+ * <p>
+ * Filters are compiled once in {@link #build(String, RowMetadata)}: filter values (numbers, dates, patterns) are parsed
+ * when the predicate is built, and row values parsed as numbers or dates are remembered per column so that several
+ * predicates on the same column (e.g. a "gte" and a "lt" in a "and") parse the row value only once.
+ * </p>
+ */
 public class SimpleFilterService implements FilterService {
 
     private static final String EQ = "eq";
@@ -77,18 +91,7 @@ public class SimpleFilterService implements FilterService {
 
     private final DateManipulator dateManipulator = new DateManipulator();
 
-    private DateParser dateParser;
-
-    private static Predicate<DataSetRow> safeDate(Predicate<DataSetRow> inner) {
-        return r -> {
-            try {
-                return inner.test(r);
-            } catch (DateTimeException e) { // thrown by DateParser
-                LOGGER.debug("Unable to parse date.", e);
-                return false;
-            }
-        };
-    }
+    private volatile DateParser dateParser;
 
     @Override
     public Predicate<DataSetRow> build(String filterAsString, RowMetadata rowMetadata) {
@@ -102,14 +105,14 @@ public class SimpleFilterService implements FilterService {
             if (!elements.hasNext()) {
                 throw new IllegalArgumentException("Malformed filter: " + filterAsString);
             } else {
-                return buildFilter(root, rowMetadata);
+                return buildFilter(root, new FilterContext(rowMetadata));
             }
         } catch (Exception e) {
             throw new TalendRuntimeException(BaseErrorCodes.UNABLE_TO_PARSE_FILTER, e);
         }
     }
 
-    private Predicate<DataSetRow> buildFilter(JsonNode currentNode, RowMetadata rowMetadata) {
+    private Predicate<DataSetRow> buildFilter(JsonNode currentNode, FilterContext context) {
         final Iterator<JsonNode> children = currentNode.elements();
         final JsonNode operationContent = children.next();
         final String columnId = operationContent.has("field") ? operationContent.get("field").asText() : null;
@@ -123,18 +126,18 @@ public class SimpleFilterService implements FilterService {
         final String operation = propertiesIterator.next();
         if (columnId == null && allowFullFilter(operation)) {
             // Full data set filter (no column)
-            final List<ColumnMetadata> columns = rowMetadata.getColumns();
+            final List<ColumnMetadata> columns = context.getRowMetadata().getColumns();
             Predicate<DataSetRow> predicate = null;
             if (!columns.isEmpty()) {
-                predicate = buildOperationFilter(currentNode, rowMetadata, columns.get(0).getId(), operation, value);
+                predicate = buildOperationFilter(currentNode, context, columns.get(0).getId(), operation, value);
                 for (int i = 1; i < columns.size(); i++) {
                     predicate = predicate
-                            .or(buildOperationFilter(currentNode, rowMetadata, columns.get(i).getId(), operation, value));
+                            .or(buildOperationFilter(currentNode, context, columns.get(i).getId(), operation, value));
                 }
             }
             return predicate;
         } else {
-            return buildOperationFilter(currentNode, rowMetadata, columnId, operation, value);
+            return buildOperationFilter(currentNode, context, columnId, operation, value);
         }
     }
 
@@ -161,21 +164,21 @@ public class SimpleFilterService implements FilterService {
     }
 
     private Predicate<DataSetRow> buildOperationFilter(JsonNode currentNode, //
-            RowMetadata rowMetadata, //
+            FilterContext context, //
             String columnId, //
             String operation, //
             String value) {
         switch (operation) {
         case EQ:
-            return createEqualsPredicate(currentNode, columnId, value);
+            return createEqualsPredicate(currentNode, columnId, value, context);
         case GT:
-            return createGreaterThanPredicate(currentNode, columnId, value);
+            return createGreaterThanPredicate(currentNode, columnId, value, context);
         case LT:
-            return createLowerThanPredicate(currentNode, columnId, value);
+            return createLowerThanPredicate(currentNode, columnId, value, context);
         case GTE:
-            return createGreaterOrEqualsPredicate(currentNode, columnId, value);
+            return createGreaterOrEqualsPredicate(currentNode, columnId, value, context);
         case LTE:
-            return createLowerOrEqualsPredicate(currentNode, columnId, value);
+            return createLowerOrEqualsPredicate(currentNode, columnId, value, context);
         case CONTAINS:
             return createContainsPredicate(currentNode, columnId, value);
         case MATCHES:
@@ -187,13 +190,13 @@ public class SimpleFilterService implements FilterService {
         case EMPTY:
             return createEmptyPredicate(columnId);
         case RANGE:
-            return createRangePredicate(columnId, currentNode.elements().next(), rowMetadata);
+            return createRangePredicate(columnId, currentNode.elements().next(), context);
         case AND:
-            return createAndPredicate(currentNode.elements().next(), rowMetadata);
+            return createAndPredicate(currentNode.elements().next(), context);
         case OR:
-            return createOrPredicate(currentNode.elements().next(), rowMetadata);
+            return createOrPredicate(currentNode.elements().next(), context);
         case NOT:
-            return createNotPredicate(currentNode.elements().next(), rowMetadata);
+            return createNotPredicate(currentNode.elements().next(), context);
         default:
             throw new UnsupportedOperationException(
                     "Unsupported query, unknown filter '" + operation + "': " + currentNode.toString());
@@ -204,13 +207,13 @@ public class SimpleFilterService implements FilterService {
      * Create a predicate that do a logical AND between 2 filters
      *
      * @param nodeContent The node content
-     * @param rowMetadata Row metadata to used to obtain information (valid/invalid, types...)
+     * @param context The filter context (row metadata, parsed values...)
      * @return the AND predicate
      */
-    private Predicate<DataSetRow> createAndPredicate(final JsonNode nodeContent, RowMetadata rowMetadata) {
+    private Predicate<DataSetRow> createAndPredicate(final JsonNode nodeContent, FilterContext context) {
         checkValidMultiPredicate(nodeContent);
-        final Predicate<DataSetRow> leftFilter = buildFilter(nodeContent.get(0), rowMetadata);
-        final Predicate<DataSetRow> rightFilter = buildFilter(nodeContent.get(1), rowMetadata);
+        final Predicate<DataSetRow> leftFilter = buildFilter(nodeContent.get(0), context);
+        final Predicate<DataSetRow> rightFilter = buildFilter(nodeContent.get(1), context);
         return leftFilter.and(rightFilter);
     }
 
@@ -218,13 +221,13 @@ public class SimpleFilterService implements FilterService {
      * Create a predicate that do a logical OR between 2 filters
      *
      * @param nodeContent The node content
-     * @param rowMetadata Row metadata to used to obtain information (valid/invalid, types...)
+     * @param context The filter context (row metadata, parsed values...)
      * @return the OR predicate
      */
-    private Predicate<DataSetRow> createOrPredicate(final JsonNode nodeContent, RowMetadata rowMetadata) {
+    private Predicate<DataSetRow> createOrPredicate(final JsonNode nodeContent, FilterContext context) {
         checkValidMultiPredicate(nodeContent);
-        final Predicate<DataSetRow> leftFilter = buildFilter(nodeContent.get(0), rowMetadata);
-        final Predicate<DataSetRow> rightFilter = buildFilter(nodeContent.get(1), rowMetadata);
+        final Predicate<DataSetRow> leftFilter = buildFilter(nodeContent.get(0), context);
+        final Predicate<DataSetRow> rightFilter = buildFilter(nodeContent.get(1), context);
         return leftFilter.or(rightFilter);
     }
 
@@ -232,17 +235,17 @@ public class SimpleFilterService implements FilterService {
      * Create a predicate that negates a filter
      *
      * @param nodeContent The node content
-     * @param rowMetadata Row metadata to used to obtain information (valid/invalid, types...)
+     * @param context The filter context (row metadata, parsed values...)
      * @return The NOT predicate
      */
-    private Predicate<DataSetRow> createNotPredicate(final JsonNode nodeContent, RowMetadata rowMetadata) {
+    private Predicate<DataSetRow> createNotPredicate(final JsonNode nodeContent, FilterContext context) {
         if (!nodeContent.isObject()) {
             throw new IllegalArgumentException("Unsupported query, malformed 'not' (expected 1 object child).");
         }
         if (nodeContent.size() == 0) {
             throw new IllegalArgumentException("Unsupported query, malformed 'not' (object child is empty).");
         }
-        return buildFilter(nodeContent, rowMetadata).negate();
+        return buildFilter(nodeContent, context).negate();
     }
 
     /**
@@ -253,17 +256,24 @@ public class SimpleFilterService implements FilterService {
      * @param node The filter node
      * @param columnId The column id
      * @param value The compare value
+     * @param context The filter context (row metadata, parsed values...)
      * @return The eq predicate
      */
-    private Predicate<DataSetRow> createEqualsPredicate(final JsonNode node, final String columnId, final String value) {
+    private Predicate<DataSetRow> createEqualsPredicate(final JsonNode node, final String columnId, final String value,
+            final FilterContext context) {
         checkValidValue(node, value);
+        final Double number = toNumber(value);
+        if (number == null) {
+            return r -> StringUtils.equals(r.get(columnId), value);
+        }
+        final ParsedValues<Double> numbers = context.getNumbers(columnId);
         return r -> {
-            if (StringUtils.equals(r.get(columnId), value)) {
+            final String columnValue = r.get(columnId);
+            if (StringUtils.equals(columnValue, value)) {
                 return true;
             } else {
-                return isBigDecimal(r.get(columnId)) //
-                        && isBigDecimal(value) //
-                        && NumberUtils.compare(toBigDecimal(r.get(columnId)), toBigDecimal(value)) == 0;
+                final Double columnNumber = numbers.get(columnValue);
+                return columnNumber != null && NumberUtils.compare(columnNumber, number) == 0;
             }
         };
     }
@@ -274,13 +284,21 @@ public class SimpleFilterService implements FilterService {
      * @param node The filter node
      * @param columnId The column id
      * @param value The compare value
+     * @param context The filter context (row metadata, parsed values...)
      * @return The gt predicate
      */
-    private Predicate<DataSetRow> createGreaterThanPredicate(final JsonNode node, final String columnId, final String value) {
+    private Predicate<DataSetRow> createGreaterThanPredicate(final JsonNode node, final String columnId, final String value,
+            final FilterContext context) {
         checkValidValue(node, value);
-        return r -> isBigDecimal(r.get(columnId)) //
-                && isBigDecimal(value) //
-                && toBigDecimal(r.get(columnId)) > toBigDecimal(value);
+        final Double number = toNumber(value);
+        if (number == null) {
+            return r -> false;
+        }
+        final ParsedValues<Double> numbers = context.getNumbers(columnId);
+        return r -> {
+            final Double columnNumber = numbers.get(r.get(columnId));
+            return columnNumber != null && columnNumber > number;
+        };
     }
 
     /**
@@ -289,13 +307,21 @@ public class SimpleFilterService implements FilterService {
      * @param node The filter node
      * @param columnId The column id
      * @param value The compare value
+     * @param context The filter context (row metadata, parsed values...)
      * @return The lt predicate
      */
-    private Predicate<DataSetRow> createLowerThanPredicate(final JsonNode node, final String columnId, final String value) {
+    private Predicate<DataSetRow> createLowerThanPredicate(final JsonNode node, final String columnId, final String value,
+            final FilterContext context) {
         checkValidValue(node, value);
-        return r -> isBigDecimal(r.get(columnId)) //
-                && isBigDecimal(value) //
-                && toBigDecimal(r.get(columnId)) < toBigDecimal(value);
+        final Double number = toNumber(value);
+        if (number == null) {
+            return r -> false;
+        }
+        final ParsedValues<Double> numbers = context.getNumbers(columnId);
+        return r -> {
+            final Double columnNumber = numbers.get(r.get(columnId));
+            return columnNumber != null && columnNumber < number;
+        };
     }
 
     /**
@@ -304,13 +330,21 @@ public class SimpleFilterService implements FilterService {
      * @param node The filter node
      * @param columnId The column id
      * @param value The compare value
+     * @param context The filter context (row metadata, parsed values...)
      * @return The gte predicate
      */
-    private Predicate<DataSetRow> createGreaterOrEqualsPredicate(final JsonNode node, final String columnId, final String value) {
+    private Predicate<DataSetRow> createGreaterOrEqualsPredicate(final JsonNode node, final String columnId, final String value,
+            final FilterContext context) {
         checkValidValue(node, value);
-        return r -> isBigDecimal(r.get(columnId)) //
-                && isBigDecimal(value) //
-                && toBigDecimal(r.get(columnId)) >= toBigDecimal(value);
+        final Double number = toNumber(value);
+        if (number == null) {
+            return r -> false;
+        }
+        final ParsedValues<Double> numbers = context.getNumbers(columnId);
+        return r -> {
+            final Double columnNumber = numbers.get(r.get(columnId));
+            return columnNumber != null && columnNumber >= number;
+        };
     }
 
     /**
@@ -319,13 +353,21 @@ public class SimpleFilterService implements FilterService {
      * @param node The filter node
      * @param columnId The column id
      * @param value The compare value
+     * @param context The filter context (row metadata, parsed values...)
      * @return The lte predicate
      */
-    private Predicate<DataSetRow> createLowerOrEqualsPredicate(final JsonNode node, final String columnId, final String value) {
+    private Predicate<DataSetRow> createLowerOrEqualsPredicate(final JsonNode node, final String columnId, final String value,
+            final FilterContext context) {
         checkValidValue(node, value);
-        return r -> isBigDecimal(r.get(columnId)) //
-                && isBigDecimal(value) //
-                && toBigDecimal(r.get(columnId)) <= toBigDecimal(value);
+        final Double number = toNumber(value);
+        if (number == null) {
+            return r -> false;
+        }
+        final ParsedValues<Double> numbers = context.getNumbers(columnId);
+        return r -> {
+            final Double columnNumber = numbers.get(r.get(columnId));
+            return columnNumber != null && columnNumber <= number;
+        };
     }
 
     /**
@@ -351,7 +393,8 @@ public class SimpleFilterService implements FilterService {
      */
     private Predicate<DataSetRow> createMatchesPredicate(final JsonNode node, final String columnId, final String value) {
         checkValidValue(node, value);
-        return r -> matches(r.get(columnId), value);
+        final Predicate<String> matches = compilePattern(value);
+        return r -> matches.test(r.get(columnId));
     }
 
     /**
@@ -389,35 +432,56 @@ public class SimpleFilterService implements FilterService {
      *
      * @param columnId The column id
      * @param nodeContent The node content that contains min/max values
+     * @param context The filter context (row metadata, parsed values...)
      * @return The range predicate
      */
     private Predicate<DataSetRow> createRangePredicate(final String columnId, final JsonNode nodeContent,
-            final RowMetadata rowMetadata) {
+            final FilterContext context) {
         final String start = nodeContent.get("start").asText();
         final String end = nodeContent.get("end").asText();
+        final ColumnMetadata column = context.getRowMetadata().getById(columnId);
+        // Column type is checked for each row (it may change after the filter is built), so both predicates are built
+        // here, and malformed bounds are only reported when the predicate is actually used.
+        final Predicate<DataSetRow> dateRange = failOnUse(() -> createDateRangePredicate(columnId, start, end, column, context));
+        final Predicate<DataSetRow> numberRange = failOnUse(() -> createNumberRangePredicate(columnId, start, end, context));
         return r -> {
-            final String columnType = rowMetadata.getById(columnId).getType();
-            Type parsedType = Type.get(columnType);
+            Type parsedType = Type.get(column.getType());
             if (Type.DATE.isAssignableFrom(parsedType)) {
-                return createDateRangePredicate(columnId, start, end, rowMetadata).test(r);
+                return dateRange.test(r);
             } else {
                 // Assume range can be parsed as number (may happen if column is currently marked as string, but will
                 // contain some numbers).
-                return createNumberRangePredicate(columnId, start, end).test(r);
+                return numberRange.test(r);
             }
         };
     }
 
+    /**
+     * @param factory A predicate factory that may throw {@link IllegalArgumentException} for a malformed filter.
+     * @return The predicate created by the factory, or a predicate throwing the factory exception when used.
+     */
+    private static Predicate<DataSetRow> failOnUse(Supplier<Predicate<DataSetRow>> factory) {
+        try {
+            return factory.get();
+        } catch (IllegalArgumentException e) {
+            return r -> {
+                throw e;
+            };
+        }
+    }
+
     /**
      * Create a predicate that checks if the date value is within a range [min, max[
      *
      * @param columnId The column id
      * @param start The start value
      * @param end The end value
+     * @param column The column metadata (used to parse dates)
+     * @param context The filter context (row metadata, parsed values...)
      * @return The date range predicate
      */
     private Predicate<DataSetRow> createDateRangePredicate(final String columnId, final String start, final String end,
-            final RowMetadata rowMetadata) {
+            final ColumnMetadata column, final FilterContext context) {
         try {
             final long minTimestamp = Long.parseLong(start);
             final long maxTimestamp = Long.parseLong(end);
@@ -425,11 +489,19 @@ public class SimpleFilterService implements FilterService {
             final LocalDateTime minDate = dateManipulator.fromEpochMillisecondsWithSystemOffset(minTimestamp);
             final LocalDateTime maxDate = dateManipulator.fromEpochMillisecondsWithSystemOffset(maxTimestamp);
 
-            return safeDate(r -> {
-                final ColumnMetadata columnMetadata = rowMetadata.getById(columnId);
-                final LocalDateTime columnValue = getDateParser().parse(r.get(columnId), columnMetadata);
-                return minDate.compareTo(columnValue) == 0 || (minDate.isBefore(columnValue) && maxDate.isAfter(columnValue));
+            final ParsedValues<LocalDateTime> dates = context.getDates(columnId, value -> {
+                try {
+                    return getDateParser().parse(value, column);
+                } catch (DateTimeException e) { // thrown by DateParser
+                    LOGGER.debug("Unable to parse date.", e);
+                    return null;
+                }
             });
+            return r -> {
+                final LocalDateTime columnValue = dates.get(r.get(columnId));
+                return columnValue != null && (minDate.compareTo(columnValue) == 0
+                        || (minDate.isBefore(columnValue) && maxDate.isAfter(columnValue)));
+            };
         } catch (Exception e) {
             LOGGER.debug("Unable to create date range predicate.", e);
             throw new IllegalArgumentException(
@@ -437,11 +509,17 @@ public class SimpleFilterService implements FilterService {
         }
     }
 
-    private synchronized DateParser getDateParser() {
-        if (dateParser == null) {
-            dateParser = new DateParser(Providers.get(AnalyzerService.class));
+    private DateParser getDateParser() {
+        DateParser parser = dateParser;
+        if (parser == null) {
+            synchronized (this) {
+                if (dateParser == null) {
+                    dateParser = new DateParser(Providers.get(AnalyzerService.class));
+                }
+                parser = dateParser;
+            }
         }
-        return dateParser;
+        return parser;
     }
 
     // Intentionally left with package modifier since only used by unit test (in same package)
@@ -455,16 +533,18 @@ public class SimpleFilterService implements FilterService {
      * @param columnId The column id
      * @param start The start value
      * @param end The end value
+     * @param context The filter context (row metadata, parsed values...)
      * @return The number range predicate
      */
-    private Predicate<DataSetRow> createNumberRangePredicate(final String columnId, final String start, final String end) {
+    private Predicate<DataSetRow> createNumberRangePredicate(final String columnId, final String start, final String end,
+            final FilterContext context) {
         try {
             final double min = toBigDecimal(start);
             final double max = toBigDecimal(end);
+            final ParsedValues<Double> numbers = context.getNumbers(columnId);
             return r -> {
-                final String value = r.get(columnId);
-                if (NumericHelper.isBigDecimal(value)) {
-                    final double columnValue = toBigDecimal(value);
+                final Double columnValue = numbers.get(r.get(columnId));
+                if (columnValue != null) {
                     return NumberUtils.compare(columnValue, min) == 0 || (columnValue > min && columnValue < max);
                 } else {
                     return false;
@@ -502,60 +582,148 @@ public class SimpleFilterService implements FilterService {
     }
 
     /**
-     * Test a string value against a pattern returned during value analysis.
+     * Compile a pattern returned during value analysis to test string values against it.
      *
-     * @param value A string value. May be null.
      * @param pattern A pattern as returned in value analysis.
-     * @return <code>true</code> if value matches, <code>false</code> otherwise.
+     * @return A predicate returning <code>true</code> if a value (may be null) matches, <code>false</code> otherwise.
+     * @throws IllegalArgumentException If the pattern is neither a character based nor a valid date pattern.
      */
-    private boolean matches(String value, String pattern) {
-        if (value == null && pattern == null) {
-            return true;
-        }
-        if (value == null) {
-            return false;
-        }
+    private static Predicate<String> compilePattern(String pattern) {
         // Character based patterns
         if (StringUtils.containsAny(pattern, new char[] { 'A', 'a', '9' })) {
-            if (value.length() != pattern.length()) {
-                return false;
-            }
-            final char[] valueArray = value.toCharArray();
             final char[] patternArray = pattern.toCharArray();
-            for (int i = 0; i < valueArray.length; i++) {
-                if (patternArray[i] == 'A') {
-                    if (!Character.isUpperCase(valueArray[i])) {
-                        return false;
-                    }
-                } else if (patternArray[i] == 'a') {
-                    if (!Character.isLowerCase(valueArray[i])) {
-                        return false;
-                    }
-                } else if (patternArray[i] == '9') {
-                    if (!Character.isDigit(valueArray[i])) {
-                        return false;
-                    }
-                } else {
-                    if (valueArray[i] != patternArray[i]) {
-                        return false;
+            return value -> {
+                if (value == null || value.length() != patternArray.length) {
+                    return false;
+                }
+                for (int i = 0; i < patternArray.length; i++) {
+                    final char c = value.charAt(i);
+                    if (patternArray[i] == 'A') {
+                        if (!Character.isUpperCase(c)) {
+                            return false;
+                        }
+                    } else if (patternArray[i] == 'a') {
+                        if (!Character.isLowerCase(c)) {
+                            return false;
+                        }
+                    } else if (patternArray[i] == '9') {
+                        if (!Character.isDigit(c)) {
+                            return false;
+                        }
+                    } else {
+                        if (c != patternArray[i]) {
+                            return false;
+                        }
                     }
                 }
-            }
+                return true;
+            };
         } else {
-            final DateTimeFormatter formatter = DateTimeFormatter.ofPattern(pattern);
-            try {
-                formatter.toFormat().parseObject(value);
-            } catch (ParseException e) {
-                return false;
-            }
+            final Format format = DateTimeFormatter.ofPattern(pattern).toFormat();
+            return value -> {
+                if (value == null) {
+                    return false;
+                }
+                try {
+                    format.parseObject(value);
+                    return true;
+                } catch (ParseException e) {
+                    return false;
+                }
+            };
         }
-        return true;
     }
 
     /**
      * Simple wrapper to call BigDecimalParser to simplify code above.
      */
-    private double toBigDecimal(String value) {
+    private static double toBigDecimal(String value) {
         return BigDecimalParser.toBigDecimal(value).doubleValue();
     }
+
+    /**
+     * @param value A string value. May be null.
+     * @return The value as number, or <code>null</code> if value is not a number.
+     */
+    private static Double toNumber(String value) {
+        return isBigDecimal(value) ? toBigDecimal(value) : null;
+    }
+
+    /**
+     * Information shared by all the predicates of a filter while it is built and used.
+     */
+    private static class FilterContext {
+
+        /** The row metadata the filter is built for. */
+        private final RowMetadata rowMetadata;
+
+        /** Row values parsed as numbers, by column id. */
+        private final Map<String, ParsedValues<Double>> numbers = new HashMap<>();
+
+        /** Row values parsed as dates, by column id. */
+        private final Map<String, ParsedValues<LocalDateTime>> dates = new HashMap<>();
+
+        private FilterContext(RowMetadata rowMetadata) {
+            this.rowMetadata = rowMetadata;
+        }
+
+        private RowMetadata getRowMetadata() {
+            return rowMetadata;
+        }
+
+        private ParsedValues<Double> getNumbers(String columnId) {
+            return numbers.computeIfAbsent(columnId, id -> new ParsedValues<>(SimpleFilterService::toNumber));
+        }
+
+        private ParsedValues<LocalDateTime> getDates(String columnId, Function<String, LocalDateTime> parser) {
+            return dates.computeIfAbsent(columnId, id -> new ParsedValues<>(parser));
+        }
+    }
+
+    /**
+     * Parses the values of a column, remembering the last parsed value: all predicates on the column of a filter share
+     * the same instance, so the value of a row is only parsed once.
+     *
+     * @param <T> The type of the parsed values.
+     */
+    private static class ParsedValues<T> {
+
+        private final Function<String, T> parser;
+
+        /**
+         * The last parsed value, may be replaced concurrently (by a predicate used in another thread) but an instance
+         * is never modified.
+         */
+        private ParsedValue<T> last;
+
+        private ParsedValues(Function<String, T> parser) {
+            this.parser = parser;
+        }
+
+        /**
+         * @param value A string value. May be null.
+         * @return The parsed value, or <code>null</code> if value cannot be parsed.
+         */
+        private T get(String value) {
+            final ParsedValue<T> current = last;
+            if (current != null && StringUtils.equals(current.value, value)) {
+                return current.parsed;
+            }
+            final T parsed = parser.apply(value);
+            last = new ParsedValue<>(value, parsed);
+            return parsed;
+        }
+    }
+
+    private static class ParsedValue<T> {
+
+        private final String value;
+
+        private final T parsed;
+
+        private ParsedValue(String value, T parsed) {
+            this.value = value;
+            this.parsed = parsed;
+        }
+    }
 }
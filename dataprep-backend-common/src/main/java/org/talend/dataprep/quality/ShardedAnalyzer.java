@@ -0,0 +1,304 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.quality;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.talend.daikon.exception.TalendRuntimeException;
+import org.talend.dataprep.BaseErrorCodes;
+import org.talend.dataprep.api.dataset.ColumnMetadata;
+import org.talend.dataquality.common.inference.Analyzer;
+import org.talend.dataquality.common.inference.Analyzers;
+
+/**
+ * <p>
+ * An analyzer that splits columns into shards: each shard has its own analyzer (built for the shard's columns only)
+ * and its own worker thread, fed by a bounded queue of record batches. This allows analysis of wide data sets to use
+ * several cores while the caller thread only splits records.
+ * </p>
+ * <p>
+ * {@link #getResult()} waits for all shards to process all records, and returns results in the order of the columns
+ * given at creation (as if a single analyzer had been built for all columns).
+ * </p>
+ * <p>
+ * {@link #close()} stops shard workers without waiting for remaining records (so that an aborted analysis does not keep
+ * worker threads).
+ * </p>
+ */
+public class ShardedAnalyzer implements Analyzer<Analyzers.Result> {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ShardedAnalyzer.class);
+
+    /** Number of records sent at once to a shard. */
+    private static final int BATCH_SIZE = 256;
+
+    /** Maximum number of batches waiting for a shard (caller waits when a shard's queue is full). */
+    private static final int QUEUE_CAPACITY = 16;
+
+    /** Time (in milliseconds) a worker (or caller) waits on a shard's queue before checking the shard state again. */
+    private static final long POLL_TIMEOUT = 100;
+
+    /** Marks the end of records in a shard's queue. */
+    private static final String[][] END = new String[0][];
+
+    /** Runs shard workers (threads are reused across analyzers). */
+    private static final ExecutorService WORKERS = Executors.newCachedThreadPool(new ThreadFactory() {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            final Thread thread = new Thread(runnable, "statistics-shard-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    private final transient List<Shard> shards;
+
+    /** Analysis results (once all records are processed). */
+    private transient List<Analyzers.Result> result;
+
+    /**
+     * @param columns The columns to analyze.
+     * @param analyzer The function to build the analyzer for a list of columns.
+     * @param shardCount The maximum number of shards (each shard gets at least one column).
+     */
+    public ShardedAnalyzer(List<ColumnMetadata> columns, Function<List<ColumnMetadata>, Analyzer<Analyzers.Result>> analyzer,
+            int shardCount) {
+        final int count = Math.max(1, Math.min(shardCount, columns.size()));
+        shards = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final int from = i * columns.size() / count;
+            final int to = (i + 1) * columns.size() / count;
+            shards.add(new Shard(from, to, analyzer.apply(columns.subList(from, to))));
+        }
+        LOGGER.debug("{} column(s) analyzed in {} shard(s).", columns.size(), count);
+    }
+
+    @Override
+    public void init() {
+        // Shard analyzers are initialized when built
+    }
+
+    @Override
+    public boolean analyze(String... record) {
+        if (result != null) {
+            throw new IllegalStateException("Unable to analyze records once result is computed.");
+        }
+        for (Shard shard : shards) {
+            shard.add(record);
+        }
+        return true;
+    }
+
+    @Override
+    public void end() {
+        getResult();
+        shards.forEach(shard -> shard.analyzer.end());
+    }
+
+    @Override
+    public List<Analyzers.Result> getResult() {
+        if (result == null) {
+            final List<Analyzers.Result> shardsResult = new ArrayList<>();
+            for (Shard shard : shards) {
+                shard.finish();
+            }
+            for (Shard shard : shards) {
+                shardsResult.addAll(shard.getResult());
+            }
+            result = shardsResult;
+        }
+        return result;
+    }
+
+    @Override
+    public Analyzer<Analyzers.Result> merge(Analyzer<Analyzers.Result> analyzer) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (Shard shard : shards) {
+            shard.close();
+        }
+        for (Shard shard : shards) {
+            shard.analyzer.close();
+        }
+    }
+
+    /**
+     * A set of consecutive columns analyzed by a worker.
+     */
+    private static class Shard {
+
+        /** First column (inclusive). */
+        private final int from;
+
+        /** Last column (exclusive). */
+        private final int to;
+
+        private final Analyzer<Analyzers.Result> analyzer;
+
+        private final BlockingQueue<String[][]> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+
+        /** Records not yet sent to worker. */
+        private String[][] batch = new String[BATCH_SIZE][];
+
+        private int batchSize;
+
+        private Future<?> worker;
+
+        /** First error thrown by shard analyzer (remaining records are then ignored). */
+        private volatile Throwable error;
+
+        /** <code>true</code> once shard is closed: worker stops even if end of records was not sent. */
+        private volatile boolean closed;
+
+        private Shard(int from, int to, Analyzer<Analyzers.Result> analyzer) {
+            this.from = from;
+            this.to = to;
+            this.analyzer = analyzer;
+        }
+
+        private void add(String[] record) {
+            final String[] values;
+            if (record.length >= to) {
+                values = Arrays.copyOfRange(record, from, to);
+            } else {
+                // Missing values at the end of record
+                values = new String[to - from];
+                if (record.length > from) {
+                    System.arraycopy(record, from, values, 0, record.length - from);
+                }
+            }
+            batch[batchSize++] = values;
+            if (batchSize == BATCH_SIZE) {
+                send(batch);
+                batch = new String[BATCH_SIZE][];
+                batchSize = 0;
+            }
+        }
+
+        private void send(String[][] records) {
+            if (closed) {
+                throw new IllegalStateException("Unable to analyze records once analyzer is closed.");
+            }
+            if (worker == null) {
+                worker = WORKERS.submit(this::run);
+            }
+            try {
+                while (!queue.offer(records, POLL_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                    if (worker.isDone()) {
+                        // Never wait for a worker that no longer consumes records
+                        throw new IllegalStateException("Worker for columns " + from + " to " + to + " is stopped.");
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new TalendRuntimeException(BaseErrorCodes.UNEXPECTED_EXCEPTION, e);
+            }
+        }
+
+        /**
+         * Sends remaining records to worker and waits for worker to process all records.
+         */
+        private void finish() {
+            if (batchSize > 0) {
+                send(Arrays.copyOf(batch, batchSize));
+                batchSize = 0;
+            }
+            if (worker == null) {
+                return;
+            }
+            send(END);
+            try {
+                worker.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new TalendRuntimeException(BaseErrorCodes.UNEXPECTED_EXCEPTION, e);
+            } catch (ExecutionException e) {
+                throw new TalendRuntimeException(BaseErrorCodes.UNEXPECTED_EXCEPTION, e.getCause());
+            } finally {
+                worker = null;
+            }
+        }
+
+        /**
+         * Stops worker (remaining records are discarded) and waits for worker to end its current batch.
+         */
+        private void close() {
+            closed = true;
+            queue.clear();
+            if (worker == null) {
+                return;
+            }
+            try {
+                worker.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                LOGGER.debug("Worker for columns {} to {} failed.", from, to, e.getCause());
+            } finally {
+                worker = null;
+            }
+        }
+
+        private List<Analyzers.Result> getResult() {
+            if (error != null) {
+                throw new TalendRuntimeException(BaseErrorCodes.UNEXPECTED_EXCEPTION, error);
+            }
+            return analyzer.getResult();
+        }
+
+        private void run() {
+            try {
+                while (!closed) {
+                    final String[][] records = queue.poll(POLL_TIMEOUT, TimeUnit.MILLISECONDS);
+                    if (records == END) {
+                        return;
+                    }
+                    if (records == null || error != null) {
+                        // No records yet, or failed shard (keep consuming so caller never waits for a failed shard)
+                        continue;
+                    }
+                    try {
+                        for (String[] record : records) {
+                            if (closed) {
+                                return;
+                            }
+                            analyzer.analyze(record);
+                        }
+                    } catch (Exception e) {
+                        LOGGER.error("Unable to analyze columns {} to {}.", from, to, e);
+                        error = e;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                error = e;
+            }
+        }
+    }
+}
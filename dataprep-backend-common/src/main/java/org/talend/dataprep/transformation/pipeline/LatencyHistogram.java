@@ -0,0 +1,125 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.pipeline;
+
+import java.io.Serializable;
+
+/**
+ * <p>
+ * A histogram of latencies (in nanoseconds) with a fixed relative precision, in the spirit of HDR histograms: values
+ * are counted in buckets that split each power of two in {@link #SUB_BUCKETS} linear sub buckets, so percentiles are
+ * reported with less than 12.5% error whatever the magnitude of the values, for a constant memory footprint.
+ * </p>
+ * <p>
+ * This class is not thread safe (pipeline nodes record their latencies from a single thread).
+ * </p>
+ */
+public class LatencyHistogram implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Number of bits used to split a power of two. */
+    private static final int SUB_BUCKET_BITS = 3;
+
+    /** Number of buckets per power of two. */
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /** Buckets for all positive long values. */
+    private static final int BUCKETS = (63 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKETS];
+
+    private long count;
+
+    private long total;
+
+    private long max;
+
+    /**
+     * Records a value.
+     *
+     * @param value The value (negative values are recorded as 0).
+     */
+    public void record(long value) {
+        final long recorded = Math.max(0, value);
+        counts[index(recorded)]++;
+        count++;
+        total += recorded;
+        max = Math.max(max, recorded);
+    }
+
+    /**
+     * @return The number of recorded values.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return The sum of recorded values.
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * @return The maximum recorded value (0 if no value was recorded).
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * @return The mean of recorded values (0 if no value was recorded).
+     */
+    public double getMean() {
+        return count == 0 ? 0 : (double) total / count;
+    }
+
+    /**
+     * @param percentile A percentile (between 0 and 100).
+     * @return The (upper bound of the) value at this percentile, 0 if no value was recorded.
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        final long rank = Math.max(1, (long) Math.ceil(Math.min(100, percentile) / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(max, upperBound(i));
+            }
+        }
+        return max;
+    }
+
+    static int index(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        final int exponent = 63 - Long.numberOfLeadingZeros(value);
+        final int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long upperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        final int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        final long lowerBound = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << (exponent - SUB_BUCKET_BITS);
+        return lowerBound + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+}
@@ -1,5 +1,7 @@
 package org.talend.dataprep.transformation.pipeline;
 
+import java.util.concurrent.TimeUnit;
+
 import org.talend.dataprep.api.dataset.row.DataSetRow;
 
 /**
@@ -7,13 +9,22 @@ import org.talend.dataprep.api.dataset.row.DataSetRow;
  */
 public interface Monitored {
 
+    /**
+     * @return The metrics (rows, processing time) of this pipeline element.
+     */
+    NodeMetrics getMetrics();
+
     /**
      * @return The total time spent in the pipeline element (in milliseconds).
      */
-    long getTotalTime();
+    default long getTotalTime() {
+        return TimeUnit.NANOSECONDS.toMillis(getMetrics().getTotalTime());
+    }
 
     /**
      * @return The number of {@link DataSetRow row} processed by this pipeline element.
      */
-    long getCount();
+    default long getCount() {
+        return getMetrics().getRowsIn();
+    }
 }
@@ -0,0 +1,178 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.pipeline;
+
+import java.io.Serializable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * <p>
+ * Metrics of a {@link Monitored} pipeline node: number of rows received, emitted and filtered, and processing time of
+ * rows.
+ * </p>
+ * <p>
+ * Reading the clock for each row would cost more than most actions, so only one row out of {@link #SAMPLE_RATE} is
+ * timed (with {@link System#nanoTime()}): time of sampled rows is kept in a {@link LatencyHistogram} and total
+ * processing time is estimated from the sampled rows. Work not related to a row (e.g. at end of stream) is always
+ * timed.
+ * </p>
+ * <p>
+ * Typical use in a node:
+ *
+ * <pre>
+ * metrics.start();
+ * try {
+ *     // process row
+ * } finally {
+ *     metrics.stop();
+ * }
+ * </pre>
+ *
+ * This class is not thread safe (a node receives its rows from a single thread).
+ * </p>
+ */
+public class NodeMetrics implements Serializable {
+
+    /** Time one row out of <code>SAMPLE_RATE</code> (must be a power of 2). */
+    public static final int SAMPLE_RATE = 16;
+
+    private static final long serialVersionUID = 1L;
+
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    private long rowsIn;
+
+    private long rowsOut;
+
+    private long rowsFiltered;
+
+    /** Time spent out of row processing (in nanoseconds). */
+    private long otherTime;
+
+    /** True if current row is sampled. */
+    private transient boolean sampling;
+
+    /** Start of current sampled row. */
+    private transient long sampleStart;
+
+    /**
+     * Marks the start of the processing of a row.
+     */
+    public void start() {
+        sampling = (rowsIn++ & (SAMPLE_RATE - 1)) == 0;
+        if (sampling) {
+            sampleStart = System.nanoTime();
+        }
+    }
+
+    /**
+     * Marks the end of the processing of the row given to last {@link #start()}.
+     */
+    public void stop() {
+        if (sampling) {
+            histogram.record(System.nanoTime() - sampleStart);
+            sampling = false;
+        }
+    }
+
+    /**
+     * Records a row emitted to next node.
+     */
+    public void emitted() {
+        rowsOut++;
+    }
+
+    /**
+     * Records rows emitted at once to next node.
+     *
+     * @param count The number of rows.
+     */
+    public void emitted(long count) {
+        rowsOut += count;
+    }
+
+    /**
+     * Records a row filtered (not emitted or emitted as deleted) by the node.
+     */
+    public void filtered() {
+        rowsFiltered++;
+    }
+
+    /**
+     * Records rows filtered at once by the node.
+     *
+     * @param count The number of rows.
+     */
+    public void filtered(long count) {
+        rowsFiltered += count;
+    }
+
+    /**
+     * Records time spent by the node out of row processing.
+     *
+     * @param nanos The time (in nanoseconds).
+     */
+    public void addTime(long nanos) {
+        otherTime += nanos;
+    }
+
+    /**
+     * @return The number of rows received by the node.
+     */
+    public long getRowsIn() {
+        return rowsIn;
+    }
+
+    /**
+     * @return The number of rows emitted by the node.
+     */
+    public long getRowsOut() {
+        return rowsOut;
+    }
+
+    /**
+     * @return The number of rows filtered by the node.
+     */
+    public long getRowsFiltered() {
+        return rowsFiltered;
+    }
+
+    /**
+     * @return The (estimated) total time spent by the node, in nanoseconds.
+     */
+    public long getTotalTime() {
+        final long samples = histogram.getCount();
+        final long rowsTime = samples == 0 ? 0 : (long) ((double) histogram.getTotal() / samples * rowsIn);
+        return rowsTime + otherTime;
+    }
+
+    /**
+     * @return Row processing time percentiles (p50, p90, p99 and max), in nanoseconds.
+     */
+    public Map<String, Long> getLatencies() {
+        final Map<String, Long> latencies = new LinkedHashMap<>();
+        latencies.put("p50", histogram.getValueAtPercentile(50));
+        latencies.put("p90", histogram.getValueAtPercentile(90));
+        latencies.put("p99", histogram.getValueAtPercentile(99));
+        latencies.put("max", histogram.getMax());
+        return latencies;
+    }
+
+    /**
+     * @return The histogram of sampled row processing times.
+     */
+    public LatencyHistogram getHistogram() {
+        return histogram;
+    }
+}
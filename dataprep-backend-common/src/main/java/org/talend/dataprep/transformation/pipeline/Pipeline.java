@@ -44,6 +44,9 @@ import org.talend.dataprep.transformation.pipeline.builder.ActionNodesBuilder;
 import org.talend.dataprep.transformation.pipeline.builder.NodeBuilder;
 import org.talend.dataprep.transformation.pipeline.node.BasicNode;
 import org.talend.dataprep.transformation.pipeline.node.FilteredNode;
+import org.talend.dataprep.transformation.pipeline.node.LimitNode;
+import org.talend.dataprep.transformation.pipeline.node.StepNode;
+import org.talend.dataprep.transformation.pipeline.node.TypeDetectionNode;
 
 public class Pipeline implements Node, RuntimeNode, Serializable {
 
@@ -55,6 +58,9 @@ public class Pipeline implements Node, RuntimeNode, Serializable {
 
     private Node node;
 
+    /** Number of rows sent at once in the pipeline (1 to send rows one by one). */
+    private int batchSize = 1;
+
     /** Flag used to know if the pipeline is stopped or not. */
     private final AtomicBoolean isStopped = new AtomicBoolean();
 
@@ -83,10 +89,9 @@ public class Pipeline implements Node, RuntimeNode, Serializable {
 
     public void execute(DataSet dataSet) {
         final RowMetadata rowMetadata = dataSet.getMetadata().getRowMetadata().clone();
-        try (Stream<DataSetRow> records = dataSet.getRecords()) {
-
-            // get the lock on isFinished to make the signal(STOP) method wait for the whole pipeline to finish
-            synchronized (isFinished) {
+        // get the lock on isFinished to make the signal(STOP) method wait for the whole pipeline to finish
+        synchronized (isFinished) {
+            try (Stream<DataSetRow> records = dataSet.getRecords()) {
 
                 AtomicLong counter = new AtomicLong();
 
@@ -94,16 +99,36 @@ public class Pipeline implements Node, RuntimeNode, Serializable {
                 // with only forEach((row) -> if(isStopped)) for ex we just stop the processed code
                 // but we proceed all the rows of the stream
                 // to replace when java introduce more useful functions to stream (ex: takeWhile)
-                records //
-                        .map(row -> { //
-                            node.exec().receive(row, rowMetadata);
-                            counter.addAndGet(1L);
-                            return row;
-                        }) //
-                        .allMatch(row -> !isStopped.get());
+                if (batchSize > 1) {
+                    final RowBatch[] batch = { new RowBatch(batchSize, rowMetadata) };
+                    records //
+                            .map(row -> { //
+                                // Row instance may be reused by the records stream
+                                batch[0].add(row.clone());
+                                counter.addAndGet(1L);
+                                if (batch[0].isFull()) {
+                                    node.exec().receive(batch[0]);
+                                    batch[0] = new RowBatch(batchSize, rowMetadata);
+                                }
+                                return row;
+                            }) //
+                            .allMatch(row -> !isStopped.get());
+                    if (!batch[0].isEmpty() && !isStopped.get()) {
+                        node.exec().receive(batch[0]);
+                    }
+                } else {
+                    records //
+                            .map(row -> { //
+                                node.exec().receive(row, rowMetadata);
+                                counter.addAndGet(1L);
+                                return row;
+                            }) //
+                            .allMatch(row -> !isStopped.get());
+                }
                 LOG.debug("{} rows sent in the pipeline", counter.get());
-                node.exec().signal(Signal.END_OF_STREAM);
             }
+            // records are closed before end of stream so source stops producing content (if pipeline was stopped)
+            node.exec().signal(Signal.END_OF_STREAM);
         }
     }
 
@@ -111,6 +136,14 @@ public class Pipeline implements Node, RuntimeNode, Serializable {
         this.node = node;
     }
 
+    /**
+     * @param batchSize The number of rows sent at once in the pipeline by {@link #execute(DataSet)} (1 to send rows one
+     * by one).
+     */
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
     @Override
     public String toString() {
         final StringBuilder builder = new StringBuilder();
@@ -128,6 +161,11 @@ public class Pipeline implements Node, RuntimeNode, Serializable {
         throw new UnsupportedOperationException("Pipeline only manage single rows as input");
     }
 
+    @Override
+    public void receive(RowBatch batch) {
+        node.exec().receive(batch);
+    }
+
     @Override
     public Link getLink() {
         return node.getLink();
@@ -209,6 +247,14 @@ public class Pipeline implements Node, RuntimeNode, Serializable {
 
         private PreparationMessage preparation;
 
+        private long limit = Long.MAX_VALUE;
+
+        private int statisticsShards = 1;
+
+        private int partitions = 1;
+
+        private int batchSize = 1;
+
         public static Builder builder() {
             return new Builder();
         }
@@ -274,7 +320,62 @@ public class Pipeline implements Node, RuntimeNode, Serializable {
             return this;
         }
 
+        /**
+         * Limits the number of rows sent to output: once <code>limit</code> rows reached output, the pipeline stops
+         * reading records (and closes them so that source stops producing content). Only rows that are written count
+         * (rows deleted by actions or filtered out do not).
+         * <p>
+         * Nodes that buffer all rows before sending them (type detection) read all records: limit then stops them
+         * from sending remaining buffered rows.
+         * </p>
+         *
+         * @param limit The maximum number of rows sent to output ({@link Long#MAX_VALUE} for no limit).
+         * @return The builder for chaining calls.
+         */
+        public Builder withLimit(long limit) {
+            this.limit = limit;
+            return this;
+        }
+
+        /**
+         * Enables parallel statistics: columns are split into (at most) <code>statisticsShards</code> shards, each
+         * shard being analyzed by its own thread.
+         *
+         * @param statisticsShards The maximum number of shards (1 to analyze all columns in pipeline thread).
+         * @return The builder for chaining calls.
+         */
+        public Builder withStatisticsShards(int statisticsShards) {
+            this.statisticsShards = statisticsShards;
+            return this;
+        }
+
+        /**
+         * Enables partitioned execution of actions: when all actions are row local, ranges of rows are processed in
+         * parallel by <code>partitions</code> copies of the actions (rows are still written in their original order).
+         *
+         * @param partitions The number of partitions (1 to run actions in pipeline thread).
+         * @return The builder for chaining calls.
+         */
+        public Builder withPartitions(int partitions) {
+            this.partitions = partitions;
+            return this;
+        }
+
+        /**
+         * Enables batch processing: rows are sent in the pipeline in {@link RowBatch batches} of
+         * <code>batchSize</code> rows, so nodes that support batches process them in a tight loop.
+         *
+         * @param batchSize The number of rows in a batch (1 to send rows one by one).
+         * @return The builder for chaining calls.
+         */
+        public Builder withBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+            return this;
+        }
+
         public Pipeline build() {
+            final Pipeline pipeline = new Pipeline();
+            pipeline.setBatchSize(batchSize);
             final NodeBuilder current;
             if (inFilter != null) {
                 current = NodeBuilder.filteredSource(inFilter);
@@ -321,6 +422,8 @@ public class Pipeline implements Node, RuntimeNode, Serializable {
                     .actionRegistry(actionRegistry) //
                     .analyzerService(analyzerService) //
                     .statisticsAdapter(adapter) //
+                    .statisticsShards(statisticsShards) //
+                    .partitions(partitions) //
                     .build();
 
             if (preparation != null) {
@@ -337,10 +440,35 @@ public class Pipeline implements Node, RuntimeNode, Serializable {
             if (outFilter != null) {
                 current.to(new FilteredNode(outFilter));
             }
+            if (limit < Long.MAX_VALUE) {
+                // Stop reading records as soon as enough rows reached output (rows buffered by a type detection node
+                // reach this node only once all records are read, stop flag then stops replay of remaining rows).
+                current.to(new LimitNode(limit, () -> pipeline.isStopped.set(true)));
+            }
             current.to(outputSupplier.get());
             current.to(monitorSupplier.get());
             // Finally build pipeline
-            return new Pipeline(current.build());
+            pipeline.setNode(current.build());
+            if (limit < Long.MAX_VALUE) {
+                pipeline.accept(new Visitor() {
+
+                    @Override
+                    public void visitNode(Node node) {
+                        if (node instanceof TypeDetectionNode) {
+                            ((TypeDetectionNode) node).setStopped(pipeline.isStopped::get);
+                        }
+                        super.visitNode(node);
+                    }
+
+                    @Override
+                    public void visitStepNode(StepNode stepNode) {
+                        // Actions of the step are not linked to step node
+                        stepNode.getEntryNode().accept(this);
+                        super.visitStepNode(stepNode);
+                    }
+                });
+            }
+            return pipeline;
         }
     }
 }
@@ -17,6 +17,7 @@ import org.talend.dataprep.transformation.pipeline.link.BasicLink;
 import org.talend.dataprep.transformation.pipeline.link.CloneLink;
 import org.talend.dataprep.transformation.pipeline.node.ActionNode;
 import org.talend.dataprep.transformation.pipeline.node.CompileNode;
+import org.talend.dataprep.transformation.pipeline.node.PartitionedNode;
 import org.talend.dataprep.transformation.pipeline.node.SourceNode;
 import org.talend.dataprep.transformation.pipeline.node.StepNode;
 
@@ -29,12 +30,19 @@ public class PipelineConsoleDump extends Visitor {
     }
 
     private void buildMonitorInformation(Monitored monitored) {
-        final long totalTime = monitored.getTotalTime();
-        final long count = monitored.getCount();
-        double speed = totalTime > 0 ? Math.round(((double) count * 1000) / totalTime) : Double.POSITIVE_INFINITY;
+        final NodeMetrics metrics = monitored.getMetrics();
+        final long totalTime = metrics.getTotalTime();
+        final long count = metrics.getRowsIn();
+        double speed = totalTime > 0 ? Math.round(((double) count * 1_000_000_000) / totalTime) : Double.POSITIVE_INFINITY;
+        final LatencyHistogram histogram = metrics.getHistogram();
 
-        builder.append("(").append(monitored.getTotalTime()).append(" ms - ").append(monitored.getCount()).append(" rows - ")
-                .append(speed).append(" rows/s) ");
+        builder.append("(").append(String.format("%.3f", totalTime / 1_000_000d)).append(" ms - ") //
+                .append(count).append(" rows in - ") //
+                .append(metrics.getRowsOut()).append(" out - ") //
+                .append(metrics.getRowsFiltered()).append(" filtered - ") //
+                .append(speed).append(" rows/s - ") //
+                .append("p50: ").append(histogram.getValueAtPercentile(50)).append(" ns - ") //
+                .append("p99: ").append(histogram.getValueAtPercentile(99)).append(" ns) ");
     }
 
     @Override
@@ -80,6 +88,13 @@ public class PipelineConsoleDump extends Visitor {
         super.visitNode(node);
     }
 
+    @Override
+    public void visitPartitioned(PartitionedNode partitionedNode) {
+        buildMonitorInformation(partitionedNode);
+        builder.append("PARTITIONED NODE (").append(partitionedNode.getPartitionCount()).append(" partitions)").append('\n');
+        super.visitPartitioned(partitionedNode);
+    }
+
     @Override
     public void visitCloneLink(CloneLink cloneLink) {
         builder.append("->").append('\n');
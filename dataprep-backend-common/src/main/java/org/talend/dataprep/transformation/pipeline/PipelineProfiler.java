@@ -0,0 +1,129 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.pipeline;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.talend.dataprep.transformation.pipeline.node.ActionNode;
+import org.talend.dataprep.transformation.pipeline.node.PartitionedNode;
+import org.talend.dataprep.transformation.pipeline.node.StepNode;
+
+/**
+ * A {@link Visitor} that collects the {@link NodeMetrics metrics} of all {@link Monitored} nodes of a pipeline (including
+ * the nodes of the preparation steps, and the nodes of the first partition of a partitioned node), in pipeline order.
+ */
+public class PipelineProfiler extends Visitor {
+
+    private final List<NodeProfile> profiles = new ArrayList<>();
+
+    /**
+     * @param pipeline A pipeline (may be running).
+     * @return The metrics of the monitored nodes of the pipeline.
+     */
+    public static List<NodeProfile> profile(Node pipeline) {
+        final PipelineProfiler profiler = new PipelineProfiler();
+        pipeline.accept(profiler);
+        return profiler.profiles;
+    }
+
+    @Override
+    public void visitAction(ActionNode actionNode) {
+        add("ACTION [" + actionNode.getAction().getName() + "]", actionNode);
+        super.visitAction(actionNode);
+    }
+
+    @Override
+    public void visitStepNode(StepNode stepNode) {
+        // Actions of the step are not linked to step node
+        stepNode.getEntryNode().accept(this);
+        super.visitStepNode(stepNode);
+    }
+
+    @Override
+    public void visitPartitioned(PartitionedNode partitionedNode) {
+        add("PARTITIONED (" + partitionedNode.getPartitionCount() + " partitions)", partitionedNode);
+        super.visitPartitioned(partitionedNode);
+    }
+
+    @Override
+    public void visitNode(Node node) {
+        if (node instanceof Monitored) {
+            add(node.getClass().getSimpleName(), (Monitored) node);
+        }
+        super.visitNode(node);
+    }
+
+    private void add(String name, Monitored monitored) {
+        profiles.add(new NodeProfile(profiles.size(), name, monitored.getMetrics()));
+    }
+
+    /**
+     * Metrics of a node.
+     */
+    public static class NodeProfile {
+
+        private final int index;
+
+        private final String name;
+
+        private final NodeMetrics metrics;
+
+        private NodeProfile(int index, String name, NodeMetrics metrics) {
+            this.index = index;
+            this.name = name;
+            this.metrics = metrics;
+        }
+
+        /**
+         * @return The position of the node in the pipeline.
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * @return A display name for the node.
+         */
+        public String getName() {
+            return name;
+        }
+
+        public long getRowsIn() {
+            return metrics.getRowsIn();
+        }
+
+        public long getRowsOut() {
+            return metrics.getRowsOut();
+        }
+
+        public long getRowsFiltered() {
+            return metrics.getRowsFiltered();
+        }
+
+        /**
+         * @return The (estimated) total time spent in the node, in nanoseconds.
+         */
+        public long getTotalTime() {
+            return metrics.getTotalTime();
+        }
+
+        /**
+         * @return Row processing time percentiles, in nanoseconds.
+         */
+        public Map<String, Long> getLatencies() {
+            return metrics.getLatencies();
+        }
+    }
+}
@@ -0,0 +1,153 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.pipeline;
+
+import java.util.function.Predicate;
+
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+
+/**
+ * <p>
+ * A block of consecutive rows (sharing the same {@link RowMetadata}) sent at once through the pipeline, so nodes can
+ * process rows in a tight loop instead of one call per row and per node.
+ * </p>
+ * <p>
+ * Rows filtered by a node are not removed from the batch but unselected: a selection vector keeps the positions of the
+ * remaining rows (in their original order), and {@link #get(int)} only sees selected rows.
+ * </p>
+ * <p>
+ * Please note this is <b>not</b> the same as {@link RuntimeNode#receive(DataSetRow[], RowMetadata[])} where the rows
+ * are versions of the same row (one per zipped pipeline).
+ * </p>
+ */
+public class RowBatch {
+
+    private final DataSetRow[] rows;
+
+    /** Positions (in <code>rows</code>) of the selected rows. */
+    private final int[] selection;
+
+    /** Number of rows added to batch. */
+    private int count;
+
+    /** Number of selected rows. */
+    private int size;
+
+    private RowMetadata metadata;
+
+    /**
+     * @param capacity The maximum number of rows in batch.
+     * @param metadata The metadata of the rows.
+     */
+    public RowBatch(int capacity, RowMetadata metadata) {
+        this.rows = new DataSetRow[capacity];
+        this.selection = new int[capacity];
+        this.metadata = metadata;
+    }
+
+    /**
+     * Adds (and selects) a row at the end of this batch.
+     *
+     * @param row The row to add.
+     * @throws IllegalStateException If batch is full.
+     */
+    public void add(DataSetRow row) {
+        if (isFull()) {
+            throw new IllegalStateException("Batch is full (" + rows.length + " rows).");
+        }
+        rows[count] = row;
+        selection[size++] = count++;
+    }
+
+    /**
+     * @return <code>true</code> if no more row can be added to this batch.
+     */
+    public boolean isFull() {
+        return count == rows.length;
+    }
+
+    /**
+     * @return The number of selected rows.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return <code>true</code> if no row is selected.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @param index The index of a selected row (between 0 and {@link #size()} excluded).
+     * @return The selected row.
+     */
+    public DataSetRow get(int index) {
+        return rows[selection[index]];
+    }
+
+    /**
+     * Replaces a selected row (e.g. by the row returned by an action).
+     *
+     * @param index The index of a selected row (between 0 and {@link #size()} excluded).
+     * @param row The new row.
+     */
+    public void set(int index, DataSetRow row) {
+        rows[selection[index]] = row;
+    }
+
+    /**
+     * Keeps selected only the rows that match <code>predicate</code>.
+     *
+     * @param predicate The predicate for the rows to keep.
+     * @return The number of rows unselected.
+     */
+    public int retain(Predicate<DataSetRow> predicate) {
+        int retained = 0;
+        for (int i = 0; i < size; i++) {
+            final int position = selection[i];
+            if (predicate.test(rows[position])) {
+                selection[retained++] = position;
+            }
+        }
+        final int removed = size - retained;
+        size = retained;
+        return removed;
+    }
+
+    /**
+     * Keeps selected only the first <code>max</code> selected rows.
+     *
+     * @param max The maximum number of selected rows.
+     */
+    public void limit(int max) {
+        size = Math.max(0, Math.min(size, max));
+    }
+
+    /**
+     * @return The metadata of the rows.
+     */
+    public RowMetadata getMetadata() {
+        return metadata;
+    }
+
+    /**
+     * @param metadata The new metadata of the rows (e.g. once modified by an action).
+     */
+    public void setMetadata(RowMetadata metadata) {
+        this.metadata = metadata;
+    }
+}
@@ -27,6 +27,18 @@ public interface RuntimeLink extends Serializable {
      */
     void emit(DataSetRow[] rows, RowMetadata[] metadatas);
 
+    /**
+     * Emits a batch of consecutive rows. Default implementation emits selected rows one by one.
+     *
+     * @param batch The {@link RowBatch batch} of rows to emit to the next {@link RuntimeNode}.
+     */
+    default void emit(RowBatch batch) {
+        final RowMetadata metadata = batch.getMetadata();
+        for (int i = 0; i < batch.size(); i++) {
+            emit(batch.get(i), metadata);
+        }
+    }
+
     /**
      * Sends a {@link Signal event} to the {@link RuntimeNode}. Signals are data-independent events to indicate external
      * events (such as end of the stream).
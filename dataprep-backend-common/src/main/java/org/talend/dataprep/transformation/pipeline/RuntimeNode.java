@@ -24,6 +24,20 @@ public interface RuntimeNode {
      */
     void receive(DataSetRow[] rows, RowMetadata[] metadatas);
 
+    /**
+     * Called by an incoming {@link RuntimeLink} when a batch of consecutive rows is submitted to the pipeline. Default
+     * implementation processes selected rows one by one (see {@link #receive(DataSetRow, RowMetadata)}), nodes may
+     * override it to process the whole batch at once.
+     *
+     * @param batch The {@link RowBatch batch} of rows to be processed by this node.
+     */
+    default void receive(RowBatch batch) {
+        final RowMetadata metadata = batch.getMetadata();
+        for (int i = 0; i < batch.size(); i++) {
+            receive(batch.get(i), metadata);
+        }
+    }
+
     /**
      * Sends a {@link Signal event} to the node. Signals are data-independent events to indicate external events (such
      * as end of the stream). Node implementations are responsible of the signal propagation using the
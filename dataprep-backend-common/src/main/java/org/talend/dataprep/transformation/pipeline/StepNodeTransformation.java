@@ -14,6 +14,7 @@ package org.talend.dataprep.transformation.pipeline;
 
 import static java.util.Optional.ofNullable;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
@@ -26,6 +27,7 @@ import org.talend.dataprep.transformation.pipeline.builder.NodeBuilder;
 import org.talend.dataprep.transformation.pipeline.link.BasicLink;
 import org.talend.dataprep.transformation.pipeline.node.ActionNode;
 import org.talend.dataprep.transformation.pipeline.node.CompileNode;
+import org.talend.dataprep.transformation.pipeline.node.PartitionedNode;
 import org.talend.dataprep.transformation.pipeline.node.SourceNode;
 import org.talend.dataprep.transformation.pipeline.node.StepNode;
 
@@ -36,6 +38,8 @@ class StepNodeTransformation extends Visitor {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(StepNodeTransformation.class);
 
+    private final List<Step> stepList;
+
     private final Iterator<Step> steps;
 
     private State DISPATCH = new Dispatch();
@@ -57,6 +61,7 @@ class StepNodeTransformation extends Visitor {
             // Code expects root step to be located at the beginning of iterator.
             Collections.reverse(steps);
         }
+        this.stepList = steps;
         this.steps = steps.iterator();
     }
 
@@ -98,6 +103,14 @@ class StepNodeTransformation extends Visitor {
         super.visitNode(node);
     }
 
+    @Override
+    public void visitPartitioned(PartitionedNode partitionedNode) {
+        // Each partition runs all the actions: nodes of each partition are grouped using all the steps
+        processNode(partitionedNode.transform(partition -> StepNodeTransformer.transform(partition, new ArrayList<>(stepList))));
+        steps.forEachRemaining(step -> LOGGER.trace("Step {} used by partitions.", step));
+        super.visitNode(partitionedNode);
+    }
+
     /**
      * Internal state for the visitor.
      */
@@ -16,6 +16,7 @@ import org.talend.dataprep.transformation.pipeline.link.BasicLink;
 import org.talend.dataprep.transformation.pipeline.link.CloneLink;
 import org.talend.dataprep.transformation.pipeline.node.ActionNode;
 import org.talend.dataprep.transformation.pipeline.node.CompileNode;
+import org.talend.dataprep.transformation.pipeline.node.PartitionedNode;
 import org.talend.dataprep.transformation.pipeline.node.SourceNode;
 import org.talend.dataprep.transformation.pipeline.node.StepNode;
 
@@ -55,6 +56,12 @@ public abstract class Visitor {
         doNodeVisit(node);
     }
 
+    public void visitPartitioned(PartitionedNode partitionedNode) {
+        // Nodes of partitions are not linked to partitioned node (all partitions run copies of the same nodes)
+        partitionedNode.getPartitionNodes().get(0).accept(this);
+        doNodeVisit(partitionedNode);
+    }
+
     public void visitCloneLink(CloneLink cloneLink) {
         final Node[] nodes = cloneLink.getNodes();
         for (Node node : nodes) {
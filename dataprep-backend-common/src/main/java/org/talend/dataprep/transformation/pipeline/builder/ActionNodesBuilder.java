@@ -16,6 +16,7 @@ import org.talend.dataprep.transformation.pipeline.Node;
 import org.talend.dataprep.transformation.pipeline.node.ActionNode;
 import org.talend.dataprep.transformation.pipeline.node.CleanUpNode;
 import org.talend.dataprep.transformation.pipeline.node.CompileNode;
+import org.talend.dataprep.transformation.pipeline.node.PartitionedNode;
 
 public class ActionNodesBuilder {
 
@@ -39,6 +40,10 @@ public class ActionNodesBuilder {
 
     private AnalyzerService analyzerService;
 
+    private int statisticsShards = 1;
+
+    private int partitions = 1;
+
     public static ActionNodesBuilder builder() {
         return new ActionNodesBuilder();
     }
@@ -83,6 +88,21 @@ public class ActionNodesBuilder {
         return this;
     }
 
+    public ActionNodesBuilder statisticsShards(final int statisticsShards) {
+        this.statisticsShards = statisticsShards;
+        return this;
+    }
+
+    /**
+     * @param partitions The number of partitions used to run the actions when all actions are row local (1 to run
+     * actions in pipeline thread).
+     * @see PartitionedNode
+     */
+    public ActionNodesBuilder partitions(final int partitions) {
+        this.partitions = partitions;
+        return this;
+    }
+
     /**
      * Build the actions pipeline
      */
@@ -92,6 +112,7 @@ public class ActionNodesBuilder {
                 .actionRegistry(actionRegistry) //
                 .statisticsAdapter(statisticsAdapter) //
                 .allowSchemaAnalysis(allowSchemaAnalysis) //
+                .statisticsShards(statisticsShards) //
                 .actions(actions) //
                 .columns(initialMetadata.getColumns());
 
@@ -104,6 +125,46 @@ public class ActionNodesBuilder {
             builder.to(statisticsNodesBuilder.buildPreStatistics());
         }
 
+        final TransformationContext context;
+        // row local actions may run in partitions: each partition has its own copy of the actions (and their contexts)
+        if (partitions > 1 && !actions.isEmpty() && actionRegistry != null && new ActionsStaticProfiler(actionRegistry).isRowLocal(actions)) {
+            LOGGER.debug("Actions are row local, run them in {} partitions.", partitions);
+            builder.to(new PartitionedNode(this::buildPartition, partitions, PartitionedNode.DEFAULT_PARTITION_SIZE));
+            context = null;
+        } else {
+            context = appendActions(builder, statisticsNodesBuilder);
+        }
+
+        // global analysis after actions
+        // when it is explicitly asked and the actions changes the columns
+        if (needStatisticsAfter) {
+            builder.to(statisticsNodesBuilder.buildPostStatistics());
+        }
+
+        // cleanup all contexts after all actions
+        if (context != null) {
+            builder.to(new CleanUpNode(context));
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Build the nodes of a partition: row local actions (hence no intermediate statistics).
+     */
+    private Node buildPartition() {
+        final NodeBuilder builder = NodeBuilder.source();
+        final TransformationContext context = appendActions(builder, null);
+        builder.to(new CleanUpNode(context));
+        return builder.build();
+    }
+
+    /**
+     * Append the actions nodes (and their intermediate statistics if <code>statisticsNodesBuilder</code> is not null).
+     *
+     * @return The transformation context of the actions (to be cleaned up once actions are done).
+     */
+    private TransformationContext appendActions(final NodeBuilder builder, final StatisticsNodesBuilder statisticsNodesBuilder) {
         // transformation context is the parent of every action context
         // it will hold all the action context
         // that makes it the perfect entry point to clean up all the contexts
@@ -118,9 +179,11 @@ public class ActionNodesBuilder {
             // some actions need fresh statistics
             // in those cases, we gather the rows in a reservoir node that triggers statistics computation
             // before dispatching each row to the next node
-            final Node neededReservoir = statisticsNodesBuilder.buildIntermediateStatistics(nextAction);
-            if (neededReservoir != null) {
-                builder.to(neededReservoir);
+            if (statisticsNodesBuilder != null) {
+                final Node neededReservoir = statisticsNodesBuilder.buildIntermediateStatistics(nextAction);
+                if (neededReservoir != null) {
+                    builder.to(neededReservoir);
+                }
             }
 
             final DataSetRowAction rowAction = nextAction.getRowAction();
@@ -128,15 +191,6 @@ public class ActionNodesBuilder {
             builder.to(new ActionNode(nextAction, context.in(rowAction)));
         }
 
-        // global analysis after actions
-        // when it is explicitly asked and the actions changes the columns
-        if (needStatisticsAfter) {
-            builder.to(statisticsNodesBuilder.buildPostStatistics());
-        }
-
-        // cleanup all contexts after all actions
-        builder.to(new CleanUpNode(context));
-
-        return builder.build();
+        return context;
     }
 }
@@ -2,11 +2,13 @@ package org.talend.dataprep.transformation.pipeline.builder;
 
 import static java.util.stream.Collectors.toSet;
 import static org.talend.dataprep.transformation.actions.common.ImplicitParameters.COLUMN_ID;
+import static org.talend.dataprep.transformation.actions.common.ImplicitParameters.FILTER;
 
 import java.util.*;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
+import org.apache.commons.lang.StringUtils;
 import org.talend.dataprep.api.action.ActionDefinition;
 import org.talend.dataprep.api.dataset.ColumnMetadata;
 import org.talend.dataprep.api.preparation.Action;
@@ -15,7 +17,7 @@ import org.talend.dataprep.parameters.ParameterType;
 import org.talend.dataprep.transformation.actions.common.RunnableAction;
 import org.talend.dataprep.transformation.pipeline.ActionRegistry;
 
-class ActionsStaticProfiler {
+public class ActionsStaticProfiler {
 
     private final ActionRegistry actionRegistry;
 
@@ -35,6 +37,80 @@ class ActionsStaticProfiler {
         return actionToMetadata;
     }
 
+    /**
+     * <p>
+     * Checks whether all actions are row local: each row can be processed by the actions knowing only the row itself
+     * (and the action context once compiled), so that rows may be processed in any order by several copies of the
+     * actions. An action is <b>not</b> row local if it:
+     * <ul>
+     * <li>can not run distributed (it shares state between rows, e.g. fill with value from above),</li>
+     * <li>needs fresh statistics (pattern or invalid values, including a filter on valid/invalid values),</li>
+     * <li>creates columns (compilation of such actions may be expensive, e.g. lookup loads another data set).</li>
+     * </ul>
+     * </p>
+     *
+     * @param actions The actions to check.
+     * @return <code>true</code> if all actions are row local.
+     */
+    public boolean isRowLocal(final List<RunnableAction> actions) {
+        for (final Action action : actions) {
+            final ActionDefinition actionMetadata = actionRegistry.get(action.getName());
+            if (actionMetadata == null) {
+                return false;
+            }
+            final Set<ActionDefinition.Behavior> behavior = actionMetadata.getBehavior();
+            if (behavior.contains(ActionDefinition.Behavior.FORBID_DISTRIBUTED) //
+                    || behavior.contains(ActionDefinition.Behavior.NEED_STATISTICS_PATTERN) //
+                    || behavior.contains(ActionDefinition.Behavior.NEED_STATISTICS_INVALID) //
+                    || behavior.contains(ActionDefinition.Behavior.METADATA_CREATE_COLUMNS) //
+                    || hasValidityFilter(action)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * <p>
+     * Checks whether the actions keep the columns as they are: no column is created, copied, deleted, renamed or moved,
+     * so that the columns (ids, names and order) of the transformed rows are known before any row is transformed. Type
+     * changes are allowed, as they do not change the columns themselves.
+     * </p>
+     *
+     * @param actions The actions to check.
+     * @return <code>true</code> if the actions do not change the columns.
+     */
+    public boolean keepsColumns(final List<RunnableAction> actions) {
+        for (final Action action : actions) {
+            final ActionDefinition actionMetadata = actionRegistry.get(action.getName());
+            if (actionMetadata == null) {
+                return false;
+            }
+            final Set<ActionDefinition.Behavior> behavior = actionMetadata.getBehavior();
+            if (behavior.contains(ActionDefinition.Behavior.METADATA_CHANGE_ROW) //
+                    || behavior.contains(ActionDefinition.Behavior.METADATA_CHANGE_NAME) //
+                    || behavior.contains(ActionDefinition.Behavior.METADATA_CREATE_COLUMNS) //
+                    || behavior.contains(ActionDefinition.Behavior.METADATA_COPY_COLUMNS) //
+                    || behavior.contains(ActionDefinition.Behavior.METADATA_DELETE_COLUMNS)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param action An action.
+     * @return <code>true</code> if the action has a filter on valid/invalid values (hence needs fresh statistics).
+     */
+    static boolean hasValidityFilter(final Action action) {
+        if (action.getParameters().containsKey(FILTER.getKey())) {
+            // action has a filterForFullAnalysis, to cover cases where filters are on invalid values
+            final String filterAsString = action.getParameters().get(FILTER.getKey());
+            return StringUtils.contains(filterAsString, "valid") || StringUtils.contains(filterAsString, "invalid");
+        }
+        return false;
+    }
+
     public ActionsProfile profile(final List<ColumnMetadata> columns, final List<RunnableAction> actions,
             final Map<Action, ActionDefinition> actionToMetadata) {
         final Map<Action, ActionDefinition> metadataByAction = actionToMetadata == null ? getActionMetadataByAction(actions)
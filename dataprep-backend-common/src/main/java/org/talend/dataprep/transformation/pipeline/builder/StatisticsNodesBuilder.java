@@ -2,7 +2,6 @@ package org.talend.dataprep.transformation.pipeline.builder;
 
 import static org.talend.dataprep.api.action.ActionDefinition.Behavior.NEED_STATISTICS_INVALID;
 import static org.talend.dataprep.api.action.ActionDefinition.Behavior.NEED_STATISTICS_PATTERN;
-import static org.talend.dataprep.transformation.actions.common.ImplicitParameters.FILTER;
 
 import java.util.List;
 import java.util.Map;
@@ -11,7 +10,6 @@ import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
-import org.apache.commons.lang.StringUtils;
 import org.talend.dataprep.api.action.ActionDefinition;
 import org.talend.dataprep.api.dataset.ColumnMetadata;
 import org.talend.dataprep.api.preparation.Action;
@@ -43,6 +41,8 @@ public class StatisticsNodesBuilder {
 
     private boolean allowSchemaAnalysis = true;
 
+    private int statisticsShards = 1;
+
     private ActionsProfile actionsProfile;
 
     private Map<Action, ActionDefinition> actionToMetadata;
@@ -74,6 +74,15 @@ public class StatisticsNodesBuilder {
         return this;
     }
 
+    /**
+     * @param statisticsShards the maximum number of column shards analyzed in parallel by statistics nodes (1 for no
+     * parallel analysis).
+     */
+    public StatisticsNodesBuilder statisticsShards(final int statisticsShards) {
+        this.statisticsShards = statisticsShards;
+        return this;
+    }
+
     public StatisticsNodesBuilder actions(final List<RunnableAction> actions) {
         this.actions = actions;
         return this;
@@ -151,13 +160,7 @@ public class StatisticsNodesBuilder {
         }
 
         // action has filter that is on valid/invalid
-        if (nextAction.getParameters().containsKey(FILTER.getKey())) {
-            // action has a filterForFullAnalysis, to cover cases where filters are on invalid values
-            final String filterAsString = nextAction.getParameters().get(FILTER.getKey());
-            return StringUtils.contains(filterAsString, "valid") || StringUtils.contains(filterAsString, "invalid");
-        }
-
-        return false;
+        return ActionsStaticProfiler.hasValidityFilter(nextAction);
     }
 
     private void performActionsProfiling() {
@@ -215,10 +218,10 @@ public class StatisticsNodesBuilder {
     }
 
     private Node getQualityStatisticsNode(final Predicate<ColumnMetadata> columnFilter) {
-        return new StatisticsNode(getQualityAnalyzer(), columnFilter, statisticsAdapter);
+        return new StatisticsNode(getQualityAnalyzer(), columnFilter, statisticsAdapter, statisticsShards);
     }
 
     private Node getFullStatisticsNode(final Predicate<ColumnMetadata> columnFilter) {
-        return new StatisticsNode(getFullAnalyzer(), columnFilter, statisticsAdapter);
+        return new StatisticsNode(getFullAnalyzer(), columnFilter, statisticsAdapter, statisticsShards);
     }
 }
@@ -22,6 +22,11 @@ public class BasicLink implements Link, RuntimeLink {
         target.exec().receive(rows, metadatas);
     }
 
+    @Override
+    public void emit(RowBatch batch) {
+        target.exec().receive(batch);
+    }
+
     @Override
     public void accept(Visitor visitor) {
         visitor.visitBasicLink(this);
@@ -18,22 +18,34 @@ public class CloneLink implements Link, RuntimeLink {
         this.nodes = nodes;
     }
 
+    /**
+     * Rows are {@link DataSetRow#clone() copied on write}: all targets but the last one receive a clone that shares
+     * values with the row, and the last target receives the row itself. A target only pays for a copy of the values
+     * when it modifies them.
+     */
     @Override
     public void emit(DataSetRow row, RowMetadata metadata) {
         initClonedMetadata(metadata);
-        for (int i = 0; i < nodes.length; ++i) {
+        final int last = nodes.length - 1;
+        for (int i = 0; i < last; ++i) {
             nodes[i].exec().receive(row.clone(), clonedMetadata[i]);
         }
+        if (last >= 0) {
+            nodes[last].exec().receive(row, clonedMetadata[last]);
+        }
     }
 
     @Override
     public void emit(DataSetRow[] rows, RowMetadata[] metadatas) {
         initClonedMetadata(metadatas);
-
-        for (int i = 0; i < nodes.length; ++i) {
+        final int last = nodes.length - 1;
+        for (int i = 0; i < last; ++i) {
             final DataSetRow[] clonedRows = Arrays.stream(rows).map(DataSetRow::clone).toArray(DataSetRow[]::new);
             nodes[i].exec().receive(clonedRows, multiClonedMetadata[i]);
         }
+        if (last >= 0) {
+            nodes[last].exec().receive(rows, multiClonedMetadata[last]);
+        }
     }
 
     @Override
@@ -15,9 +15,12 @@ package org.talend.dataprep.transformation.pipeline.node;
 import org.talend.dataprep.api.dataset.RowMetadata;
 import org.talend.dataprep.api.dataset.row.DataSetRow;
 import org.talend.dataprep.transformation.actions.common.RunnableAction;
+import org.talend.dataprep.transformation.api.action.DataSetRowAction;
 import org.talend.dataprep.transformation.api.action.context.ActionContext;
 import org.talend.dataprep.transformation.pipeline.Monitored;
 import org.talend.dataprep.transformation.pipeline.Node;
+import org.talend.dataprep.transformation.pipeline.NodeMetrics;
+import org.talend.dataprep.transformation.pipeline.RowBatch;
 import org.talend.dataprep.transformation.pipeline.Visitor;
 
 public class ActionNode extends BasicNode implements Monitored {
@@ -26,9 +29,7 @@ public class ActionNode extends BasicNode implements Monitored {
 
     private final ActionContext actionContext;
 
-    private long totalTime;
-
-    private int count;
+    private final NodeMetrics metrics = new NodeMetrics();
 
     public ActionNode(RunnableAction action, ActionContext actionContext) {
         this.action = action;
@@ -38,7 +39,8 @@ public class ActionNode extends BasicNode implements Monitored {
     @Override
     public void receive(DataSetRow row, RowMetadata metadata) {
         final DataSetRow actionRow;
-        final long start = System.currentTimeMillis();
+        final boolean wasDeleted = row.isDeleted();
+        metrics.start();
         try {
             switch (actionContext.getActionStatus()) {
             case NOT_EXECUTED:
@@ -52,15 +54,54 @@ public class ActionNode extends BasicNode implements Monitored {
                 break;
             }
         } finally {
-            totalTime += System.currentTimeMillis() - start;
-            count++;
+            metrics.stop();
         }
         row.setRowMetadata(actionContext.getRowMetadata());
+        if (!wasDeleted && actionRow.isDeleted()) {
+            metrics.filtered();
+        }
         if (link != null) {
+            metrics.emitted();
             link.exec().emit(actionRow, actionContext.getRowMetadata());
         }
     }
 
+    @Override
+    public void receive(RowBatch batch) {
+        final DataSetRowAction rowAction = action.getRowAction();
+        for (int i = 0; i < batch.size(); i++) {
+            final DataSetRow row = batch.get(i);
+            final boolean wasDeleted = row.isDeleted();
+            final DataSetRow actionRow;
+            metrics.start();
+            try {
+                switch (actionContext.getActionStatus()) {
+                case NOT_EXECUTED:
+                case OK:
+                    actionRow = rowAction.apply(row, actionContext);
+                    break;
+                case DONE:
+                case CANCELED:
+                default:
+                    actionRow = row;
+                    break;
+                }
+            } finally {
+                metrics.stop();
+            }
+            row.setRowMetadata(actionContext.getRowMetadata());
+            if (!wasDeleted && actionRow.isDeleted()) {
+                metrics.filtered();
+            }
+            batch.set(i, actionRow);
+        }
+        batch.setMetadata(actionContext.getRowMetadata());
+        if (link != null) {
+            metrics.emitted(batch.size());
+            emit(batch);
+        }
+    }
+
     @Override
     public void accept(Visitor visitor) {
         visitor.visitAction(this);
@@ -72,13 +113,8 @@ public class ActionNode extends BasicNode implements Monitored {
     }
 
     @Override
-    public long getTotalTime() {
-        return totalTime;
-    }
-
-    @Override
-    public long getCount() {
-        return count;
+    public NodeMetrics getMetrics() {
+        return metrics;
     }
 
     public RunnableAction getAction() {
@@ -34,6 +34,18 @@ public class BasicNode implements Node, RuntimeNode {
         }
     }
 
+    /**
+     * Sends a batch of rows to the next node (if any). Nodes that process batches at once use this method to pass the
+     * batch once processed.
+     *
+     * @param batch The batch of rows.
+     */
+    protected void emit(RowBatch batch) {
+        if (link != null) {
+            link.exec().emit(batch);
+        }
+    }
+
     @Override
     public Link getLink() {
         return link;
@@ -16,6 +16,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.talend.dataprep.transformation.api.action.context.TransformationContext;
 import org.talend.dataprep.transformation.pipeline.Node;
+import org.talend.dataprep.transformation.pipeline.RowBatch;
 import org.talend.dataprep.transformation.pipeline.Signal;
 
 /**
@@ -31,6 +32,11 @@ public class CleanUpNode extends BasicNode {
         this.context = context;
     }
 
+    @Override
+    public void receive(RowBatch batch) {
+        emit(batch);
+    }
+
     @Override
     public void signal(Signal signal) {
         if (signal == Signal.END_OF_STREAM || signal == Signal.CANCEL || signal == Signal.STOP) {
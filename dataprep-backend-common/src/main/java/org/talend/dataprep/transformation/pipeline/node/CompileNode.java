@@ -17,6 +17,7 @@ import org.talend.dataprep.api.dataset.row.DataSetRow;
 import org.talend.dataprep.transformation.actions.common.RunnableAction;
 import org.talend.dataprep.transformation.api.action.context.ActionContext;
 import org.talend.dataprep.transformation.pipeline.Node;
+import org.talend.dataprep.transformation.pipeline.RowBatch;
 import org.talend.dataprep.transformation.pipeline.Visitor;
 
 public class CompileNode extends BasicNode {
@@ -34,6 +35,24 @@ public class CompileNode extends BasicNode {
 
     @Override
     public void receive(DataSetRow row, RowMetadata metadata) {
+        compile(metadata);
+        row.setRowMetadata(actionContext.getRowMetadata());
+        link.exec().emit(row, actionContext.getRowMetadata());
+    }
+
+    @Override
+    public void receive(RowBatch batch) {
+        // All rows of a batch share the same metadata: compile (if needed) once for the batch
+        compile(batch.getMetadata());
+        final RowMetadata rowMetadata = actionContext.getRowMetadata();
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).setRowMetadata(rowMetadata);
+        }
+        batch.setMetadata(rowMetadata);
+        emit(batch);
+    }
+
+    private void compile(RowMetadata metadata) {
         boolean needCompile = actionContext.getActionStatus() == ActionContext.ActionStatus.NOT_EXECUTED;
         if (actionContext.getRowMetadata() == null || hashCode != metadata.hashCode()) {
             actionContext.setRowMetadata(metadata.clone());
@@ -43,8 +62,6 @@ public class CompileNode extends BasicNode {
         if (needCompile) {
             action.getRowAction().compile(actionContext);
         }
-        row.setRowMetadata(actionContext.getRowMetadata());
-        link.exec().emit(row, actionContext.getRowMetadata());
     }
 
     @Override
@@ -16,16 +16,21 @@ import java.util.function.BiPredicate;
 
 import org.talend.dataprep.api.dataset.RowMetadata;
 import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.transformation.pipeline.Monitored;
 import org.talend.dataprep.transformation.pipeline.Node;
+import org.talend.dataprep.transformation.pipeline.NodeMetrics;
+import org.talend.dataprep.transformation.pipeline.RowBatch;
 
 /**
  * Node that filter input using a provided predicate.
  * If the predicate returns true, it is emited to the next node.
  */
-public class FilterNode extends BasicNode {
+public class FilterNode extends BasicNode implements Monitored {
 
     private final BiPredicate<DataSetRow, RowMetadata>[] filters;
 
+    private final NodeMetrics metrics = new NodeMetrics();
+
     @SafeVarargs
     public FilterNode(final BiPredicate<DataSetRow, RowMetadata>... filters) {
         this.filters = filters;
@@ -33,15 +38,53 @@ public class FilterNode extends BasicNode {
 
     @Override
     public void receive(final DataSetRow row, final RowMetadata metadata) {
-        if (filters != null && filters[0].test(row, metadata)) {
+        final boolean accepted;
+        metrics.start();
+        try {
+            accepted = filters != null && filters[0].test(row, metadata);
+        } finally {
+            metrics.stop();
+        }
+        if (accepted) {
+            metrics.emitted();
             super.receive(row, metadata);
+        } else {
+            metrics.filtered();
         }
     }
 
     @Override
     public void receive(final DataSetRow[] rows, final RowMetadata[] metadatas) {
-        if (test(rows, metadatas)) {
+        final boolean accepted;
+        metrics.start();
+        try {
+            accepted = test(rows, metadatas);
+        } finally {
+            metrics.stop();
+        }
+        if (accepted) {
+            metrics.emitted();
             super.receive(rows, metadatas);
+        } else {
+            metrics.filtered();
+        }
+    }
+
+    @Override
+    public void receive(final RowBatch batch) {
+        final RowMetadata metadata = batch.getMetadata();
+        final int filtered = batch.retain(row -> {
+            metrics.start();
+            try {
+                return filters != null && filters[0].test(row, metadata);
+            } finally {
+                metrics.stop();
+            }
+        });
+        metrics.filtered(filtered);
+        if (!batch.isEmpty()) {
+            metrics.emitted(batch.size());
+            emit(batch);
         }
     }
 
@@ -62,4 +105,9 @@ public class FilterNode extends BasicNode {
     public Node copyShallow() {
         return new FilterNode(filters);
     }
+
+    @Override
+    public NodeMetrics getMetrics() {
+        return metrics;
+    }
 }
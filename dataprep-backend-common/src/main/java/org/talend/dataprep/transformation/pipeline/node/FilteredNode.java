@@ -18,6 +18,7 @@ import java.util.function.Predicate;
 import org.talend.dataprep.api.dataset.RowMetadata;
 import org.talend.dataprep.api.dataset.row.DataSetRow;
 import org.talend.dataprep.transformation.pipeline.Node;
+import org.talend.dataprep.transformation.pipeline.RowBatch;
 
 public class FilteredNode extends BasicNode {
 
@@ -31,14 +32,27 @@ public class FilteredNode extends BasicNode {
 
     @Override
     public void receive(DataSetRow row, RowMetadata metadata) {
+        init(metadata);
+        if (instance.test(row)) {
+            super.receive(row, metadata);
+        }
+    }
+
+    @Override
+    public void receive(RowBatch batch) {
+        init(batch.getMetadata());
+        batch.retain(instance);
+        if (!batch.isEmpty()) {
+            emit(batch);
+        }
+    }
+
+    private void init(RowMetadata metadata) {
         synchronized (filter) {
             if (instance == null) {
                 instance = filter.apply(metadata);
             }
         }
-        if (instance.test(row)) {
-            super.receive(row, metadata);
-        }
     }
 
     @Override
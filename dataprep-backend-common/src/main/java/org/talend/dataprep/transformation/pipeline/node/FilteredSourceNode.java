@@ -17,6 +17,7 @@ import java.util.function.Predicate;
 import org.talend.dataprep.api.dataset.RowMetadata;
 import org.talend.dataprep.api.dataset.row.DataSetRow;
 import org.talend.dataprep.transformation.pipeline.Node;
+import org.talend.dataprep.transformation.pipeline.RowBatch;
 
 public class FilteredSourceNode extends SourceNode {
 
@@ -33,6 +34,14 @@ public class FilteredSourceNode extends SourceNode {
         }
     }
 
+    @Override
+    public void receive(RowBatch batch) {
+        batch.retain(filter);
+        if (!batch.isEmpty()) {
+            super.receive(batch);
+        }
+    }
+
     @Override
     public Node copyShallow() {
         return new FilteredSourceNode(filter);
@@ -24,6 +24,7 @@ import org.talend.dataprep.quality.AnalyzerService;
 import org.talend.dataprep.transformation.actions.Providers;
 import org.talend.dataprep.transformation.pipeline.Monitored;
 import org.talend.dataprep.transformation.pipeline.Node;
+import org.talend.dataprep.transformation.pipeline.NodeMetrics;
 import org.talend.dataprep.transformation.pipeline.Signal;
 import org.talend.dataprep.transformation.pipeline.Visitor;
 import org.talend.dataquality.common.inference.Analyzer;
@@ -33,9 +34,7 @@ public class InvalidDetectionNode extends ColumnFilteredNode implements Monitore
 
     private static final Logger LOGGER = LoggerFactory.getLogger(InvalidDetectionNode.class);
 
-    private long totalTime;
-
-    private long count;
+    private final NodeMetrics metrics = new NodeMetrics();
 
     private transient InvalidMarker invalidMarker;
 
@@ -49,18 +48,20 @@ public class InvalidDetectionNode extends ColumnFilteredNode implements Monitore
 
     @Override
     public void receive(DataSetRow row, RowMetadata metadata) {
-        final long start = System.currentTimeMillis();
+        final DataSetRow markedRow;
+        metrics.start();
         try {
             performColumnFilter(row, metadata);
             if (configuredAnalyzer == null) {
                 this.configuredAnalyzer = getAnalyzerService().build(filteredColumns, AnalyzerService.Analysis.QUALITY);
                 this.invalidMarker = new InvalidMarker(filteredColumns, configuredAnalyzer);
             }
-            super.receive(invalidMarker.apply(row), metadata);
+            markedRow = invalidMarker.apply(row);
         } finally {
-            totalTime += System.currentTimeMillis() - start;
-            count++;
+            metrics.stop();
         }
+        metrics.emitted();
+        super.receive(markedRow, metadata);
     }
 
     private AnalyzerService getAnalyzerService() {
@@ -93,12 +94,7 @@ public class InvalidDetectionNode extends ColumnFilteredNode implements Monitore
     }
 
     @Override
-    public long getTotalTime() {
-        return totalTime;
-    }
-
-    @Override
-    public long getCount() {
-        return count;
+    public NodeMetrics getMetrics() {
+        return metrics;
     }
 }
@@ -0,0 +1,113 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.pipeline.node;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.transformation.pipeline.Node;
+import org.talend.dataprep.transformation.pipeline.RowBatch;
+
+/**
+ * A node that lets at most <code>limit</code> written rows go through: once limit is reached, remaining rows are
+ * discarded and <code>onLimit</code> is called (so that the rows source can stop sending rows in the pipeline).
+ * <p>
+ * Only rows that will be written (see {@link DataSetRow#shouldWrite()}) are counted: rows deleted by actions go through
+ * (until limit is reached) without being counted.
+ * </p>
+ */
+public class LimitNode extends BasicNode {
+
+    private final long limit;
+
+    private final Runnable onLimit;
+
+    private final AtomicLong count = new AtomicLong();
+
+    /**
+     * @param limit The maximum number of written rows to let through.
+     * @param onLimit The callback when limit is reached (called once).
+     */
+    public LimitNode(long limit, Runnable onLimit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit cannot be negative.");
+        }
+        this.limit = limit;
+        this.onLimit = onLimit;
+    }
+
+    @Override
+    public void receive(DataSetRow row, RowMetadata metadata) {
+        if (!row.shouldWrite()) {
+            if (count.get() < limit) {
+                super.receive(row, metadata);
+            }
+            return;
+        }
+        final long current = count.incrementAndGet();
+        if (current <= limit) {
+            super.receive(row, metadata);
+        }
+        if (current == Math.max(limit, 1)) {
+            onLimit.run();
+        }
+    }
+
+    @Override
+    public void receive(DataSetRow[] rows, RowMetadata[] metadatas) {
+        final long current = count.incrementAndGet();
+        if (current <= limit) {
+            super.receive(rows, metadatas);
+        }
+        if (current == Math.max(limit, 1)) {
+            onLimit.run();
+        }
+    }
+
+    @Override
+    public void receive(RowBatch batch) {
+        final int size = batch.size();
+        int written = 0;
+        for (int i = 0; i < size; i++) {
+            if (batch.get(i).shouldWrite()) {
+                written++;
+            }
+        }
+        final long previous = count.getAndAdd(written);
+        if (previous < limit) {
+            if (previous + written > limit) {
+                // Keep rows up to the last written row under limit
+                long remaining = limit - previous;
+                int end = 0;
+                while (remaining > 0) {
+                    if (batch.get(end++).shouldWrite()) {
+                        remaining--;
+                    }
+                }
+                batch.limit(end);
+            }
+            emit(batch);
+        }
+        // Limit reached by a row of this batch
+        final long onLimitRow = Math.max(limit, 1);
+        if (previous < onLimitRow && previous + written >= onLimitRow) {
+            onLimit.run();
+        }
+    }
+
+    @Override
+    public Node copyShallow() {
+        return new LimitNode(limit, onLimit);
+    }
+}
@@ -0,0 +1,317 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.pipeline.node;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.talend.daikon.exception.TalendRuntimeException;
+import org.talend.dataprep.BaseErrorCodes;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.transformation.pipeline.Link;
+import org.talend.dataprep.transformation.pipeline.Monitored;
+import org.talend.dataprep.transformation.pipeline.Node;
+import org.talend.dataprep.transformation.pipeline.NodeMetrics;
+import org.talend.dataprep.transformation.pipeline.Signal;
+import org.talend.dataprep.transformation.pipeline.Visitor;
+import org.talend.dataprep.transformation.pipeline.builder.NodeBuilder;
+
+/**
+ * <p>
+ * A node that runs nodes on several threads: incoming rows are split into contiguous ranges of rows, and each range is
+ * processed by one of the partitions. Each partition has its own copy of the nodes (built by a factory), hence its own
+ * action contexts, so nodes do not need to be thread safe. Processed rows are emitted to next node in their original
+ * order, from the thread that sends rows to this node.
+ * </p>
+ * <p>
+ * Only nodes that need nothing but the row itself should run in partitions (see
+ * {@link org.talend.dataprep.transformation.pipeline.builder.ActionNodesBuilder}).
+ * </p>
+ */
+public class PartitionedNode extends BasicNode implements Monitored {
+
+    /** Default number of rows in a range of rows. */
+    public static final int DEFAULT_PARTITION_SIZE = 1024;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PartitionedNode.class);
+
+    /** Runs partitions (threads are shared by all partitioned nodes). */
+    private static final ForkJoinPool WORKERS = new ForkJoinPool(Runtime.getRuntime().availableProcessors(), pool -> {
+        final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("pipeline-partition-" + thread.getPoolIndex());
+        return thread;
+    }, null, false);
+
+    /** Builds the nodes run by a partition. */
+    private final Supplier<Node> partitionFactory;
+
+    private final int partitionCount;
+
+    private final int partitionSize;
+
+    private final NodeMetrics metrics = new NodeMetrics();
+
+    /** Ranges of rows being processed, in the order of the rows. */
+    private final Deque<ForkJoinTask<Partition>> running = new ArrayDeque<>();
+
+    private transient Partition[] partitions;
+
+    /** Partition receiving rows (<code>null</code> if none). */
+    private transient Partition current;
+
+    /** Number of ranges of rows submitted to partitions. */
+    private long submitted;
+
+    /**
+     * @param partitionFactory A factory for the nodes run by a partition.
+     * @param partitionCount The number of partitions (hence the maximum number of threads used to process rows).
+     * @param partitionSize The number of rows in a range of rows.
+     */
+    public PartitionedNode(Supplier<Node> partitionFactory, int partitionCount, int partitionSize) {
+        this.partitionFactory = partitionFactory;
+        this.partitionCount = Math.max(1, partitionCount);
+        this.partitionSize = Math.max(1, partitionSize);
+    }
+
+    @Override
+    public void receive(DataSetRow row, RowMetadata metadata) {
+        metrics.start();
+        try {
+            if (current == null) {
+                current = nextPartition();
+            }
+            // Row instance may be reused by previous node once this method returns
+            current.add(row.clone(), metadata);
+        } finally {
+            metrics.stop();
+        }
+        if (current.size() == partitionSize) {
+            submit();
+        }
+    }
+
+    @Override
+    public void receive(DataSetRow[] rows, RowMetadata[] metadatas) {
+        throw new UnsupportedOperationException("Partitioned node only manage single rows as input");
+    }
+
+    @Override
+    public void signal(Signal signal) {
+        if (signal == Signal.END_OF_STREAM) {
+            if (current != null && current.size() > 0) {
+                submit();
+            }
+            while (!running.isEmpty()) {
+                emitOldest();
+            }
+            // Let nodes of partitions release their resources
+            for (Partition partition : getPartitions()) {
+                partition.entryNode.exec().signal(signal);
+            }
+        }
+        super.signal(signal);
+    }
+
+    @Override
+    public void accept(Visitor visitor) {
+        visitor.visitPartitioned(this);
+    }
+
+    @Override
+    public Node copyShallow() {
+        return new PartitionedNode(partitionFactory, partitionCount, partitionSize);
+    }
+
+    @Override
+    public NodeMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * @return The entry node of each partition (all partitions run copies of the same nodes).
+     */
+    public List<Node> getPartitionNodes() {
+        final List<Node> entryNodes = new ArrayList<>(partitionCount);
+        for (Partition partition : getPartitions()) {
+            entryNodes.add(partition.entryNode);
+        }
+        return Collections.unmodifiableList(entryNodes);
+    }
+
+    /**
+     * @return The number of partitions.
+     */
+    public int getPartitionCount() {
+        return partitionCount;
+    }
+
+    /**
+     * @param transformation A transformation for the nodes of a partition.
+     * @return A copy of this node where nodes run by partitions are transformed with <code>transformation</code>.
+     */
+    public PartitionedNode transform(UnaryOperator<Node> transformation) {
+        return new PartitionedNode(() -> transformation.apply(partitionFactory.get()), partitionCount, partitionSize);
+    }
+
+    private Partition[] getPartitions() {
+        if (partitions == null) {
+            partitions = new Partition[partitionCount];
+            for (int i = 0; i < partitionCount; i++) {
+                partitions[i] = new Partition(partitionFactory.get());
+            }
+            LOGGER.debug("{} partition(s) of {} row(s) created.", partitionCount, partitionSize);
+        }
+        return partitions;
+    }
+
+    /**
+     * @return The partition for the next range of rows (once it has processed its previous range, if any).
+     */
+    private Partition nextPartition() {
+        // Ranges are given to partitions in turn: oldest running range is the one of the next partition
+        if (running.size() == partitionCount) {
+            emitOldest();
+        }
+        return getPartitions()[(int) (submitted % partitionCount)];
+    }
+
+    private void submit() {
+        running.add(WORKERS.submit(current::process, current));
+        submitted++;
+        current = null;
+    }
+
+    /**
+     * Waits for the oldest running range of rows to be processed, and emits its rows to next node.
+     */
+    private void emitOldest() {
+        final ForkJoinTask<Partition> task = running.poll();
+        final Partition partition;
+        final long start = System.nanoTime();
+        try {
+            partition = task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TalendRuntimeException(BaseErrorCodes.UNEXPECTED_EXCEPTION, e);
+        } catch (ExecutionException e) {
+            throw new TalendRuntimeException(BaseErrorCodes.UNEXPECTED_EXCEPTION, e.getCause());
+        } finally {
+            metrics.addTime(System.nanoTime() - start);
+        }
+        partition.emit(link, metrics);
+    }
+
+    /**
+     * A copy of the nodes, with the rows it has to process and the rows they emitted.
+     */
+    private static class Partition {
+
+        private final Node entryNode;
+
+        private final Output output = new Output();
+
+        private DataSetRow[] rows;
+
+        private RowMetadata[] metadatas;
+
+        private int size;
+
+        private Partition(Node entryNode) {
+            this.entryNode = entryNode;
+            NodeBuilder.from(entryNode).to(output);
+        }
+
+        private void add(DataSetRow row, RowMetadata metadata) {
+            if (rows == null) {
+                rows = new DataSetRow[16];
+                metadatas = new RowMetadata[16];
+            } else if (size == rows.length) {
+                rows = Arrays.copyOf(rows, size * 2);
+                metadatas = Arrays.copyOf(metadatas, size * 2);
+            }
+            rows[size] = row;
+            metadatas[size++] = metadata;
+        }
+
+        private int size() {
+            return size;
+        }
+
+        /**
+         * Runs the partition's nodes on the rows (called by a worker thread).
+         */
+        private void process() {
+            for (int i = 0; i < size; i++) {
+                entryNode.exec().receive(rows[i], metadatas[i]);
+            }
+        }
+
+        private void emit(Link link, NodeMetrics metrics) {
+            final List<DataSetRow> outputRows = output.rows;
+            final List<RowMetadata> outputMetadatas = output.metadatas;
+            for (int i = 0; i < outputRows.size(); i++) {
+                metrics.emitted();
+                if (link != null) {
+                    link.exec().emit(outputRows.get(i), outputMetadatas.get(i));
+                }
+            }
+            // Partition is ready for next range of rows
+            Arrays.fill(rows, 0, size, null);
+            Arrays.fill(metadatas, 0, size, null);
+            size = 0;
+            outputRows.clear();
+            outputMetadatas.clear();
+        }
+    }
+
+    /**
+     * Last node of a partition: keeps rows until they are emitted (in order) by the partitioned node.
+     */
+    private static class Output extends BasicNode {
+
+        private final List<DataSetRow> rows = new ArrayList<>();
+
+        private final List<RowMetadata> metadatas = new ArrayList<>();
+
+        @Override
+        public void receive(DataSetRow row, RowMetadata metadata) {
+            rows.add(row);
+            metadatas.add(metadata);
+        }
+
+        @Override
+        public void receive(DataSetRow[] rows, RowMetadata[] metadatas) {
+            for (int i = 0; i < rows.length; i++) {
+                receive(rows[i], metadatas[i]);
+            }
+        }
+
+        @Override
+        public Node copyShallow() {
+            return new Output();
+        }
+    }
+}
@@ -0,0 +1,317 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.pipeline.node;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.talend.daikon.exception.TalendRuntimeException;
+import org.talend.dataprep.BaseErrorCodes;
+import org.talend.dataprep.api.dataset.ColumnMetadata;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.util.FilesHelper;
+
+/**
+ * <p>
+ * Stores rows (in a compact, length prefixed binary format) so they can be replayed later. Rows are kept in memory
+ * until their encoded size reaches a threshold, they are then spilled to a temporary file (optionally compressed with
+ * the fastest deflate level).
+ * </p>
+ * <p>
+ * Each row is stored as:
+ * <ul>
+ * <li>a flag byte (deleted row, row with a TDP id),</li>
+ * <li>the TDP id (if any),</li>
+ * <li>the number of values, then for each value its key and value. Keys are written once (as strings), and then
+ * referenced by their index.</li>
+ * </ul>
+ * Rows are replayed with the same values as if they had been written to and read from JSON (<code>null</code> values
+ * are replayed as empty strings).
+ * </p>
+ */
+public class RowReservoir implements Closeable {
+
+    /** Default size (in bytes) of encoded rows kept in memory before spilling to disk. */
+    public static final long DEFAULT_MEMORY_THRESHOLD = 8L * 1024 * 1024;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RowReservoir.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final int DELETED = 1;
+
+    private static final int HAS_TDP_ID = 1 << 1;
+
+    private final long memoryThreshold;
+
+    private final boolean compress;
+
+    /** Index of the keys already written. */
+    private final Map<String, Integer> keys = new HashMap<>();
+
+    /** Encoded rows (until they are spilled to disk). */
+    private Buffer memory = new Buffer();
+
+    private DataOutputStream output = new DataOutputStream(memory);
+
+    private File file;
+
+    private Deflater deflater;
+
+    private long count;
+
+    /**
+     * @param memoryThreshold The size (in bytes) of encoded rows kept in memory before spilling to disk.
+     * @param compress <code>true</code> to compress rows spilled to disk.
+     */
+    public RowReservoir(long memoryThreshold, boolean compress) {
+        this.memoryThreshold = memoryThreshold;
+        this.compress = compress;
+    }
+
+    /**
+     * Adds a row to this reservoir.
+     *
+     * @param row The row to store.
+     * @param columns The columns to store values for.
+     */
+    public void add(DataSetRow row, List<ColumnMetadata> columns) {
+        try {
+            final Long tdpId = row.getTdpId();
+            int flags = row.isDeleted() ? DELETED : 0;
+            if (tdpId != null) {
+                flags |= HAS_TDP_ID;
+            }
+            output.writeByte(flags);
+            if (tdpId != null) {
+                output.writeLong(tdpId);
+            }
+            final Map<String, String> internalValues = row.getInternalValues();
+            writeInt(columns.size() + internalValues.size());
+            for (ColumnMetadata column : columns) {
+                writeKey(column.getId());
+                writeString(row.get(column.getId()));
+            }
+            for (Map.Entry<String, String> entry : internalValues.entrySet()) {
+                writeKey(entry.getKey());
+                writeString(entry.getValue());
+            }
+            count++;
+            if (file == null && memory.size() >= memoryThreshold) {
+                spill();
+            }
+        } catch (IOException e) {
+            throw new TalendRuntimeException(BaseErrorCodes.UNEXPECTED_EXCEPTION, e);
+        }
+    }
+
+    /**
+     * Sends all stored rows (in insertion order) to <code>consumer</code>. Please note the same {@link DataSetRow}
+     * instance is used for all rows: consumer must clone row if it needs to keep it.
+     *
+     * @param consumer The consumer for stored rows.
+     */
+    public void replay(Consumer<DataSetRow> consumer) {
+        replay(consumer, () -> false);
+    }
+
+    /**
+     * Sends stored rows (in insertion order) to <code>consumer</code> until <code>stop</code> returns
+     * <code>true</code>. Please note the same {@link DataSetRow} instance is used for all rows: consumer must clone row
+     * if it needs to keep it.
+     *
+     * @param consumer The consumer for stored rows.
+     * @param stop Checked before each row: once it returns <code>true</code>, remaining rows are not replayed.
+     */
+    public void replay(Consumer<DataSetRow> consumer, BooleanSupplier stop) {
+        try {
+            output.close();
+            final List<String> readKeys = new ArrayList<>();
+            final DataSetRow row = new DataSetRow(new RowMetadata());
+            try (DataInputStream input = new DataInputStream(openInput())) {
+                for (long i = 0; i < count && !stop.getAsBoolean(); i++) {
+                    row.clear();
+                    final int flags = input.readUnsignedByte();
+                    if ((flags & HAS_TDP_ID) != 0) {
+                        row.setTdpId(input.readLong());
+                    }
+                    final int size = readInt(input);
+                    for (int j = 0; j < size; j++) {
+                        final String key = readKey(input, readKeys);
+                        final String value = readString(input);
+                        row.set(key, value == null ? "" : value);
+                    }
+                    row.setDeleted((flags & DELETED) != 0);
+                    consumer.accept(row);
+                }
+            }
+        } catch (IOException e) {
+            throw new TalendRuntimeException(BaseErrorCodes.UNEXPECTED_EXCEPTION, e);
+        }
+    }
+
+    /**
+     * @return The number of stored rows.
+     */
+    public long size() {
+        return count;
+    }
+
+    /**
+     * @return <code>true</code> if rows were spilled to disk.
+     */
+    boolean isSpilled() {
+        return file != null;
+    }
+
+    @Override
+    public void close() {
+        try {
+            output.close();
+        } catch (IOException e) {
+            LOGGER.error("Unable to close reservoir (causing potential temp file delete issues).", e);
+        }
+        if (deflater != null) {
+            deflater.end();
+        }
+        memory = null;
+        if (file != null) {
+            FilesHelper.deleteQuietly(file);
+        }
+    }
+
+    // Move rows from memory to a temporary file (all next rows are written to this file)
+    private void spill() throws IOException {
+        file = File.createTempFile("TypeDetection", ".bin");
+        LOGGER.debug("Spill {} row(s) to '{}'.", count, file);
+        OutputStream fileOutput = new FileOutputStream(file);
+        if (compress) {
+            deflater = new Deflater(Deflater.BEST_SPEED);
+            fileOutput = new DeflaterOutputStream(fileOutput, deflater, BUFFER_SIZE);
+        }
+        output.flush();
+        output = new DataOutputStream(new BufferedOutputStream(fileOutput, BUFFER_SIZE));
+        memory.writeTo(output);
+        memory = null;
+    }
+
+    private InputStream openInput() throws IOException {
+        if (file == null) {
+            return memory.toInputStream();
+        }
+        final InputStream fileInput = new FileInputStream(file);
+        if (compress) {
+            return new InflaterInputStream(fileInput, new Inflater(), BUFFER_SIZE) {
+
+                @Override
+                public void close() throws IOException {
+                    super.close();
+                    inf.end();
+                }
+            };
+        }
+        return new BufferedInputStream(fileInput, BUFFER_SIZE);
+    }
+
+    // Keys are written once, then referenced by their index (+1, as 0 means a new key follows)
+    private void writeKey(String key) throws IOException {
+        final Integer index = keys.get(key);
+        if (index == null) {
+            writeInt(0);
+            writeString(key);
+            keys.put(key, keys.size());
+        } else {
+            writeInt(index + 1);
+        }
+    }
+
+    private static String readKey(DataInputStream input, List<String> readKeys) throws IOException {
+        final int index = readInt(input);
+        if (index == 0) {
+            final String key = readString(input);
+            readKeys.add(key);
+            return key;
+        }
+        return readKeys.get(index - 1);
+    }
+
+    // Strings are written as their UTF-8 length (+1, as 0 means null) followed by their UTF-8 bytes
+    private void writeString(String value) throws IOException {
+        if (value == null) {
+            writeInt(0);
+        } else {
+            final byte[] bytes = value.getBytes(UTF_8);
+            writeInt(bytes.length + 1);
+            output.write(bytes);
+        }
+    }
+
+    private static String readString(DataInputStream input) throws IOException {
+        final int length = readInt(input);
+        if (length == 0) {
+            return null;
+        }
+        final byte[] bytes = new byte[length - 1];
+        input.readFully(bytes);
+        return new String(bytes, UTF_8);
+    }
+
+    // Positive int written in 7 bits groups (most values fit in 1 byte)
+    private void writeInt(int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            output.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        output.writeByte(value);
+    }
+
+    private static int readInt(DataInputStream input) throws IOException {
+        int value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = input.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    /**
+     * A {@link ByteArrayOutputStream} that can be read without copy.
+     */
+    private static class Buffer extends ByteArrayOutputStream {
+
+        private Buffer() {
+            super(BUFFER_SIZE);
+        }
+
+        private InputStream toInputStream() {
+            return new ByteArrayInputStream(buf, 0, count);
+        }
+    }
+}
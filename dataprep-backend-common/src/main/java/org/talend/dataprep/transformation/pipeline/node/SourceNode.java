@@ -13,10 +13,16 @@
 package org.talend.dataprep.transformation.pipeline.node;
 
 import org.talend.dataprep.transformation.pipeline.Node;
+import org.talend.dataprep.transformation.pipeline.RowBatch;
 import org.talend.dataprep.transformation.pipeline.Visitor;
 
 public class SourceNode extends BasicNode {
 
+    @Override
+    public void receive(RowBatch batch) {
+        emit(batch);
+    }
+
     @Override
     public void accept(Visitor visitor) {
         visitor.visitSource(this);
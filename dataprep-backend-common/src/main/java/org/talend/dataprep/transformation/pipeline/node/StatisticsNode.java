@@ -23,7 +23,11 @@ import org.talend.dataprep.api.dataset.RowMetadata;
 import org.talend.dataprep.api.dataset.row.DataSetRow;
 import org.talend.dataprep.dataset.StatisticsAdapter;
 import org.talend.dataprep.quality.AnalyzerService;
+import org.talend.dataprep.quality.ShardedAnalyzer;
+import org.talend.dataprep.transformation.pipeline.Monitored;
 import org.talend.dataprep.transformation.pipeline.Node;
+import org.talend.dataprep.transformation.pipeline.NodeMetrics;
+import org.talend.dataprep.transformation.pipeline.RowBatch;
 import org.talend.dataprep.transformation.pipeline.Signal;
 import org.talend.dataquality.common.inference.Analyzer;
 import org.talend.dataquality.common.inference.Analyzers;
@@ -35,23 +39,49 @@ import org.talend.dataquality.common.inference.Analyzers;
  * <p>
  * Please note this class does not perform invalid values detection (see {@link InvalidDetectionNode} for this).
  * </p>
+ * <p>
+ * When created with more than one shard, columns are split into shards analyzed in parallel (see
+ * {@link ShardedAnalyzer}), as long as each shard gets at least {@link #MIN_COLUMNS_PER_SHARD} columns.
+ * </p>
  */
-public class StatisticsNode extends ColumnFilteredNode {
+public class StatisticsNode extends ColumnFilteredNode implements Monitored {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(StatisticsNode.class);
 
+    /** Minimum number of columns in a shard (no need for parallel analysis of a few columns). */
+    static final int MIN_COLUMNS_PER_SHARD = 2;
+
     private final Function<List<ColumnMetadata>, Analyzer<Analyzers.Result>> analyzer;
 
     private final StatisticsAdapter adapter;
 
+    /** Maximum number of shards for parallel analysis (1 to analyze all columns in pipeline thread). */
+    private final int shards;
+
+    private final NodeMetrics metrics = new NodeMetrics();
+
     private Analyzer<Analyzers.Result> configuredAnalyzer;
 
     public StatisticsNode(Function<List<ColumnMetadata>, Analyzer<Analyzers.Result>> analyzer,
                           Predicate<? super ColumnMetadata> filter,
                           StatisticsAdapter adapter) {
+        this(analyzer, filter, adapter, 1);
+    }
+
+    /**
+     * @param analyzer the function to build the analyzer for a list of columns
+     * @param filter the filter to apply on values of a column
+     * @param adapter the adapter used to retrieve statistical information
+     * @param shards the maximum number of column shards analyzed in parallel (1 for no parallel analysis)
+     */
+    public StatisticsNode(Function<List<ColumnMetadata>, Analyzer<Analyzers.Result>> analyzer,
+                          Predicate<? super ColumnMetadata> filter,
+                          StatisticsAdapter adapter,
+                          int shards) {
         super(filter);
         this.analyzer = analyzer;
         this.adapter = adapter;
+        this.shards = shards;
     }
 
     /**
@@ -86,30 +116,90 @@ public class StatisticsNode extends ColumnFilteredNode {
 
     @Override
     public void receive(DataSetRow row, RowMetadata metadata) {
-        performColumnFilter(row, metadata);
+        metrics.start();
+        try {
+            performColumnFilter(row, metadata);
+            analyze(row);
+        } finally {
+            metrics.stop();
+        }
+        metrics.emitted();
+        super.receive(row, metadata);
+    }
+
+    @Override
+    public void receive(RowBatch batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        // Rows of a batch share the same metadata: columns to analyze are checked once for the batch
+        performColumnFilter(batch.get(0), batch.getMetadata());
+        for (int i = 0; i < batch.size(); i++) {
+            metrics.start();
+            try {
+                analyze(batch.get(i));
+            } finally {
+                metrics.stop();
+            }
+        }
+        metrics.emitted(batch.size());
+        emit(batch);
+    }
+
+    private void analyze(DataSetRow row) {
         if (configuredAnalyzer == null) {
-            this.configuredAnalyzer = analyzer.apply(filteredColumns);
+            final int shardCount = Math.min(shards, filteredColumns.size() / MIN_COLUMNS_PER_SHARD);
+            if (shardCount > 1) {
+                this.configuredAnalyzer = new ShardedAnalyzer(filteredColumns, analyzer, shardCount);
+            } else {
+                this.configuredAnalyzer = analyzer.apply(filteredColumns);
+            }
         }
         if (!row.isDeleted()) {
             configuredAnalyzer.analyze(row.filter(filteredColumns).order(filteredColumns).toArray(DataSetRow.SKIP_TDP_ID));
         }
-        super.receive(row, metadata);
     }
 
     @Override
     public void signal(Signal signal) {
         if (signal == Signal.END_OF_STREAM || signal == Signal.CANCEL || signal == Signal.STOP) {
-            if (configuredAnalyzer != null) {
-                adapter.adapt(filteredColumns, configuredAnalyzer.getResult());
-            } else {
-                LOGGER.warn("No data received.");
+            final long start = System.nanoTime();
+            try {
+                if (signal == Signal.CANCEL) {
+                    LOGGER.debug("Analysis cancelled.");
+                } else if (configuredAnalyzer != null) {
+                    adapter.adapt(filteredColumns, configuredAnalyzer.getResult());
+                } else {
+                    LOGGER.warn("No data received.");
+                }
+            } finally {
+                // Release analyzer (and its shard workers, if any) even if analysis failed or was cancelled
+                closeAnalyzer();
             }
+            metrics.addTime(System.nanoTime() - start);
         }
         super.signal(signal);
     }
 
+    private void closeAnalyzer() {
+        if (configuredAnalyzer != null) {
+            try {
+                configuredAnalyzer.close();
+            } catch (Exception e) {
+                LOGGER.debug("Unable to close analyzer.", e);
+            } finally {
+                configuredAnalyzer = null;
+            }
+        }
+    }
+
     @Override
     public Node copyShallow() {
-        return new StatisticsNode(analyzer, filter, adapter);
+        return new StatisticsNode(analyzer, filter, adapter, shards);
+    }
+
+    @Override
+    public NodeMetrics getMetrics() {
+        return metrics;
     }
 }
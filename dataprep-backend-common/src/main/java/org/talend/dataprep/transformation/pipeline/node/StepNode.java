@@ -52,8 +52,28 @@ public class StepNode extends BasicNode {
         return step;
     }
 
+    /**
+     * @return The first node of the nodes executed for this step.
+     */
+    public Node getEntryNode() {
+        return entryNode;
+    }
+
     @Override
     public void receive(DataSetRow row, RowMetadata metadata) {
+        final RowMetadata rowMetadata = getStepMetadata(metadata);
+        linkLastNode();
+        entryNode.exec().receive(row, rowMetadata);
+    }
+
+    @Override
+    public void receive(RowBatch batch) {
+        batch.setMetadata(getStepMetadata(batch.getMetadata()));
+        linkLastNode();
+        entryNode.exec().receive(batch);
+    }
+
+    private RowMetadata getStepMetadata(RowMetadata metadata) {
         Optional<RowMetadata> stepMetadata = Optional.ofNullable(step.getRowMetadata());
         final RowMetadata rowMetadata = stepMetadata.isPresent() ? stepMetadata.get() : metadata;
         if (!stepMetadata.isPresent()) {
@@ -63,13 +83,15 @@ public class StepNode extends BasicNode {
                 step.setRowMetadata(rowMetadata);
             }
         }
+        return rowMetadata;
+    }
 
+    private void linkLastNode() {
         // make sure the last node (ActionNode) link is set to after the StepNode
         if (lastNode.getLink() == null) {
             final RuntimeLink stepLink = getLink().exec();
             lastNode.setLink(new StepLink(stepLink));
         }
-        entryNode.exec().receive(row, rowMetadata);
     }
 
     @Override
@@ -108,6 +130,11 @@ public class StepNode extends BasicNode {
                     stepLink.emit(rows, metadatas);
                 }
 
+                @Override
+                public void emit(RowBatch batch) {
+                    stepLink.emit(batch);
+                }
+
                 @Override
                 public void signal(Signal signal) {
                     stepLink.signal(signal);
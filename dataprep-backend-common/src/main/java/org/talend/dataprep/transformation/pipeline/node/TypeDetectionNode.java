@@ -12,49 +12,39 @@
 
 package org.talend.dataprep.transformation.pipeline.node;
 
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
-import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.Optional;
+import java.util.function.BooleanSupplier;
 import java.util.function.Function;
 import java.util.function.Predicate;
-import java.util.zip.GZIPInputStream;
-import java.util.zip.GZIPOutputStream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.talend.daikon.exception.TalendRuntimeException;
-import org.talend.dataprep.BaseErrorCodes;
 import org.talend.dataprep.api.dataset.ColumnMetadata;
-import org.talend.dataprep.api.dataset.DataSet;
 import org.talend.dataprep.api.dataset.RowMetadata;
 import org.talend.dataprep.api.dataset.row.DataSetRow;
-import org.talend.dataprep.api.dataset.row.FlagNames;
 import org.talend.dataprep.dataset.StatisticsAdapter;
 import org.talend.dataprep.transformation.pipeline.Monitored;
 import org.talend.dataprep.transformation.pipeline.Node;
+import org.talend.dataprep.transformation.pipeline.NodeMetrics;
 import org.talend.dataprep.transformation.pipeline.Signal;
 import org.talend.dataprep.transformation.pipeline.Visitor;
-import org.talend.dataprep.util.FilesHelper;
 import org.talend.dataquality.common.inference.Analyzer;
 import org.talend.dataquality.common.inference.Analyzers;
 
-import com.fasterxml.jackson.core.JsonFactory;
-import com.fasterxml.jackson.core.JsonGenerator;
-import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.databind.ObjectMapper;
-
+/**
+ * A node that delays rows until types of columns are detected: rows are stored in a {@link RowReservoir} while they are
+ * analyzed, then metadata is adapted and stored rows are sent to next nodes.
+ */
 public class TypeDetectionNode extends ColumnFilteredNode implements Monitored {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(TypeDetectionNode.class);
 
-    private final JsonGenerator generator;
+    private final RowReservoir reservoir;
+
+    private final long memoryThreshold;
 
-    private final File reservoir;
+    private final boolean compress;
 
     private final Function<List<ColumnMetadata>, Analyzer<Analyzers.Result>> analyzer;
 
@@ -62,62 +52,45 @@ public class TypeDetectionNode extends ColumnFilteredNode implements Monitored {
 
     private final StatisticsAdapter adapter;
 
-    private long totalTime;
+    private final NodeMetrics metrics = new NodeMetrics();
 
     private Analyzer<Analyzers.Result> resultAnalyzer;
 
-    private long count;
+    /** Returns <code>true</code> once stored rows no longer need to be sent to next nodes (e.g. output limit reached). */
+    private BooleanSupplier stopped = () -> false;
 
     public TypeDetectionNode(Predicate<ColumnMetadata> filter, StatisticsAdapter adapter,
             Function<List<ColumnMetadata>, Analyzer<Analyzers.Result>> analyzer) {
+        this(filter, adapter, analyzer, RowReservoir.DEFAULT_MEMORY_THRESHOLD, true);
+    }
+
+    /**
+     * @param filter The filter for analyzed columns.
+     * @param adapter The adapter to update metadata with analysis results.
+     * @param analyzer The function to build the analyzer for a list of columns.
+     * @param memoryThreshold The size (in bytes) of stored rows kept in memory before rows are spilled to disk.
+     * @param compress <code>true</code> to compress rows spilled to disk.
+     */
+    public TypeDetectionNode(Predicate<ColumnMetadata> filter, StatisticsAdapter adapter,
+            Function<List<ColumnMetadata>, Analyzer<Analyzers.Result>> analyzer, long memoryThreshold, boolean compress) {
         super(filter);
         this.analyzer = analyzer;
         this.filter = filter;
         this.adapter = adapter;
-        try {
-            reservoir = File.createTempFile("TypeDetection", ".zip");
-            JsonFactory factory = new JsonFactory();
-            generator = factory.createGenerator(new GZIPOutputStream(new FileOutputStream(reservoir), true));
-            generator.writeStartObject();
-            generator.writeFieldName("records");
-            generator.writeStartArray();
-        } catch (IOException e) {
-            throw new TalendRuntimeException(BaseErrorCodes.UNEXPECTED_EXCEPTION, e);
-        }
+        this.memoryThreshold = memoryThreshold;
+        this.compress = compress;
+        reservoir = new RowReservoir(memoryThreshold, compress);
     }
 
     @Override
     public void receive(DataSetRow row, RowMetadata metadata) {
-        performColumnFilter(row, metadata);
-        store(row, metadata.getColumns());
-        analyze(row);
-        count++;
-    }
-
-    // Store row in temporary file
-    private void store(DataSetRow row, List<ColumnMetadata> columns) {
+        metrics.start();
         try {
-            generator.writeStartObject();
-            columns.forEach(column -> {
-                try {
-                    generator.writeStringField(column.getId(), row.get(column.getId()));
-                } catch (IOException e) {
-                    throw new TalendRuntimeException(BaseErrorCodes.UNEXPECTED_EXCEPTION, e);
-                }
-            });
-            if (row.isDeleted()) {
-                generator.writeBooleanField("_deleted", true);
-            }
-            final Optional<Long> tdpId = Optional.ofNullable(row.getTdpId());
-            if (tdpId.isPresent()) {
-                generator.writeNumberField(FlagNames.TDP_ID, tdpId.get());
-            }
-            for (Map.Entry<String, String> entry : row.getInternalValues().entrySet()) {
-                generator.writeStringField(entry.getKey(), entry.getValue());
-            }
-            generator.writeEndObject();
-        } catch (IOException e) {
-            throw new TalendRuntimeException(BaseErrorCodes.UNEXPECTED_EXCEPTION, e);
+            performColumnFilter(row, metadata);
+            reservoir.add(row, metadata.getColumns());
+            analyze(row);
+        } finally {
+            metrics.stop();
         }
     }
 
@@ -144,23 +117,26 @@ public class TypeDetectionNode extends ColumnFilteredNode implements Monitored {
         visitor.visitNode(this);
     }
 
+    /**
+     * @param stopped Checked before each stored row is sent to next nodes: once it returns <code>true</code>, remaining
+     * stored rows are discarded.
+     */
+    public void setStopped(BooleanSupplier stopped) {
+        this.stopped = stopped;
+    }
+
     @Override
     public Node copyShallow() {
-        return new TypeDetectionNode(filter, adapter, analyzer);
+        final TypeDetectionNode copy = new TypeDetectionNode(filter, adapter, analyzer, memoryThreshold, compress);
+        copy.setStopped(stopped);
+        return copy;
     }
 
     @Override
     public void signal(Signal signal) {
-
-        final long start = System.currentTimeMillis();
         try {
             if (signal == Signal.END_OF_STREAM || signal == Signal.CANCEL || signal == Signal.STOP) {
-                // End temporary output
-                generator.writeEndArray();
-                generator.writeEndObject();
-                generator.flush();
-                // Send stored records to next steps
-                final ObjectMapper mapper = new ObjectMapper();
+                final long start = System.nanoTime();
                 if (rowMetadata != null && resultAnalyzer != null) {
                     // Adapt row metadata to infer type (adapter takes care of type-forced columns)
                     resultAnalyzer.end();
@@ -168,33 +144,23 @@ public class TypeDetectionNode extends ColumnFilteredNode implements Monitored {
                     adapter.adapt(columns, resultAnalyzer.getResult(), filter);
                     resultAnalyzer.close();
                 }
-                // Continue process
-                try (JsonParser parser = mapper.getFactory().createParser(new GZIPInputStream(new FileInputStream(reservoir)))) {
-                    final DataSet dataSet = mapper.reader(DataSet.class).readValue(parser);
-                    dataSet.getRecords().forEach(r -> link.exec().emit(r, rowMetadata));
-                }
+                metrics.addTime(System.nanoTime() - start);
+                // Continue process: send stored records to next steps (time spent by next steps is not counted here)
+                reservoir.replay(r -> {
+                    metrics.emitted();
+                    link.exec().emit(r, rowMetadata);
+                }, stopped);
             }
         } catch (Exception e) {
             LOGGER.warn("Unable to perform delayed analysis.", e);
         } finally {
-            try {
-                generator.close();
-            } catch (IOException e) {
-                LOGGER.error("Unable to close JSON generator (causing potential temp file delete issues).", e);
-            }
-            FilesHelper.deleteQuietly(reservoir);
-            totalTime += System.currentTimeMillis() - start;
+            reservoir.close();
         }
         super.signal(signal);
     }
 
     @Override
-    public long getTotalTime() {
-        return totalTime;
-    }
-
-    @Override
-    public long getCount() {
-        return count;
+    public NodeMetrics getMetrics() {
+        return metrics;
     }
 }
@@ -367,4 +367,72 @@ public class DataSetRowTest {
         // then
         assertThat(row.values().get(TDP_INVALID), CoreMatchers.is("0004,0001"));
     }
+
+    @Test
+    public void should_copy_values_on_write_after_clone() throws Exception {
+        // given
+        final DataSetRow row = createRow(defaultValues(), false);
+        final DataSetRow clone = row.clone();
+
+        // when
+        clone.set("firstName", "Jimmy");
+        row.set("lastName", "Smith");
+
+        // then
+        assertThat(row.get("firstName"), CoreMatchers.is("Toto"));
+        assertThat(row.get("lastName"), CoreMatchers.is("Smith"));
+        assertThat(clone.get("firstName"), CoreMatchers.is("Jimmy"));
+        assertThat(clone.get("lastName"), CoreMatchers.is("Tata"));
+    }
+
+    @Test
+    public void should_copy_invalid_columns_on_write_after_clone() throws Exception {
+        // given
+        final DataSetRow row = createRow(defaultValues(), false);
+        row.setInvalid("0001");
+        final DataSetRow clone = row.clone();
+
+        // when
+        clone.setInvalid("0002");
+        row.unsetInvalid("0001");
+
+        // then
+        assertThat(row.isInvalid("0001"), CoreMatchers.is(false));
+        assertThat(row.isInvalid("0002"), CoreMatchers.is(false));
+        assertThat(clone.isInvalid("0001"), CoreMatchers.is(true));
+        assertThat(clone.isInvalid("0002"), CoreMatchers.is(true));
+    }
+
+    @Test
+    public void should_append_new_value_after_ordered_values() throws Exception {
+        // given
+        final DataSetRow row = createRow(defaultValues(), false);
+        final List<ColumnMetadata> newOrder = new ArrayList<>();
+        newOrder.add(column().computedId("lastName").type(Type.STRING).build());
+        newOrder.add(column().computedId("id").type(Type.STRING).build());
+        newOrder.add(column().computedId("firstName").type(Type.STRING).build());
+        newOrder.add(column().computedId("age").type(Type.STRING).build());
+        final DataSetRow orderedRow = row.order(newOrder);
+
+        // when
+        orderedRow.set("city", "Nantes");
+        orderedRow.deleteColumnById("id");
+
+        // then
+        assertArrayEquals(new String[] { "Tata", "Toto", "18", "Nantes" }, orderedRow.toArray());
+    }
+
+    @Test
+    public void should_share_column_slots_with_metadata_clone() throws Exception {
+        // given
+        final RowMetadata metadata = new RowMetadata(Collections.singletonList(column().id(1).type(Type.STRING).build()));
+
+        // when
+        final int slot = metadata.slots().slot("0001");
+
+        // then
+        assertSame(metadata.slots(), metadata.clone().slots());
+        assertThat(metadata.clone().slots().find("0001"), CoreMatchers.is(slot));
+        assertThat(metadata.slots().find("0002"), CoreMatchers.is(-1));
+    }
 }
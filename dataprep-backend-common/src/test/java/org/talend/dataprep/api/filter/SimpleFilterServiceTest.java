@@ -17,6 +17,8 @@ import static java.time.Month.JANUARY;
 import static java.time.ZoneOffset.UTC;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.time.DateTimeException;
@@ -917,6 +919,47 @@ public class SimpleFilterServiceTest {
         assertThat(filter.test(row), is(false));
     }
 
+    @Test
+    public void should_parse_date_once_for_predicates_on_same_column() throws Exception {
+        //given
+        final String filtersDefinition = "{" +
+                "   \"and\": [" +
+                "       {" +
+                "           \"range\": {" +
+                "               \"field\": \"0001\"," +
+                "               \"start\": 0," + //1970-01-01 UTC timezone
+                "               \"end\": " + (LocalDateTime.of(1990, JANUARY, 1, 0, 0).toEpochSecond(UTC) * 1000) +
+                "           }" +
+                "       }," +
+                "       {" +
+                "           \"range\": {" +
+                "               \"field\": \"0001\"," +
+                "               \"start\": " + (LocalDateTime.of(1975, JANUARY, 1, 0, 0).toEpochSecond(UTC) * 1000) + "," +
+                "               \"end\": " + (LocalDateTime.of(2000, JANUARY, 1, 0, 0).toEpochSecond(UTC) * 1000) +
+                "           }" +
+                "       }" +
+                "   ]" +
+                "}";
+
+        final ColumnMetadata column = row.getRowMetadata().getById("0001");
+        column.setType("date");
+        final DateParser dateParser = Mockito.mock(DateParser.class);
+        when(dateParser.parse("1970-01-01", column)).thenReturn(LocalDateTime.of(1970, JANUARY, 1, 0, 0));
+        when(dateParser.parse("1980-01-01", column)).thenReturn(LocalDateTime.of(1980, JANUARY, 1, 0, 0));
+        service.setDateParser(dateParser);
+
+        //when
+        final Predicate<DataSetRow> filter = service.build(filtersDefinition, rowMetadata);
+
+        //then
+        row.set("0001", "1980-01-01"); //in both ranges
+        assertThat(filter.test(row), is(true));
+        row.set("0001", "1970-01-01"); //in first range only
+        assertThat(filter.test(row), is(false));
+        verify(dateParser, times(1)).parse("1980-01-01", column);
+        verify(dateParser, times(1)).parse("1970-01-01", column);
+    }
+
     @Test
     public void should_create_AND_predicate() throws Exception {
         //given
@@ -0,0 +1,127 @@
+package org.talend.dataprep.quality;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.talend.dataprep.api.dataset.ColumnMetadata;
+import org.talend.dataprep.api.type.Type;
+import org.talend.dataquality.common.inference.Analyzer;
+import org.talend.dataquality.common.inference.Analyzers;
+import org.talend.dataquality.common.inference.ValueQualityStatistics;
+import org.talend.dataquality.statistics.cardinality.CardinalityStatistics;
+
+public class ShardedAnalyzerTest {
+
+    private static final AnalyzerService.Analysis[] ANALYSES = { AnalyzerService.Analysis.QUALITY,
+            AnalyzerService.Analysis.CARDINALITY };
+
+    private AnalyzerService service;
+
+    private List<ColumnMetadata> columns;
+
+    @Before
+    public void setUp() throws Exception {
+        service = new AnalyzerService();
+        columns = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            final ColumnMetadata column = ColumnMetadata.Builder.column() //
+                    .id(i) //
+                    .type(i % 2 == 0 ? Type.INTEGER : Type.STRING) //
+                    .build();
+            columns.add(column);
+        }
+    }
+
+    @Test
+    public void shouldHaveSameResultsAsSingleAnalyzer() throws Exception {
+        try (Analyzer<Analyzers.Result> expected = service.build(columns, ANALYSES);
+                Analyzer<Analyzers.Result> sharded = new ShardedAnalyzer(columns, c -> service.build(c, ANALYSES), 3)) {
+            // When
+            for (int i = 0; i < 1000; i++) {
+                final String[] record = { String.valueOf(i % 10), "value" + (i % 7), i % 3 == 0 ? "" : "a", "b" + i,
+                        String.valueOf(i) };
+                expected.analyze(record);
+                sharded.analyze(record);
+            }
+            expected.end();
+            sharded.end();
+
+            // Then
+            assertSameResults(expected.getResult(), sharded.getResult());
+        }
+    }
+
+    @Test
+    public void shouldAnalyzeShortRecords() throws Exception {
+        try (Analyzer<Analyzers.Result> expected = service.build(columns, ANALYSES);
+                Analyzer<Analyzers.Result> sharded = new ShardedAnalyzer(columns, c -> service.build(c, ANALYSES), 2)) {
+            // When
+            for (int i = 0; i < 10; i++) {
+                expected.analyze("1", "a");
+                sharded.analyze("1", "a");
+            }
+
+            // Then
+            assertSameResults(expected.getResult(), sharded.getResult());
+        }
+    }
+
+    @Test
+    public void shouldHandleNoRecord() throws Exception {
+        try (Analyzer<Analyzers.Result> sharded = new ShardedAnalyzer(columns, c -> service.build(c, ANALYSES), 2)) {
+            assertEquals(columns.size(), sharded.getResult().size());
+        }
+    }
+
+    @Test
+    public void shouldLimitShardsToColumns() throws Exception {
+        try (Analyzer<Analyzers.Result> expected = service.build(columns, ANALYSES);
+                Analyzer<Analyzers.Result> sharded = new ShardedAnalyzer(columns, c -> service.build(c, ANALYSES), 20)) {
+            // When
+            expected.analyze("1", "a", "2", "b", "3");
+            sharded.analyze("1", "a", "2", "b", "3");
+
+            // Then
+            assertSameResults(expected.getResult(), sharded.getResult());
+        }
+    }
+
+    @Test
+    public void shouldStopWorkersOnClose() throws Exception {
+        // Given
+        final Analyzer<Analyzers.Result> sharded = new ShardedAnalyzer(columns, c -> service.build(c, ANALYSES), 3);
+        for (int i = 0; i < 1000; i++) {
+            sharded.analyze("1", "a", "2", "b", String.valueOf(i));
+        }
+
+        // When (no result was asked: analysis is aborted)
+        sharded.close();
+
+        // Then
+        final boolean isShardRunning = Thread.getAllStackTraces().values().stream() //
+                .flatMap(Arrays::stream) //
+                .anyMatch(e -> e.getClassName().startsWith(ShardedAnalyzer.class.getName()) && "run".equals(e.getMethodName()));
+        assertFalse(isShardRunning);
+    }
+
+    private static void assertSameResults(List<Analyzers.Result> expected, List<Analyzers.Result> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            final ValueQualityStatistics expectedQuality = expected.get(i).get(ValueQualityStatistics.class);
+            final ValueQualityStatistics actualQuality = actual.get(i).get(ValueQualityStatistics.class);
+            assertEquals(expectedQuality.getValidCount(), actualQuality.getValidCount());
+            assertEquals(expectedQuality.getEmptyCount(), actualQuality.getEmptyCount());
+            assertEquals(expectedQuality.getInvalidCount(), actualQuality.getInvalidCount());
+            final CardinalityStatistics expectedCardinality = expected.get(i).get(CardinalityStatistics.class);
+            final CardinalityStatistics actualCardinality = actual.get(i).get(CardinalityStatistics.class);
+            assertEquals(expectedCardinality.getDuplicateCount(), actualCardinality.getDuplicateCount());
+            assertEquals(expectedCardinality.getDistinctCount(), actualCardinality.getDistinctCount());
+        }
+    }
+}
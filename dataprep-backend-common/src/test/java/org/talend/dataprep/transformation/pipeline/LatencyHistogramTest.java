@@ -0,0 +1,66 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.pipeline;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.core.Is.is;
+
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void should_put_each_value_in_a_single_bucket() throws Exception {
+        for (long value = 0; value < 100_000; value++) {
+            final int index = LatencyHistogram.index(value);
+            assertThat(LatencyHistogram.upperBound(index), greaterThanOrEqualTo(value));
+            if (index > 0) {
+                assertThat(LatencyHistogram.upperBound(index - 1) < value, is(true));
+            }
+        }
+        assertThat(LatencyHistogram.upperBound(LatencyHistogram.index(Long.MAX_VALUE)), is(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void should_compute_percentiles_with_bounded_error() throws Exception {
+        // given
+        final LatencyHistogram histogram = new LatencyHistogram();
+
+        // when
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+
+        // then
+        assertThat(histogram.getCount(), is(1000L));
+        assertThat(histogram.getMax(), is(1_000_000L));
+        assertThat(histogram.getMean(), is(500_500d));
+        assertWithinPrecision(histogram.getValueAtPercentile(50), 500_000);
+        assertWithinPrecision(histogram.getValueAtPercentile(99), 990_000);
+        assertThat(histogram.getValueAtPercentile(100), is(1_000_000L));
+    }
+
+    @Test
+    public void should_handle_empty_histogram() throws Exception {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        assertThat(histogram.getValueAtPercentile(50), is(0L));
+        assertThat(histogram.getMean(), is(0d));
+    }
+
+    private static void assertWithinPrecision(long actual, long expected) {
+        assertThat(actual, greaterThanOrEqualTo(expected));
+        assertThat(actual, lessThanOrEqualTo(expected + expected / 8));
+    }
+}
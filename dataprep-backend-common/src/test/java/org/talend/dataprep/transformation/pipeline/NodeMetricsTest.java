@@ -0,0 +1,69 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.pipeline;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.core.Is.is;
+
+import java.util.HashMap;
+
+import org.junit.Test;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.transformation.pipeline.node.FilterNode;
+
+public class NodeMetricsTest {
+
+    @Test
+    public void should_sample_row_timings() throws Exception {
+        // given
+        final NodeMetrics metrics = new NodeMetrics();
+
+        // when
+        for (int i = 0; i < 100; i++) {
+            metrics.start();
+            metrics.stop();
+        }
+        metrics.addTime(1_000_000);
+
+        // then
+        assertThat(metrics.getRowsIn(), is(100L));
+        assertThat(metrics.getHistogram().getCount(), is((long) (100 + NodeMetrics.SAMPLE_RATE - 1) / NodeMetrics.SAMPLE_RATE));
+        assertThat(metrics.getTotalTime(), greaterThanOrEqualTo(1_000_000L));
+        assertThat(metrics.getLatencies().keySet(), contains("p50", "p90", "p99", "max"));
+    }
+
+    @Test
+    public void should_count_filtered_rows() throws Exception {
+        // given
+        final FilterNode node = new FilterNode((row, metadata) -> "keep".equals(row.get("0001")));
+        final RowMetadata metadata = new RowMetadata();
+        final DataSetRow kept = new DataSetRow(new HashMap<>());
+        kept.set("0001", "keep");
+        final DataSetRow filtered = new DataSetRow(new HashMap<>());
+        filtered.set("0001", "drop");
+
+        // when
+        node.receive(kept, metadata);
+        node.receive(filtered, metadata);
+        node.receive(filtered, metadata);
+
+        // then
+        assertThat(node.getMetrics().getRowsIn(), is(3L));
+        assertThat(node.getMetrics().getRowsOut(), is(1L));
+        assertThat(node.getMetrics().getRowsFiltered(), is(2L));
+        assertThat(PipelineProfiler.profile(node).size(), is(1));
+    }
+}
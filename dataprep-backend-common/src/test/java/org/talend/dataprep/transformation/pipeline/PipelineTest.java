@@ -14,11 +14,13 @@ package org.talend.dataprep.transformation.pipeline;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
 import static org.talend.dataprep.transformation.pipeline.Signal.END_OF_STREAM;
 
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.hamcrest.CoreMatchers;
@@ -29,6 +31,7 @@ import org.talend.dataprep.api.dataset.DataSet;
 import org.talend.dataprep.api.dataset.DataSetMetadata;
 import org.talend.dataprep.api.dataset.RowMetadata;
 import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.dataset.StatisticsAdapter;
 import org.talend.dataprep.transformation.actions.common.RunnableAction;
 import org.talend.dataprep.transformation.api.action.DataSetRowAction;
 import org.talend.dataprep.transformation.api.action.context.ActionContext;
@@ -37,6 +40,7 @@ import org.talend.dataprep.transformation.pipeline.builder.NodeBuilder;
 import org.talend.dataprep.transformation.pipeline.link.BasicLink;
 import org.talend.dataprep.transformation.pipeline.link.CloneLink;
 import org.talend.dataprep.transformation.pipeline.node.*;
+import org.talend.dataquality.common.inference.Analyzer;
 
 public class PipelineTest {
 
@@ -316,6 +320,129 @@ public class PipelineTest {
         assertThat(output.getSignal(), is(END_OF_STREAM));
     }
 
+    @Test
+    public void testLimitedPipeline() throws Exception {
+        // given
+        final Pipeline pipeline = new Pipeline();
+        pipeline.setNode(NodeBuilder.source().to(new LimitNode(2, () -> pipeline.signal(Signal.STOP))).to(output).build());
+        final RowMetadata rowMetadata = new RowMetadata();
+        final List<DataSetRow> records = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            records.add(new DataSetRow(rowMetadata));
+        }
+        final AtomicInteger readRecords = new AtomicInteger();
+        final AtomicInteger closed = new AtomicInteger();
+
+        final DataSet dataSet = new DataSet();
+        final DataSetMetadata metadata = new DataSetMetadata();
+        metadata.setRowMetadata(rowMetadata);
+        dataSet.setMetadata(metadata);
+        dataSet.setRecords(records.stream().peek(r -> readRecords.incrementAndGet()).onClose(closed::incrementAndGet));
+
+        // when
+        pipeline.execute(dataSet);
+
+        // then
+        assertThat(output.getCount(), is(2));
+        assertThat(output.getRow(), is(records.get(1)));
+        assertThat(output.getSignal(), is(END_OF_STREAM));
+        assertThat(readRecords.get(), is(2));
+        assertThat(closed.get(), is(1));
+    }
+
+    @Test
+    public void testLimitedPipelineWithTypeDetection() throws Exception {
+        // given (limit is upstream of the type detection node that buffers all rows it receives)
+        final Pipeline pipeline = new Pipeline();
+        final TypeDetectionNode typeDetection = new TypeDetectionNode(c -> true, mock(StatisticsAdapter.class),
+                c -> mock(Analyzer.class));
+        pipeline.setNode(NodeBuilder.source() //
+                .to(new LimitNode(2, () -> pipeline.signal(Signal.STOP))) //
+                .to(typeDetection) //
+                .to(output) //
+                .build());
+        final RowMetadata rowMetadata = new RowMetadata();
+        final List<DataSetRow> records = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            records.add(new DataSetRow(rowMetadata));
+        }
+        final AtomicInteger readRecords = new AtomicInteger();
+
+        final DataSet dataSet = new DataSet();
+        final DataSetMetadata metadata = new DataSetMetadata();
+        metadata.setRowMetadata(rowMetadata);
+        dataSet.setMetadata(metadata);
+        dataSet.setRecords(records.stream().peek(r -> readRecords.incrementAndGet()));
+
+        // when
+        pipeline.execute(dataSet);
+
+        // then
+        assertThat(output.getCount(), is(2));
+        assertThat(output.getSignal(), is(END_OF_STREAM));
+        assertThat(readRecords.get(), is(2));
+    }
+
+    @Test
+    public void testLimitCountsWrittenRowsAfterTypeDetection() throws Exception {
+        // given (limit is downstream of type detection and of an action that deletes rows with an even id)
+        final Pipeline pipeline = new Pipeline();
+        final AtomicBoolean stopped = new AtomicBoolean();
+        final TypeDetectionNode typeDetection = new TypeDetectionNode(c -> true, mock(StatisticsAdapter.class),
+                c -> mock(Analyzer.class));
+        typeDetection.setStopped(stopped::get);
+        final RunnableAction deleteEven = new RunnableAction() {
+
+            @Override
+            public DataSetRowAction getRowAction() {
+                return (r, context) -> {
+                    r.setDeleted(r.getTdpId() % 2 == 0);
+                    return r;
+                };
+            }
+        };
+        final List<Long> written = new ArrayList<>();
+        pipeline.setNode(NodeBuilder.source() //
+                .to(typeDetection) //
+                .to(new ActionNode(deleteEven, new ActionContext(new TransformationContext()))) //
+                .to(new LimitNode(2, () -> stopped.set(true))) //
+                .to(new BasicNode() {
+
+                    @Override
+                    public void receive(DataSetRow row, RowMetadata metadata) {
+                        if (row.shouldWrite()) {
+                            written.add(row.getTdpId());
+                        }
+                        super.receive(row, metadata);
+                    }
+                }) //
+                .to(output) //
+                .build());
+        final RowMetadata rowMetadata = new RowMetadata();
+        final List<DataSetRow> records = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            final DataSetRow row = new DataSetRow(rowMetadata);
+            row.setTdpId((long) i);
+            records.add(row);
+        }
+
+        final DataSet dataSet = new DataSet();
+        final DataSetMetadata metadata = new DataSetMetadata();
+        metadata.setRowMetadata(rowMetadata);
+        dataSet.setMetadata(metadata);
+        dataSet.setRecords(records.stream());
+
+        // when
+        pipeline.execute(dataSet);
+
+        // then (deleted rows are not counted, and replay of buffered rows stops once limit is reached)
+        assertThat(written, CoreMatchers.hasItems(1L, 3L));
+        assertThat(written.size(), is(2));
+        assertThat(output.getCount(), is(4));
+        assertThat(typeDetection.getMetrics().getRowsOut(), is(4L));
+        assertThat(output.getSignal(), is(END_OF_STREAM));
+    }
+
     @Test
     public void testSignals() throws Exception {
         // Given
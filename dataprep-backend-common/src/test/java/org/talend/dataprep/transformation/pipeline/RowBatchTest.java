@@ -0,0 +1,112 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.pipeline;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsSame.sameInstance;
+
+import java.util.HashMap;
+
+import org.junit.Test;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+
+public class RowBatchTest {
+
+    private static RowBatch batch(int size) {
+        final RowBatch batch = new RowBatch(size, new RowMetadata());
+        for (int i = 0; i < size; i++) {
+            final DataSetRow row = new DataSetRow(new HashMap<>());
+            row.setTdpId((long) i);
+            batch.add(row);
+        }
+        return batch;
+    }
+
+    @Test
+    public void retain_should_keep_selected_rows_in_order() throws Exception {
+        // given
+        final RowBatch batch = batch(6);
+
+        // when
+        final int removed = batch.retain(row -> row.getTdpId() % 3 != 0);
+
+        // then
+        assertThat(removed, is(2));
+        assertThat(batch.size(), is(4));
+        assertThat(batch.get(0).getTdpId(), is(1L));
+        assertThat(batch.get(1).getTdpId(), is(2L));
+        assertThat(batch.get(2).getTdpId(), is(4L));
+        assertThat(batch.get(3).getTdpId(), is(5L));
+    }
+
+    @Test
+    public void retain_should_only_test_selected_rows() throws Exception {
+        // given
+        final RowBatch batch = batch(6);
+        batch.retain(row -> row.getTdpId() >= 3);
+
+        // when
+        final int removed = batch.retain(row -> {
+            assertThat(row.getTdpId() >= 3, is(true));
+            return row.getTdpId() != 4;
+        });
+
+        // then
+        assertThat(removed, is(1));
+        assertThat(batch.size(), is(2));
+        assertThat(batch.get(0).getTdpId(), is(3L));
+        assertThat(batch.get(1).getTdpId(), is(5L));
+    }
+
+    @Test
+    public void set_should_replace_selected_row() throws Exception {
+        // given
+        final RowBatch batch = batch(3);
+        batch.retain(row -> row.getTdpId() != 0);
+        final DataSetRow replacement = new DataSetRow(new HashMap<>());
+
+        // when
+        batch.set(1, replacement);
+
+        // then
+        assertThat(batch.get(0).getTdpId(), is(1L));
+        assertThat(batch.get(1), sameInstance(replacement));
+    }
+
+    @Test
+    public void limit_should_keep_first_selected_rows() throws Exception {
+        // given
+        final RowBatch batch = batch(5);
+
+        // when
+        batch.limit(2);
+
+        // then
+        assertThat(batch.size(), is(2));
+        assertThat(batch.get(1).getTdpId(), is(1L));
+        batch.limit(-1);
+        assertThat(batch.isEmpty(), is(true));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void add_should_fail_when_full() throws Exception {
+        // given
+        final RowBatch batch = batch(2);
+
+        // then
+        assertThat(batch.isFull(), is(true));
+        batch.add(new DataSetRow(new HashMap<>()));
+    }
+}
@@ -48,6 +48,15 @@ public class TestLink extends BasicLink {
         super.emit(rows, metadatas);
     }
 
+    @Override
+    public void emit(RowBatch batch) {
+        for (int i = 0; i < batch.size(); i++) {
+            this.emittedRows.add(batch.get(i));
+            this.emittedMetadata.add(batch.getMetadata());
+        }
+        super.emit(batch);
+    }
+
     @Override
     public void signal(Signal signal) {
         this.emittedSignals.add(signal);
@@ -0,0 +1,136 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.pipeline.link;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.talend.dataprep.api.dataset.ColumnMetadata;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.api.type.Type;
+import org.talend.dataprep.transformation.pipeline.Link;
+import org.talend.dataprep.transformation.pipeline.Node;
+import org.talend.dataprep.transformation.pipeline.node.BasicNode;
+
+/**
+ * Compares the memory allocated (and time spent) per row to dispatch rows to 2 branches:
+ * <ul>
+ * <li>with eager copies: each branch receives a row with its own copy of the values (as rows were cloned before copy
+ * on write),</li>
+ * <li>with a copy on write clone for each branch (as {@link CloneLink} would without sending the original row to the
+ * last branch),</li>
+ * <li>with {@link CloneLink}: branches receive rows that share values until they are modified.</li>
+ * </ul>
+ * <p>
+ * Not a unit test: run the main method (optional arguments: number of rows, number of columns). Allocation is measured
+ * with {@link com.sun.management.ThreadMXBean#getThreadAllocatedBytes(long)}.
+ * </p>
+ */
+public class CloneLinkBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        final int rows = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        final int columns = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        final List<ColumnMetadata> columnMetadata = new ArrayList<>();
+        for (int i = 0; i < columns; i++) {
+            columnMetadata.add(ColumnMetadata.Builder.column().id(i).type(Type.STRING).build());
+        }
+        final RowMetadata metadata = new RowMetadata(columnMetadata);
+        final DataSetRow row = new DataSetRow(metadata);
+        for (ColumnMetadata column : columnMetadata) {
+            row.set(column.getId(), "value of " + column.getId());
+        }
+        row.setInvalid(columnMetadata.get(0).getId());
+
+        final Node[] branches = { new BasicNode(), new BasicNode() };
+        final Link eagerCopy = new EagerCopyLink(branches, columnMetadata);
+        final Link clonePerBranch = new ClonePerBranchLink(branches);
+        final Link cloneLink = new CloneLink(branches);
+        for (int run = 0; run < 2; run++) {
+            // First run is a warm up
+            print("eager copy", run, rows, measure(eagerCopy, row, metadata, rows));
+            print("clone per branch", run, rows, measure(clonePerBranch, row, metadata, rows));
+            print("copy on write", run, rows, measure(cloneLink, row, metadata, rows));
+        }
+    }
+
+    private static long[] measure(Link link, DataSetRow row, RowMetadata metadata, int rows) {
+        final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        final long threadId = Thread.currentThread().getId();
+        final long allocated = threads.getThreadAllocatedBytes(threadId);
+        final long start = System.nanoTime();
+        for (int i = 0; i < rows; i++) {
+            link.emit(row, metadata);
+        }
+        final long time = System.nanoTime() - start;
+        return new long[] { threads.getThreadAllocatedBytes(threadId) - allocated, time };
+    }
+
+    private static void print(String name, int run, int rows, long[] measure) {
+        System.out.println(String.format("run=%d %s: %,.1f bytes/row %,.1f ns/row", run, name, measure[0] / (double) rows,
+                measure[1] / (double) rows));
+    }
+
+    /**
+     * Dispatches rows to nodes with a full copy of the values for each node.
+     */
+    private static class EagerCopyLink extends CloneLink {
+
+        private final Node[] nodes;
+
+        private final List<ColumnMetadata> columns;
+
+        private EagerCopyLink(Node[] nodes, List<ColumnMetadata> columns) {
+            super(nodes);
+            this.nodes = nodes;
+            this.columns = columns;
+        }
+
+        @Override
+        public void emit(DataSetRow row, RowMetadata metadata) {
+            for (Node node : nodes) {
+                final Map<String, String> values = new HashMap<>();
+                for (ColumnMetadata column : columns) {
+                    values.put(column.getId(), row.get(column.getId()));
+                }
+                final DataSetRow copy = new DataSetRow(metadata, values);
+                row.getInternalValues().forEach(copy::set);
+                node.exec().receive(copy, metadata);
+            }
+        }
+    }
+
+    /**
+     * Dispatches a copy on write clone of the rows to each node (including the last one).
+     */
+    private static class ClonePerBranchLink extends CloneLink {
+
+        private final Node[] nodes;
+
+        private ClonePerBranchLink(Node[] nodes) {
+            super(nodes);
+            this.nodes = nodes;
+        }
+
+        @Override
+        public void emit(DataSetRow row, RowMetadata metadata) {
+            for (Node node : nodes) {
+                node.exec().receive(row.clone(), metadata);
+            }
+        }
+    }
+}
@@ -153,6 +153,26 @@ public class CloneLinkTest {
         assertThat(target1.getReceivedMetadata().get(3).getColumns().get(0).getId(), is("0002"));
     }
 
+    @Test
+    public void should_isolate_row_changes_between_targets() {
+        // given
+        final TestNode target1 = new TestNode();
+        final TestNode target2 = new TestNode();
+        final CloneLink link = new CloneLink(target1, target2);
+
+        final RowMetadata metadata = getRowMetadata("0001");
+        final DataSetRow row = new DataSetRow(metadata);
+        row.set("0001", "value");
+
+        // when
+        link.emit(row, metadata);
+        target1.getReceivedRows().get(0).set("0001", "changed");
+
+        // then
+        assertThat(target1.getReceivedRows().get(0).get("0001"), is("changed"));
+        assertThat(target2.getReceivedRows().get(0).get("0001"), is("value"));
+    }
+
     @Test
     public void should_emit_signal_to_all_targets() {
         // given
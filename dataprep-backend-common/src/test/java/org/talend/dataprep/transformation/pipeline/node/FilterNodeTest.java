@@ -21,6 +21,7 @@ import java.util.HashMap;
 import org.junit.Test;
 import org.talend.dataprep.api.dataset.RowMetadata;
 import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.transformation.pipeline.RowBatch;
 import org.talend.dataprep.transformation.pipeline.TestLink;
 
 public class FilterNodeTest {
@@ -91,4 +92,29 @@ public class FilterNodeTest {
         assertThat(link.getEmittedMetadata(), contains(metadata0, metadata1));
     }
 
+    @Test
+    public void receive_batch_should_filter_with_simple_predicate() throws Exception {
+        // given
+        final RowMetadata metadata = new RowMetadata();
+        final RowBatch batch = new RowBatch(4, metadata);
+        final DataSetRow[] rows = new DataSetRow[4];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = new DataSetRow(new HashMap<>());
+            rows[i].setTdpId((long) i);
+            batch.add(rows[i]);
+        }
+
+        final TestLink link = new TestLink(new BasicNode());
+        final FilterNode node = new FilterNode((row, rowMetadata) -> row.getTdpId() % 2 == 1);
+        node.setLink(link);
+
+        // when
+        node.receive(batch);
+
+        // then
+        assertThat(link.getEmittedRows(), hasSize(2));
+        assertThat(link.getEmittedRows(), contains(rows[1], rows[3]));
+        assertThat(link.getEmittedMetadata(), contains(metadata, metadata));
+    }
+
 }
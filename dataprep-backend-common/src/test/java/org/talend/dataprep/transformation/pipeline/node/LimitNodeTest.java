@@ -0,0 +1,159 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.pipeline.node;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.collection.IsCollectionWithSize.hasSize;
+import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
+import static org.hamcrest.core.Is.is;
+
+import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.transformation.pipeline.RowBatch;
+import org.talend.dataprep.transformation.pipeline.TestLink;
+
+public class LimitNodeTest {
+
+    @Test
+    public void receive_should_discard_rows_over_limit() throws Exception {
+        // given
+        final RowMetadata metadata = new RowMetadata();
+        final DataSetRow row0 = new DataSetRow(new HashMap<>());
+        final DataSetRow row1 = new DataSetRow(new HashMap<>());
+        final DataSetRow row2 = new DataSetRow(new HashMap<>());
+        final AtomicInteger limitReached = new AtomicInteger();
+
+        final TestLink link = new TestLink(new BasicNode());
+        final LimitNode node = new LimitNode(2, limitReached::incrementAndGet);
+        node.setLink(link);
+
+        // when
+        node.receive(row0, metadata);
+        node.receive(row1, metadata);
+        node.receive(row2, metadata);
+
+        // then
+        assertThat(link.getEmittedRows(), hasSize(2));
+        assertThat(link.getEmittedRows(), contains(row0, row1));
+        assertThat(limitReached.get(), is(1));
+    }
+
+    @Test
+    public void receive_should_discard_all_rows_with_zero_limit() throws Exception {
+        // given
+        final RowMetadata metadata = new RowMetadata();
+        final AtomicInteger limitReached = new AtomicInteger();
+
+        final TestLink link = new TestLink(new BasicNode());
+        final LimitNode node = new LimitNode(0, limitReached::incrementAndGet);
+        node.setLink(link);
+
+        // when
+        node.receive(new DataSetRow(new HashMap<>()), metadata);
+        node.receive(new DataSetRow(new HashMap<>()), metadata);
+
+        // then
+        assertThat(link.getEmittedRows(), hasSize(0));
+        assertThat(limitReached.get(), is(1));
+    }
+
+    @Test
+    public void receive_should_not_count_deleted_rows() throws Exception {
+        // given
+        final RowMetadata metadata = new RowMetadata();
+        final DataSetRow row0 = new DataSetRow(new HashMap<>());
+        final DataSetRow deleted = new DataSetRow(new HashMap<>());
+        deleted.setDeleted(true);
+        final DataSetRow row1 = new DataSetRow(new HashMap<>());
+        final DataSetRow row2 = new DataSetRow(new HashMap<>());
+        final AtomicInteger limitReached = new AtomicInteger();
+
+        final TestLink link = new TestLink(new BasicNode());
+        final LimitNode node = new LimitNode(2, limitReached::incrementAndGet);
+        node.setLink(link);
+
+        // when
+        node.receive(row0, metadata);
+        node.receive(deleted, metadata);
+        node.receive(row1, metadata);
+        node.receive(row2, metadata);
+
+        // then
+        assertThat(link.getEmittedRows(), contains(row0, deleted, row1));
+        assertThat(limitReached.get(), is(1));
+    }
+
+    @Test
+    public void receive_batch_should_not_count_deleted_rows() throws Exception {
+        // given
+        final RowMetadata metadata = new RowMetadata();
+        final DataSetRow row0 = new DataSetRow(new HashMap<>());
+        final DataSetRow deleted = new DataSetRow(new HashMap<>());
+        deleted.setDeleted(true);
+        final DataSetRow row1 = new DataSetRow(new HashMap<>());
+        final DataSetRow row2 = new DataSetRow(new HashMap<>());
+        final AtomicInteger limitReached = new AtomicInteger();
+
+        final TestLink link = new TestLink(new BasicNode());
+        final LimitNode node = new LimitNode(2, limitReached::incrementAndGet);
+        node.setLink(link);
+
+        final RowBatch batch = new RowBatch(4, metadata);
+        batch.add(row0);
+        batch.add(deleted);
+        batch.add(row1);
+        batch.add(row2);
+
+        // when
+        node.receive(batch);
+
+        // then
+        assertThat(link.getEmittedRows(), contains(row0, deleted, row1));
+        assertThat(limitReached.get(), is(1));
+    }
+
+    @Test
+    public void receive_batch_should_discard_rows_over_limit() throws Exception {
+        // given
+        final RowMetadata metadata = new RowMetadata();
+        final DataSetRow row0 = new DataSetRow(new HashMap<>());
+        final DataSetRow row1 = new DataSetRow(new HashMap<>());
+        final DataSetRow row2 = new DataSetRow(new HashMap<>());
+        final DataSetRow row3 = new DataSetRow(new HashMap<>());
+        final AtomicInteger limitReached = new AtomicInteger();
+
+        final TestLink link = new TestLink(new BasicNode());
+        final LimitNode node = new LimitNode(3, limitReached::incrementAndGet);
+        node.setLink(link);
+
+        final RowBatch batch0 = new RowBatch(2, metadata);
+        batch0.add(row0);
+        batch0.add(row1);
+        final RowBatch batch1 = new RowBatch(2, metadata);
+        batch1.add(row2);
+        batch1.add(row3);
+
+        // when
+        node.receive(batch0);
+        node.receive(batch1);
+
+        // then
+        assertThat(link.getEmittedRows(), hasSize(3));
+        assertThat(link.getEmittedRows(), contains(row0, row1, row2));
+        assertThat(limitReached.get(), is(1));
+    }
+}
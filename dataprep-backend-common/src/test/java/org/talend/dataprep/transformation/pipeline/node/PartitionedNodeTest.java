@@ -0,0 +1,159 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.pipeline.node;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.collection.IsCollectionWithSize.hasSize;
+import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
+import static org.hamcrest.core.Is.is;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.locks.LockSupport;
+
+import org.junit.Test;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.transformation.pipeline.Node;
+import org.talend.dataprep.transformation.pipeline.Signal;
+import org.talend.dataprep.transformation.pipeline.TestLink;
+import org.talend.dataprep.transformation.pipeline.builder.NodeBuilder;
+
+public class PartitionedNodeTest {
+
+    private final List<MarkNode> partitionNodes = new ArrayList<>();
+
+    private Node buildPartition() {
+        final MarkNode node = new MarkNode(partitionNodes.size());
+        partitionNodes.add(node);
+        return NodeBuilder.source().to(node).build();
+    }
+
+    @Test
+    public void should_emit_rows_in_original_order() throws Exception {
+        // given
+        final RowMetadata metadata = new RowMetadata();
+        final TestLink link = new TestLink(new BasicNode());
+        final PartitionedNode node = new PartitionedNode(this::buildPartition, 4, 10);
+        node.setLink(link);
+
+        // when (previous node reuses the same row instance)
+        final DataSetRow row = new DataSetRow(new HashMap<>());
+        for (int i = 0; i < 1000; i++) {
+            row.set("id", String.valueOf(i));
+            node.receive(row, metadata);
+        }
+        node.signal(Signal.END_OF_STREAM);
+
+        // then
+        assertThat(link.getEmittedRows(), hasSize(1000));
+        for (int i = 0; i < 1000; i++) {
+            final DataSetRow emitted = link.getEmittedRows().get(i);
+            assertThat(emitted.get("id"), is(String.valueOf(i)));
+            assertThat(emitted.get("partition"), is(String.valueOf((i / 10) % 4)));
+        }
+        assertThat(link.getEmittedSignals(), contains(Signal.END_OF_STREAM));
+        assertThat(node.getMetrics().getRowsIn(), is(1000L));
+        assertThat(node.getMetrics().getRowsOut(), is(1000L));
+    }
+
+    @Test
+    public void should_run_each_partition_with_its_own_nodes() throws Exception {
+        // given
+        final RowMetadata metadata = new RowMetadata();
+        final TestLink link = new TestLink(new BasicNode());
+        final PartitionedNode node = new PartitionedNode(this::buildPartition, 3, 5);
+        node.setLink(link);
+
+        // when
+        for (int i = 0; i < 100; i++) {
+            node.receive(new DataSetRow(new HashMap<>()), metadata);
+        }
+        node.signal(Signal.END_OF_STREAM);
+
+        // then
+        assertThat(partitionNodes, hasSize(3));
+        assertThat(node.getPartitionNodes(), hasSize(3));
+        long total = 0;
+        for (MarkNode partitionNode : partitionNodes) {
+            assertThat(partitionNode.concurrentCalls, is(false));
+            assertThat(partitionNode.signals, contains(Signal.END_OF_STREAM));
+            total += partitionNode.count;
+        }
+        assertThat(total, is(100L));
+    }
+
+    @Test
+    public void should_emit_remaining_rows_at_end_of_stream() throws Exception {
+        // given
+        final RowMetadata metadata = new RowMetadata();
+        final TestLink link = new TestLink(new BasicNode());
+        final PartitionedNode node = new PartitionedNode(this::buildPartition, 2, 10);
+        node.setLink(link);
+
+        // when
+        for (int i = 0; i < 5; i++) {
+            node.receive(new DataSetRow(new HashMap<>()), metadata);
+        }
+
+        // then
+        assertThat(link.getEmittedRows(), hasSize(0));
+        node.signal(Signal.END_OF_STREAM);
+        assertThat(link.getEmittedRows(), hasSize(5));
+        assertThat(link.getEmittedSignals(), contains(Signal.END_OF_STREAM));
+    }
+
+    /**
+     * Marks rows with the index of its partition, after a random delay (so partitions end in any order).
+     */
+    private static class MarkNode extends BasicNode {
+
+        private final int partition;
+
+        private final Random random;
+
+        private final List<Signal> signals = new ArrayList<>();
+
+        private volatile boolean running;
+
+        private volatile boolean concurrentCalls;
+
+        private long count;
+
+        private MarkNode(int partition) {
+            this.partition = partition;
+            this.random = new Random(partition);
+        }
+
+        @Override
+        public void receive(DataSetRow row, RowMetadata metadata) {
+            if (running) {
+                concurrentCalls = true;
+            }
+            running = true;
+            LockSupport.parkNanos(random.nextInt(20_000));
+            row.set("partition", String.valueOf(partition));
+            count++;
+            running = false;
+            super.receive(row, metadata);
+        }
+
+        @Override
+        public void signal(Signal signal) {
+            signals.add(signal);
+            super.signal(signal);
+        }
+    }
+}
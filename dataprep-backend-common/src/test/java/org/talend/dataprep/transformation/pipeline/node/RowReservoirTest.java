@@ -0,0 +1,97 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.pipeline.node;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.talend.dataprep.api.dataset.ColumnMetadata;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.api.type.Type;
+
+public class RowReservoirTest {
+
+    @Test
+    public void shouldReplayRowsFromMemory() throws Exception {
+        assertReplay(new RowReservoir(RowReservoir.DEFAULT_MEMORY_THRESHOLD, true), false);
+    }
+
+    @Test
+    public void shouldReplayCompressedRowsFromDisk() throws Exception {
+        assertReplay(new RowReservoir(1024, true), true);
+    }
+
+    @Test
+    public void shouldReplayRowsFromDisk() throws Exception {
+        assertReplay(new RowReservoir(0, false), true);
+    }
+
+    @Test
+    public void shouldReplayNothing() throws Exception {
+        try (RowReservoir reservoir = new RowReservoir(0, true)) {
+            final List<DataSetRow> replayed = new ArrayList<>();
+            reservoir.replay(replayed::add);
+            assertThat(replayed.isEmpty(), is(true));
+        }
+    }
+
+    private static void assertReplay(RowReservoir reservoir, boolean spilled) {
+        // given
+        final List<ColumnMetadata> columns = new ArrayList<>();
+        columns.add(ColumnMetadata.Builder.column().id(0).type(Type.STRING).build());
+        columns.add(ColumnMetadata.Builder.column().id(1).type(Type.INTEGER).build());
+        final RowMetadata metadata = new RowMetadata(columns);
+        final List<DataSetRow> rows = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            final Map<String, Object> values = new HashMap<>();
+            values.put("0000", "value é中 " + i);
+            values.put("0001", String.valueOf(i));
+            final DataSetRow row = new DataSetRow(metadata, values);
+            row.setTdpId((long) i);
+            row.setDeleted(i % 10 == 0);
+            if (i % 3 == 0) {
+                row.setInvalid("0001");
+            }
+            rows.add(row);
+        }
+
+        // when
+        final List<DataSetRow> replayed = new ArrayList<>();
+        try {
+            rows.forEach(row -> reservoir.add(row, columns));
+            reservoir.replay(row -> replayed.add(row.clone()));
+        } finally {
+            reservoir.close();
+        }
+
+        // then
+        assertThat(reservoir.isSpilled(), is(spilled));
+        assertThat(replayed.size(), is(rows.size()));
+        for (int i = 0; i < rows.size(); i++) {
+            final DataSetRow expected = rows.get(i);
+            final DataSetRow actual = replayed.get(i);
+            assertThat(actual.get("0000"), is(expected.get("0000")));
+            assertThat(actual.get("0001"), is(expected.get("0001")));
+            assertThat(actual.getTdpId(), is(expected.getTdpId()));
+            assertThat(actual.isDeleted(), is(expected.isDeleted()));
+            assertThat(actual.isInvalid("0001"), is(expected.isInvalid("0001")));
+        }
+    }
+}
@@ -0,0 +1,104 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.cache.file;
+
+import java.io.*;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * <p>
+ * Compression of cache entries: compressed entries start with a header ({@link #MAGIC} followed by the codec id), and
+ * content is then compressed with deflate at its fastest level (cache content is mostly JSON, so even the fastest level
+ * divides entry size several times).
+ * </p>
+ * <p>
+ * Entries without header (written before compression was enabled or with compression disabled) are read as is.
+ * </p>
+ */
+final class CompressedEntries {
+
+    /** Header of compressed entries (cannot be the start of a JSON content). */
+    private static final byte[] MAGIC = { 'T', 'D', 'P', 'Z' };
+
+    /** Codec id for deflate. */
+    private static final byte DEFLATE = 1;
+
+    /** Header length. */
+    private static final int HEADER_LENGTH = MAGIC.length + 1;
+
+    /** Size of the compression buffers. */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private CompressedEntries() {
+    }
+
+    /**
+     * @param output Where the entry is stored.
+     * @return An output stream that writes compressed content (with its header) to <code>output</code>.
+     * @throws IOException In case header cannot be written.
+     */
+    static OutputStream compress(OutputStream output) throws IOException {
+        output.write(MAGIC);
+        output.write(DEFLATE);
+        final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        return new DeflaterOutputStream(output, deflater, BUFFER_SIZE) {
+
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    deflater.end();
+                }
+            }
+        };
+    }
+
+    /**
+     * @param input The stored entry.
+     * @return An input stream that returns the entry content (uncompressed if entry was compressed, as is otherwise).
+     * @throws IOException In case entry header cannot be read.
+     */
+    static InputStream decompress(InputStream input) throws IOException {
+        final BufferedInputStream buffered = new BufferedInputStream(input, BUFFER_SIZE);
+        buffered.mark(HEADER_LENGTH);
+        final byte[] header = new byte[HEADER_LENGTH];
+        int read = 0;
+        int count;
+        while (read < HEADER_LENGTH && (count = buffered.read(header, read, HEADER_LENGTH - read)) > 0) {
+            read += count;
+        }
+        if (read < HEADER_LENGTH || !Arrays.equals(Arrays.copyOf(header, MAGIC.length), MAGIC)
+                || header[MAGIC.length] != DEFLATE) {
+            buffered.reset();
+            return buffered;
+        }
+        final Inflater inflater = new Inflater();
+        return new InflaterInputStream(buffered, inflater, BUFFER_SIZE) {
+
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    inflater.end();
+                }
+            }
+        };
+    }
+}
@@ -21,19 +21,24 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.file.*;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.function.BiConsumer;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.output.CountingOutputStream;
 import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-import org.springframework.scheduling.annotation.EnableScheduling;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.talend.dataprep.cache.ContentCache;
 import org.talend.dataprep.cache.ContentCacheKey;
@@ -43,7 +48,23 @@ import org.talend.dataprep.metrics.Timed;
 import org.talend.dataprep.metrics.VolumeMetered;
 
 /**
+ * <p>
  * File system cache implementation.
+ * </p>
+ * <p>
+ * Entries are stored in sub directories (shards) computed from a hash of the entry key, and an in-memory index (key
+ * -&gt; path, TTL and size) is used for all lookups and evictions: index is rebuilt from disk at startup and then kept
+ * in sync with writes, so no operation needs to walk the cache directory. As cache directory may be shared with other
+ * processes, a key missing from index is looked up in its shard directory (and added to index if found on disk).
+ * </p>
+ * <p>
+ * Cache size can be bounded with <code>service.cache.file.max.size</code> (in bytes): when an entry write makes cache
+ * exceed this budget, least recently used entries are removed (until cache size is back under 90% of the budget).
+ * </p>
+ * <p>
+ * Unless <code>service.cache.file.compression</code> is false, entries are stored compressed (see
+ * {@link CompressedEntries}).
+ * </p>
  */
 @Component
 @ConditionalOnProperty(name = "service.cache", havingValue = "file")
@@ -54,22 +75,78 @@ public class FileSystemContentCache implements ContentCache {
      */
     private static final Logger LOGGER = LoggerFactory.getLogger(FileSystemContentCache.class);
 
+    /**
+     * Number of sub directories used to spread cache entries.
+     */
+    private static final int SHARDS = 256;
+
+    /**
+     * Ratio of the budget cache size goes back to when budget is exceeded (to avoid evicting on each write).
+     */
+    private static final double LOW_WATERMARK = 0.9;
+
     /**
      * Where to store cache entries.
      */
     private final String location;
 
+    /**
+     * The in-memory index of cache entries (sorted by key to allow eviction by key prefix).
+     */
+    private final ConcurrentNavigableMap<String, Entry> index = new ConcurrentSkipListMap<>();
+
+    /**
+     * Maximum size (in bytes) of cache content, &lt;= 0 for an unbounded cache.
+     */
+    private final long maxSize;
+
+    /**
+     * <code>true</code> if new entries are compressed.
+     */
+    private final boolean compression;
+
+    /**
+     * Logical clock used to track entry accesses (for LRU eviction).
+     */
+    private final AtomicLong clock = new AtomicLong();
+
+    /**
+     * Current size (in bytes) of cache content.
+     */
+    private final AtomicLong size = new AtomicLong();
+
+    private final AtomicLong hitCount = new AtomicLong();
+
+    private final AtomicLong missCount = new AtomicLong();
+
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    /**
+     * Creates an unbounded cache.
+     *
+     * @param location where to store cache entries.
+     */
+    public FileSystemContentCache(String location) {
+        this(location, -1, true);
+    }
+
     /**
      * Default constructor.
      *
      * @param location where to store cache entries.
+     * @param maxSize maximum size (in bytes) of cache content (&lt;= 0 for no limit).
+     * @param compression <code>true</code> to compress new entries.
      */
     @Autowired
-    public FileSystemContentCache(@Value("${service.cache.file.location}") String location) {
+    public FileSystemContentCache(@Value("${service.cache.file.location}") String location,
+            @Value("${service.cache.file.max.size:-1}") long maxSize,
+            @Value("${service.cache.file.compression:true}") boolean compression) {
         if (!location.endsWith("/")) {
             location += "/";
         }
         this.location = location + "cache/";
+        this.maxSize = maxSize;
+        this.compression = compression;
         try {
             final File directory = new File(location);
             if (!directory.exists()) {
@@ -78,108 +155,226 @@ public class FileSystemContentCache implements ContentCache {
         } catch (IOException e) {
             throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
         }
+        buildIndex();
     }
 
     /**
-     * Checks if the timeToLive (TTL) of a cache entry is ok for the cache entry.
+     * Checks if an expiration time is ok for a cache entry.
      *
-     * @param timeToLive The TTL of the cache entry.
-     * @return <code>true</code> is TTL is greater than current time (+ {@link #EVICTION_PERIOD}), <code>false</code>
-     * otherwise (or if time to live is not a number).
+     * @param expiration The expiration time of the cache entry (&lt;= 0 for permanent entries).
+     * @return <code>true</code> is expiration is greater than current time (+ {@link #EVICTION_PERIOD}),
+     * <code>false</code> otherwise.
      */
-    private static boolean isLiveEntry(String timeToLive) {
+    private static boolean isLiveEntry(long expiration) {
         // deal with permanent content
-        if (StringUtils.isBlank(timeToLive)) {
-            return true;
-        }
+        return expiration <= 0 || expiration > (System.currentTimeMillis() + EVICTION_PERIOD);
+    }
 
+    /**
+     * Rebuilds the in-memory index from the entries found on disk (expired or evicted entries are left to janitor).
+     */
+    private void buildIndex() {
+        final Path root = Paths.get(location);
+        if (!root.toFile().exists()) {
+            return;
+        }
+        final long start = System.currentTimeMillis();
         try {
-            return Long.parseLong(timeToLive) > (System.currentTimeMillis() + EVICTION_PERIOD);
-        } catch (NumberFormatException e) {
-            LOGGER.debug("Invalid time to live '{}', consider entry as invalid.", timeToLive, e);
-            return false;
+            Files.walkFileTree(root, new FileSystemVisitor((file, suffix) -> {
+                final String fileName = file.getFileName().toString();
+                String key = fileName;
+                long expiration = 0;
+                if (StringUtils.isNotEmpty(suffix)) {
+                    try {
+                        expiration = Long.parseLong(suffix);
+                        key = StringUtils.substringBeforeLast(fileName, ".");
+                    } catch (NumberFormatException e) {
+                        LOGGER.trace("File {} has no expiration, consider it as permanent.", fileName, e);
+                    }
+                    if (expiration <= 0 && !key.equals(fileName)) {
+                        // Evicted entry (".0" suffix), janitor will remove it.
+                        return;
+                    }
+                }
+                if (isLiveEntry(expiration)) {
+                    final Entry entry = new Entry(file, expiration);
+                    entry.setSize(file.toFile().length());
+                    register(key, entry);
+                }
+            }, false));
+        } catch (IOException e) {
+            LOGGER.error("Unable to build cache index, cache will start empty.", e);
+            index.clear();
+            size.set(0);
         }
+        LOGGER.info("Cache index built with {} entries ({} bytes) in {} ms.", index.size(), size.get(),
+                System.currentTimeMillis() - start);
+        evictOverBudget();
     }
 
     /**
      * Compute the path for the given key.
      *
      * @param key the cache key entry.
-     * @param timeToLive an optional time to live when performing content cache lookup (<code>null</code> allowed).
-     * @return the HDFS path for the entry key.
+     * @param expiration the expiration time of the entry (&lt;= 0 for a permanent entry).
+     * @return the path for the entry key.
      */
-    private Path computeEntryPath(ContentCacheKey key, TimeToLive timeToLive) {
-        String path = location + key.getKey();
-        if (timeToLive != null) {
-            if (timeToLive.getTime() > 0) {
-                path += '.' + String.valueOf(System.currentTimeMillis() + timeToLive.getTime());
-            } else {
-                // Leave path as it is (don't add timestamp).
-            }
+    private Path computeEntryPath(ContentCacheKey key, long expiration) {
+        final String shard = String.format("%02x", (key.getKey().hashCode() & 0x7FFFFFFF) % SHARDS);
+        String path = location + shard + '/' + key.getKey();
+        if (expiration > 0) {
+            path += '.' + String.valueOf(expiration);
         }
         final Path result = Paths.get(path);
         LOGGER.trace("path entry for {} is {}", key.getKey(), result);
         return result;
     }
 
-    private Path findEntry(ContentCacheKey key) {
-        final Path path = computeEntryPath(key, null);
-        final File[] files = path.getParent().toFile().listFiles();
-        if (files != null) {
-            for (File file : files) {
-                if (!StringUtils.startsWith(file.getName(), key.getKey())) {
-                    LOGGER.trace("file {} does not match key {}", file.getName(), key.getKey());
-                    continue;
-                }
-                if (Paths.get(file.toURI()).equals(path.toAbsolutePath())) {
-                    LOGGER.debug("cache entry for #{} is {}", key, file.toPath());
-                    return file.toPath();
+    /**
+     * @param timeToLive A {@link TimeToLive TTL}.
+     * @return The expiration time for an entry created now with given TTL (0 for permanent entries).
+     */
+    private static long computeExpiration(TimeToLive timeToLive) {
+        return timeToLive.getTime() > 0 ? System.currentTimeMillis() + timeToLive.getTime() : 0;
+    }
+
+    /**
+     * Finds the live entry for the given key.
+     *
+     * @param key the cache key entry.
+     * @return The index entry, or <code>null</code> if there's no live entry for key.
+     */
+    private Entry findEntry(ContentCacheKey key) {
+        Entry entry = index.get(key.getKey());
+        if (entry != null && (!isLiveEntry(entry.expiration) || !entry.path.toFile().exists())) {
+            // Expired (or removed by janitor): remove it from index
+            unregister(key.getKey(), entry);
+            entry = null;
+        }
+        if (entry == null) {
+            entry = discoverEntry(key);
+            if (entry == null) {
+                return null;
+            }
+        }
+        entry.lastAccess = clock.incrementAndGet();
+        LOGGER.debug("cache entry for #{} is {}", key, entry.path);
+        return entry;
+    }
+
+    /**
+     * Looks in the key shard directory for a live entry that is not in index (e.g. written by another process sharing
+     * the cache directory) and adds it to index.
+     *
+     * @param key the cache key entry.
+     * @return The index entry, or <code>null</code> if there's no live entry for key on disk.
+     */
+    private Entry discoverEntry(ContentCacheKey key) {
+        final String keyStr = key.getKey();
+        final Path shard = computeEntryPath(key, 0).getParent();
+        if (!shard.toFile().isDirectory()) {
+            return null;
+        }
+        final String prefix = keyStr + '.';
+        Path found = null;
+        long foundExpiration = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(shard, file -> {
+            final String fileName = file.getFileName().toString();
+            return fileName.equals(keyStr) || (fileName.length() > prefix.length() && fileName.startsWith(prefix)
+                    && StringUtils.isNumeric(fileName.substring(prefix.length())));
+        })) {
+            for (Path file : files) {
+                final String fileName = file.getFileName().toString();
+                if (fileName.equals(keyStr)) {
+                    // Permanent entry
+                    found = file;
+                    foundExpiration = 0;
+                    break;
                 }
-                final String suffix = StringUtils.substringAfterLast(file.getName(), ".");
-                if (isLiveEntry(suffix)) {
-                    LOGGER.debug("cache entry for #{} is {}", key, file.toPath());
-                    return file.toPath();
+                // Entries with ".0" suffix are evicted (janitor will remove them)
+                final long expiration = Long.parseLong(fileName.substring(prefix.length()));
+                if (expiration > foundExpiration && isLiveEntry(expiration)) {
+                    found = file;
+                    foundExpiration = expiration;
                 }
             }
+        } catch (IOException | NumberFormatException e) {
+            LOGGER.debug("Unable to look up cache entry #{} on disk.", key, e);
+            return null;
+        }
+        if (found == null) {
+            return null;
+        }
+        final Entry entry = new Entry(found, foundExpiration);
+        entry.lastAccess = clock.incrementAndGet();
+        final Entry previous = index.putIfAbsent(keyStr, entry);
+        if (previous != null) {
+            // Concurrently added to index (by a put or another lookup)
+            return previous;
+        }
+        entry.setSize(found.toFile().length());
+        LOGGER.debug("[{}] Cache entry found on disk.", key);
+        evictOverBudget();
+        return entry;
+    }
+
+    /**
+     * Returns the version of an entry content: version changes whenever entry content is replaced or moved (by this
+     * cache or by another process sharing the cache directory), so copies of the content kept elsewhere (e.g. in
+     * memory) can be checked before they are served.
+     *
+     * @param key the cache key entry.
+     * @return The entry version, or <code>null</code> if there's no live entry for key.
+     */
+    public String getVersion(ContentCacheKey key) {
+        final Entry entry = findEntry(key);
+        if (entry == null) {
+            return null;
+        }
+        try {
+            final BasicFileAttributes attributes = Files.readAttributes(entry.path, BasicFileAttributes.class);
+            return entry.path.getFileName() + "@" + attributes.lastModifiedTime() + '/' + attributes.size();
+        } catch (NoSuchFileException e) {
+            LOGGER.debug("Cache entry #{} was removed.", key, e);
+            unregister(key.getKey(), entry);
+            return null;
+        } catch (IOException e) {
+            LOGGER.debug("Unable to read version of cache entry #{}.", key, e);
+            return null;
         }
-        LOGGER.debug("No cache for entry #{}", key);
-        return null;
     }
 
     @Override
     @Timed
     public boolean has(ContentCacheKey key) {
-        final Path path = computeEntryPath(key, null);
-        final File[] files = path.getParent().toFile().listFiles();
-        if (files != null) {
-            for (File file : files) {
-                final String fileName = file.getName();
-                // first check the key...
-                final String prefix = StringUtils.substringBeforeLast(fileName, ".");
-                if (StringUtils.equals(prefix, key.getKey())) {
-                    // ...then the TTL
-                    final String suffix = StringUtils.substringAfterLast(fileName, ".");
-                    if (isLiveEntry(suffix)) {
-                        LOGGER.debug("[{}] Cache hit --> {}", key, fileName);
-                        return true;
-                    }
-                }
-            }
+        if (findEntry(key) != null) {
+            LOGGER.debug("[{}] Cache hit.", key);
+            hitCount.incrementAndGet();
+            return true;
         }
         LOGGER.debug("[{}] Cache miss.", key);
+        missCount.incrementAndGet();
         return false;
     }
 
     @Override
     @VolumeMetered
     public InputStream get(ContentCacheKey key) {
-        final Path path = findEntry(key);
-        if (path == null) {
+        final Entry entry = findEntry(key);
+        if (entry == null) {
             LOGGER.debug("No cache for entry #{}", key);
+            missCount.incrementAndGet();
             return null;
         }
         try {
-            return Files.newInputStream(path);
+            final InputStream inputStream = CompressedEntries.decompress(Files.newInputStream(entry.path));
+            hitCount.incrementAndGet();
+            return inputStream;
+        } catch (NoSuchFileException e) {
+            LOGGER.debug("Cache entry #{} was removed.", key, e);
+            unregister(key.getKey(), entry);
+            missCount.incrementAndGet();
+            return null;
         } catch (IOException e) {
             throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
         }
@@ -189,7 +384,8 @@ public class FileSystemContentCache implements ContentCache {
     @VolumeMetered
     public OutputStream put(ContentCacheKey key, TimeToLive timeToLive) {
         try {
-            final Path path = computeEntryPath(key, timeToLive);
+            final long expiration = computeExpiration(timeToLive);
+            final Path path = computeEntryPath(key, expiration);
             if (!path.toFile().exists()) {
                 try {
                     FileUtils.touch(path.toFile());
@@ -197,8 +393,19 @@ public class FileSystemContentCache implements ContentCache {
                     LOGGER.error("{} Unable to create cache.", key, e);
                 }
             }
+            final Entry entry = new Entry(path, expiration);
+            final OutputStream outputStream = new CountingOutputStream(Files.newOutputStream(path)) {
+
+                @Override
+                public void close() throws IOException {
+                    super.close();
+                    entry.setSize(getByteCount());
+                    evictOverBudget();
+                }
+            };
+            register(key.getKey(), entry);
             LOGGER.debug("{} Cache add.", key);
-            return Files.newOutputStream(path);
+            return compression ? CompressedEntries.compress(outputStream) : outputStream;
         } catch (IOException e) {
             throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
         }
@@ -207,44 +414,19 @@ public class FileSystemContentCache implements ContentCache {
     @Override
     @Timed
     public void evict(ContentCacheKey key) {
-
-        final Path path = computeEntryPath(key, null);
-        final Path parent = path.getParent();
-
-        // defensive programming
-        if (!parent.toFile().exists()) {
-            return;
-        }
-        try {
-            final String keyStr = key.getKey();
-            final BiConsumer<Path, String> evictKey = getEvictionConsumer((entryKey) -> StringUtils.startsWith(entryKey, keyStr));
-            final boolean skipPermanentEntries = false;
-            Files.walkFileTree(Paths.get(location), new FileSystemVisitor(evictKey, skipPermanentEntries));
-        } catch (IOException e) {
-            LOGGER.error("Unable to evict.", e);
-        }
+        final String keyStr = key.getKey();
+        // All keys starting with keyStr are between keyStr and keyStr + highest char
+        evict(index.subMap(keyStr, true, keyStr + Character.MAX_VALUE, true));
         LOGGER.debug("[{}] Evict.", key);
     }
 
     @Override
     @Timed
     public void evictMatch(ContentCacheKey key) {
-        final Path path = computeEntryPath(key, null);
-        final Path parent = path.getParent();
-
-        // defensive programming
-        if (!parent.toFile().exists()) {
-            return;
-        }
-
-        try {
-            final Predicate<String> matchKey = key.getMatcher();
-            final BiConsumer<Path, String> evictKey = getEvictionConsumer(matchKey);
-            final boolean skipPermanentEntries = false;
-            Files.walkFileTree(Paths.get(location), new FileSystemVisitor(evictKey, skipPermanentEntries));
-        } catch (IOException e) {
-            LOGGER.error("Unable to evict.", e);
-        }
+        final Predicate<String> matchKey = key.getMatcher();
+        evict(index.entrySet().stream() //
+                .filter(e -> matchKey.test(e.getKey())) //
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue)));
         LOGGER.debug("[{}] Evict Match.", key);
     }
 
@@ -255,14 +437,19 @@ public class FileSystemContentCache implements ContentCache {
             return; // Move to itself -> no op.
         }
         try {
-            final Path fromPath = findEntry(from);
-            if (fromPath == null) {
+            final Entry fromEntry = findEntry(from);
+            if (fromEntry == null) {
                 LOGGER.warn("Cache entry '{}' cannot be found to be moved.", from.getKey());
                 return;
             }
-            final Path toPath = computeEntryPath(to, toTimeToLive);
-            Files.move(fromPath, toPath, REPLACE_EXISTING, ATOMIC_MOVE);
-            evict(from);
+            final long expiration = computeExpiration(toTimeToLive);
+            final Path toPath = computeEntryPath(to, expiration);
+            FileUtils.forceMkdir(toPath.getParent().toFile());
+            Files.move(fromEntry.path, toPath, REPLACE_EXISTING, ATOMIC_MOVE);
+            unregister(from.getKey(), fromEntry);
+            final Entry toEntry = new Entry(toPath, expiration);
+            toEntry.setSize(fromEntry.size);
+            register(to.getKey(), toEntry);
         } catch (IOException e) {
             throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
         }
@@ -272,24 +459,190 @@ public class FileSystemContentCache implements ContentCache {
     @Timed
     public void clear() {
         try {
+            index.forEach(this::unregister);
             FileUtils.deleteDirectory(Paths.get(location).toFile());
         } catch (IOException e) {
             LOGGER.error("Unable to clear cache.", e);
         }
     }
 
+    /**
+     * @return The number of cache lookups ({@link #has(ContentCacheKey)} and {@link #get(ContentCacheKey)}) that found
+     * a live entry.
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * @return The number of cache lookups ({@link #has(ContentCacheKey)} and {@link #get(ContentCacheKey)}) that did
+     * not find a live entry.
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * @return The number of entries removed because cache exceeded its size budget.
+     */
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    /**
+     * @return The current size (in bytes) of cache content.
+     */
+    public long getSize() {
+        return size.get();
+    }
+
+    /**
+     * Adds an entry to the index (any previous entry for the same key is marked as evicted).
+     *
+     * @param key The entry key.
+     * @param entry The entry to add.
+     */
+    private void register(String key, Entry entry) {
+        entry.lastAccess = clock.incrementAndGet();
+        final Entry previous = index.put(key, entry);
+        if (previous != null) {
+            previous.removed();
+            if (!previous.path.equals(entry.path)) {
+                markAsEvicted(previous);
+            }
+        }
+    }
+
+    /**
+     * Removes an entry from the index.
+     *
+     * @param key The entry key.
+     * @param entry The entry to remove.
+     * @return <code>true</code> if entry was removed, <code>false</code> if entry was no longer in index.
+     */
+    private boolean unregister(String key, Entry entry) {
+        if (index.remove(key, entry)) {
+            entry.removed();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Removes the given entries from index and marks them as evicted on disk.
+     *
+     * @param entries The entries to evict.
+     */
+    private void evict(Map<String, Entry> entries) {
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            if (unregister(entry.getKey(), entry.getValue())) {
+                markAsEvicted(entry.getValue());
+            }
+        }
+    }
 
-    private BiConsumer<Path, String> getEvictionConsumer(final Predicate<String> keyMatcher) {
-        return (file, suffix) -> {
-            try {
-                if (keyMatcher.test(file.getFileName().toString())) {
-                    final Path evictedFile = Paths.get(file.toAbsolutePath().toString() + ".0");
-                    Files.move(file, evictedFile, REPLACE_EXISTING, ATOMIC_MOVE);
+    /**
+     * Removes least recently used entries if cache size exceeds the configured budget. Expired entries are removed
+     * first, and entries being written are never removed.
+     */
+    private synchronized void evictOverBudget() {
+        if (maxSize <= 0 || size.get() <= maxSize) {
+            return;
+        }
+        final long start = System.currentTimeMillis();
+        final long target = (long) (maxSize * LOW_WATERMARK);
+        final List<Map.Entry<String, Entry>> candidates = new ArrayList<>(index.entrySet());
+        candidates.sort(Comparator.comparing((Map.Entry<String, Entry> e) -> isLiveEntry(e.getValue().expiration)) //
+                .thenComparingLong(e -> e.getValue().lastAccess));
+        int evicted = 0;
+        for (Map.Entry<String, Entry> candidate : candidates) {
+            if (size.get() <= target) {
+                break;
+            }
+            final Entry entry = candidate.getValue();
+            if (entry.written && unregister(candidate.getKey(), entry)) {
+                try {
+                    // Delete immediately (janitor may not run before budget is exceeded again)
+                    Files.deleteIfExists(entry.path);
+                } catch (IOException e) {
+                    LOGGER.debug("Unable to delete {}, mark it as evicted.", entry.path.getFileName(), e);
+                    markAsEvicted(entry);
                 }
-            } catch (IOException e) {
-                LOGGER.error("Unable to evict {}.", file.getFileName(), e);
+                evicted++;
             }
-        };
+        }
+        evictionCount.addAndGet(evicted);
+        LOGGER.info("Cache exceeded {} bytes, evicted {} entries in {} ms (cache size is now {} bytes).", maxSize, evicted,
+                System.currentTimeMillis() - start, size.get());
+    }
+
+    /**
+     * Renames entry's file with a ".0" suffix: file is no longer served and {@link FileSystemContentCacheJanitor
+     * janitor} removes it on next run.
+     *
+     * @param entry The entry to evict.
+     */
+    private static void markAsEvicted(Entry entry) {
+        try {
+            final Path evictedFile = Paths.get(entry.path.toAbsolutePath().toString() + ".0");
+            Files.move(entry.path, evictedFile, REPLACE_EXISTING, ATOMIC_MOVE);
+        } catch (NoSuchFileException e) {
+            LOGGER.debug("Evicted file {} no longer exists.", entry.path.getFileName(), e);
+        } catch (IOException e) {
+            LOGGER.error("Unable to evict {}.", entry.path.getFileName(), e);
+        }
+    }
+
+    /**
+     * An entry in the cache index.
+     */
+    private class Entry {
+
+        /** Where the entry content is stored. */
+        private final Path path;
+
+        /** Entry expiration time (&lt;= 0 for permanent entries). */
+        private final long expiration;
+
+        /** Entry size in bytes (known once content is written). */
+        private volatile long size;
+
+        /** <code>true</code> once entry content is fully written. */
+        private volatile boolean written;
+
+        /** <code>true</code> once entry is no longer in index (its size is no longer part of cache size). */
+        private boolean isRemoved;
+
+        /** Last time (see {@link #clock}) entry was accessed. */
+        private volatile long lastAccess;
+
+        private Entry(Path path, long expiration) {
+            this.path = path;
+            this.expiration = expiration;
+        }
+
+        /**
+         * Sets entry size once content is written (and updates cache size accordingly).
+         *
+         * @param size The entry content size in bytes.
+         */
+        private synchronized void setSize(long size) {
+            if (!isRemoved) {
+                FileSystemContentCache.this.size.addAndGet(size - this.size);
+            }
+            this.size = size;
+            this.written = true;
+        }
+
+        /**
+         * Removes entry size from cache size (once entry is removed from index).
+         */
+        private synchronized void removed() {
+            if (!isRemoved) {
+                isRemoved = true;
+                FileSystemContentCache.this.size.addAndGet(-size);
+            }
+        }
     }
 
 }
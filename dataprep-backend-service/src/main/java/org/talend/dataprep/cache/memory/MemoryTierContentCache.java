@@ -0,0 +1,423 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.cache.memory;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import org.talend.dataprep.cache.ContentCache;
+import org.talend.dataprep.cache.ContentCacheKey;
+import org.talend.dataprep.cache.file.FileSystemContentCache;
+import org.talend.dataprep.exception.TDPException;
+import org.talend.dataprep.exception.error.CommonErrorCodes;
+import org.talend.dataprep.metrics.Timed;
+import org.talend.dataprep.metrics.VolumeMetered;
+
+/**
+ * <p>
+ * A memory tier in front of the {@link FileSystemContentCache file cache}: content is kept in direct (off-heap)
+ * {@link ByteBuffer buffers} so hot entries (e.g. preparation head or previous step content read for each preview) are
+ * served without reading the cache file again.
+ * </p>
+ * <p>
+ * Entries enter memory tier when written ({@link #put(ContentCacheKey, TimeToLive) write-through}) or when read a
+ * second time (promotion). File cache remains the reference for entry existence and TTL, memory tier only replaces the
+ * content reads. Memory tier size is capped by <code>service.cache.memory.max.size</code> (least recently used entries
+ * are dropped first) and an entry cannot use more than 1/8 of this size.
+ * </p>
+ * <p>
+ * Each memory entry records the {@link FileSystemContentCache#getVersion(ContentCacheKey) version} of the file entry it
+ * copies and is served only while file entry still has this version: entries replaced, moved or evicted by another
+ * service sharing the cache directory are read again from file cache.
+ * </p>
+ */
+@Component
+@Primary
+@ConditionalOnExpression("'${service.cache:disabled}' == 'file' && '${service.cache.memory:disabled}' == 'enabled'")
+public class MemoryTierContentCache implements ContentCache {
+
+    /** This class' logger. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(MemoryTierContentCache.class);
+
+    /** Number of reads after which an entry read from file cache is promoted to memory. */
+    private static final int PROMOTION_READS = 2;
+
+    /** Maximum number of non resident keys to count reads for. */
+    private static final int MAX_TRACKED_READS = 10000;
+
+    /** The cache holding all entries. */
+    private final FileSystemContentCache delegate;
+
+    /** Maximum size (in bytes) of memory tier. */
+    private final long maxSize;
+
+    /** Maximum size (in bytes) of an entry kept in memory. */
+    private final long maxEntrySize;
+
+    /** The entries held in memory. */
+    private final Map<String, MemoryEntry> entries = new ConcurrentHashMap<>();
+
+    /** Number of reads of entries not yet in memory. */
+    private final Map<String, AtomicInteger> reads = new ConcurrentHashMap<>();
+
+    /** Logical clock used to track entry accesses (for LRU eviction). */
+    private final AtomicLong clock = new AtomicLong();
+
+    /** Current size (in bytes) of memory tier. */
+    private final AtomicLong size = new AtomicLong();
+
+    private final AtomicLong memoryHitCount = new AtomicLong();
+
+    /**
+     * Default constructor.
+     *
+     * @param delegate the file cache.
+     * @param maxSize maximum size (in bytes) of memory tier.
+     */
+    @Autowired
+    public MemoryTierContentCache(FileSystemContentCache delegate,
+            @Value("${service.cache.memory.max.size:67108864}") long maxSize) {
+        this.delegate = delegate;
+        this.maxSize = maxSize;
+        this.maxEntrySize = maxSize / 8;
+        LOGGER.info("Using memory tier of {} bytes for content cache.", maxSize);
+    }
+
+    @Override
+    @Timed
+    public boolean has(ContentCacheKey key) {
+        return delegate.has(key);
+    }
+
+    @Override
+    @VolumeMetered
+    public InputStream get(ContentCacheKey key) {
+        final String keyStr = key.getKey();
+        // Version is read before content: if content is replaced meanwhile, promoted copy is simply not served
+        final String version = delegate.getVersion(key);
+        final MemoryEntry entry = entries.get(keyStr);
+        if (entry != null) {
+            if (entry.version.equals(version)) {
+                entry.lastAccess = clock.incrementAndGet();
+                memoryHitCount.incrementAndGet();
+                LOGGER.debug("[{}] Memory cache hit.", key);
+                return new ByteBufferInputStream(entry.content.duplicate());
+            }
+            // Expired, removed or replaced in file cache (possibly by another service)
+            remove(keyStr, entry);
+        }
+        final InputStream content = delegate.get(key);
+        if (content == null || version == null || !shouldPromote(keyStr)) {
+            return content;
+        }
+        return promote(keyStr, version, content);
+    }
+
+    /**
+     * @param key A cache key read from file cache.
+     * @return <code>true</code> if entry was read enough times to be promoted to memory.
+     */
+    private boolean shouldPromote(String key) {
+        if (reads.size() > MAX_TRACKED_READS) {
+            reads.clear();
+        }
+        return reads.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet() >= PROMOTION_READS;
+    }
+
+    /**
+     * Reads content from file cache and keeps it in memory (if it fits).
+     *
+     * @param key The cache key.
+     * @param version The version of the file entry content.
+     * @param content The content read from file cache.
+     * @return The content to return to caller.
+     */
+    private InputStream promote(String key, String version, InputStream content) {
+        try {
+            final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            IOUtils.copyLarge(content, buffer, 0, maxEntrySize + 1);
+            if (buffer.size() > maxEntrySize) {
+                // Too large for memory tier: don't try again and return what was read followed by remaining content.
+                reads.put(key, new AtomicInteger(Integer.MIN_VALUE));
+                return new SequenceInputStream(new ByteArrayInputStream(buffer.toByteArray()), content);
+            }
+            content.close();
+            final MemoryEntry entry = store(key, version, buffer.toByteArray());
+            LOGGER.debug("[{}] Promoted to memory cache.", key);
+            return new ByteBufferInputStream(entry.content.duplicate());
+        } catch (IOException e) {
+            IOUtils.closeQuietly(content);
+            throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
+        }
+    }
+
+    @Override
+    @VolumeMetered
+    public OutputStream put(ContentCacheKey key, TimeToLive timeToLive) {
+        final String keyStr = key.getKey();
+        final OutputStream output = delegate.put(key, timeToLive);
+        // New content: previous one is no longer valid
+        remove(keyStr, entries.get(keyStr));
+        final LimitedByteArrayOutputStream buffer = new LimitedByteArrayOutputStream(maxEntrySize);
+        return new FilterOutputStream(output) {
+
+            @Override
+            public void write(int b) throws IOException {
+                out.write(b);
+                buffer.write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+                buffer.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                super.close();
+                if (!buffer.isOverflow()) {
+                    final String version = delegate.getVersion(key);
+                    if (version != null) {
+                        store(keyStr, version, buffer.toByteArray());
+                    }
+                }
+            }
+        };
+    }
+
+    @Override
+    @Timed
+    public void evict(ContentCacheKey key) {
+        delegate.evict(key);
+        final String keyStr = key.getKey();
+        removeMatching(k -> StringUtils.startsWith(k, keyStr));
+    }
+
+    @Override
+    @Timed
+    public void evictMatch(ContentCacheKey key) {
+        delegate.evictMatch(key);
+        removeMatching(key.getMatcher());
+    }
+
+    @Override
+    @Timed
+    public void move(ContentCacheKey from, ContentCacheKey to, TimeToLive toTimeToLive) {
+        delegate.move(from, to, toTimeToLive);
+        if (StringUtils.equals(from.getKey(), to.getKey())) {
+            return;
+        }
+        remove(to.getKey(), entries.get(to.getKey()));
+        final MemoryEntry entry = entries.get(from.getKey());
+        remove(from.getKey(), entry);
+        // Moved file entry has a new version
+        final String version = entry == null ? null : delegate.getVersion(to);
+        if (version != null) {
+            final MemoryEntry moved = new MemoryEntry(entry.content, version);
+            moved.lastAccess = clock.incrementAndGet();
+            if (entries.putIfAbsent(to.getKey(), moved) == null) {
+                size.addAndGet(moved.length());
+            }
+        }
+    }
+
+    @Override
+    @Timed
+    public void clear() {
+        delegate.clear();
+        removeMatching(k -> true);
+        reads.clear();
+    }
+
+    /**
+     * @return The number of reads served from memory tier.
+     */
+    public long getMemoryHitCount() {
+        return memoryHitCount.get();
+    }
+
+    /**
+     * @return The current size (in bytes) of memory tier.
+     */
+    public long getSize() {
+        return size.get();
+    }
+
+    /**
+     * Copies content to a direct buffer and adds it to memory tier (least recently used entries are removed if needed).
+     *
+     * @param key The cache key.
+     * @param version The version of the file entry content.
+     * @param content The entry content.
+     * @return The added entry.
+     */
+    private synchronized MemoryEntry store(String key, String version, byte[] content) {
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(content.length);
+        buffer.put(content).flip();
+        final MemoryEntry entry = new MemoryEntry(buffer.asReadOnlyBuffer(), version);
+        entry.lastAccess = clock.incrementAndGet();
+        if (size.get() + entry.length() > maxSize) {
+            final List<Map.Entry<String, MemoryEntry>> candidates = new ArrayList<>(entries.entrySet());
+            candidates.sort(Comparator.comparingLong(e -> e.getValue().lastAccess));
+            for (Map.Entry<String, MemoryEntry> candidate : candidates) {
+                if (size.get() + entry.length() <= maxSize) {
+                    break;
+                }
+                remove(candidate.getKey(), candidate.getValue());
+            }
+        }
+        remove(key, entries.get(key));
+        entries.put(key, entry);
+        size.addAndGet(entry.length());
+        reads.remove(key);
+        return entry;
+    }
+
+    private void remove(String key, MemoryEntry entry) {
+        if (entry != null && entries.remove(key, entry)) {
+            size.addAndGet(-entry.length());
+        }
+    }
+
+    private void removeMatching(Predicate<String> keyMatcher) {
+        entries.forEach((key, entry) -> {
+            if (keyMatcher.test(key)) {
+                remove(key, entry);
+            }
+        });
+    }
+
+    /**
+     * An entry held in memory.
+     */
+    private static class MemoryEntry {
+
+        /** The entry content (read only, use duplicates for reads). */
+        private final ByteBuffer content;
+
+        /** The version of the file entry this content was read from or written to. */
+        private final String version;
+
+        /** Last time (see {@link #clock}) entry was accessed. */
+        private volatile long lastAccess;
+
+        private MemoryEntry(ByteBuffer content, String version) {
+            this.content = content;
+            this.version = version;
+        }
+
+        private long length() {
+            return content.capacity();
+        }
+    }
+
+    /**
+     * A {@link ByteArrayOutputStream} that stops buffering (and discards its content) once it exceeds a size.
+     */
+    private static class LimitedByteArrayOutputStream extends ByteArrayOutputStream {
+
+        private final long limit;
+
+        private boolean overflow;
+
+        private LimitedByteArrayOutputStream(long limit) {
+            this.limit = limit;
+        }
+
+        @Override
+        public synchronized void write(int b) {
+            if (!overflow && ensureCapacity(1)) {
+                super.write(b);
+            }
+        }
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) {
+            if (!overflow && ensureCapacity(len)) {
+                super.write(b, off, len);
+            }
+        }
+
+        private boolean ensureCapacity(int length) {
+            if (count + (long) length > limit) {
+                overflow = true;
+                buf = new byte[0];
+                count = 0;
+                return false;
+            }
+            return true;
+        }
+
+        private boolean isOverflow() {
+            return overflow;
+        }
+    }
+
+    /**
+     * An {@link InputStream} over a {@link ByteBuffer}.
+     */
+    private static class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            final int length = Math.min(len, buffer.remaining());
+            buffer.get(b, off, length);
+            return length;
+        }
+
+        @Override
+        public long skip(long n) {
+            final int skipped = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + skipped);
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -21,10 +21,14 @@ import static org.talend.dataprep.exception.error.APIErrorCodes.UNABLE_TO_RETRIE
 import static org.talend.dataprep.exception.error.DataSetErrorCodes.DATASET_DOES_NOT_EXIST;
 
 import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.util.Collections;
+import java.util.List;
 
 import javax.annotation.PostConstruct;
 
 import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.utils.URIBuilder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Scope;
 import org.springframework.http.HttpStatus;
@@ -32,6 +36,7 @@ import org.springframework.stereotype.Component;
 import org.talend.dataprep.command.GenericCommand;
 import org.talend.dataprep.dataset.store.content.DataSetContentLimit;
 import org.talend.dataprep.exception.TDPException;
+import org.talend.dataprep.exception.error.CommonErrorCodes;
 
 /**
  * Command to get a dataset.
@@ -46,6 +51,9 @@ public class DataSetGet extends GenericCommand<InputStream> {
 
     private final boolean includeInternalContent;
 
+    /** Ids of the columns to get (all columns if empty). */
+    private final List<String> columns;
+
     @Autowired
     private DataSetContentLimit limit;
 
@@ -55,10 +63,23 @@ public class DataSetGet extends GenericCommand<InputStream> {
      * @param dataSetId the requested dataset id.
      */
     public DataSetGet(final String dataSetId, final boolean fullContent, final boolean includeInternalContent) {
+        this(dataSetId, fullContent, includeInternalContent, Collections.emptyList());
+    }
+
+    /**
+     * Constructor to get only some columns of the dataset records (only applies to full content, sample always holds all
+     * columns).
+     *
+     * @param dataSetId the requested dataset id.
+     * @param columns the ids of the columns to get (all columns if empty).
+     */
+    public DataSetGet(final String dataSetId, final boolean fullContent, final boolean includeInternalContent,
+            final List<String> columns) {
         super(DATASET_GROUP);
         this.fullContent = fullContent;
         this.dataSetId = dataSetId;
         this.includeInternalContent = includeInternalContent;
+        this.columns = columns;
 
         on(HttpStatus.NOT_FOUND).then((req, res) -> {
             throw new TDPException(DATASET_DOES_NOT_EXIST, build().put("id", dataSetId));
@@ -79,8 +100,17 @@ public class DataSetGet extends GenericCommand<InputStream> {
 
     private void configureLimitedDataset(final String dataSetId) {
         execute(() -> {
-            final String url = datasetServiceUrl + "/datasets/" + dataSetId + "/content?metadata=true&includeInternalContent=" + includeInternalContent;
-            return new HttpGet(url);
+            try {
+                final URIBuilder uriBuilder = new URIBuilder(datasetServiceUrl + "/datasets/" + dataSetId + "/content");
+                uriBuilder.addParameter("metadata", "true");
+                uriBuilder.addParameter("includeInternalContent", String.valueOf(includeInternalContent));
+                if (!columns.isEmpty()) {
+                    uriBuilder.addParameter("columns", String.join(",", columns));
+                }
+                return new HttpGet(uriBuilder.build());
+            } catch (URISyntaxException e) {
+                throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
+            }
         });
     }
 
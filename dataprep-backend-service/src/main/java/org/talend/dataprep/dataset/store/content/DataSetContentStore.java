@@ -13,12 +13,17 @@
 
 package org.talend.dataprep.dataset.store.content;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.talend.dataprep.api.dataset.ColumnMetadata;
@@ -27,6 +32,8 @@ import org.talend.dataprep.api.dataset.DataSetMetadata;
 import org.talend.dataprep.api.dataset.json.DataSetRowIterator;
 import org.talend.dataprep.api.dataset.row.DataSetRow;
 import org.talend.dataprep.api.dataset.row.InvalidMarker;
+import org.talend.dataprep.dataset.store.content.columnar.ColumnarContentStore;
+import org.talend.dataprep.dataset.store.content.columnar.InvalidMarkers;
 import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.exception.error.CommonErrorCodes;
 import org.talend.dataprep.quality.AnalyzerService;
@@ -42,6 +49,9 @@ import com.fasterxml.jackson.databind.ObjectMapper;
  */
 public abstract class DataSetContentStore {
 
+    /** This class' logger. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(DataSetContentStore.class);
+
     @Value("${dataset.records.limit:10000}")
     private long sampleSize;
 
@@ -56,6 +66,10 @@ public abstract class DataSetContentStore {
     @Autowired
     protected ObjectMapper mapper;
 
+    /** Binary columnar copy of the data set contents (optional). */
+    @Autowired(required = false)
+    protected ColumnarContentStore columnarStore;
+
     /**
      * Stores (persists) a data set raw content to a storage. The only expectation is for {@link #get(DataSetMetadata)}
      * to return content after this method ends.
@@ -129,33 +143,129 @@ public abstract class DataSetContentStore {
      * @return A valid <b>{@link DataSetRow}</b> stream.
      */
     public Stream<DataSetRow> stream(DataSetMetadata dataSetMetadata, long limit) {
-        final InputStream inputStream = get(dataSetMetadata, limit);
-        final DataSetRowIterator iterator = new DataSetRowIterator(inputStream);
-        final Iterable<DataSetRow> rowIterable = () -> iterator;
-        Stream<DataSetRow> dataSetRowStream = StreamSupport.stream(rowIterable.spliterator(), false);
-        // make sure to close the original input stream when closing this one
+        Stream<DataSetRow> dataSetRowStream = streamContent(dataSetMetadata, limit);
         AtomicLong tdpId = new AtomicLong(1);
         final List<ColumnMetadata> columns = dataSetMetadata.getRowMetadata().getColumns();
-        final Analyzer<Analyzers.Result> analyzer = service.build(columns, AnalyzerService.Analysis.QUALITY);
 
-        dataSetRowStream = dataSetRowStream.map(r -> {
-            final String[] values = r.order(columns).toArray(DataSetRow.SKIP_TDP_ID);
-            analyzer.analyze(values);
-            return r;
-        }) //
-        .map(new InvalidMarker(columns, analyzer)) // Mark invalid columns as detected by provided analyzer.
-        .map(r -> { //
+        // Use invalid markers computed by quality analysis (if any) instead of analyzing each row again
+        final Optional<InvalidMarkers> invalidMarkers = columnarStore == null ? Optional.empty()
+                : columnarStore.getInvalidMarkers(dataSetMetadata);
+        if (invalidMarkers.isPresent()) {
+            final InvalidMarkers markers = invalidMarkers.get();
+            final PersistedInvalidMarker persistedInvalidMarker = new PersistedInvalidMarker(markers, columns);
+            dataSetRowStream = dataSetRowStream.map(persistedInvalidMarker).onClose(() -> {
+                try {
+                    markers.close();
+                } catch (Exception e) {
+                    throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
+                }
+            });
+        } else {
+            dataSetRowStream = dataSetRowStream.map(qualityMarker(columns));
+        }
+
+        dataSetRowStream = dataSetRowStream.map(r -> { //
             r.setTdpId(tdpId.getAndIncrement());
             return r;
-        }).onClose(() -> { //
+        });
+
+        return dataSetRowStream;
+    }
+
+    /**
+     * Builds a function that marks invalid values in rows using a {@link AnalyzerService.Analysis#QUALITY quality}
+     * analyzer.
+     *
+     * @param columns The columns of the rows to mark.
+     * @return A function that analyzes rows and marks invalid columns.
+     */
+    private Function<DataSetRow, DataSetRow> qualityMarker(List<ColumnMetadata> columns) {
+        final Analyzer<Analyzers.Result> analyzer = service.build(columns, AnalyzerService.Analysis.QUALITY);
+        final InvalidMarker invalidMarker = new InvalidMarker(columns, analyzer);
+        return r -> {
+            final String[] values = r.order(columns).toArray(DataSetRow.SKIP_TDP_ID);
+            analyzer.analyze(values);
+            return invalidMarker.apply(r); // Mark invalid columns as detected by provided analyzer.
+        };
+    }
+
+    /**
+     * Returns the data set content as {@link DataSetRow rows}, either from the columnar copy (if available) or by
+     * parsing the JSON returned by {@link #get(DataSetMetadata, long)}.
+     *
+     * @param dataSetMetadata The {@link DataSetMetadata data set} to read rows from.
+     * @param limit A limit to pass to content supplier (use -1 for "no limit).
+     * @return The data set rows (without quality information).
+     */
+    private Stream<DataSetRow> streamContent(DataSetMetadata dataSetMetadata, long limit) {
+        if (columnarStore != null) {
+            final Optional<Stream<DataSetRow>> columnarContent = columnarStore.stream(dataSetMetadata, limit);
+            if (columnarContent.isPresent()) {
+                return columnarContent.get();
+            }
+        }
+        final InputStream inputStream = get(dataSetMetadata, limit);
+        final DataSetRowIterator iterator = new DataSetRowIterator(inputStream);
+        final Iterable<DataSetRow> rowIterable = () -> iterator;
+        // make sure to close the original input stream when closing this one
+        return StreamSupport.stream(rowIterable.spliterator(), false).onClose(() -> {
             try {
                 inputStream.close();
             } catch (Exception e) {
                 throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
             }
         });
+    }
 
-        return dataSetRowStream;
+    /**
+     * Writes a columnar copy of the data set content so next calls to {@link #stream(DataSetMetadata, long)} no longer
+     * need to serialize raw content. This method does nothing if no columnar store is configured.
+     *
+     * @param dataSetMetadata The data set metadata (with up-to-date columns).
+     */
+    public void storeAsColumnar(DataSetMetadata dataSetMetadata) {
+        if (columnarStore == null) {
+            return;
+        }
+        // previous copy (if any) may not match current content
+        columnarStore.delete(dataSetMetadata);
+        try (Stream<DataSetRow> rows = streamContent(dataSetMetadata, -1)) {
+            columnarStore.store(dataSetMetadata, rows);
+        } catch (Exception e) {
+            // columnar content is only an optimization, raw content remains usable.
+            LOGGER.warn("Unable to store columnar content of data set #{}.", dataSetMetadata.getId(), e);
+            columnarStore.delete(dataSetMetadata);
+        }
+    }
+
+    /**
+     * Stores invalid markers for the data set content so next calls to {@link #stream(DataSetMetadata, long)} no
+     * longer need to run quality analysis on each row. This method does nothing if no columnar store is configured or
+     * if stored markers are already up-to-date with data set columns.
+     *
+     * @param dataSetMetadata The data set metadata (with up-to-date column types and domains).
+     */
+    public void storeInvalidMarkers(DataSetMetadata dataSetMetadata) {
+        if (columnarStore == null) {
+            return;
+        }
+        final Optional<InvalidMarkers> currentMarkers = columnarStore.getInvalidMarkers(dataSetMetadata);
+        if (currentMarkers.isPresent()) {
+            try {
+                currentMarkers.get().close();
+            } catch (IOException e) {
+                LOGGER.debug("Unable to close invalid markers.", e);
+            }
+            return;
+        }
+        // Compute markers (previous markers, if any, do not match current columns)
+        final List<ColumnMetadata> columns = dataSetMetadata.getRowMetadata().getColumns();
+        try (Stream<DataSetRow> rows = streamContent(dataSetMetadata, -1)) {
+            columnarStore.storeInvalidMarkers(dataSetMetadata, rows.map(qualityMarker(columns)));
+        } catch (Exception e) {
+            // markers are only an optimization, reads will compute them.
+            LOGGER.warn("Unable to store invalid markers of data set #{}.", dataSetMetadata.getId(), e);
+        }
     }
 
     /**
@@ -190,4 +300,33 @@ public abstract class DataSetContentStore {
      * Removes all stored content. No recovery operation is expected.
      */
     public abstract void clear();
+
+    /**
+     * Marks invalid columns using persisted {@link InvalidMarkers}. If content has more rows than markers, remaining
+     * rows are marked using a quality analyzer (created only when needed).
+     */
+    private class PersistedInvalidMarker implements Function<DataSetRow, DataSetRow> {
+
+        private final InvalidMarkers markers;
+
+        private final List<ColumnMetadata> columns;
+
+        private Function<DataSetRow, DataSetRow> fallback;
+
+        private PersistedInvalidMarker(InvalidMarkers markers, List<ColumnMetadata> columns) {
+            this.markers = markers;
+            this.columns = columns;
+        }
+
+        @Override
+        public DataSetRow apply(DataSetRow row) {
+            if (fallback == null && markers.apply(row)) {
+                return row;
+            }
+            if (fallback == null) {
+                fallback = qualityMarker(columns);
+            }
+            return fallback.apply(row);
+        }
+    }
 }
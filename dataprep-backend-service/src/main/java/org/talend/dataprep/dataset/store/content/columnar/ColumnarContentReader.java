@@ -0,0 +1,265 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.dataset.store.content.columnar;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+
+/**
+ * Reads content written by {@link ColumnarContentWriter}. Row groups are read one at a time: each column dictionary is
+ * decoded once per group, and rows are then rebuilt from the dictionary codes (no intermediate text format).
+ *
+ * @see ColumnarFormat
+ */
+public class ColumnarContentReader implements Closeable {
+
+    /** The channel to the columnar file. */
+    private final FileChannel channel;
+
+    /** The column ids stored in file. */
+    private final List<String> columnIds;
+
+    /** Total number of rows in file. */
+    private final long rowCount;
+
+    /** Row id index: first row of each group. */
+    private final long[] groupFirstRows;
+
+    /** Row id index: offset of each group in file (last element is the footer offset). */
+    private final long[] groupOffsets;
+
+    /** Row id index: number of rows in each group. */
+    private final int[] groupRows;
+
+    private ColumnarContentReader(FileChannel channel) throws IOException {
+        this.channel = channel;
+        // Trailer
+        final long size = channel.size();
+        if (size < ColumnarFormat.TRAILER_LENGTH) {
+            throw new IOException("Not a columnar content (file too small).");
+        }
+        final ByteBuffer trailer = read(size - ColumnarFormat.TRAILER_LENGTH, ColumnarFormat.TRAILER_LENGTH);
+        final long footerOffset = trailer.getLong();
+        if (trailer.getInt() != ColumnarFormat.MAGIC) {
+            throw new IOException("Not a columnar content (unexpected magic number).");
+        }
+        // Header
+        final ByteBuffer header = read(0, Integer.BYTES * 2);
+        if (header.getInt() != ColumnarFormat.MAGIC || header.getInt() != ColumnarFormat.VERSION) {
+            throw new IOException("Unsupported columnar content version.");
+        }
+        // Footer
+        final ByteBuffer footer = read(footerOffset, (int) (size - ColumnarFormat.TRAILER_LENGTH - footerOffset));
+        final int columnCount = footer.getInt();
+        final List<String> ids = new ArrayList<>(columnCount);
+        for (int i = 0; i < columnCount; i++) {
+            ids.add(readValue(footer));
+        }
+        columnIds = Collections.unmodifiableList(ids);
+        rowCount = footer.getLong();
+        final int groupCount = footer.getInt();
+        groupFirstRows = new long[groupCount];
+        groupOffsets = new long[groupCount + 1];
+        groupRows = new int[groupCount];
+        for (int i = 0; i < groupCount; i++) {
+            groupFirstRows[i] = footer.getLong();
+            groupOffsets[i] = footer.getLong();
+            groupRows[i] = footer.getInt();
+        }
+        groupOffsets[groupCount] = footerOffset;
+    }
+
+    /**
+     * Opens a columnar content file.
+     *
+     * @param path The path to the file written by {@link ColumnarContentWriter}.
+     * @return A reader for the file (to be closed by caller).
+     * @throws IOException In case file can not be read or isn't a columnar content.
+     */
+    public static ColumnarContentReader open(Path path) throws IOException {
+        final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new ColumnarContentReader(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static String readValue(ByteBuffer buffer) {
+        final int length = buffer.getInt();
+        if (length == ColumnarFormat.NULL_VALUE_LENGTH) {
+            return null;
+        }
+        final String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    private ByteBuffer read(long position, int length) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of columnar content.");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * @return The column ids stored in this content.
+     */
+    public List<String> getColumnIds() {
+        return columnIds;
+    }
+
+    /**
+     * @return The number of rows stored in this content.
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Returns an iterator over rows starting at row <code>fromRow</code> (0-based). Row id index is used to directly
+     * seek to the group containing the first row. The returned iterator reuses the same {@link DataSetRow} instance
+     * for each row (same as JSON based iterator).
+     *
+     * @param fromRow The first row to return (0 for all rows).
+     * @param rowMetadata The {@link RowMetadata} to attach to rows.
+     * @return An iterator over rows. Each row's TDP id is its position in content (1-based).
+     */
+    public Iterator<DataSetRow> iterator(long fromRow, RowMetadata rowMetadata) {
+        return new RowIterator(fromRow, rowMetadata);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Decoded content of a row group.
+     */
+    private class Group {
+
+        private final String[][] dictionaries;
+
+        private final int[][] codes;
+
+        private final int rows;
+
+        private Group(int index) {
+            try {
+                final long offset = groupOffsets[index];
+                final ByteBuffer buffer = read(offset, (int) (groupOffsets[index + 1] - offset));
+                rows = groupRows[index];
+                dictionaries = new String[columnIds.size()][];
+                codes = new int[columnIds.size()][rows];
+                for (int column = 0; column < columnIds.size(); column++) {
+                    final int dictionarySize = buffer.getInt();
+                    final String[] dictionary = new String[dictionarySize];
+                    for (int i = 0; i < dictionarySize; i++) {
+                        dictionary[i] = readValue(buffer);
+                    }
+                    dictionaries[column] = dictionary;
+                    final int codeWidth = ColumnarFormat.codeWidth(dictionarySize);
+                    final int[] columnCodes = codes[column];
+                    for (int row = 0; row < rows; row++) {
+                        switch (codeWidth) {
+                        case Byte.BYTES:
+                            columnCodes[row] = buffer.get() & 0xFF;
+                            break;
+                        case Short.BYTES:
+                            columnCodes[row] = buffer.getShort() & 0xFFFF;
+                            break;
+                        default:
+                            columnCodes[row] = buffer.getInt();
+                            break;
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException("Unable to read row group #" + index + ".", e);
+            }
+        }
+    }
+
+    /**
+     * Iterates over rows, group after group.
+     */
+    private class RowIterator implements Iterator<DataSetRow> {
+
+        private final DataSetRow row;
+
+        private int groupIndex;
+
+        private Group group;
+
+        private int position;
+
+        private long currentRow;
+
+        private RowIterator(long fromRow, RowMetadata rowMetadata) {
+            this.row = new DataSetRow(rowMetadata);
+            this.currentRow = Math.max(0, fromRow);
+            // Use row id index to find first group to read
+            final int search = Arrays.binarySearch(groupFirstRows, currentRow);
+            this.groupIndex = search >= 0 ? search : Math.max(0, -search - 2);
+            if (groupIndex < groupFirstRows.length) {
+                this.position = (int) (currentRow - groupFirstRows[groupIndex]);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return currentRow < rowCount;
+        }
+
+        @Override
+        public DataSetRow next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (group == null || position >= group.rows) {
+                if (group != null) {
+                    groupIndex++;
+                    position = 0;
+                }
+                group = new Group(groupIndex);
+            }
+            row.clear();
+            for (int column = 0; column < columnIds.size(); column++) {
+                final String value = group.dictionaries[column][group.codes[column][position]];
+                if (value != null) {
+                    row.set(columnIds.get(column), value);
+                }
+            }
+            position++;
+            row.setTdpId(++currentRow);
+            return row;
+        }
+    }
+}
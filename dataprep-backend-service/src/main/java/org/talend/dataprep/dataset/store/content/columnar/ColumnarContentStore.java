@@ -0,0 +1,249 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.dataset.store.content.columnar;
+
+import static org.talend.daikon.exception.ExceptionContext.build;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import javax.annotation.PostConstruct;
+
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.Marker;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.talend.dataprep.api.dataset.ColumnMetadata;
+import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.exception.TDPException;
+import org.talend.dataprep.exception.error.DataSetErrorCodes;
+import org.talend.dataprep.log.Markers;
+import org.talend.dataprep.util.FilesHelper;
+
+/**
+ * Keeps a binary columnar copy of data set content (see {@link ColumnarFormat}). Copy is written once data set schema
+ * is known, and later reads of {@link org.talend.dataprep.dataset.store.content.DataSetContentStore#stream(DataSetMetadata, long)}
+ * use it instead of serializing raw content to JSON and parsing it back.
+ */
+@Component
+@ConditionalOnProperty(name = "dataset.content.store.columnar", havingValue = "file")
+public class ColumnarContentStore {
+
+    /** This class' logger. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(ColumnarContentStore.class);
+
+    /** File extension for columnar content. */
+    private static final String EXTENSION = ".tdpc";
+
+    /** File extension for invalid markers. */
+    private static final String INVALID_MARKERS_EXTENSION = ".invalid";
+
+    @Value("${dataset.content.store.columnar.file.location}")
+    private String storeLocation;
+
+    /** Number of rows to buffer in memory before writing a row group. */
+    @Value("${dataset.content.store.columnar.row.group.size:10000}")
+    private int rowGroupSize;
+
+    @PostConstruct
+    public void init() {
+        if (storeLocation == null) {
+            throw new IllegalArgumentException("Columnar store location cannot be null.");
+        }
+        if (!storeLocation.endsWith("/")) { //$NON-NLS-1$
+            storeLocation += "/"; //$NON-NLS-1$
+        }
+        LOGGER.info("Columnar content store location: {}", storeLocation);
+    }
+
+    private File getFile(DataSetMetadata dataSetMetadata) {
+        return new File(storeLocation + dataSetMetadata.getId() + EXTENSION);
+    }
+
+    private File getInvalidMarkersFile(DataSetMetadata dataSetMetadata) {
+        return new File(storeLocation + dataSetMetadata.getId() + INVALID_MARKERS_EXTENSION);
+    }
+
+    private static List<String> getColumnIds(DataSetMetadata dataSetMetadata) {
+        return dataSetMetadata.getRowMetadata().getColumns().stream() //
+                .map(ColumnMetadata::getId) //
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @param dataSetMetadata A data set metadata.
+     * @return <code>true</code> if a columnar copy exists for data set, <code>false</code> otherwise.
+     */
+    public boolean has(DataSetMetadata dataSetMetadata) {
+        return getFile(dataSetMetadata).exists();
+    }
+
+    /**
+     * Writes the columnar copy of the data set content. Content is written to a temporary file first, and then moved
+     * to its final location so concurrent readers never see a partial content.
+     *
+     * @param dataSetMetadata The data set metadata (columns are read from it).
+     * @param rows The data set content.
+     */
+    public void store(DataSetMetadata dataSetMetadata, Stream<DataSetRow> rows) {
+        final Marker marker = Markers.dataset(dataSetMetadata.getId());
+        final File file = getFile(dataSetMetadata);
+        File tmp = null;
+        try {
+            FileUtils.forceMkdir(file.getParentFile());
+            tmp = File.createTempFile(dataSetMetadata.getId(), EXTENSION, file.getParentFile());
+            try (ColumnarContentWriter writer = new ColumnarContentWriter(new FileOutputStream(tmp),
+                    getColumnIds(dataSetMetadata), rowGroupSize)) {
+                final Iterator<DataSetRow> iterator = rows.iterator();
+                while (iterator.hasNext()) {
+                    writer.write(iterator.next());
+                }
+            }
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            LOGGER.debug(marker, "Columnar content stored to '{}'.", file);
+        } catch (IOException e) {
+            FilesHelper.deleteQuietly(tmp);
+            throw new TDPException(DataSetErrorCodes.UNABLE_TO_STORE_DATASET_CONTENT, e,
+                    build().put("id", dataSetMetadata.getId()));
+        }
+    }
+
+    /**
+     * Returns the data set content from the columnar copy.
+     *
+     * @param dataSetMetadata The data set metadata.
+     * @param limit The maximum number of rows to return (use -1 for no limit).
+     * @return The data set content or an empty optional if columnar copy is missing or no longer matches data set
+     * columns (in this case, caller is expected to fall back to raw content).
+     */
+    public Optional<Stream<DataSetRow>> stream(DataSetMetadata dataSetMetadata, long limit) {
+        final File file = getFile(dataSetMetadata);
+        if (!file.exists()) {
+            return Optional.empty();
+        }
+        final ColumnarContentReader reader;
+        try {
+            reader = ColumnarContentReader.open(file.toPath());
+        } catch (IOException e) {
+            LOGGER.warn("Unable to read columnar content of data set #{}, ignoring it.", dataSetMetadata.getId(), e);
+            return Optional.empty();
+        }
+        if (!reader.getColumnIds().equals(getColumnIds(dataSetMetadata))) {
+            LOGGER.debug("Columnar content of data set #{} does not match data set columns, ignoring it.",
+                    dataSetMetadata.getId());
+            closeQuietly(reader);
+            return Optional.empty();
+        }
+        final Iterable<DataSetRow> rowIterable = () -> reader.iterator(0, new RowMetadata());
+        Stream<DataSetRow> stream = StreamSupport.stream(rowIterable.spliterator(), false) //
+                .onClose(() -> closeQuietly(reader));
+        if (limit >= 0) {
+            stream = stream.limit(limit);
+        }
+        return Optional.of(stream);
+    }
+
+    /**
+     * Stores the invalid markers of the data set rows next to the columnar content.
+     *
+     * @param dataSetMetadata The data set metadata (markers are only valid for its current columns).
+     * @param rows The data set rows, already marked by quality analyzer.
+     * @see InvalidMarkers
+     */
+    public void storeInvalidMarkers(DataSetMetadata dataSetMetadata, Stream<DataSetRow> rows) {
+        final File file = getInvalidMarkersFile(dataSetMetadata);
+        File tmp = null;
+        try {
+            FileUtils.forceMkdir(file.getParentFile());
+            tmp = File.createTempFile(dataSetMetadata.getId(), INVALID_MARKERS_EXTENSION, file.getParentFile());
+            InvalidMarkers.write(new FileOutputStream(tmp), dataSetMetadata, rows.iterator());
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            LOGGER.debug(Markers.dataset(dataSetMetadata.getId()), "Invalid markers stored to '{}'.", file);
+        } catch (IOException e) {
+            FilesHelper.deleteQuietly(tmp);
+            throw new TDPException(DataSetErrorCodes.UNABLE_TO_STORE_DATASET_CONTENT, e,
+                    build().put("id", dataSetMetadata.getId()));
+        }
+    }
+
+    /**
+     * Returns the invalid markers for the data set.
+     *
+     * @param dataSetMetadata The data set metadata.
+     * @return The markers (to be closed by caller) or an empty optional if there's no markers for the current data set
+     * columns.
+     */
+    public Optional<InvalidMarkers> getInvalidMarkers(DataSetMetadata dataSetMetadata) {
+        final File file = getInvalidMarkersFile(dataSetMetadata);
+        if (!file.exists()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.ofNullable(InvalidMarkers.open(new FileInputStream(file), dataSetMetadata));
+        } catch (IOException e) {
+            LOGGER.warn("Unable to read invalid markers of data set #{}, ignoring them.", dataSetMetadata.getId(), e);
+            return Optional.empty();
+        }
+    }
+
+    private static void closeQuietly(ColumnarContentReader reader) {
+        try {
+            reader.close();
+        } catch (IOException e) {
+            LOGGER.debug("Unable to close columnar content.", e);
+        }
+    }
+
+    /**
+     * Deletes the columnar copy of data set content and its invalid markers (if any).
+     *
+     * @param dataSetMetadata The data set metadata.
+     */
+    public void delete(DataSetMetadata dataSetMetadata) {
+        try {
+            FilesHelper.delete(getFile(dataSetMetadata));
+            FilesHelper.delete(getInvalidMarkersFile(dataSetMetadata));
+        } catch (IOException e) {
+            throw new TDPException(DataSetErrorCodes.UNABLE_TO_DELETE_DATASET, e,
+                    build().put("dataSetId", dataSetMetadata.getId()));
+        }
+    }
+
+    /**
+     * Removes all columnar content.
+     */
+    public void clear() {
+        try {
+            FileUtils.deleteDirectory(new File(storeLocation));
+        } catch (IOException e) {
+            LOGGER.error("Unable to clear columnar content.", e);
+            throw new TDPException(DataSetErrorCodes.UNABLE_TO_CLEAR_DATASETS, e);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.dataset.store.content.columnar;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.io.output.CountingOutputStream;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+
+/**
+ * Writes {@link DataSetRow rows} in the binary columnar format described in {@link ColumnarFormat}. Rows are buffered
+ * in memory by groups of <code>rowGroupSize</code> rows, each column of a group is then dictionary encoded and written
+ * to the underlying stream.
+ *
+ * @see ColumnarContentReader
+ */
+public class ColumnarContentWriter implements Closeable {
+
+    /** Keeps track of the current offset in output. */
+    private final CountingOutputStream counter;
+
+    /** Where the binary content is written to. */
+    private final DataOutputStream output;
+
+    /** The ids of the columns to write (in this order). */
+    private final List<String> columnIds;
+
+    /** Maximum number of rows in a row group. */
+    private final int rowGroupSize;
+
+    /** Current row group values (indexed by column, then by row). */
+    private final String[][] group;
+
+    /** The row id index: first row, offset and row count for each written group. */
+    private final List<long[]> groups = new ArrayList<>();
+
+    /** Number of rows in current group. */
+    private int groupRows;
+
+    /** Number of rows written so far. */
+    private long rowCount;
+
+    /**
+     * Constructor.
+     *
+     * @param output Where to write binary content to.
+     * @param columnIds The ids of the columns to write.
+     * @param rowGroupSize The maximum number of rows to buffer before writing a row group.
+     * @throws IOException In case header can not be written.
+     */
+    public ColumnarContentWriter(OutputStream output, List<String> columnIds, int rowGroupSize) throws IOException {
+        if (rowGroupSize <= 0) {
+            throw new IllegalArgumentException("Row group size must be > 0.");
+        }
+        this.counter = new CountingOutputStream(new BufferedOutputStream(output));
+        this.output = new DataOutputStream(counter);
+        this.columnIds = new ArrayList<>(columnIds);
+        this.rowGroupSize = rowGroupSize;
+        this.group = new String[columnIds.size()][rowGroupSize];
+        this.output.writeInt(ColumnarFormat.MAGIC);
+        this.output.writeInt(ColumnarFormat.VERSION);
+    }
+
+    /**
+     * Adds a row to the content. Only values of the columns given at construction time are written.
+     *
+     * @param row The row to write.
+     * @throws IOException In case a row group can not be written.
+     */
+    public void write(DataSetRow row) throws IOException {
+        for (int i = 0; i < columnIds.size(); i++) {
+            group[i][groupRows] = row.get(columnIds.get(i));
+        }
+        groupRows++;
+        if (groupRows == rowGroupSize) {
+            flushGroup();
+        }
+    }
+
+    private void flushGroup() throws IOException {
+        if (groupRows == 0) {
+            return;
+        }
+        groups.add(new long[] { rowCount, counter.getByteCount(), groupRows });
+        for (String[] columnValues : group) {
+            // Build dictionary for column
+            final Map<String, Integer> dictionary = new HashMap<>();
+            final List<String> entries = new ArrayList<>();
+            final int[] codes = new int[groupRows];
+            for (int row = 0; row < groupRows; row++) {
+                final String value = columnValues[row];
+                Integer code = dictionary.get(value);
+                if (code == null) {
+                    code = entries.size();
+                    dictionary.put(value, code);
+                    entries.add(value);
+                }
+                codes[row] = code;
+                columnValues[row] = null;
+            }
+            // Write dictionary then codes
+            output.writeInt(entries.size());
+            for (String entry : entries) {
+                writeValue(entry);
+            }
+            final int codeWidth = ColumnarFormat.codeWidth(entries.size());
+            for (int code : codes) {
+                switch (codeWidth) {
+                case Byte.BYTES:
+                    output.writeByte(code);
+                    break;
+                case Short.BYTES:
+                    output.writeShort(code);
+                    break;
+                default:
+                    output.writeInt(code);
+                    break;
+                }
+            }
+        }
+        rowCount += groupRows;
+        groupRows = 0;
+    }
+
+    private void writeValue(String value) throws IOException {
+        if (value == null) {
+            output.writeInt(ColumnarFormat.NULL_VALUE_LENGTH);
+        } else {
+            final byte[] bytes = value.getBytes(UTF_8);
+            output.writeInt(bytes.length);
+            output.write(bytes);
+        }
+    }
+
+    /**
+     * Writes the last row group and the footer (with row id index), then closes underlying stream.
+     *
+     * @throws IOException In case of write error.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flushGroup();
+            final long footerOffset = counter.getByteCount();
+            output.writeInt(columnIds.size());
+            for (String columnId : columnIds) {
+                writeValue(columnId);
+            }
+            output.writeLong(rowCount);
+            output.writeInt(groups.size());
+            for (long[] rowGroup : groups) {
+                output.writeLong(rowGroup[0]);
+                output.writeLong(rowGroup[1]);
+                output.writeInt((int) rowGroup[2]);
+            }
+            output.writeLong(footerOffset);
+            output.writeInt(ColumnarFormat.MAGIC);
+            output.flush();
+        } finally {
+            output.close();
+        }
+    }
+}
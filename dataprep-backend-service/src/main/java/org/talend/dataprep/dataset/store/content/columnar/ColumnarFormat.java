@@ -0,0 +1,61 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.dataset.store.content.columnar;
+
+/**
+ * <p>
+ * Constants of the binary columnar format used to persist data set content once analyzed. A file is laid out as:
+ * <ul>
+ * <li>a header: {@link #MAGIC} and {@link #VERSION}.</li>
+ * <li>a sequence of row groups: each group contains, for each column, a dictionary of distinct values followed by one
+ * code per row (code width depends on dictionary size).</li>
+ * <li>a footer: column ids, total row count and the row id index (first row, offset and size of each group).</li>
+ * <li>a trailer: footer offset and {@link #MAGIC}.</li>
+ * </ul>
+ * </p>
+ *
+ * @see ColumnarContentWriter
+ * @see ColumnarContentReader
+ */
+final class ColumnarFormat {
+
+    /** Magic number at the beginning and end of file ("TDPC"). */
+    static final int MAGIC = 0x54445043;
+
+    /** Current version of the format. */
+    static final int VERSION = 1;
+
+    /** Length (in bytes) of the trailer (footer offset + magic). */
+    static final int TRAILER_LENGTH = Long.BYTES + Integer.BYTES;
+
+    /** Length used to encode a <code>null</code> (i.e. absent) value in a dictionary. */
+    static final int NULL_VALUE_LENGTH = -1;
+
+    private ColumnarFormat() {
+    }
+
+    /**
+     * @param dictionarySize The number of entries in a column dictionary.
+     * @return The number of bytes needed to store a code for a dictionary of this size.
+     */
+    static int codeWidth(int dictionarySize) {
+        if (dictionarySize <= 0xFF) {
+            return Byte.BYTES;
+        } else if (dictionarySize <= 0xFFFF) {
+            return Short.BYTES;
+        } else {
+            return Integer.BYTES;
+        }
+    }
+}
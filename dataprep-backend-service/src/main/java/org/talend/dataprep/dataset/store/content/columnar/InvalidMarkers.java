@@ -0,0 +1,169 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.dataset.store.content.columnar;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.*;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.talend.dataprep.api.dataset.ColumnMetadata;
+import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+
+/**
+ * <p>
+ * Persisted per-row invalid markers of a data set: for each row, a bitmap with one bit per column (bit set means value
+ * is invalid for the column type). Markers are computed once by the quality analysis and replayed on reads instead of
+ * running data quality analyzers on each row again.
+ * </p>
+ * <p>
+ * Markers depend on column types and domains, so they are written with a {@link #version(DataSetMetadata) version}
+ * computed from the data set columns and ignored as soon as columns change.
+ * </p>
+ */
+public class InvalidMarkers implements Closeable {
+
+    /** Magic number at the beginning of file ("TDPI"). */
+    private static final int MAGIC = 0x54445049;
+
+    /** Where markers are read from. */
+    private final DataInputStream input;
+
+    /** Column ids (in the bitmap order). */
+    private final List<String> columnIds;
+
+    /** The bitmap of current row (reused). */
+    private final byte[] bitmap;
+
+    private InvalidMarkers(DataInputStream input, List<String> columnIds) {
+        this.input = input;
+        this.columnIds = columnIds;
+        this.bitmap = new byte[bitmapLength(columnIds.size())];
+    }
+
+    private static int bitmapLength(int columnCount) {
+        return (columnCount + 7) / 8;
+    }
+
+    private static List<String> getColumnIds(DataSetMetadata dataSetMetadata) {
+        return dataSetMetadata.getRowMetadata().getColumns().stream() //
+                .map(ColumnMetadata::getId) //
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @param dataSetMetadata The data set metadata.
+     * @return The version of the markers for current data set columns (changes whenever a column id, type or domain
+     * changes).
+     */
+    static String version(DataSetMetadata dataSetMetadata) {
+        return dataSetMetadata.getRowMetadata().getColumns().stream() //
+                .map(c -> c.getId() + ':' + c.getType() + ':' + c.getDomain()) //
+                .collect(Collectors.joining("|"));
+    }
+
+    /**
+     * Writes invalid markers of <code>rows</code> (rows are expected to be already marked with
+     * {@link org.talend.dataprep.api.dataset.row.InvalidMarker}).
+     *
+     * @param output Where markers are written to.
+     * @param dataSetMetadata The data set metadata.
+     * @param rows The marked data set rows.
+     * @throws IOException In case of write error.
+     */
+    static void write(OutputStream output, DataSetMetadata dataSetMetadata, Iterator<DataSetRow> rows)
+            throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(output))) {
+            final List<String> columnIds = getColumnIds(dataSetMetadata);
+            out.writeInt(MAGIC);
+            final byte[] version = version(dataSetMetadata).getBytes(UTF_8);
+            out.writeInt(version.length);
+            out.write(version);
+            final byte[] bitmap = new byte[bitmapLength(columnIds.size())];
+            while (rows.hasNext()) {
+                final DataSetRow row = rows.next();
+                for (int i = 0; i < bitmap.length; i++) {
+                    bitmap[i] = 0;
+                }
+                for (int i = 0; i < columnIds.size(); i++) {
+                    if (row.isInvalid(columnIds.get(i))) {
+                        bitmap[i >> 3] |= 1 << (i & 7);
+                    }
+                }
+                out.write(bitmap);
+            }
+        }
+    }
+
+    /**
+     * Opens markers for reading.
+     *
+     * @param input Where to read markers from (closed by this method if markers do not match data set).
+     * @param dataSetMetadata The data set metadata markers are read for.
+     * @return The markers or <code>null</code> if markers version does not match current data set columns.
+     * @throws IOException In case of read error.
+     */
+    static InvalidMarkers open(InputStream input, DataSetMetadata dataSetMetadata) throws IOException {
+        final DataInputStream in = new DataInputStream(new BufferedInputStream(input));
+        try {
+            if (in.readInt() != MAGIC) {
+                in.close();
+                return null;
+            }
+            final byte[] version = new byte[in.readInt()];
+            in.readFully(version);
+            if (!version(dataSetMetadata).equals(new String(version, UTF_8))) {
+                in.close();
+                return null;
+            }
+            return new InvalidMarkers(in, getColumnIds(dataSetMetadata));
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Marks (or unmarks) invalid columns of the next row.
+     *
+     * @param row The row to update.
+     * @return <code>true</code> if markers were applied, <code>false</code> if there are no more markers (row is left
+     * unchanged).
+     */
+    public boolean apply(DataSetRow row) {
+        try {
+            input.readFully(bitmap);
+        } catch (EOFException e) {
+            return false;
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to read invalid markers.", e);
+        }
+        for (int i = 0; i < columnIds.size(); i++) {
+            if ((bitmap[i >> 3] & (1 << (i & 7))) != 0) {
+                row.setInvalid(columnIds.get(i));
+            } else {
+                row.unsetInvalid(columnIds.get(i));
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        input.close();
+    }
+}
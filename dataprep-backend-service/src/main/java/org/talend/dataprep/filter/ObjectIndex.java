@@ -0,0 +1,467 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.filter;
+
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.apache.commons.lang.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.talend.tql.model.*;
+import org.talend.tql.visitor.IASTVisitor;
+
+/**
+ * <p>
+ * Secondary index on some fields of objects stored in a repository: it maps field values to object ids so TQL
+ * equality, range (on numeric values) and prefix (regular expression starting with a literal) predicates can be
+ * answered without reading all objects.
+ * </p>
+ * <p>
+ * {@link #find(TqlElement)} returns <b>candidate</b> ids: all objects matching the query are in the candidates, but
+ * candidates must still be filtered with the query predicate (see {@link ObjectPredicateVisitor}). When the query
+ * cannot be answered with the index (e.g. "contains" or a field that is not indexed), <code>null</code> is returned
+ * and caller must fall back to a full scan.
+ * </p>
+ *
+ * @param <T> The type of indexed objects.
+ */
+public class ObjectIndex<T> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ObjectIndex.class);
+
+    /** Suffix of paths that match on the class name of the field value (see {@link ObjectPredicateVisitor}). */
+    private static final String CLASS_SUFFIX = "._class";
+
+    /** Function to get id of an indexed object. */
+    private final Function<T, String> idFunction;
+
+    /** Indexes by field path. */
+    private final Map<String, FieldIndex> fields = new HashMap<>();
+
+    /** Indexed values (as string) of each object (by id), indexed by field position. */
+    private final Map<String, String[]> entries = new HashMap<>();
+
+    /** <code>true</code> once index contains all objects of the repository. */
+    private boolean built;
+
+    /**
+     * @param targetClass The class of indexed objects.
+     * @param idFunction The function to get the id of an object.
+     * @param fieldPaths The paths of indexed fields (fields that do not exist in <code>targetClass</code> are ignored).
+     */
+    public ObjectIndex(Class<T> targetClass, Function<T, String> idFunction, String... fieldPaths) {
+        this.idFunction = idFunction;
+        for (String fieldPath : fieldPaths) {
+            final boolean classOf = fieldPath.endsWith(CLASS_SUFFIX);
+            final String getterPath = classOf ? StringUtils.substringBefore(fieldPath, CLASS_SUFFIX) : fieldPath;
+            try {
+                final Method[] getters = ObjectPredicateVisitor.getMethods(targetClass, getterPath);
+                fields.put(fieldPath, new FieldIndex(fields.size(), getters, classOf));
+            } catch (UnsupportedOperationException e) {
+                LOGGER.debug("Field '{}' not indexed for {}.", fieldPath, targetClass, e);
+            }
+        }
+    }
+
+    /**
+     * Fills this index with all objects of a repository (does nothing if index is already built).
+     *
+     * @param source All objects of the repository.
+     */
+    public synchronized void build(Supplier<Stream<T>> source) {
+        if (built) {
+            return;
+        }
+        try (Stream<T> objects = source.get()) {
+            objects.forEach(this::put);
+        }
+        built = true;
+        LOGGER.debug("Index built with {} object(s).", entries.size());
+    }
+
+    /**
+     * Adds (or updates) an object in this index.
+     *
+     * @param object The object to index.
+     */
+    public synchronized void put(T object) {
+        final String id = idFunction.apply(object);
+        remove(id);
+        final String[] values = new String[fields.size()];
+        for (FieldIndex field : fields.values()) {
+            final String value = field.valueOf(object);
+            values[field.position] = value;
+            field.add(value, id);
+        }
+        entries.put(id, values);
+    }
+
+    /**
+     * Removes an object from this index.
+     *
+     * @param id The object id.
+     */
+    public synchronized void remove(String id) {
+        final String[] values = entries.remove(id);
+        if (values != null) {
+            for (FieldIndex field : fields.values()) {
+                field.remove(values[field.position], id);
+            }
+        }
+    }
+
+    /**
+     * Removes all objects from this index.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        fields.values().forEach(FieldIndex::clear);
+    }
+
+    /**
+     * @return The number of indexed objects.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * @param query A TQL query.
+     * @return The ids of objects that may match the query or <code>null</code> if query cannot be answered with this
+     * index.
+     */
+    public synchronized Set<String> find(TqlElement query) {
+        return (Set<String>) query.accept(new CandidatesVisitor());
+    }
+
+    /**
+     * Normalizes a value so that two values are equal once normalized if and only if they are equal ignoring case (as
+     * {@link String#equalsIgnoreCase(String)} does).
+     */
+    private static String normalize(String value) {
+        final char[] chars = value.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+        }
+        return new String(chars);
+    }
+
+    private static Double parseNumber(String value) {
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @param regex A regular expression.
+     * @return The literal prefix all strings matching the regular expression start with (empty string if there's
+     * none).
+     */
+    static String literalPrefix(String regex) {
+        if (regex.indexOf('|') >= 0) {
+            return StringUtils.EMPTY;
+        }
+        final StringBuilder prefix = new StringBuilder();
+        final int start = regex.startsWith("^") ? 1 : 0;
+        for (int i = start; i < regex.length(); i++) {
+            final char c = regex.charAt(i);
+            if ("\\^$.|?*+()[]{}".indexOf(c) >= 0) {
+                // Previous character may be optional
+                if ((c == '?' || c == '*' || c == '{') && prefix.length() > 0) {
+                    prefix.setLength(prefix.length() - 1);
+                }
+                break;
+            }
+            prefix.append(c);
+        }
+        return prefix.toString();
+    }
+
+    /**
+     * Index of a single field.
+     */
+    private static class FieldIndex {
+
+        /** Position of field values in {@link ObjectIndex#entries}. */
+        private final int position;
+
+        private final Method[] getters;
+
+        /** <code>true</code> if class name of field value is indexed (instead of value). */
+        private final boolean classOf;
+
+        /** Object ids by normalized value. */
+        private final TreeMap<String, Set<String>> values = new TreeMap<>();
+
+        /** Object ids by numeric value (only for values that can be parsed as numbers). */
+        private final TreeMap<Double, Set<String>> numbers = new TreeMap<>();
+
+        private FieldIndex(int position, Method[] getters, boolean classOf) {
+            this.position = position;
+            this.getters = getters;
+            this.classOf = classOf;
+        }
+
+        /**
+         * @return The value to index for <code>object</code> or <code>null</code> if value cannot be read (such objects
+         * never match predicates on this field).
+         */
+        private String valueOf(Object object) {
+            try {
+                final Object value = ObjectPredicateVisitor.invoke(object, getters);
+                return classOf ? value.getClass().getName() : String.valueOf(value);
+            } catch (Exception e) {
+                LOGGER.trace("Unable to read value to index.", e);
+                return null;
+            }
+        }
+
+        private void add(String value, String id) {
+            if (value == null) {
+                return;
+            }
+            values.computeIfAbsent(normalize(value), v -> new HashSet<>()).add(id);
+            final Double number = parseNumber(value);
+            if (number != null) {
+                numbers.computeIfAbsent(number, v -> new HashSet<>()).add(id);
+            }
+        }
+
+        private void remove(String value, String id) {
+            if (value == null) {
+                return;
+            }
+            removeId(values, normalize(value), id);
+            final Double number = parseNumber(value);
+            if (number != null) {
+                removeId(numbers, number, id);
+            }
+        }
+
+        private static <K> void removeId(Map<K, Set<String>> map, K key, String id) {
+            final Set<String> ids = map.get(key);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    map.remove(key);
+                }
+            }
+        }
+
+        private void clear() {
+            values.clear();
+            numbers.clear();
+        }
+
+        private Set<String> equalTo(String value) {
+            final Set<String> ids = values.get(normalize(value));
+            return ids == null ? new HashSet<>() : new HashSet<>(ids);
+        }
+
+        private Set<String> startingWith(String prefix) {
+            final String normalizedPrefix = normalize(prefix);
+            final Set<String> ids = new HashSet<>();
+            for (Map.Entry<String, Set<String>> entry : values.tailMap(normalizedPrefix).entrySet()) {
+                if (!entry.getKey().startsWith(normalizedPrefix)) {
+                    break;
+                }
+                ids.addAll(entry.getValue());
+            }
+            return ids;
+        }
+
+        /**
+         * @return Ids of objects with value in range (or <code>null</code> if bounds are not numbers).
+         */
+        private Set<String> between(String lower, String upper) {
+            final Double lowerBound = lower == null ? Double.NEGATIVE_INFINITY : parseNumber(lower);
+            final Double upperBound = upper == null ? Double.POSITIVE_INFINITY : parseNumber(upper);
+            if (lowerBound == null || upperBound == null) {
+                return null;
+            }
+            final Set<String> ids = new HashSet<>();
+            final SortedMap<Double, Set<String>> range;
+            if (lowerBound.compareTo(upperBound) >= 0) {
+                // Same bounds or empty range (values are compared with < and >, so NaN bounds match nothing)
+                range = Collections.emptySortedMap();
+            } else if (upper == null) {
+                range = numbers.tailMap(lowerBound, false);
+            } else if (lower == null) {
+                range = numbers.headMap(upperBound, false);
+            } else {
+                range = numbers.subMap(lowerBound, false, upperBound, false);
+            }
+            range.values().forEach(ids::addAll);
+            return ids;
+        }
+    }
+
+    /**
+     * Computes candidate ids for a query (<code>null</code> means query cannot be answered with index).
+     */
+    private class CandidatesVisitor implements IASTVisitor {
+
+        @Override
+        public Set<String> visit(TqlElement tqlElement) {
+            return null;
+        }
+
+        @Override
+        public Void visit(ComparisonOperator comparisonOperator) {
+            return null;
+        }
+
+        @Override
+        public String visit(LiteralValue literalValue) {
+            return literalValue.getValue();
+        }
+
+        @Override
+        public String visit(FieldReference fieldReference) {
+            return fieldReference.getPath();
+        }
+
+        @Override
+        public Set<String> visit(Expression expression) {
+            return null;
+        }
+
+        @Override
+        public Set<String> visit(AndExpression andExpression) {
+            Set<String> candidates = null;
+            for (Expression expression : andExpression.getExpressions()) {
+                final Set<String> expressionCandidates = (Set<String>) expression.accept(this);
+                if (expressionCandidates != null) {
+                    if (candidates == null) {
+                        candidates = expressionCandidates;
+                    } else {
+                        candidates.retainAll(expressionCandidates);
+                    }
+                }
+            }
+            return candidates;
+        }
+
+        @Override
+        public Set<String> visit(OrExpression orExpression) {
+            final Expression[] expressions = orExpression.getExpressions();
+            if (expressions.length == 0) {
+                return null;
+            }
+            final Set<String> candidates = new HashSet<>();
+            for (Expression expression : expressions) {
+                final Set<String> expressionCandidates = (Set<String>) expression.accept(this);
+                if (expressionCandidates == null) {
+                    return null;
+                }
+                candidates.addAll(expressionCandidates);
+            }
+            return candidates;
+        }
+
+        @Override
+        public Set<String> visit(ComparisonExpression comparisonExpression) {
+            final FieldIndex field = fields.get(comparisonExpression.getField().getPath());
+            if (field == null || !(comparisonExpression.getValueOrField() instanceof LiteralValue)) {
+                return null;
+            }
+            final String value = (String) comparisonExpression.getValueOrField().accept(this);
+            if (field.classOf) {
+                // Any comparison on class name is an equality (see ObjectPredicateVisitor)
+                return field.equalTo(value);
+            }
+            switch (comparisonExpression.getOperator().getOperator()) {
+            case EQ:
+                return field.equalTo(value);
+            case LT:
+                return field.between(null, value);
+            case GT:
+                return field.between(value, null);
+            default:
+                return null;
+            }
+        }
+
+        @Override
+        public Set<String> visit(FieldInExpression fieldInExpression) {
+            final FieldIndex field = fields.get(fieldInExpression.getFieldName());
+            final LiteralValue[] values = fieldInExpression.getValues();
+            if (field == null || values.length == 0) {
+                return null;
+            }
+            final Set<String> candidates = new HashSet<>();
+            for (LiteralValue value : values) {
+                candidates.addAll(field.equalTo(value.getValue()));
+            }
+            return candidates;
+        }
+
+        @Override
+        public Set<String> visit(FieldIsEmptyExpression fieldIsEmptyExpression) {
+            return null;
+        }
+
+        @Override
+        public Set<String> visit(FieldIsValidExpression fieldIsValidExpression) {
+            return null;
+        }
+
+        @Override
+        public Set<String> visit(FieldIsInvalidExpression fieldIsInvalidExpression) {
+            return null;
+        }
+
+        @Override
+        public Set<String> visit(FieldMatchesRegex fieldMatchesRegex) {
+            final FieldIndex field = fields.get(fieldMatchesRegex.getFieldName());
+            if (field == null) {
+                return null;
+            }
+            final String prefix = literalPrefix(fieldMatchesRegex.getRegex());
+            return prefix.isEmpty() ? null : field.startingWith(prefix);
+        }
+
+        @Override
+        public Set<String> visit(FieldCompliesPattern fieldCompliesPattern) {
+            return null;
+        }
+
+        @Override
+        public Set<String> visit(FieldBetweenExpression fieldBetweenExpression) {
+            final FieldIndex field = fields.get(fieldBetweenExpression.getFieldName());
+            if (field == null) {
+                return null;
+            }
+            final String left = (String) fieldBetweenExpression.getLeft().accept(this);
+            final String right = (String) fieldBetweenExpression.getRight().accept(this);
+            return field.between(left, right);
+        }
+
+        @Override
+        public Set<String> visit(NotExpression notExpression) {
+            return null;
+        }
+
+        @Override
+        public Set<String> visit(FieldContainsExpression fieldContainsExpression) {
+            return null;
+        }
+    }
+}
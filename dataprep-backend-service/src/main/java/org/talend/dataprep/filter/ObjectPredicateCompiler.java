@@ -0,0 +1,510 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.filter;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang.ObjectUtils;
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.lang.WordUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.talend.tql.model.*;
+import org.talend.tql.parser.Tql;
+import org.talend.tql.visitor.IASTVisitor;
+
+/**
+ * <p>
+ * Compiles a TQL query into a predicate on objects of a given class. The predicate has the same semantic as the one
+ * built by {@link ObjectPredicateVisitor}, but:
+ * <ul>
+ * <li>getters are resolved once (without exceptions) and invoked with {@link MethodHandle method handles} instead of
+ * reflection,</li>
+ * <li>query values are converted once (e.g. numbers for "&lt;" and "&gt;"), and numeric getters are compared without
+ * conversion to string,</li>
+ * <li>compiled queries are cached by (class, query) so repeated queries are neither parsed nor compiled again.</li>
+ * </ul>
+ * </p>
+ *
+ * @see #compile(Class, String)
+ */
+public class ObjectPredicateCompiler implements IASTVisitor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ObjectPredicateCompiler.class);
+
+    /** Maximum number of compiled queries kept in cache. */
+    private static final int CACHE_SIZE = 500;
+
+    /** Compiled queries by (class, query) in access order. */
+    private static final Map<CacheKey, CompiledPredicate> CACHE = Collections
+            .synchronizedMap(new LinkedHashMap<CacheKey, CompiledPredicate>(16, 0.75f, true) {
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<CacheKey, CompiledPredicate> eldest) {
+                    return size() > CACHE_SIZE;
+                }
+            });
+
+    /** Type of all getters once adapted: (Object) -> Object. */
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    /** Returned by {@link Getter#get(Object)} when value cannot be read (a getter in the path returned null). */
+    private static final Object MISSING = new Object();
+
+    private final Class<?> targetClass;
+
+    /** Visitor used for the (unusual) expressions this compiler does not specialize. */
+    private final ObjectPredicateVisitor fallback;
+
+    private ObjectPredicateCompiler(Class<?> targetClass) {
+        this.targetClass = targetClass;
+        this.fallback = new ObjectPredicateVisitor(targetClass);
+    }
+
+    /**
+     * @param targetClass The class of the objects to filter.
+     * @param query A TQL query.
+     * @return The predicate for the query (compiled at first call, then returned from cache).
+     * @throws UnsupportedOperationException If query uses a field or an operator that cannot be used on
+     * <code>targetClass</code>.
+     */
+    public static CompiledPredicate compile(Class<?> targetClass, String query) {
+        final CacheKey key = new CacheKey(targetClass, query);
+        CompiledPredicate compiled = CACHE.get(key);
+        if (compiled == null) {
+            final TqlElement element = Tql.parse(query);
+            final Predicate<Object> predicate = (Predicate<Object>) element.accept(new ObjectPredicateCompiler(targetClass));
+            compiled = new CompiledPredicate(element, predicate);
+            CACHE.put(key, compiled);
+            LOGGER.debug("Query '{}' compiled for {}.", query, targetClass);
+        }
+        return compiled;
+    }
+
+    /**
+     * Removes all compiled queries from cache.
+     */
+    static void clearCache() {
+        CACHE.clear();
+    }
+
+    /**
+     * @param targetClass The class of objects.
+     * @param field A field path (e.g. "name" or "lifecycle.importing").
+     * @return The getter for field value.
+     * @throws UnsupportedOperationException If a getter cannot be found.
+     */
+    static Getter getter(Class<?> targetClass, String field) {
+        final String[] names = StringUtils.split(field, '.');
+        final MethodHandle[] handles = new MethodHandle[names.length];
+        Class<?> currentClass = targetClass;
+        for (int i = 0; i < names.length; i++) {
+            final Method method = findGetter(currentClass, names[i]);
+            if (method == null) {
+                throw new UnsupportedOperationException("Can't find getter '" + field + "'.");
+            }
+            handles[i] = unreflect(method, field).asType(GETTER_TYPE);
+            currentClass = method.getReturnType();
+        }
+        return new Getter(handles, currentClass);
+    }
+
+    private static MethodHandle unreflect(Method method, String field) {
+        try {
+            return MethodHandles.lookup().unreflect(method);
+        } catch (IllegalAccessException e) {
+            // Public method of a class not visible from here (e.g. inherited from a package private class)
+            LOGGER.trace("Getter '{}' not accessible, retry with accessibility checks disabled.", field, e);
+        }
+        try {
+            method.setAccessible(true);
+            return MethodHandles.lookup().unreflect(method);
+        } catch (IllegalAccessException | SecurityException e) {
+            throw new UnsupportedOperationException("Can't access getter '" + field + "'.", e);
+        }
+    }
+
+    /**
+     * @return The public getter for <code>name</code> in <code>clazz</code> (looked up in the same order as
+     * {@link ObjectPredicateVisitor}: "getName", "name" then "isName") or <code>null</code> if there's none.
+     */
+    private static Method findGetter(Class<?> clazz, String name) {
+        final String[] candidates = { "get" + WordUtils.capitalize(name), name, "is" + WordUtils.capitalize(name) };
+        Method getter = null;
+        int getterRank = candidates.length;
+        for (Method method : clazz.getMethods()) {
+            if (method.getParameterCount() != 0) {
+                continue;
+            }
+            for (int rank = 0; rank < candidates.length && rank <= getterRank; rank++) {
+                if (candidates[rank].equals(method.getName())) {
+                    // For same name, keep most specific return type (as Class#getMethod does with bridge methods)
+                    if (rank < getterRank || getter.getReturnType().isAssignableFrom(method.getReturnType())) {
+                        getter = method;
+                        getterRank = rank;
+                    }
+                    break;
+                }
+            }
+        }
+        return getter;
+    }
+
+    private static Double parseNumber(Object value) {
+        try {
+            return Double.parseDouble(String.valueOf(value));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public Object visit(TqlElement tqlElement) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Object visit(ComparisonOperator comparisonOperator) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public String visit(LiteralValue literalValue) {
+        return literalValue.getValue();
+    }
+
+    @Override
+    public Getter visit(FieldReference fieldReference) {
+        return getter(targetClass, fieldReference.getPath());
+    }
+
+    @Override
+    public Predicate<Object> visit(Expression expression) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Predicate<Object> visit(AndExpression andExpression) {
+        final Expression[] expressions = andExpression.getExpressions();
+        if (expressions.length == 0) {
+            return o -> true;
+        }
+        final Predicate<Object>[] predicates = compile(expressions);
+        if (predicates.length == 1) {
+            return predicates[0];
+        }
+        return o -> {
+            for (Predicate<Object> predicate : predicates) {
+                if (!predicate.test(o)) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+
+    @Override
+    public Predicate<Object> visit(OrExpression orExpression) {
+        final Expression[] expressions = orExpression.getExpressions();
+        if (expressions.length == 0) {
+            return o -> true;
+        }
+        final Predicate<Object>[] predicates = compile(expressions);
+        if (predicates.length == 1) {
+            return predicates[0];
+        }
+        return o -> {
+            for (Predicate<Object> predicate : predicates) {
+                if (predicate.test(o)) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+
+    private Predicate<Object>[] compile(Expression[] expressions) {
+        final Predicate<Object>[] predicates = new Predicate[expressions.length];
+        for (int i = 0; i < expressions.length; i++) {
+            predicates[i] = (Predicate<Object>) expressions[i].accept(this);
+        }
+        return predicates;
+    }
+
+    @Override
+    public Predicate<Object> visit(ComparisonExpression comparisonExpression) {
+        if (!(comparisonExpression.getValueOrField() instanceof LiteralValue)) {
+            // Comparison between fields: keep original behavior
+            return (Predicate<Object>) comparisonExpression.accept(fallback);
+        }
+        final String value = (String) comparisonExpression.getValueOrField().accept(this);
+        final String path = comparisonExpression.getField().getPath();
+
+        // Handle predicate on "_class"
+        if (path.endsWith("._class")) {
+            final Getter getter = getter(targetClass, StringUtils.substringBefore(path, "._class"));
+            return o -> {
+                final Object fieldValue = getter.get(o);
+                return fieldValue != MISSING && fieldValue != null && value.equals(fieldValue.getClass().getName());
+            };
+        }
+
+        final Getter getter = (Getter) comparisonExpression.getField().accept(this);
+        switch (comparisonExpression.getOperator().getOperator()) {
+        case EQ:
+            return eq(value, getter);
+        case LT:
+            return compare(value, getter, false);
+        case GT:
+            return compare(value, getter, true);
+        case NEQ:
+            return o -> {
+                final Object fieldValue = getter.get(o);
+                return fieldValue != MISSING && !ObjectUtils.equals(fieldValue, value);
+            };
+        case LET:
+        case GET:
+        default:
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static Predicate<Object> eq(String value, Getter getter) {
+        return o -> {
+            final Object fieldValue = getter.get(o);
+            return fieldValue != MISSING && String.valueOf(fieldValue).equalsIgnoreCase(value);
+        };
+    }
+
+    /**
+     * @param greater <code>true</code> for a "greater than" predicate, <code>false</code> for "lower than".
+     */
+    private static Predicate<Object> compare(String value, Getter getter, boolean greater) {
+        final Double parsedBound = parseNumber(value);
+        if (parsedBound == null) {
+            LOGGER.debug("Unable to compare with '{}' (not a number).", value);
+            return o -> false;
+        }
+        final double bound = parsedBound;
+        if (getter.isNumeric()) {
+            return o -> {
+                final Object fieldValue = getter.get(o);
+                if (fieldValue == MISSING || fieldValue == null) {
+                    return false;
+                }
+                final double number = ((Number) fieldValue).doubleValue();
+                return greater ? number > bound : number < bound;
+            };
+        }
+        return o -> {
+            final Object fieldValue = getter.get(o);
+            if (fieldValue == MISSING || fieldValue == null) {
+                return false;
+            }
+            final Double number = parseNumber(fieldValue);
+            return number != null && (greater ? number > bound : number < bound);
+        };
+    }
+
+    @Override
+    public Predicate<Object> visit(FieldInExpression fieldInExpression) {
+        final Getter getter = getter(targetClass, fieldInExpression.getFieldName());
+        final LiteralValue[] literalValues = fieldInExpression.getValues();
+        if (literalValues.length == 0) {
+            return o -> true;
+        }
+        final String[] values = new String[literalValues.length];
+        for (int i = 0; i < literalValues.length; i++) {
+            values[i] = literalValues[i].getValue();
+        }
+        return o -> {
+            final Object fieldValue = getter.get(o);
+            if (fieldValue == MISSING) {
+                return false;
+            }
+            final String stringValue = String.valueOf(fieldValue);
+            for (String value : values) {
+                if (stringValue.equalsIgnoreCase(value)) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+
+    @Override
+    public Predicate<Object> visit(FieldIsEmptyExpression fieldIsEmptyExpression) {
+        final Getter getter = getter(targetClass, fieldIsEmptyExpression.getFieldName());
+        return o -> {
+            final Object fieldValue = getter.get(o);
+            return fieldValue != MISSING && String.valueOf(fieldValue).isEmpty();
+        };
+    }
+
+    @Override
+    public Object visit(FieldIsValidExpression fieldIsValidExpression) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Object visit(FieldIsInvalidExpression fieldIsInvalidExpression) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Predicate<Object> visit(FieldMatchesRegex fieldMatchesRegex) {
+        final Getter getter = getter(targetClass, fieldMatchesRegex.getFieldName());
+        final Pattern pattern = Pattern.compile(fieldMatchesRegex.getRegex());
+        return o -> {
+            final Object fieldValue = getter.get(o);
+            return fieldValue != MISSING && pattern.matcher(String.valueOf(fieldValue)).matches();
+        };
+    }
+
+    @Override
+    public Object visit(FieldCompliesPattern fieldCompliesPattern) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Predicate<Object> visit(FieldBetweenExpression fieldBetweenExpression) {
+        final Getter getter = getter(targetClass, fieldBetweenExpression.getFieldName());
+        final Predicate<Object> greater = compare((String) fieldBetweenExpression.getLeft().accept(this), getter, true);
+        final Predicate<Object> lower = compare((String) fieldBetweenExpression.getRight().accept(this), getter, false);
+        return o -> greater.test(o) && lower.test(o);
+    }
+
+    @Override
+    public Predicate<Object> visit(NotExpression notExpression) {
+        final Predicate<Object> accept = (Predicate<Object>) notExpression.getExpression().accept(this);
+        return o -> !accept.test(o);
+    }
+
+    @Override
+    public Predicate<Object> visit(FieldContainsExpression fieldContainsExpression) {
+        final Getter getter = getter(targetClass, fieldContainsExpression.getFieldName());
+        final String value = fieldContainsExpression.getValue();
+        return o -> {
+            final Object fieldValue = getter.get(o);
+            return fieldValue != MISSING && StringUtils.containsIgnoreCase(String.valueOf(fieldValue), value);
+        };
+    }
+
+    /**
+     * A compiled query: a predicate along with the parsed query (e.g. to look up candidates in an {@link ObjectIndex}).
+     */
+    public static class CompiledPredicate implements Predicate<Object> {
+
+        private final TqlElement query;
+
+        private final Predicate<Object> predicate;
+
+        private CompiledPredicate(TqlElement query, Predicate<Object> predicate) {
+            this.query = query;
+            this.predicate = predicate;
+        }
+
+        /**
+         * @return The parsed query (must not be modified).
+         */
+        public TqlElement getQuery() {
+            return query;
+        }
+
+        @Override
+        public boolean test(Object o) {
+            return predicate.test(o);
+        }
+    }
+
+    /**
+     * Reads a field value with a chain of getters.
+     */
+    static class Getter {
+
+        private final MethodHandle[] handles;
+
+        /** <code>true</code> if field type can be compared as a double without conversion to string. */
+        private final boolean numeric;
+
+        private Getter(MethodHandle[] handles, Class<?> type) {
+            this.handles = handles;
+            this.numeric = type == int.class || type == long.class || type == short.class || type == byte.class
+                    || type == double.class || type == Integer.class || type == Long.class || type == Short.class
+                    || type == Byte.class || type == Double.class;
+        }
+
+        boolean isNumeric() {
+            return numeric;
+        }
+
+        /**
+         * @param o An object.
+         * @return The field value of <code>o</code> or {@link #MISSING} if an intermediate getter returned
+         * <code>null</code> or failed.
+         */
+        Object get(Object o) {
+            Object current = o;
+            for (MethodHandle handle : handles) {
+                if (current == null) {
+                    return MISSING;
+                }
+                try {
+                    current = (Object) handle.invokeExact(current);
+                } catch (Throwable e) {
+                    LOGGER.error("Unable to read field value.", e);
+                    return MISSING;
+                }
+            }
+            return current;
+        }
+    }
+
+    private static class CacheKey {
+
+        private final Class<?> targetClass;
+
+        private final String query;
+
+        private CacheKey(Class<?> targetClass, String query) {
+            this.targetClass = targetClass;
+            this.query = query;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            final CacheKey cacheKey = (CacheKey) o;
+            return targetClass.equals(cacheKey.targetClass) && Objects.equals(query, cacheKey.query);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(targetClass, query);
+        }
+    }
+}
@@ -64,6 +64,16 @@ public class ObjectPredicateVisitor implements IASTVisitor {
     }
 
     private Method[] getMethods(String field) {
+        return getMethods(targetClass, field);
+    }
+
+    /**
+     * @param targetClass The class of objects.
+     * @param field A field path (e.g. "name" or "lifecycle.importing").
+     * @return The getters chain to get field value from an object of <code>targetClass</code>.
+     * @throws UnsupportedOperationException If a getter cannot be found.
+     */
+    static Method[] getMethods(Class targetClass, String field) {
         StringTokenizer tokenizer = new StringTokenizer(field, ".");
         List<String> methodNames = new ArrayList<>();
         while (tokenizer.hasMoreTokens()) {
@@ -96,7 +106,7 @@ public class ObjectPredicateVisitor implements IASTVisitor {
         return methods;
     }
 
-    private Object invoke(Object o, Method[] methods) throws InvocationTargetException, IllegalAccessException {
+    static Object invoke(Object o, Method[] methods) throws InvocationTargetException, IllegalAccessException {
         Object currentObject = o;
         for (Method method : methods) {
             currentObject = method.invoke(currentObject);
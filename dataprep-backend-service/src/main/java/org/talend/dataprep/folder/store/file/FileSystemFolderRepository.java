@@ -14,7 +14,6 @@ package org.talend.dataprep.folder.store.file;
 
 import static java.util.Collections.emptyList;
 import static java.util.stream.Collectors.toList;
-import static java.util.stream.Collectors.toSet;
 import static org.talend.daikon.exception.ExceptionContext.build;
 import static org.talend.dataprep.api.folder.FolderBuilder.folder;
 import static org.talend.dataprep.exception.error.DataSetErrorCodes.*;
@@ -28,6 +27,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
@@ -37,6 +37,8 @@ import javax.annotation.PostConstruct;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
@@ -48,15 +50,21 @@ import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.exception.error.DataSetErrorCodes;
 import org.talend.dataprep.folder.store.FolderRepository;
 import org.talend.dataprep.security.Security;
-import org.talend.dataprep.util.StringsHelper;
 
 /**
- * File system folder repository implementation.
+ * File system folder repository implementation. Folders and entries are also kept in a {@link FolderIndex} (filled at
+ * startup) so entries can be located and folders searched without walking the folder tree.
  */
 @Component("folderRepository#file")
 @ConditionalOnProperty(name = "folder.store", havingValue = "file")
 public class FileSystemFolderRepository implements FolderRepository {
 
+    /** This class' logger. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(FileSystemFolderRepository.class);
+
+    /** Index of the folders and entries stored in the root folder. */
+    private final FolderIndex index = new FolderIndex();
+
     @Autowired
     private Security security;
 
@@ -64,7 +72,7 @@ public class FileSystemFolderRepository implements FolderRepository {
     private PathsConverter pathsConverter;
 
     /**
-     * Make sure the root folder is there.
+     * Make sure the root folder is there and index its content.
      */
     @PostConstruct
     private void init() {
@@ -73,11 +81,52 @@ public class FileSystemFolderRepository implements FolderRepository {
             if (!Files.exists(rootPath)) {
                 Files.createDirectories(rootPath);
             }
+            index.clear();
+            index(rootPath);
         } catch (IOException e) {
             throw new IllegalStateException(e.getMessage(), e);
         }
     }
 
+    /**
+     * Adds a folder, its sub folders and all their entries to the index.
+     *
+     * @param folderPath The folder to index.
+     * @throws IOException If folder cannot be walked.
+     */
+    private void index(Path folderPath) throws IOException {
+        final long start = System.currentTimeMillis();
+        try (Stream<Path> walk = Files.walk(folderPath)) {
+            walk.forEach(path -> {
+                if (Files.isDirectory(path)) {
+                    final Path fileName = path.getFileName();
+                    index.addFolder(pathsConverter.toFolderPath(path), fileName == null ? StringUtils.EMPTY : fileName.toString());
+                } else if (Files.isRegularFile(path)) {
+                    try {
+                        index.addEntry(pathsConverter.toFolderPath(path.getParent()), path.getFileName().toString(),
+                                toFolderEntry(path));
+                    } catch (TDPException e) {
+                        LOGGER.warn("Unable to index folder entry {}.", path, e);
+                    }
+                }
+            });
+        }
+        LOGGER.debug("Folders in {} indexed in {} ms.", folderPath, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Adds a folder and all its parents to the index.
+     *
+     * @param folderPath The folder to index.
+     */
+    private void indexFolder(FolderPath folderPath) {
+        FolderPath current = folderPath;
+        while (!current.isRoot()) {
+            index.addFolder(current, current.getName());
+            current = current.getParent();
+        }
+    }
+
     @Override
     public Folder getHome() {
         return toFolder(pathsConverter.getRootFolder(), security.getUserId());
@@ -134,6 +183,7 @@ public class FileSystemFolderRepository implements FolderRepository {
         try {
             Path pathToCreate = pathsConverter.toPath(folderPathToCreate);
             Files.createDirectories(pathToCreate);
+            indexFolder(folderPathToCreate);
             return toFolder(pathToCreate, security.getUserId());
         } catch (IOException e) {
             throw new TDPException(UNABLE_TO_ADD_FOLDER, e, build().put("path", givenPath));
@@ -172,6 +222,8 @@ public class FileSystemFolderRepository implements FolderRepository {
 
         try {
             FileUtils.moveDirectory(folderPath.toFile(), newFolderPath.toFile());
+            index.removeFolder(folderToMovePath);
+            index(newFolderPath);
         } catch (IOException e) {
             throw new TDPException(UNABLE_TO_RENAME_FOLDER, e, build().put("path", folder.getPath()));
         }
@@ -208,6 +260,8 @@ public class FileSystemFolderRepository implements FolderRepository {
             try (OutputStream outputStream = Files.newOutputStream(entryFilepath)) {
                 writeEntryToStream(folderEntry, outputStream);
             }
+            indexFolder(folderPath);
+            index.addEntry(folderPath, fileName, folderEntry);
             return folderEntry;
         } catch (IOException e) {
             throw new TDPException(UNABLE_TO_ADD_FOLDER_ENTRY, e, build().put("path", folderPath));
@@ -230,7 +284,7 @@ public class FileSystemFolderRepository implements FolderRepository {
                 paths //
                         .filter(pathFound -> !Files.isDirectory(pathFound)) //
                         .filter(pathFile -> matches(pathFile, contentId, contentType)) //
-                        .forEach(deleteFile());
+                        .forEach(deleteFile().andThen(pathFile -> index.removeEntry(folderPath, pathFile.getFileName().toString())));
             }
         } catch (IOException e) {
             throw new TDPException(UNABLE_TO_REMOVE_FOLDER_ENTRY, e, build().put("path", folderPath));
@@ -239,13 +293,15 @@ public class FileSystemFolderRepository implements FolderRepository {
 
     @Override
     public void removeFolder(String folderId) {
-        final Path path = pathsConverter.toPath(fromId(folderId));
+        final FolderPath folderPath = fromId(folderId);
+        final Path path = pathsConverter.toPath(folderPath);
 
         if (hasEntry(path)) {
             throw new TDPException(FOLDER_NOT_EMPTY);
         } else {
             try {
                 FileUtils.deleteDirectory(path.toFile());
+                index.removeFolder(folderPath);
             } catch (IOException e) {
                 throw new TDPException(UNABLE_TO_DELETE_FOLDER, e, build().put("path", path));
             }
@@ -280,16 +336,7 @@ public class FileSystemFolderRepository implements FolderRepository {
 
     @Override
     public Iterable<FolderEntry> findFolderEntries(String contentId, FolderContentType contentType) {
-        try (Stream<Path> filesStream = Files.walk(pathsConverter.getRootFolder())) {
-            return filesStream //
-                    .filter(Files::isRegularFile) //
-                    .map(FileSystemUtils::toFolderEntry) //
-                    .filter(entry -> StringUtils.equals(entry.getContentId(), contentId) //
-                            && Objects.equals(contentType, entry.getContentType())) //
-                    .collect(toSet());
-        } catch (IOException e) {
-            throw new RuntimeException(e.getMessage(), e);
-        }
+        return new HashSet<>(index.findEntries(contentId, contentType).values());
     }
 
     @Override
@@ -304,16 +351,9 @@ public class FileSystemFolderRepository implements FolderRepository {
 
     @Override
     public Iterable<Folder> searchFolders(String queryString, boolean strict) {
-        try (Stream<Path> walk = Files.walk(pathsConverter.getRootFolder())) {
-            return walk //
-                    .filter(path -> //
-                            Files.isDirectory(path) //
-                                    && StringsHelper.match(path.getFileName().toString(), queryString, strict)) //
-                    .map(path -> toFolder(path, security.getUserId())) //
-                    .collect(toList());
-        } catch (IOException e) {
-            throw new RuntimeException(e.getMessage(), e);
-        }
+        return index.searchFolders(queryString, strict).stream() //
+                .map(folderPath -> toFolder(pathsConverter.toPath(folderPath), security.getUserId())) //
+                .collect(toList());
     }
 
     @Override
@@ -330,7 +370,8 @@ public class FileSystemFolderRepository implements FolderRepository {
             throw new IllegalArgumentException("destinationPath doesn't exists");
         }
 
-        Path originFilePath = Paths.get(pathsConverter.toPath(fromId(fromId)).toString(), buildFileName(folderEntry));
+        final FolderPath originPath = fromId(fromId);
+        Path originFilePath = Paths.get(pathsConverter.toPath(originPath).toString(), buildFileName(folderEntry));
         if (Files.notExists(originFilePath)) {
             throw new IllegalArgumentException("entry doesn't exists");
         }
@@ -338,6 +379,8 @@ public class FileSystemFolderRepository implements FolderRepository {
         Path destinationFile = Paths.get(destinationPath.toString(), buildFileName(folderEntry));
         try {
             Files.move(originFilePath, destinationFile);
+            index.removeEntry(originPath, buildFileName(folderEntry));
+            index.addEntry(fromId(toId), buildFileName(folderEntry), toFolderEntry(destinationFile));
         } catch (IOException e) {
             throw new TDPException(DataSetErrorCodes.UNABLE_TO_MOVE_FOLDER_ENTRY, e);
         }
@@ -345,21 +388,10 @@ public class FileSystemFolderRepository implements FolderRepository {
 
     @Override
     public Folder locateEntry(String contentId, FolderContentType type) {
-        try (Stream<Path> walk = Files.walk(pathsConverter.getRootFolder())) {
-            return walk //
-                    .filter(Files::isRegularFile) //
-                    .filter(file -> {
-                        FolderEntry folderEntry = FileSystemUtils.toFolderEntry(file);
-                        return Objects.equals(folderEntry.getContentId(), contentId) //
-                                && Objects.equals(folderEntry.getContentType(), type);
-                    }) //
-                    .findFirst() //
-                    .map(Path::getParent) //
-                    .map(p -> toFolder(p, security.getUserId())) //
-                    .orElse(null);
-        } catch (IOException e) {
-            throw new RuntimeException(e.getMessage(), e);
-        }
+        return index.findEntries(contentId, type).keySet().stream() //
+                .findFirst() //
+                .map(folderPath -> toFolder(pathsConverter.toPath(folderPath), security.getUserId())) //
+                .orElse(null);
     }
 
     @Override
@@ -368,7 +400,7 @@ public class FileSystemFolderRepository implements FolderRepository {
     }
 
     private static String buildFileName(FolderEntry folderEntry) {
-        return folderEntry.getContentType().toString() + '@' + folderEntry.getContentId();
+        return FolderIndex.fileName(folderEntry.getContentType(), folderEntry.getContentId());
     }
 
     /** If the path represents a directory, build the {@link Folder} object based on it. */
@@ -0,0 +1,274 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.folder.store.file;
+
+import static org.talend.dataprep.folder.store.FoldersRepositoriesConstants.PATH_SEPARATOR;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+import org.apache.commons.lang.StringUtils;
+import org.talend.dataprep.api.folder.FolderContentType;
+import org.talend.dataprep.api.folder.FolderEntry;
+import org.talend.dataprep.util.StringsHelper;
+
+/**
+ * <p>
+ * In memory index of the folders and folder entries stored by {@link FileSystemFolderRepository}, so entries can be
+ * located and folders searched without walking the whole folder tree:
+ * <ul>
+ * <li>entries are indexed by their file name (content type and content id),</li>
+ * <li>folder names are indexed by their case insensitive value (for strict search) and by the trigrams of their upper
+ * case value (for "contains" search).</li>
+ * </ul>
+ * </p>
+ * <p>
+ * Index is filled when repository starts and then kept up to date by the repository. All methods are thread safe.
+ * </p>
+ */
+class FolderIndex {
+
+    /** Length of the substrings used to index folder names. */
+    private static final int GRAM_LENGTH = 3;
+
+    /** Folder entries by file name, then by folder. */
+    private final Map<String, Map<FolderPath, FolderEntry>> entries = new HashMap<>();
+
+    /** Folder names (as stored on file system) by folder. */
+    private final Map<FolderPath, String> folders = new HashMap<>();
+
+    /** Folders by normalized name (see {@link #normalize(String)}). */
+    private final Map<String, Set<FolderPath>> foldersByName = new HashMap<>();
+
+    /** Folders by trigrams of upper case name. */
+    private final Map<String, Set<FolderPath>> foldersByGram = new HashMap<>();
+
+    /**
+     * @param contentType A content type.
+     * @param contentId A content id.
+     * @return The name of the file that stores a folder entry.
+     */
+    static String fileName(FolderContentType contentType, String contentId) {
+        return contentType.toString() + '@' + contentId;
+    }
+
+    /**
+     * Adds a folder to this index (does nothing if folder is already indexed).
+     *
+     * @param folder The folder path.
+     * @param name The folder name on file system.
+     */
+    synchronized void addFolder(FolderPath folder, String name) {
+        if (folders.containsKey(folder)) {
+            return;
+        }
+        folders.put(folder, name);
+        add(foldersByName, normalize(name), folder);
+        for (String gram : grams(name.toUpperCase())) {
+            add(foldersByGram, gram, folder);
+        }
+    }
+
+    /**
+     * Removes a folder, all its sub folders and all their entries from this index.
+     *
+     * @param folder The folder path.
+     */
+    synchronized void removeFolder(FolderPath folder) {
+        final List<FolderPath> removed = new ArrayList<>();
+        for (FolderPath indexed : folders.keySet()) {
+            if (isSameOrChild(indexed, folder)) {
+                removed.add(indexed);
+            }
+        }
+        for (FolderPath path : removed) {
+            final String name = folders.remove(path);
+            remove(foldersByName, normalize(name), path);
+            for (String gram : grams(name.toUpperCase())) {
+                remove(foldersByGram, gram, path);
+            }
+        }
+        final Iterator<Map<FolderPath, FolderEntry>> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            final Map<FolderPath, FolderEntry> entryFolders = iterator.next();
+            entryFolders.keySet().removeIf(path -> isSameOrChild(path, folder));
+            if (entryFolders.isEmpty()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Adds (or replaces) an entry in this index.
+     *
+     * @param folder The folder that contains the entry.
+     * @param fileName The entry file name.
+     * @param entry The entry (as stored in file).
+     */
+    synchronized void addEntry(FolderPath folder, String fileName, FolderEntry entry) {
+        entries.computeIfAbsent(fileName, name -> new LinkedHashMap<>()).put(folder, copy(entry));
+    }
+
+    /**
+     * Removes an entry from this index.
+     *
+     * @param folder The folder that contains the entry.
+     * @param fileName The entry file name.
+     */
+    synchronized void removeEntry(FolderPath folder, String fileName) {
+        final Map<FolderPath, FolderEntry> entryFolders = entries.get(fileName);
+        if (entryFolders != null) {
+            entryFolders.remove(folder);
+            if (entryFolders.isEmpty()) {
+                entries.remove(fileName);
+            }
+        }
+    }
+
+    /**
+     * @param contentId A content id.
+     * @param contentType A content type.
+     * @return The entries for this content, by folder path (in insertion order).
+     */
+    synchronized Map<FolderPath, FolderEntry> findEntries(String contentId, FolderContentType contentType) {
+        final Predicate<FolderEntry> matches = entry -> StringUtils.equals(entry.getContentId(), contentId)
+                && Objects.equals(contentType, entry.getContentType());
+        final Map<FolderPath, FolderEntry> found = new LinkedHashMap<>();
+        if (contentType == null || contentId == null) {
+            // Cannot build file name, look at all entries
+            entries.values().forEach(entryFolders -> collect(entryFolders, matches, found));
+        } else {
+            final Map<FolderPath, FolderEntry> entryFolders = entries.get(fileName(contentType, contentId));
+            if (entryFolders != null) {
+                collect(entryFolders, matches, found);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * @param queryString The searched name.
+     * @param strict <code>true</code> to look for folders with name equal to <code>queryString</code> (ignoring case),
+     * <code>false</code> to look for folders with name that contains <code>queryString</code> (ignoring case).
+     * @return The folders that match the search.
+     * @see StringsHelper#match(String, String, boolean)
+     */
+    synchronized List<FolderPath> searchFolders(String queryString, boolean strict) {
+        if (queryString == null) {
+            return Collections.emptyList();
+        }
+        final Collection<FolderPath> candidates;
+        if (strict) {
+            candidates = foldersByName.getOrDefault(normalize(queryString), Collections.emptySet());
+        } else {
+            final List<String> grams = grams(queryString.toUpperCase());
+            if (grams.isEmpty()) {
+                // Query too short to use index
+                candidates = folders.keySet();
+            } else {
+                Set<FolderPath> intersection = null;
+                for (String gram : grams) {
+                    final Set<FolderPath> gramFolders = foldersByGram.getOrDefault(gram, Collections.emptySet());
+                    if (intersection == null) {
+                        intersection = new HashSet<>(gramFolders);
+                    } else {
+                        intersection.retainAll(gramFolders);
+                    }
+                    if (intersection.isEmpty()) {
+                        break;
+                    }
+                }
+                candidates = intersection;
+            }
+        }
+        final List<FolderPath> found = new ArrayList<>();
+        for (FolderPath candidate : candidates) {
+            if (StringsHelper.match(folders.get(candidate), queryString, strict)) {
+                found.add(candidate);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Removes all folders and entries from this index.
+     */
+    synchronized void clear() {
+        entries.clear();
+        folders.clear();
+        foldersByName.clear();
+        foldersByGram.clear();
+    }
+
+    private static void collect(Map<FolderPath, FolderEntry> entryFolders, Predicate<FolderEntry> matches,
+            Map<FolderPath, FolderEntry> found) {
+        for (Map.Entry<FolderPath, FolderEntry> entry : entryFolders.entrySet()) {
+            if (matches.test(entry.getValue())) {
+                found.put(entry.getKey(), copy(entry.getValue()));
+            }
+        }
+    }
+
+    /**
+     * Entries are mutable: index keeps its own copies.
+     */
+    private static FolderEntry copy(FolderEntry entry) {
+        final FolderEntry copy = new FolderEntry(entry.getContentType(), entry.getContentId());
+        copy.setFolderId(entry.getFolderId());
+        return copy;
+    }
+
+    private static boolean isSameOrChild(FolderPath path, FolderPath folder) {
+        final String pathAsString = path.serializeAsString();
+        final String folderAsString = folder.serializeAsString();
+        if (folder.isRoot() || pathAsString.equals(folderAsString)) {
+            return true;
+        }
+        return pathAsString.startsWith(folderAsString + PATH_SEPARATOR);
+    }
+
+    /**
+     * Normalizes a value so that two values are equal once normalized if and only if they are equal ignoring case (as
+     * {@link String#equalsIgnoreCase(String)} does).
+     */
+    private static String normalize(String value) {
+        final char[] chars = value.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+        }
+        return new String(chars);
+    }
+
+    private static List<String> grams(String value) {
+        final List<String> grams = new ArrayList<>();
+        for (int i = 0; i + GRAM_LENGTH <= value.length(); i++) {
+            grams.add(value.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    private static void add(Map<String, Set<FolderPath>> map, String key, FolderPath folder) {
+        map.computeIfAbsent(key, k -> new HashSet<>()).add(folder);
+    }
+
+    private static void remove(Map<String, Set<FolderPath>> map, String key, FolderPath folder) {
+        final Set<FolderPath> keyFolders = map.get(key);
+        if (keyFolders != null) {
+            keyFolders.remove(folder);
+            if (keyFolders.isEmpty()) {
+                map.remove(key);
+            }
+        }
+    }
+}
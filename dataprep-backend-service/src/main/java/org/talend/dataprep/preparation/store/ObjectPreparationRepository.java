@@ -1,18 +1,44 @@
 package org.talend.dataprep.preparation.store;
 
+import java.util.Objects;
 import java.util.Optional;
-import java.util.function.Predicate;
+import java.util.Set;
 import java.util.stream.Stream;
 
 import org.apache.commons.lang.ObjectUtils;
 import org.talend.dataprep.api.preparation.Identifiable;
-import org.talend.dataprep.filter.ObjectPredicateVisitor;
-import org.talend.tql.parser.Tql;
+import org.talend.dataprep.filter.ObjectIndex;
+import org.talend.dataprep.filter.ObjectPredicateCompiler;
+import org.talend.dataprep.filter.ObjectPredicateCompiler.CompiledPredicate;
+import org.talend.tql.model.TqlElement;
 
 public abstract class ObjectPreparationRepository implements PreparationRepository {
 
     protected abstract <T extends Identifiable> Stream<T> source(Class<T> clazz);
 
+    /**
+     * @param clazz A class of stored objects.
+     * @return An index on fields of <code>clazz</code> objects used to answer queries without reading all objects, or
+     * <code>null</code> if this repository has no index (all queries then use {@link #source(Class)}).
+     */
+    protected <T extends Identifiable> ObjectIndex<T> index(Class<T> clazz) {
+        return null;
+    }
+
+    /**
+     * @param clazz A class of stored objects.
+     * @param query A TQL query.
+     * @return The objects that may match the query (only candidates from index if query can be answered by index).
+     */
+    private <T extends Identifiable> Stream<T> select(Class<T> clazz, TqlElement query) {
+        final ObjectIndex<T> index = index(clazz);
+        final Set<String> candidates = index == null ? null : index.find(query);
+        if (candidates == null) {
+            return source(clazz);
+        }
+        return candidates.stream().map(id -> get(id, clazz)).filter(Objects::nonNull);
+    }
+
     @Override
     public <T extends Identifiable> T get(String id, Class<T> clazz) {
         final Optional<T> match = source(clazz).filter(i -> ObjectUtils.equals(i.getId(), id)).findAny();
@@ -21,9 +47,8 @@ public abstract class ObjectPreparationRepository implements PreparationReposito
 
     @Override
     public <T extends Identifiable> boolean exist(Class<T> clazz, String filter) {
-        final Predicate<Object> accept = (Predicate<Object>) Tql.parse(filter)
-                .accept(new ObjectPredicateVisitor(clazz));
-        return source(clazz).filter(accept).findAny().isPresent();
+        final CompiledPredicate accept = ObjectPredicateCompiler.compile(clazz, filter);
+        return select(clazz, accept.getQuery()).filter(accept).findAny().isPresent();
     }
 
     @Override
@@ -33,9 +58,8 @@ public abstract class ObjectPreparationRepository implements PreparationReposito
 
     @Override
     public <T extends Identifiable> Stream<T> list(Class<T> clazz, String filter) {
-        final Predicate<Object> accept = (Predicate<Object>) Tql.parse(filter)
-                .accept(new ObjectPredicateVisitor(clazz));
-        return source(clazz).filter(accept);
+        final CompiledPredicate accept = ObjectPredicateCompiler.compile(clazz, filter);
+        return select(clazz, accept.getQuery()).filter(accept);
     }
 
 }
@@ -20,6 +20,11 @@ import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Stream;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
@@ -27,6 +32,7 @@ import java.util.zip.GZIPOutputStream;
 import javax.annotation.PostConstruct;
 import javax.annotation.Resource;
 
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,6 +46,7 @@ import org.talend.dataprep.api.preparation.PreparationActions;
 import org.talend.dataprep.api.preparation.Step;
 import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.exception.error.CommonErrorCodes;
+import org.talend.dataprep.filter.ObjectIndex;
 import org.talend.dataprep.preparation.store.ObjectPreparationRepository;
 import org.talend.dataprep.preparation.store.PreparationRepository;
 import org.talend.dataprep.security.Security;
@@ -49,7 +56,10 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 
 
 /**
- * File system implementation of preparation repository.
+ * File system implementation of preparation repository. Objects are stored in files named after their class and id,
+ * so {@link #get(String, Class)} directly reads the object's file, and the (uncompressed) content of read objects is kept
+ * in a size-bounded cache (least recently used objects are discarded first). Objects are decoded on each read, so callers
+ * may modify the returned objects without changing the stored ones.
  */
 @Component
 @ConditionalOnProperty(name = "preparation.store", havingValue = "file")
@@ -78,11 +88,34 @@ public class FileSystemPreparationRepository extends ObjectPreparationRepository
     @Autowired
     private Security security;
 
+    /** Maximum number of objects kept in memory. */
+    @Value("${preparation.store.file.cache.size:1000}")
+    private int cacheSize;
+
+    /** Encoded objects by file name (in access order). */
+    private Map<String, byte[]> cache;
+
+    /** Indexes on the fields used by queries, by class of stored objects (each index is built at first query). */
+    private final Map<Class<?>, ObjectIndex<?>> indexes = new ConcurrentHashMap<>();
+
+    /**
+     * Incremented on each change in the repository: an object read from file is cached only if no change happened
+     * during the read (otherwise cache may keep a stale object).
+     */
+    private final AtomicLong modifications = new AtomicLong();
+
     /**
      * Make sure the root folder is there.
      */
     @PostConstruct
     private void init() {
+        cache = Collections.synchronizedMap(new LinkedHashMap<String, byte[]>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest) {
+                return size() > cacheSize;
+            }
+        });
         getRootFolder().mkdirs();
         add(rootContent);
         add(rootStep);
@@ -108,6 +141,12 @@ public class FileSystemPreparationRepository extends ObjectPreparationRepository
             LOG.error("Error saving {}", object, e);
             throw new TDPException(CommonErrorCodes.UNABLE_TO_SAVE_PREPARATION, e,
                     ExceptionContext.build().put("id", object.id()));
+        } finally {
+            invalidate(outputFile);
+        }
+        final ObjectIndex<Identifiable> index = (ObjectIndex<Identifiable>) indexes.get(object.getClass());
+        if (index != null) {
+            index.put(object);
         }
         LOG.debug("{} #{} saved", object.getClass().getSimpleName(), object.id());
     }
@@ -128,6 +167,29 @@ public class FileSystemPreparationRepository extends ObjectPreparationRepository
                 .onClose(stream::close);
     }
 
+    /**
+     * @see PreparationRepository#get(String, Class)
+     */
+    @Override
+    public <T extends Identifiable> T get(String id, Class<T> clazz) {
+        if (StringUtils.isBlank(id)) {
+            return null;
+        }
+        final T identifiable = read(id, clazz);
+        if (identifiable == null || !StringUtils.equals(identifiable.getId(), id)) {
+            return null;
+        }
+        return identifiable;
+    }
+
+    @Override
+    protected <T extends Identifiable> ObjectIndex<T> index(Class<T> clazz) {
+        final ObjectIndex<T> index = (ObjectIndex<T>) indexes.computeIfAbsent(clazz, c -> new ObjectIndex<>(clazz,
+                Identifiable::getId, "id", "name", "author", "dataSetId", "parentId", "creationDate", "lastModificationDate"));
+        index.build(() -> source(clazz));
+        return index;
+    }
+
     private <T extends Identifiable> T read(String id, Class<T> clazz) {
 
         final File from = getIdentifiableFile(clazz, id);
@@ -135,20 +197,45 @@ public class FileSystemPreparationRepository extends ObjectPreparationRepository
             LOG.info("Ignore hidden file {}", from.getName());
             return null;
         }
-        if (!from.exists()) {
-            LOG.debug("{} #{} not found in file system", clazz.getSimpleName(), id);
-            return null;
+        byte[] content = cache.get(from.getName());
+        if (content == null) {
+            if (!from.exists()) {
+                LOG.debug("{} #{} not found in file system", clazz.getSimpleName(), id);
+                return null;
+            }
+            final long modificationsBeforeRead = modifications.get();
+            try (GZIPInputStream input = new GZIPInputStream(new FileInputStream(from))) {
+                content = IOUtils.toByteArray(input);
+            } catch (IOException e) {
+                LOG.error("error reading preparation file {}", from.getAbsolutePath(), e);
+                return null;
+            }
+            synchronized (cache) {
+                if (modifications.get() == modificationsBeforeRead) {
+                    cache.put(from.getName(), content);
+                }
+            }
         }
 
-        T result;
-        try (GZIPInputStream input = new GZIPInputStream(new FileInputStream(from))) {
-            result = mapper.readerFor(clazz).readValue(input);
+        // Decode a new object for each read (callers may modify it, e.g. to shift column ids of actions)
+        try {
+            return mapper.readerFor(clazz).readValue(content);
         } catch (IOException e) {
             LOG.error("error reading preparation file {}", from.getAbsolutePath(), e);
             return null;
         }
+    }
 
-        return result;
+    /**
+     * Removes object stored in <code>file</code> from cache.
+     *
+     * @param file A file that was changed (or removed).
+     */
+    private void invalidate(File file) {
+        synchronized (cache) {
+            modifications.incrementAndGet();
+            cache.remove(file.getName());
+        }
     }
 
     /**
@@ -162,6 +249,11 @@ public class FileSystemPreparationRepository extends ObjectPreparationRepository
         for (File file : preparations) {
             FilesHelper.deleteQuietly(file);
         }
+        synchronized (cache) {
+            modifications.incrementAndGet();
+            cache.clear();
+        }
+        indexes.values().forEach(ObjectIndex::clear);
 
         // add the default files
         add(rootContent);
@@ -180,6 +272,11 @@ public class FileSystemPreparationRepository extends ObjectPreparationRepository
         }
         final File file = getIdentifiableFile(object);
         FilesHelper.deleteQuietly(file);
+        invalidate(file);
+        final ObjectIndex<?> index = indexes.get(object.getClass());
+        if (index != null) {
+            index.remove(object.getId());
+        }
         LOG.debug("identifiable {} #{} removed", object.getClass().getSimpleName(), object.id());
     }
 
@@ -15,37 +15,28 @@ package org.talend.dataprep.transformation.actions.datablending;
 import static org.apache.commons.lang.StringUtils.EMPTY;
 import static org.talend.dataprep.transformation.actions.datablending.Lookup.Parameters.LOOKUP_DS_ID;
 
-import java.io.IOException;
-import java.io.InputStream;
-import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import javax.annotation.PostConstruct;
 
-import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.annotation.Lazy;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
-import org.springframework.web.context.WebApplicationContext;
 import org.talend.dataprep.api.dataset.ColumnMetadata;
-import org.talend.dataprep.api.dataset.DataSet;
+import org.talend.dataprep.api.dataset.DataSetMetadata;
 import org.talend.dataprep.api.dataset.RowMetadata;
 import org.talend.dataprep.api.dataset.row.DataSetRow;
-import org.talend.dataprep.command.dataset.DataSetGet;
-import org.talend.dataprep.exception.TDPException;
-import org.talend.dataprep.exception.error.TransformationErrorCodes;
-
-import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
 /**
- *
+ * A {@link LookupRowMatcher} for lookup datasets of the dataset service: matching rows are read from a
+ * {@link LookupIndex} shared by all the matchers of the same dataset, join column and selected columns (see
+ * {@link LookupIndexManager}). Only the columns selected by the lookup action are loaded in the index, hence in the
+ * matching rows.
  */
 @Component
 @Scope("prototype")
@@ -54,30 +45,28 @@ public class DataSetLookupRowMatcher implements DisposableBean, LookupRowMatcher
     /** This class' logger. */
     private static final Logger LOGGER = LoggerFactory.getLogger(DataSetLookupRowMatcher.class);
 
-    /** The dataprep ready jackson builder. */
-    @Autowired
-    @Lazy // needed to prevent a circular dependency
-    private ObjectMapper mapper;
-
-    /** The Spring application context. */
+    /** The shared lookup indexes. */
     @Autowired
-    private WebApplicationContext context;
+    private LookupIndexManager indexManager;
 
     /** The dataset id to lookup. */
     private String datasetId;
 
-    /** The dataset lookup input stream. */
-    private InputStream input;
+    /** The ids of the lookup columns added by the action. */
+    private List<String> selectedColumns;
+
+    /** The lookup dataset metadata (when this matcher was created). */
+    private DataSetMetadata metadata;
+
+    /** The column the index is built on. */
+    private String indexedColumn;
 
-    /** Lookup row iterator. */
-    private Iterator<DataSetRow> lookupIterator;
+    /** The lookup index (created on first lookup). */
+    private LookupIndex index;
 
     /** Default empty row for the parsed lookup dataset. */
     private DataSetRow emptyRow;
 
-    /** Cache of dataset row. */
-    private Map<String, DataSetRow> cache = new HashMap<>();
-
     /**
      * Default constructor.
      *
@@ -85,44 +74,32 @@ public class DataSetLookupRowMatcher implements DisposableBean, LookupRowMatcher
      */
     public DataSetLookupRowMatcher(Map<String, String> parameters) {
         this.datasetId = parameters.get(LOOKUP_DS_ID.getKey());
+        this.selectedColumns = Lookup.getColsToAdd(parameters).stream() //
+                .map(LookupSelectedColumnParameter::getId) //
+                .collect(Collectors.toList());
     }
 
     /**
-     * Open the connection to get the dataset content and init the row iterator.
+     * Get the current version of the lookup dataset.
      */
     @PostConstruct
     private void init() {
-
-        final DataSetGet dataSetGet = context.getBean(DataSetGet.class, datasetId, true, true);
-
         LOGGER.debug("opening {}", datasetId);
-
-        this.input = dataSetGet.execute();
-        try {
-            JsonParser jsonParser = mapper.getFactory().createParser(input);
-            DataSet lookup = mapper.readerFor(DataSet.class).readValue(jsonParser);
-            this.lookupIterator = lookup.getRecords().iterator();
-            this.emptyRow = getEmptyRow(lookup.getMetadata().getRowMetadata().getColumns());
-        } catch (IOException e) {
-            throw new TDPException(TransformationErrorCodes.UNABLE_TO_READ_LOOKUP_DATASET, e);
-        }
+        this.metadata = indexManager.getMetadata(datasetId);
+        this.emptyRow = getEmptyRow(metadata.getRowMetadata().getColumns());
     }
 
     /**
-     * Gently close the input stream as well as the http client.
+     * Release the lookup index (it is still available for other matchers).
      */
     @Override
     public void destroy() {
-        try {
-            input.close();
-        } catch (IOException e) {
-            LOGGER.warn("Error cleaning LookupRowMatcher", e);
-        }
-        LOGGER.debug("connection to {} closed", datasetId);
+        index = null;
+        LOGGER.debug("lookup index of {} released", datasetId);
     }
 
     /**
-     * Return the matching row from the loaded dataset.
+     * Return the matching row from the lookup index.
      *
      * @param joinOn the column id to join on.
      * @param joinValue the join value.
@@ -136,32 +113,25 @@ public class DataSetLookupRowMatcher implements DisposableBean, LookupRowMatcher
             return emptyRow;
         }
 
-        // first, let's look in the cache
-        if (cache.containsKey(joinValue)) {
-            return cache.get(joinValue);
+        if (index == null || !joinOn.equals(indexedColumn)) {
+            index = indexManager.getIndex(metadata, joinOn, selectedColumns);
+            indexedColumn = joinOn;
         }
 
-        // if the value is not cached, let's update the cache
-        while (lookupIterator.hasNext()) {
-            DataSetRow nextRow = lookupIterator.next();
-            final String nextRowJoinValue = nextRow.get(joinOn);
-
-            // update the cache no matter what so that the next joinValue may be already cached !
-            if (!cache.containsKey(nextRowJoinValue)) {
-                cache.put(nextRowJoinValue, nextRow.clone());
-                LOGGER.trace("row found and cached for {} -> {}", nextRowJoinValue, nextRow.values());
-            }
-
-            // if matching row is found, let's stop here
-            if (StringUtils.equals(joinValue, nextRowJoinValue)) {
-                return nextRow;
-            }
+        final Map<String, String> values = index.get(joinValue);
+        if (values == null) {
+            LOGGER.trace("no row found for {}, returning an empty row", joinValue);
+            return this.emptyRow;
         }
-
-        // the join value was not found and the cache is fully updated, so let's cache an empty row and return it
-        cache.put(joinValue, this.emptyRow);
-        LOGGER.trace("no row found for {}, returning an empty row", joinValue);
-        return this.emptyRow;
+        LOGGER.trace("row found for {} -> {}", joinValue, values);
+        final DataSetRow matchingRow = new DataSetRow(emptyRow.getRowMetadata());
+        values.forEach((column, value) -> {
+            // null values are left unset (DataSetRow(RowMetadata, Map) would store them as "null")
+            if (value != null) {
+                matchingRow.set(column, value);
+            }
+        });
+        return matchingRow;
     }
 
     @Override
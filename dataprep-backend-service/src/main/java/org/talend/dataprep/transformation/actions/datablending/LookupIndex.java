@@ -0,0 +1,452 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.actions.datablending;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+
+/**
+ * <p>
+ * A read only hash index of a lookup dataset on one of its columns, stored on disk and memory mapped, so it can be
+ * shared by all the {@link Lookup} actions (and executions) that join on the same dataset and column.
+ * </p>
+ * <p>
+ * The index is made of two files:
+ * <ul>
+ * <li><code>name.data</code>: the rows, one record per row with the join value followed by the values of the indexed
+ * columns (each one as its length and its UTF-8 bytes).</li>
+ * <li><code>name.index</code>: a header with the indexed columns followed by the hash tables of the partitions, each
+ * slot holding the hash of a join value and the position of its record in the data file.</li>
+ * </ul>
+ * Only the first row of a join value is indexed (as a lookup returns the first matching row). Files are built with
+ * temporary names and then renamed, so an existing index file is always complete.
+ * </p>
+ * <p>
+ * Join values are hash partitioned (as in a grace hash join): while rows are read, the positions of their records are
+ * spilled to one temporary file per partition, then hash tables are built one partition at a time. The heap used does
+ * not depend on the number of rows, and the size of a partition hash table (hence the memory needed to build it) is
+ * bounded by the number of partitions (see {@link #partitions(long, long)}). Rows to join do not need to be
+ * partitioned: they probe the (memory mapped) index in their order.
+ * </p>
+ * <p>
+ * This class is thread safe once opened.
+ * </p>
+ */
+public class LookupIndex {
+
+    /** Extension of the data file. */
+    static final String DATA_EXTENSION = ".data";
+
+    /** Extension of the index file. */
+    static final String INDEX_EXTENSION = ".index";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LookupIndex.class);
+
+    /** Identifies the index file format. */
+    private static final int MAGIC = 0x4C4B5032;
+
+    /** Size of a data file segment (a mapped buffer can not exceed 2GB). Records never overlap two segments. */
+    private static final long SEGMENT_SIZE = 1L << 30;
+
+    /** Size of a hash table slot: hash (int) and position of record + 1 (long, 0 for an empty slot). */
+    private static final int SLOT_SIZE = 12;
+
+    /** Maximum number of partitions. */
+    private static final int MAX_PARTITIONS = 1 << 10;
+
+    /** Zeros written at the end of a segment. */
+    private static final byte[] PADDING = new byte[8192];
+
+    /** Indexed columns (values of a record are in this order). */
+    private final List<String> columns;
+
+    /** Data file, split in {@link #SEGMENT_SIZE} mapped segments. */
+    private final MappedByteBuffer[] segments;
+
+    /** The hash table of each partition. */
+    private final MappedByteBuffer[] tables;
+
+    /** Number of bits of a hash used to select a partition. */
+    private final int partitionBits;
+
+    private final long size;
+
+    private LookupIndex(List<String> columns, MappedByteBuffer[] segments, MappedByteBuffer[] tables, long size) {
+        this.columns = columns;
+        this.segments = segments;
+        this.tables = tables;
+        this.partitionBits = Integer.numberOfTrailingZeros(tables.length);
+        this.size = size;
+    }
+
+    /**
+     * Returns the number of partitions so that the hash table of a partition fits in the given memory budget.
+     *
+     * @param rows The (estimated) number of rows in the lookup dataset.
+     * @param memoryBudget The maximum size (in bytes) of the hash table of a partition.
+     * @return The number of partitions (a power of 2).
+     */
+    static int partitions(long rows, long memoryBudget) {
+        // Hash tables have at most 4 slots per row
+        final long rowsPerPartition = Math.max(1, memoryBudget / (4 * SLOT_SIZE));
+        final long partitions = Math.max(0, rows) / rowsPerPartition + (rows % rowsPerPartition == 0 ? 0 : 1);
+        if (partitions <= 1) {
+            return 1;
+        }
+        return (int) Math.min(MAX_PARTITIONS, Long.highestOneBit(partitions - 1) << 1);
+    }
+
+    /**
+     * Builds the index files of the given rows (in a single partition).
+     *
+     * @see #build(Path, String, Iterator, String, List, int)
+     */
+    static void build(Path directory, String name, Iterator<DataSetRow> rows, String joinOn, List<String> columns)
+            throws IOException {
+        build(directory, name, rows, joinOn, columns, 1);
+    }
+
+    /**
+     * Builds the index files of the given rows.
+     *
+     * @param directory Where index files are stored.
+     * @param name The name of the index files.
+     * @param rows The rows of the lookup dataset.
+     * @param joinOn The id of the column to index.
+     * @param columns The ids of the columns to store in the index.
+     * @param partitions The number of partitions (see {@link #partitions(long, long)}).
+     * @throws IOException If index files can not be written.
+     */
+    static void build(Path directory, String name, Iterator<DataSetRow> rows, String joinOn, List<String> columns,
+            int partitions) throws IOException {
+        Files.createDirectories(directory);
+        final int partitionCount = Integer.highestOneBit(Math.max(1, Math.min(MAX_PARTITIONS, partitions)));
+        final int partitionBits = Integer.numberOfTrailingZeros(partitionCount);
+        final String suffix = ".tmp-" + UUID.randomUUID();
+        final Path dataFile = directory.resolve(name + DATA_EXTENSION);
+        final Path indexFile = directory.resolve(name + INDEX_EXTENSION);
+        final Path tmpDataFile = directory.resolve(name + DATA_EXTENSION + suffix);
+        final Path tmpIndexFile = directory.resolve(name + INDEX_EXTENSION + suffix);
+        final Path[] positionFiles = new Path[partitionCount];
+        for (int i = 0; i < partitionCount; i++) {
+            positionFiles[i] = directory.resolve(name + ".positions-" + i + suffix);
+        }
+        try {
+            // Write records and spill their positions to the file of their partition
+            final long[] counts = new long[partitionCount];
+            final DataOutputStream[] positions = new DataOutputStream[partitionCount];
+            try (DataOutputStream output = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(tmpDataFile), 64 * 1024))) {
+                for (int i = 0; i < partitionCount; i++) {
+                    positions[i] = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(positionFiles[i])));
+                }
+                final ByteArrayOutputStream recordBytes = new ByteArrayOutputStream();
+                final DataOutputStream record = new DataOutputStream(recordBytes);
+                long position = 0;
+                while (rows.hasNext()) {
+                    final DataSetRow row = rows.next();
+                    final String joinValue = row.get(joinOn);
+                    if (joinValue == null) {
+                        continue;
+                    }
+                    recordBytes.reset();
+                    writeString(record, joinValue);
+                    for (String column : columns) {
+                        writeString(record, row.get(column));
+                    }
+                    if (recordBytes.size() > SEGMENT_SIZE) {
+                        throw new IOException("Lookup row for '" + joinValue + "' is too large to be indexed.");
+                    }
+                    // Start a new segment if record does not fit in current one
+                    final long segmentEnd = (position / SEGMENT_SIZE + 1) * SEGMENT_SIZE;
+                    if (position + recordBytes.size() > segmentEnd) {
+                        while (position < segmentEnd) {
+                            final int padding = (int) Math.min(PADDING.length, segmentEnd - position);
+                            output.write(PADDING, 0, padding);
+                            position += padding;
+                        }
+                    }
+                    final int partition = partition(hash(joinValue), partitionBits);
+                    positions[partition].writeLong(position);
+                    counts[partition]++;
+                    recordBytes.writeTo(output);
+                    position += recordBytes.size();
+                }
+            } finally {
+                for (DataOutputStream partitionPositions : positions) {
+                    if (partitionPositions != null) {
+                        partitionPositions.close();
+                    }
+                }
+            }
+
+            // Write hash tables, one partition at a time (first row wins when join values are the same)
+            final MappedByteBuffer[] segments = mapSegments(tmpDataFile);
+            long size = 0;
+            long count = 0;
+            try (RandomAccessFile file = new RandomAccessFile(tmpIndexFile.toFile(), "rw")) {
+                file.writeInt(MAGIC);
+                file.writeInt(columns.size());
+                for (String column : columns) {
+                    file.writeUTF(column);
+                }
+                file.writeInt(partitionCount);
+                final int[] capacities = new int[partitionCount];
+                for (int i = 0; i < partitionCount; i++) {
+                    final long slotCount = Long.highestOneBit(Math.max(16L, counts[i] * 2L - 1)) << 1;
+                    if (slotCount * SLOT_SIZE > Integer.MAX_VALUE) {
+                        throw new IOException("Too many lookup rows to be indexed in " + partitionCount
+                                + " partition(s) (" + counts[i] + " in partition #" + i + ").");
+                    }
+                    capacities[i] = (int) slotCount;
+                    file.writeInt(capacities[i]);
+                }
+                final long sizesPosition = file.getFilePointer();
+                for (int i = 0; i < partitionCount; i++) {
+                    file.writeLong(0);
+                }
+                long tablePosition = file.getFilePointer();
+                long length = tablePosition;
+                for (int capacity : capacities) {
+                    length += (long) capacity * SLOT_SIZE;
+                }
+                file.setLength(length);
+
+                final long[] sizes = new long[partitionCount];
+                for (int i = 0; i < partitionCount; i++) {
+                    final long tableSize = (long) capacities[i] * SLOT_SIZE;
+                    final MappedByteBuffer table = file.getChannel().map(FileChannel.MapMode.READ_WRITE, tablePosition,
+                            tableSize);
+                    try (DataInputStream partitionPositions = new DataInputStream(
+                            new BufferedInputStream(Files.newInputStream(positionFiles[i]), 64 * 1024))) {
+                        for (long j = 0; j < counts[i]; j++) {
+                            if (insert(table, segments, partitionPositions.readLong())) {
+                                sizes[i]++;
+                            }
+                        }
+                    }
+                    table.force();
+                    tablePosition += tableSize;
+                    size += sizes[i];
+                    count += counts[i];
+                    // Positions of this partition are no longer needed
+                    Files.deleteIfExists(positionFiles[i]);
+                }
+                file.seek(sizesPosition);
+                for (long partitionSize : sizes) {
+                    file.writeLong(partitionSize);
+                }
+            }
+
+            // Index file is the last one renamed: if it exists, data file is complete
+            Files.move(tmpDataFile, dataFile, ATOMIC_MOVE);
+            Files.move(tmpIndexFile, indexFile, ATOMIC_MOVE);
+            LOGGER.debug("Lookup index {} built ({} distinct values out of {} rows, {} partition(s)).", name, size,
+                    count, partitionCount);
+        } finally {
+            Files.deleteIfExists(tmpDataFile);
+            Files.deleteIfExists(tmpIndexFile);
+            for (Path positionFile : positionFiles) {
+                Files.deleteIfExists(positionFile);
+            }
+        }
+    }
+
+    /**
+     * Opens existing index files.
+     *
+     * @param directory Where index files are stored.
+     * @param name The name of the index files.
+     * @return The index, or <code>null</code> if index files do not exist (or are in an outdated format).
+     * @throws IOException If index files can not be read.
+     */
+    static LookupIndex open(Path directory, String name) throws IOException {
+        final Path dataFile = directory.resolve(name + DATA_EXTENSION);
+        final Path indexFile = directory.resolve(name + INDEX_EXTENSION);
+        if (!Files.exists(indexFile)) {
+            return null;
+        }
+        try (RandomAccessFile file = new RandomAccessFile(indexFile.toFile(), "r")) {
+            if (file.readInt() != MAGIC) {
+                LOGGER.debug("Lookup index {} has an outdated format.", name);
+                return null;
+            }
+            final int columnCount = file.readInt();
+            final List<String> columns = new ArrayList<>(columnCount);
+            for (int i = 0; i < columnCount; i++) {
+                columns.add(file.readUTF());
+            }
+            final int partitionCount = file.readInt();
+            final int[] capacities = new int[partitionCount];
+            for (int i = 0; i < partitionCount; i++) {
+                capacities[i] = file.readInt();
+            }
+            long size = 0;
+            for (int i = 0; i < partitionCount; i++) {
+                size += file.readLong();
+            }
+            long tablePosition = file.getFilePointer();
+            final MappedByteBuffer[] tables = new MappedByteBuffer[partitionCount];
+            for (int i = 0; i < partitionCount; i++) {
+                final long tableSize = (long) capacities[i] * SLOT_SIZE;
+                tables[i] = file.getChannel().map(FileChannel.MapMode.READ_ONLY, tablePosition, tableSize);
+                tablePosition += tableSize;
+            }
+            return new LookupIndex(Collections.unmodifiableList(columns), mapSegments(dataFile), tables, size);
+        }
+    }
+
+    /**
+     * @param joinValue A join value.
+     * @return The values (by column id) of the first row with this join value, <code>null</code> if there is none.
+     */
+    public Map<String, String> get(String joinValue) {
+        if (joinValue == null) {
+            return null;
+        }
+        final int hash = hash(joinValue);
+        final MappedByteBuffer table = tables[partition(hash, partitionBits)];
+        final int mask = table.capacity() / SLOT_SIZE - 1;
+        int slot = hash & mask;
+        while (true) {
+            final long position = table.getLong(slot * SLOT_SIZE + 4);
+            if (position == 0) {
+                return null;
+            }
+            if (table.getInt(slot * SLOT_SIZE) == hash) {
+                final List<String> record = readRecord(segments, position - 1, columns.size());
+                if (joinValue.equals(record.get(0))) {
+                    final Map<String, String> values = new HashMap<>(columns.size() * 2);
+                    for (int i = 0; i < columns.size(); i++) {
+                        values.put(columns.get(i), record.get(i + 1));
+                    }
+                    return values;
+                }
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * @return The ids of the columns stored in this index.
+     */
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    /**
+     * @return The number of distinct join values in this index.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * @return The number of partitions of this index.
+     */
+    public int getPartitions() {
+        return tables.length;
+    }
+
+    /**
+     * Inserts a record in a hash table, unless a record with the same join value is already there.
+     *
+     * @return <code>true</code> if record was inserted.
+     */
+    private static boolean insert(MappedByteBuffer table, MappedByteBuffer[] segments, long position) {
+        final String joinValue = readRecord(segments, position, 0).get(0);
+        final int hash = hash(joinValue);
+        final int mask = table.capacity() / SLOT_SIZE - 1;
+        int slot = hash & mask;
+        while (true) {
+            final long slotPosition = table.getLong(slot * SLOT_SIZE + 4);
+            if (slotPosition == 0) {
+                table.putInt(slot * SLOT_SIZE, hash);
+                table.putLong(slot * SLOT_SIZE + 4, position + 1);
+                return true;
+            }
+            if (table.getInt(slot * SLOT_SIZE) == hash
+                    && joinValue.equals(readRecord(segments, slotPosition - 1, 0).get(0))) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private static MappedByteBuffer[] mapSegments(Path dataFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(dataFile)) {
+            final long length = channel.size();
+            final MappedByteBuffer[] segments = new MappedByteBuffer[(int) ((length + SEGMENT_SIZE - 1) / SEGMENT_SIZE)];
+            for (int i = 0; i < segments.length; i++) {
+                final long start = i * SEGMENT_SIZE;
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(SEGMENT_SIZE, length - start));
+            }
+            return segments;
+        }
+    }
+
+    /**
+     * Reads the join value and the <code>valueCount</code> following values of a record.
+     */
+    private static List<String> readRecord(MappedByteBuffer[] segments, long position, int valueCount) {
+        // Duplicate the segment so concurrent readers do not share a buffer position
+        final ByteBuffer record = segments[(int) (position / SEGMENT_SIZE)].duplicate();
+        record.position((int) (position % SEGMENT_SIZE));
+        final List<String> values = new ArrayList<>(valueCount + 1);
+        for (int i = 0; i <= valueCount; i++) {
+            final int length = record.getInt();
+            if (length < 0) {
+                values.add(null);
+            } else {
+                final byte[] bytes = new byte[length];
+                record.get(bytes);
+                values.add(new String(bytes, UTF_8));
+            }
+        }
+        return values;
+    }
+
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        if (value == null) {
+            output.writeInt(-1);
+        } else {
+            final byte[] bytes = value.getBytes(UTF_8);
+            output.writeInt(bytes.length);
+            output.write(bytes);
+        }
+    }
+
+    private static int hash(String value) {
+        final int hash = value.hashCode() * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * @return The partition of a hash (its high bits, slots of a partition hash table use the low bits).
+     */
+    private static int partition(int hash, int partitionBits) {
+        return partitionBits == 0 ? 0 : hash >>> (32 - partitionBits);
+    }
+}
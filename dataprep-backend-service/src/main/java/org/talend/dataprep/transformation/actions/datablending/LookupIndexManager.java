@@ -0,0 +1,255 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.actions.datablending;
+
+import static org.talend.daikon.exception.ExceptionContext.build;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.talend.dataprep.api.dataset.ColumnMetadata;
+import org.talend.dataprep.api.dataset.DataSet;
+import org.talend.dataprep.api.dataset.DataSetContent;
+import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.command.dataset.DataSetGet;
+import org.talend.dataprep.command.dataset.DataSetGetMetadata;
+import org.talend.dataprep.exception.TDPException;
+import org.talend.dataprep.exception.error.TransformationErrorCodes;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * <p>
+ * Manages the {@link LookupIndex lookup indexes} shared by all {@link DataSetLookupRowMatcher row matchers}: an index
+ * is built once per lookup dataset, content version (the last modification date of the dataset and the metadata
+ * that changes how its content is read: content parameters, encoding, sheet name and limit), join column and selected
+ * columns, and then reused by all executions (including after a restart, as index files are kept on disk).
+ * </p>
+ * <p>
+ * An index is built by the first lookup that needs it, other lookups that need the same index wait for this build
+ * (lookups on other indexes are not blocked).
+ * </p>
+ * <p>
+ * Only the join column and the selected columns are requested to the dataset service and stored in the index, so its
+ * size depends on the columns actually used by lookups, not on the width of the lookup dataset.
+ * </p>
+ * <p>
+ * When the lookup dataset is modified, the next lookup builds an index for the new content version, and the indexes
+ * of previous versions are removed.
+ * </p>
+ */
+@Component
+public class LookupIndexManager {
+
+    /** This class' logger. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(LookupIndexManager.class);
+
+    /** The dataprep ready jackson builder. */
+    @Autowired
+    @Lazy // needed to prevent a circular dependency
+    private ObjectMapper mapper;
+
+    /** The Spring application context. */
+    @Autowired
+    private ApplicationContext context;
+
+    /** Where lookup indexes are stored. */
+    @Value("${lookup.index.location:/tmp/dataprep/lookup}")
+    private String location;
+
+    /** Maximum size (in bytes) of the hash table built at once (index is partitioned above it). */
+    @Value("${lookup.index.memory.budget:268435456}")
+    private long memoryBudget;
+
+    /** Opened (or being built) indexes, by name. */
+    private final ConcurrentMap<String, CompletableFuture<LookupIndex>> indexes = new ConcurrentHashMap<>();
+
+    /**
+     * @param datasetId The lookup dataset id.
+     * @return The current metadata of the lookup dataset.
+     */
+    public DataSetMetadata getMetadata(String datasetId) {
+        final DataSetMetadata metadata = context.getBean(DataSetGetMetadata.class, datasetId).execute();
+        if (metadata == null) {
+            throw new TDPException(TransformationErrorCodes.UNABLE_TO_READ_LOOKUP_DATASET, build().put("id", datasetId));
+        }
+        return metadata;
+    }
+
+    /**
+     * Returns the index of a lookup dataset on a column, built if needed.
+     *
+     * @param metadata The lookup dataset metadata (see {@link #getMetadata(String)}).
+     * @param joinOn The id of the column to join on.
+     * @param selectedColumns The ids of the columns to store in the index (all columns if empty).
+     * @return The index of the current content of the lookup dataset.
+     */
+    public LookupIndex getIndex(DataSetMetadata metadata, String joinOn, List<String> selectedColumns) {
+        final List<String> columns;
+        if (selectedColumns.isEmpty()) {
+            columns = metadata.getRowMetadata().getColumns().stream() //
+                    .map(ColumnMetadata::getId) //
+                    .collect(Collectors.toList());
+        } else {
+            columns = selectedColumns.stream().distinct().sorted().collect(Collectors.toList());
+        }
+        final String prefix = metadata.getId() + '_' + joinOn.replaceAll("[^A-Za-z0-9]", "-") + '_';
+        final String version = prefix + metadata.getLastModificationDate() + '_' + getContentHash(metadata) + '_';
+        final String name = version + Integer.toHexString(columns.hashCode());
+        while (true) {
+            final CompletableFuture<LookupIndex> current = indexes.get(name);
+            final CompletableFuture<LookupIndex> future = new CompletableFuture<>();
+            if (current == null) {
+                if (indexes.putIfAbsent(name, future) == null) {
+                    return buildIndex(future, metadata, joinOn, columns, name, prefix, version);
+                }
+            } else {
+                final LookupIndex index = join(current);
+                if (index.getColumns().equals(columns)) {
+                    return index;
+                }
+                // Same name for other columns: replace index
+                if (indexes.replace(name, current, future)) {
+                    return buildIndex(future, metadata, joinOn, columns, name, prefix, version);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param metadata The lookup dataset metadata.
+     * @return A hash of the metadata that changes how content is read (such changes do not update the last modification
+     * date of the dataset).
+     */
+    private static String getContentHash(DataSetMetadata metadata) {
+        final DataSetContent content = metadata.getContent();
+        final int hash;
+        if (content == null) {
+            hash = Objects.hash(metadata.getEncoding(), metadata.getSheetName());
+        } else {
+            hash = Objects.hash(metadata.getEncoding(), metadata.getSheetName(), content.getParameters(),
+                    content.getFormatFamilyId(), content.getMediaType(), content.getNbLinesInHeader(),
+                    content.getNbLinesInFooter(), content.getLimit());
+        }
+        return Integer.toHexString(hash);
+    }
+
+    /**
+     * Builds (or opens) an index outside of any lock on opened indexes, and completes the future other lookups wait for.
+     */
+    private LookupIndex buildIndex(CompletableFuture<LookupIndex> future, DataSetMetadata metadata, String joinOn,
+            List<String> columns, String name, String prefix, String version) {
+        final LookupIndex index;
+        try {
+            index = openOrBuild(metadata, joinOn, columns, name);
+        } catch (RuntimeException e) {
+            // Next lookup tries again
+            indexes.remove(name, future);
+            future.completeExceptionally(e);
+            throw e;
+        }
+        future.complete(index);
+        invalidate(prefix, version);
+        return index;
+    }
+
+    /**
+     * Waits for an index being built by another lookup.
+     */
+    private static LookupIndex join(CompletableFuture<LookupIndex> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private LookupIndex openOrBuild(DataSetMetadata metadata, String joinOn, List<String> columns, String name) {
+        final Path directory = Paths.get(location);
+        try {
+            final LookupIndex existing = LookupIndex.open(directory, name);
+            if (existing != null && existing.getColumns().equals(columns)) {
+                LOGGER.debug("Lookup index {} opened.", name);
+                return existing;
+            }
+            LOGGER.debug("Building lookup index {} of dataset #{} on column '{}' with columns {}.", name, metadata.getId(),
+                    joinOn, columns);
+            // Only get the needed columns
+            final List<String> requestedColumns = new ArrayList<>(columns);
+            if (!requestedColumns.contains(joinOn)) {
+                requestedColumns.add(joinOn);
+            }
+            final DataSetGet dataSetGet = context.getBean(DataSetGet.class, metadata.getId(), true, true, requestedColumns);
+            try (InputStream input = dataSetGet.execute()) {
+                final JsonParser jsonParser = mapper.getFactory().createParser(input);
+                final DataSet lookup = mapper.readerFor(DataSet.class).readValue(jsonParser);
+                final Iterator<DataSetRow> rows = lookup.getRecords().iterator();
+                final long estimatedRows = metadata.getContent() == null ? 0 : metadata.getContent().getNbRecords();
+                final int partitions = LookupIndex.partitions(estimatedRows, memoryBudget);
+                LookupIndex.build(directory, name, rows, joinOn, columns, partitions);
+            }
+            return LookupIndex.open(directory, name);
+        } catch (IOException e) {
+            throw new TDPException(TransformationErrorCodes.UNABLE_TO_READ_LOOKUP_DATASET, e,
+                    build().put("id", metadata.getId()));
+        }
+    }
+
+    /**
+     * Removes indexes (opened and on disk) of previous versions of a lookup dataset.
+     *
+     * @param prefix The prefix of the index names of the lookup dataset and join column.
+     * @param current The prefix of the index names of the current version.
+     */
+    private void invalidate(String prefix, String current) {
+        indexes.keySet().removeIf(name -> name.startsWith(prefix) && !name.startsWith(current));
+        final Path directory = Paths.get(location);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, prefix + "*")) {
+            for (Path file : files) {
+                final String fileName = file.getFileName().toString();
+                if (!fileName.startsWith(current) && !fileName.contains(".tmp-")) {
+                    // Matchers still using an old index keep their mapping of the deleted file
+                    Files.deleteIfExists(file);
+                    LOGGER.debug("Outdated lookup index file {} deleted.", file);
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Unable to delete outdated lookup indexes {}*.", prefix, e);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.cache.file;
+
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.apache.commons.io.output.CountingOutputStream;
+import org.talend.dataprep.cache.ContentCache;
+import org.talend.dataprep.cache.ContentCacheKey;
+
+/**
+ * Compares write/read throughput of {@link FileSystemContentCache} with and without entry compression. Content mimics
+ * a preparation output (metadata followed by records with a mix of repeated and distinct values).
+ * <p>
+ * Not a unit test: run the main method (optional arguments: number of records, number of reads).
+ * </p>
+ */
+public class CompressedEntriesBenchmark {
+
+    private static final String[] CITIES = { "Paris", "Nantes", "Suresnes", "Lyon", "Bordeaux", "Lille", "Redwood City" };
+
+    private static final String[] STATES = { "Ile-de-France", "Pays de la Loire", "California", "Gironde" };
+
+    public static void main(String[] args) throws Exception {
+        final int records = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+        final int reads = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        for (boolean compression : new boolean[] { false, true }) {
+            final FileSystemContentCache cache = new FileSystemContentCache("target/cache/benchmark", -1, compression);
+            try {
+                run(cache, compression, records, reads);
+            } finally {
+                cache.clear();
+            }
+        }
+    }
+
+    private static void run(FileSystemContentCache cache, boolean compression, int records, int reads) throws Exception {
+        final ContentCacheKey key = new DummyCacheKey("benchmark");
+        // Write
+        long start = System.nanoTime();
+        final long contentLength;
+        try (CountingOutputStream counting = new CountingOutputStream(cache.put(key, ContentCache.TimeToLive.DEFAULT));
+                Writer writer = new OutputStreamWriter(counting, StandardCharsets.UTF_8)) {
+            writePreparationOutput(writer, records);
+            writer.flush();
+            contentLength = counting.getByteCount();
+        }
+        final long writeTime = System.nanoTime() - start;
+        // Read (warm up with a first read)
+        read(cache, key);
+        start = System.nanoTime();
+        for (int i = 0; i < reads; i++) {
+            read(cache, key);
+        }
+        final long readTime = (System.nanoTime() - start) / reads;
+
+        System.out.println(String.format("compression=%-5s content=%,d bytes stored=%,d bytes write=%,.1f MB/s read=%,.1f MB/s",
+                compression, contentLength, cache.getSize(), throughput(contentLength, writeTime),
+                throughput(contentLength, readTime)));
+    }
+
+    private static void read(ContentCache cache, ContentCacheKey key) throws Exception {
+        final byte[] buffer = new byte[8192];
+        try (InputStream input = cache.get(key)) {
+            while (input.read(buffer) >= 0) {
+                // Consume content
+            }
+        }
+    }
+
+    private static double throughput(long bytes, long nanos) {
+        return (bytes / (1024d * 1024d)) / (nanos / 1_000_000_000d);
+    }
+
+    private static void writePreparationOutput(Writer writer, int records) throws Exception {
+        final Random random = new Random(0);
+        writer.write("{\"metadata\":{\"columns\":[");
+        writer.write("{\"id\":\"0000\",\"name\":\"id\",\"type\":\"integer\"},");
+        writer.write("{\"id\":\"0001\",\"name\":\"name\",\"type\":\"string\"},");
+        writer.write("{\"id\":\"0002\",\"name\":\"city\",\"type\":\"string\",\"domain\":\"CITY\"},");
+        writer.write("{\"id\":\"0003\",\"name\":\"state\",\"type\":\"string\",\"domain\":\"US_STATE\"},");
+        writer.write("{\"id\":\"0004\",\"name\":\"amount\",\"type\":\"double\"}]},\"records\":[");
+        for (int i = 0; i < records; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write("{\"0000\":\"" + i + "\",\"0001\":\"" + String.valueOf((char) ('a' + random.nextInt(26)))
+                    + "customer-" + random.nextInt(10000) + "\",\"0002\":\"" + CITIES[random.nextInt(CITIES.length)]
+                    + "\",\"0003\":\"" + STATES[random.nextInt(STATES.length)] + "\",\"0004\":\""
+                    + (random.nextInt(100000) / 100d) + "\",\"tdpId\":" + (i + 1) + "}");
+        }
+        writer.write("]}");
+    }
+}
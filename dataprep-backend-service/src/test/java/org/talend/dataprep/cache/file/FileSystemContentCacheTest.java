@@ -251,6 +251,120 @@ public class FileSystemContentCacheTest {
         Assert.assertTrue(cache.has(key2));
     }
 
+    @Test
+    public void testIndexRebuiltOnStartup() throws Exception {
+        // given
+        final ContentCacheKey key = new DummyCacheKey("restart");
+        final ContentCacheKey evicted = new DummyCacheKey("restart evicted");
+        addCacheEntry(key, "content", ContentCache.TimeToLive.DEFAULT);
+        addCacheEntry(evicted, "evicted content", ContentCache.TimeToLive.PERMANENT);
+        cache.evict(evicted);
+
+        // when
+        final FileSystemContentCache restarted = new FileSystemContentCache(TEST_DIRECTORY);
+
+        // then
+        Assert.assertTrue(restarted.has(key));
+        Assert.assertThat(IOUtils.toString(restarted.get(key)), is("content"));
+        Assert.assertFalse(restarted.has(evicted));
+    }
+
+    @Test
+    public void testEntryWrittenByOtherCache() throws Exception {
+        // given
+        final ContentCacheKey permanent = new DummyCacheKey("other permanent");
+        final ContentCacheKey expiring = new DummyCacheKey("other expiring");
+        Assert.assertFalse(cache.has(permanent));
+        final FileSystemContentCache other = new FileSystemContentCache(TEST_DIRECTORY);
+
+        // when
+        try (OutputStream entry = other.put(permanent, ContentCache.TimeToLive.PERMANENT)) {
+            entry.write("permanent content".getBytes());
+        }
+        try (OutputStream entry = other.put(expiring, ContentCache.TimeToLive.DEFAULT)) {
+            entry.write("expiring content".getBytes());
+        }
+
+        // then
+        Assert.assertTrue(cache.has(permanent));
+        Assert.assertThat(IOUtils.toString(cache.get(permanent)), is("permanent content"));
+        Assert.assertThat(IOUtils.toString(cache.get(expiring)), is("expiring content"));
+        Assert.assertTrue(cache.getSize() > 0);
+
+        // when
+        other.evict(expiring);
+
+        // then
+        Assert.assertFalse(cache.has(expiring));
+    }
+
+    @Test
+    public void testEvictByPrefix() throws Exception {
+        // given
+        final ContentCacheKey key = new DummyCacheKey("prefix");
+        addCacheEntry(key, "content", ContentCache.TimeToLive.DEFAULT);
+
+        // when
+        cache.evict(() -> "DummyCacheKey_pre");
+
+        // then
+        Assert.assertFalse(cache.has(key));
+    }
+
+    @Test
+    public void testEvictLeastRecentlyUsedWhenOverBudget() throws Exception {
+        // given
+        cache = new FileSystemContentCache(TEST_DIRECTORY, 25, false);
+        final ContentCacheKey key1 = new DummyCacheKey("budget1");
+        final ContentCacheKey key2 = new DummyCacheKey("budget2");
+        final ContentCacheKey key3 = new DummyCacheKey("budget3");
+        addCacheEntry(key1, "0123456789", ContentCache.TimeToLive.DEFAULT);
+        addCacheEntry(key2, "0123456789", ContentCache.TimeToLive.DEFAULT);
+        Assert.assertTrue(cache.has(key1)); // key2 is now the least recently used entry
+
+        // when
+        addCacheEntry(key3, "0123456789", ContentCache.TimeToLive.DEFAULT);
+
+        // then
+        Assert.assertTrue(cache.has(key1));
+        Assert.assertFalse(cache.has(key2));
+        Assert.assertTrue(cache.has(key3));
+        Assert.assertThat(cache.getEvictionCount(), is(1L));
+        Assert.assertThat(cache.getSize(), is(20L));
+        Assert.assertThat(cache.getHitCount(), is(3L));
+        Assert.assertThat(cache.getMissCount(), is(1L));
+    }
+
+    @Test
+    public void testCompressedEntry() throws Exception {
+        // given
+        final ContentCacheKey key = new DummyCacheKey("compressed");
+        final String content = StringUtils.repeat("{\"0000\":\"value\",\"tdpId\":1}", 100);
+
+        // when
+        addCacheEntry(key, content, ContentCache.TimeToLive.DEFAULT);
+
+        // then
+        Assert.assertThat(IOUtils.toString(cache.get(key)), is(content));
+        Assert.assertTrue(cache.getSize() < content.length() / 5);
+    }
+
+    @Test
+    public void testReadUncompressedEntry() throws Exception {
+        // given
+        final ContentCacheKey key = new DummyCacheKey("uncompressed");
+        final FileSystemContentCache uncompressed = new FileSystemContentCache(TEST_DIRECTORY, -1, false);
+        try (OutputStream entry = uncompressed.put(key, ContentCache.TimeToLive.DEFAULT)) {
+            entry.write("{\"records\":[]}".getBytes());
+        }
+
+        // when
+        final FileSystemContentCache compressed = new FileSystemContentCache(TEST_DIRECTORY);
+
+        // then
+        Assert.assertThat(IOUtils.toString(compressed.get(key)), is("{\"records\":[]}"));
+    }
+
     /**
      * Add the cache entry.
      *
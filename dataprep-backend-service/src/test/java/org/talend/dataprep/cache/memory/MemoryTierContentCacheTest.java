@@ -0,0 +1,178 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.cache.memory;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.talend.dataprep.cache.ContentCache;
+import org.talend.dataprep.cache.ContentCacheKey;
+import org.talend.dataprep.cache.file.DummyCacheKey;
+import org.talend.dataprep.cache.file.FileSystemContentCache;
+
+public class MemoryTierContentCacheTest {
+
+    private final AtomicInteger fileReads = new AtomicInteger();
+
+    private FileSystemContentCache fileCache;
+
+    private MemoryTierContentCache cache;
+
+    @Before
+    public void setUp() throws Exception {
+        fileCache = new FileSystemContentCache("target/cache/memory") {
+
+            @Override
+            public InputStream get(ContentCacheKey key) {
+                fileReads.incrementAndGet();
+                return super.get(key);
+            }
+        };
+        cache = new MemoryTierContentCache(fileCache, 1024);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        cache.clear();
+    }
+
+    @Test
+    public void shouldServeWrittenContentFromMemory() throws Exception {
+        // given
+        final ContentCacheKey key = new DummyCacheKey("write through");
+        put(key, "content");
+
+        // when
+        final String content = IOUtils.toString(cache.get(key));
+
+        // then
+        assertThat(content, is("content"));
+        assertThat(fileReads.get(), is(0));
+        assertThat(cache.getMemoryHitCount(), is(1L));
+    }
+
+    @Test
+    public void shouldPromoteOnSecondRead() throws Exception {
+        // given
+        final ContentCacheKey key = new DummyCacheKey("promotion");
+        try (OutputStream output = fileCache.put(key, ContentCache.TimeToLive.DEFAULT)) {
+            output.write("content".getBytes());
+        }
+
+        // when
+        assertThat(IOUtils.toString(cache.get(key)), is("content"));
+        assertThat(IOUtils.toString(cache.get(key)), is("content"));
+        assertThat(IOUtils.toString(cache.get(key)), is("content"));
+
+        // then
+        assertThat(fileReads.get(), is(2));
+        assertThat(cache.getMemoryHitCount(), is(1L));
+    }
+
+    @Test
+    public void shouldNotKeepLargeContentInMemory() throws Exception {
+        // given
+        final ContentCacheKey key = new DummyCacheKey("large");
+        final String largeContent = new String(new char[200]).replace('\0', 'a');
+        put(key, largeContent);
+
+        // when
+        assertThat(IOUtils.toString(cache.get(key)), is(largeContent));
+        assertThat(IOUtils.toString(cache.get(key)), is(largeContent));
+
+        // then
+        assertThat(fileReads.get(), is(2));
+        assertThat(cache.getSize(), is(0L));
+    }
+
+    @Test
+    public void shouldEvictFromMemory() throws Exception {
+        // given
+        final ContentCacheKey key = new DummyCacheKey("evict");
+        put(key, "content");
+
+        // when
+        cache.evict(key);
+
+        // then
+        assertThat(cache.has(key), is(false));
+        assertThat(cache.get(key), nullValue());
+        assertThat(cache.getSize(), is(0L));
+    }
+
+    @Test
+    public void shouldMoveInMemory() throws Exception {
+        // given
+        final ContentCacheKey from = new DummyCacheKey("from");
+        final ContentCacheKey to = new DummyCacheKey("to");
+        put(from, "content");
+
+        // when
+        cache.move(from, to, ContentCache.TimeToLive.DEFAULT);
+
+        // then
+        assertThat(cache.get(from), nullValue());
+        assertThat(IOUtils.toString(cache.get(to)), is("content"));
+        assertThat(cache.getMemoryHitCount(), is(1L));
+    }
+
+    @Test
+    public void shouldNotServeContentReplacedByOtherService() throws Exception {
+        // given
+        final ContentCacheKey key = new DummyCacheKey("replaced");
+        put(key, "content");
+        final FileSystemContentCache otherService = new FileSystemContentCache("target/cache/memory");
+
+        // when
+        try (OutputStream output = otherService.put(key, ContentCache.TimeToLive.DEFAULT)) {
+            output.write("other content".getBytes());
+        }
+
+        // then
+        assertThat(IOUtils.toString(cache.get(key)), is("other content"));
+        assertThat(fileReads.get(), is(1));
+        assertThat(cache.getMemoryHitCount(), is(0L));
+    }
+
+    @Test
+    public void shouldNotServeContentEvictedByOtherService() throws Exception {
+        // given
+        final ContentCacheKey key = new DummyCacheKey("evicted");
+        put(key, "content");
+        final FileSystemContentCache otherService = new FileSystemContentCache("target/cache/memory");
+
+        // when
+        otherService.evict(key);
+
+        // then
+        assertThat(cache.get(key), nullValue());
+        assertThat(cache.getSize(), is(0L));
+    }
+
+    private void put(ContentCacheKey key, String content) throws IOException {
+        try (OutputStream output = cache.put(key, ContentCache.TimeToLive.DEFAULT)) {
+            output.write(content.getBytes());
+        }
+    }
+}
@@ -0,0 +1,113 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.dataset.store.content.columnar;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.Iterator;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+
+public class ColumnarContentReaderTest {
+
+    private File file;
+
+    @Before
+    public void setUp() throws Exception {
+        file = File.createTempFile("columnar", ".tdpc");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        file.delete();
+    }
+
+    private void write(int rows, int rowGroupSize) throws Exception {
+        try (ColumnarContentWriter writer = new ColumnarContentWriter(new FileOutputStream(file), asList("0000", "0001"),
+                rowGroupSize)) {
+            for (int i = 0; i < rows; i++) {
+                final DataSetRow row = new DataSetRow(new RowMetadata());
+                row.set("0000", "value" + i);
+                if (i % 2 == 0) {
+                    row.set("0001", "even");
+                }
+                writer.write(row);
+            }
+        }
+    }
+
+    @Test
+    public void shouldReadWrittenRows() throws Exception {
+        // given
+        write(25, 10);
+
+        // when
+        try (ColumnarContentReader reader = ColumnarContentReader.open(file.toPath())) {
+            // then
+            assertThat(reader.getColumnIds(), is(asList("0000", "0001")));
+            assertThat(reader.getRowCount(), is(25L));
+            final Iterator<DataSetRow> iterator = reader.iterator(0, new RowMetadata());
+            int count = 0;
+            while (iterator.hasNext()) {
+                final DataSetRow row = iterator.next();
+                assertThat(row.get("0000"), is("value" + count));
+                if (count % 2 == 0) {
+                    assertThat(row.get("0001"), is("even"));
+                } else {
+                    assertThat(row.get("0001"), nullValue());
+                }
+                assertThat(row.getTdpId(), is((long) count + 1));
+                count++;
+            }
+            assertThat(count, is(25));
+        }
+    }
+
+    @Test
+    public void shouldSeekUsingRowIdIndex() throws Exception {
+        // given
+        write(25, 10);
+
+        // when
+        try (ColumnarContentReader reader = ColumnarContentReader.open(file.toPath())) {
+            final Iterator<DataSetRow> iterator = reader.iterator(13, new RowMetadata());
+
+            // then
+            final DataSetRow row = iterator.next();
+            assertThat(row.get("0000"), is("value13"));
+            assertThat(row.getTdpId(), is(14L));
+        }
+    }
+
+    @Test
+    public void shouldReadEmptyContent() throws Exception {
+        // given
+        write(0, 10);
+
+        // when
+        try (ColumnarContentReader reader = ColumnarContentReader.open(file.toPath())) {
+            // then
+            assertThat(reader.getRowCount(), is(0L));
+            assertThat(reader.iterator(0, new RowMetadata()).hasNext(), is(false));
+        }
+    }
+}
@@ -0,0 +1,82 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.dataset.store.content.columnar;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.talend.dataprep.api.dataset.ColumnMetadata.Builder.column;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.api.type.Type;
+
+public class InvalidMarkersTest {
+
+    private DataSetMetadata metadata;
+
+    private byte[] markers;
+
+    @Before
+    public void setUp() throws Exception {
+        metadata = new DataSetMetadata();
+        metadata.setRowMetadata(new RowMetadata(asList( //
+                column().id(0).name("id").type(Type.INTEGER).build(), //
+                column().id(1).name("name").type(Type.STRING).build())));
+
+        final DataSetRow valid = new DataSetRow(metadata.getRowMetadata());
+        final DataSetRow invalid = new DataSetRow(metadata.getRowMetadata());
+        invalid.setInvalid("0000");
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        InvalidMarkers.write(output, metadata, asList(valid, invalid).iterator());
+        markers = output.toByteArray();
+    }
+
+    @Test
+    public void shouldApplyStoredMarkers() throws Exception {
+        // given
+        try (InvalidMarkers invalidMarkers = InvalidMarkers.open(new ByteArrayInputStream(markers), metadata)) {
+            assertThat(invalidMarkers, notNullValue());
+            final DataSetRow first = new DataSetRow(metadata.getRowMetadata());
+            first.setInvalid("0000");
+            final DataSetRow second = new DataSetRow(metadata.getRowMetadata());
+
+            // when
+            assertThat(invalidMarkers.apply(first), is(true));
+            assertThat(invalidMarkers.apply(second), is(true));
+
+            // then
+            assertThat(first.isInvalid("0000"), is(false));
+            assertThat(second.isInvalid("0000"), is(true));
+            assertThat(second.isInvalid("0001"), is(false));
+            assertThat(invalidMarkers.apply(new DataSetRow(metadata.getRowMetadata())), is(false));
+        }
+    }
+
+    @Test
+    public void shouldIgnoreMarkersWhenColumnTypeChanged() throws Exception {
+        // given
+        metadata.getRowMetadata().getById("0000").setType(Type.STRING.getName());
+
+        // then
+        assertThat(InvalidMarkers.open(new ByteArrayInputStream(markers), metadata), nullValue());
+    }
+}
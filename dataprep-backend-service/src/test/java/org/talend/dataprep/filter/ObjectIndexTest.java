@@ -0,0 +1,143 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.filter;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.Assert.assertThat;
+
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.talend.tql.model.TqlElement;
+import org.talend.tql.parser.Tql;
+
+public class ObjectIndexTest {
+
+    private ObjectIndex<Item> index;
+
+    @Before
+    public void setUp() {
+        index = new ObjectIndex<>(Item.class, Item::getId, "id", "name", "size", "unknown");
+        index.build(ObjectIndexTest::items);
+    }
+
+    @Test
+    public void shouldFindEquals() throws Exception {
+        assertThat(find("name = 'CUSTOMERS'"), containsInAnyOrder("1", "2"));
+        assertThat(find("name = 'Suppliers'"), is(empty()));
+        assertThat(find("name in ['Orders', 'Products']"), containsInAnyOrder("3", "4"));
+    }
+
+    @Test
+    public void shouldFindRanges() throws Exception {
+        assertThat(find("size > 20"), containsInAnyOrder("3", "4"));
+        assertThat(find("size < 20"), containsInAnyOrder("1"));
+        assertThat(find("size between [10, 40]"), containsInAnyOrder("2", "3"));
+    }
+
+    @Test
+    public void shouldFindWithRegexPrefix() throws Exception {
+        assertThat(find("name ~ 'Cust.*'"), containsInAnyOrder("1", "2"));
+        assertThat(find("name ~ '.*ers'"), is(nullValue()));
+    }
+
+    @Test
+    public void shouldCombineExpressions() throws Exception {
+        assertThat(find("name = 'customers' and size > 15"), containsInAnyOrder("2"));
+        assertThat(find("name = 'Orders' or id = '4'"), containsInAnyOrder("3", "4"));
+        // Expressions that cannot be answered with index
+        assertThat(find("name = 'customers' and name contains 'tom'"), containsInAnyOrder("1", "2"));
+        assertThat(find("name = 'customers' or name contains 'tom'"), is(nullValue()));
+        assertThat(find("unknown = 'value'"), is(nullValue()));
+        assertThat(find("not(name = 'Orders')"), is(nullValue()));
+    }
+
+    @Test
+    public void shouldUpdateIndex() throws Exception {
+        // when
+        index.put(new Item("1", "Suppliers", 10));
+        index.remove("4");
+
+        // then
+        assertThat(index.size(), is(3));
+        assertThat(find("name = 'customers'"), containsInAnyOrder("2"));
+        assertThat(find("name = 'suppliers'"), containsInAnyOrder("1"));
+        assertThat(find("size > 20"), containsInAnyOrder("3"));
+    }
+
+    @Test
+    public void shouldReturnAllMatchingObjects() throws Exception {
+        final String[] queries = { "name = 'customers'", "size > 15 and size < 35", "name ~ 'Or.*s'", "id in ['1', '3']" };
+        for (String query : queries) {
+            final Predicate<Object> predicate = (Predicate<Object>) Tql.parse(query).accept(new ObjectPredicateVisitor(Item.class));
+            final Set<String> expected = items().filter(predicate).map(Item::getId).collect(Collectors.toSet());
+            assertThat(find(query).containsAll(expected), is(true));
+        }
+    }
+
+    @Test
+    public void shouldComputeLiteralPrefix() throws Exception {
+        assertThat(ObjectIndex.literalPrefix("abc.*"), is("abc"));
+        assertThat(ObjectIndex.literalPrefix("^abc"), is("abc"));
+        assertThat(ObjectIndex.literalPrefix("abc?d"), is("ab"));
+        assertThat(ObjectIndex.literalPrefix("ab|cd"), is(""));
+        assertThat(ObjectIndex.literalPrefix(".*abc"), is(""));
+    }
+
+    private Set<String> find(String query) {
+        final TqlElement element = Tql.parse(query);
+        return index.find(element);
+    }
+
+    private static Stream<Item> items() {
+        return Stream.of(new Item("1", "Customers", 10), //
+                new Item("2", "customers", 20), //
+                new Item("3", "Orders", 30), //
+                new Item("4", "Products", 40));
+    }
+
+    public static class Item {
+
+        private final String id;
+
+        private final String name;
+
+        private final int size;
+
+        Item(String id, String name, int size) {
+            this.id = id;
+            this.name = name;
+            this.size = size;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getSize() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.filter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.tql.parser.Tql;
+
+/**
+ * JMH benchmark of repository-like queries (build predicate then filter all metadata) with
+ * {@link ObjectPredicateVisitor} and with {@link ObjectPredicateCompiler}.
+ * <p>
+ * Not a unit test: run the main method (or {@link org.openjdk.jmh.Main} with this class name).
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ObjectPredicateCompilerBenchmark {
+
+    @Param({ "name = 'dataset-42'", //
+            "lifecycle.importing = false and author = 'user-3'", //
+            "creationDate > 1000000 and creationDate < 5000000", //
+            "name contains '-7' or draft = true" })
+    private String query;
+
+    @Param({ "10000" })
+    private int size;
+
+    private List<DataSetMetadata> metadata;
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(ObjectPredicateCompilerBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(0);
+        metadata = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            final DataSetMetadata current = new DataSetMetadata();
+            current.setId(String.valueOf(i));
+            current.setName("dataset-" + i);
+            current.setAuthor("user-" + random.nextInt(10));
+            current.setCreationDate(random.nextInt(10_000_000));
+            current.setDraft(random.nextInt(10) == 0);
+            metadata.add(current);
+        }
+    }
+
+    @Benchmark
+    public long visitor() {
+        final Predicate<Object> predicate = (Predicate<Object>) Tql.parse(query)
+                .accept(new ObjectPredicateVisitor(DataSetMetadata.class));
+        return metadata.stream().filter(predicate).count();
+    }
+
+    @Benchmark
+    public long compiled() {
+        final Predicate<Object> predicate = ObjectPredicateCompiler.compile(DataSetMetadata.class, query);
+        return metadata.stream().filter(predicate).count();
+    }
+}
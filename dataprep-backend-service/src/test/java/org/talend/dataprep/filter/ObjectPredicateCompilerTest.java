@@ -0,0 +1,152 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.filter;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Test;
+import org.talend.tql.parser.Tql;
+
+public class ObjectPredicateCompilerTest {
+
+    @After
+    public void tearDown() {
+        ObjectPredicateCompiler.clearCache();
+    }
+
+    @Test
+    public void shouldHaveSameResultsAsVisitor() throws Exception {
+        final String[] queries = { //
+                "name = 'CUSTOMERS'", //
+                "name = 'Customers' or name = 'Orders'", //
+                "size > 15 and size < 35", //
+                "ratio > 0.5", //
+                "size between [10, 40]", //
+                "name in ['Orders', 'products']", //
+                "name ~ 'Or.*s'", //
+                "name contains 'TOM'", //
+                "not(name = 'Orders')", //
+                "name is empty", //
+                "owner.name = 'admin'", //
+                "owner._class = '" + Owner.class.getName() + "'", //
+                "draft = true", //
+                "size > 'abc'" //
+        };
+        for (String query : queries) {
+            final Predicate<Object> expected = (Predicate<Object>) Tql.parse(query).accept(new ObjectPredicateVisitor(Item.class));
+            final Predicate<Object> actual = ObjectPredicateCompiler.compile(Item.class, query);
+            assertThat(query, ids(actual), is(ids(expected)));
+        }
+    }
+
+    @Test
+    public void shouldCacheCompiledQueries() throws Exception {
+        // when
+        final ObjectPredicateCompiler.CompiledPredicate first = ObjectPredicateCompiler.compile(Item.class, "name = 'Orders'");
+        final ObjectPredicateCompiler.CompiledPredicate second = ObjectPredicateCompiler.compile(Item.class, "name = 'Orders'");
+        final ObjectPredicateCompiler.CompiledPredicate other = ObjectPredicateCompiler.compile(Owner.class, "name = 'Orders'");
+
+        // then
+        assertThat(second, sameInstance(first));
+        assertThat(other == first, is(false));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void shouldFailOnUnknownField() throws Exception {
+        ObjectPredicateCompiler.compile(Item.class, "unknown = 'value'");
+    }
+
+    private static List<String> ids(Predicate<Object> predicate) {
+        return items().filter(predicate).map(Item::getId).collect(Collectors.toList());
+    }
+
+    private static Stream<Item> items() {
+        final Owner admin = new Owner("admin");
+        return Stream.of(new Item("1", "Customers", 10, 0.25, true, admin), //
+                new Item("2", "customers", 20, 0.5, false, null), //
+                new Item("3", "Orders", 30, 0.75, false, admin), //
+                new Item("4", "Products", 40, 1, true, new Owner("user")), //
+                new Item("5", "", 50, 0, false, null), //
+                new Item("6", null, 60, 0, false, null));
+    }
+
+    public static class Item {
+
+        private final String id;
+
+        private final String name;
+
+        private final int size;
+
+        private final double ratio;
+
+        private final boolean draft;
+
+        private final Owner owner;
+
+        Item(String id, String name, int size, double ratio, boolean draft, Owner owner) {
+            this.id = id;
+            this.name = name;
+            this.size = size;
+            this.ratio = ratio;
+            this.draft = draft;
+            this.owner = owner;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public double getRatio() {
+            return ratio;
+        }
+
+        public boolean isDraft() {
+            return draft;
+        }
+
+        public Owner getOwner() {
+            return owner;
+        }
+    }
+
+    public static class Owner {
+
+        private final String name;
+
+        Owner(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package org.talend.dataprep.folder.store.file;
+
+import static org.junit.Assert.*;
+import static org.talend.dataprep.api.folder.FolderContentType.DATASET;
+import static org.talend.dataprep.api.folder.FolderContentType.PREPARATION;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.junit.Test;
+import org.talend.dataprep.api.folder.FolderEntry;
+
+public class FolderIndexTest {
+
+    private final FolderIndex index = new FolderIndex();
+
+    @Test
+    public void searchFolders() throws Exception {
+        // given
+        final FolderPath wine = new FolderPath("foo", "wine");
+        final FolderPath goodWine = new FolderPath("foo", "wine", "verygoodWInE");
+        final FolderPath titi = new FolderPath("foo", "wine", "yupTITI");
+        index.addFolder(new FolderPath("foo"), "foo");
+        index.addFolder(wine, "wine");
+        index.addFolder(goodWine, "verygoodWInE");
+        index.addFolder(titi, "yupTITI");
+
+        // then
+        assertEquals(new HashSet<>(Arrays.asList(wine, goodWine)), new HashSet<>(index.searchFolders("wInE", false)));
+        assertEquals(Arrays.asList(wine), index.searchFolders("WINE", true));
+        assertEquals(Arrays.asList(titi), index.searchFolders("ti", false));
+        assertEquals(4, index.searchFolders("", false).size());
+        assertTrue(index.searchFolders("beer", false).isEmpty());
+        assertTrue(index.searchFolders(null, false).isEmpty());
+    }
+
+    @Test
+    public void findEntries() throws Exception {
+        // given
+        final FolderPath foo = new FolderPath("foo");
+        final FolderPath bar = new FolderPath("bar");
+        final FolderEntry cars = new FolderEntry(DATASET, "cars");
+        index.addEntry(foo, FolderIndex.fileName(DATASET, "cars"), cars);
+        index.addEntry(bar, FolderIndex.fileName(DATASET, "cars"), cars);
+        index.addEntry(bar, FolderIndex.fileName(PREPARATION, "cars"), new FolderEntry(PREPARATION, "cars"));
+
+        // then
+        assertEquals(Arrays.asList(foo, bar), Arrays.asList(index.findEntries("cars", DATASET).keySet().toArray()));
+        assertEquals(Arrays.asList(bar), Arrays.asList(index.findEntries("cars", PREPARATION).keySet().toArray()));
+        assertTrue(index.findEntries("boats", DATASET).isEmpty());
+
+        // when
+        index.removeEntry(foo, FolderIndex.fileName(DATASET, "cars"));
+
+        // then
+        assertEquals(Arrays.asList(bar), Arrays.asList(index.findEntries("cars", DATASET).keySet().toArray()));
+    }
+
+    @Test
+    public void removeFolder() throws Exception {
+        // given
+        final FolderPath foo = new FolderPath("foo");
+        final FolderPath fooBar = new FolderPath("foo", "bar");
+        final FolderPath food = new FolderPath("food");
+        index.addFolder(foo, "foo");
+        index.addFolder(fooBar, "bar");
+        index.addFolder(food, "food");
+        index.addEntry(fooBar, FolderIndex.fileName(DATASET, "cars"), new FolderEntry(DATASET, "cars"));
+        index.addEntry(food, FolderIndex.fileName(DATASET, "boats"), new FolderEntry(DATASET, "boats"));
+
+        // when
+        index.removeFolder(foo);
+
+        // then
+        assertEquals(Arrays.asList(food), index.searchFolders("foo", false));
+        assertTrue(index.searchFolders("bar", false).isEmpty());
+        assertTrue(index.findEntries("cars", DATASET).isEmpty());
+        assertEquals(1, index.findEntries("boats", DATASET).size());
+    }
+}
@@ -137,6 +137,36 @@ public class FileSystemPreparationRepositoryTest extends PreparationRepositoryTe
         assertEquals(expected, actual);
     }
 
+    @Test
+    public void shouldGetOverwrittenContentAfterRead() {
+        // given
+        Preparation expected = getPreparation("6843dfs");
+        expected.setName("old name");
+        repository.add(expected);
+        assertEquals("old name", repository.get(expected.id(), Preparation.class).getName());
+
+        // when
+        expected.setName("new name");
+        repository.add(expected);
+
+        // then
+        assertEquals("new name", repository.get(expected.id(), Preparation.class).getName());
+    }
+
+    @Test
+    public void shouldNotGetRemovedContentAfterRead() {
+        // given
+        final Step step = new Step(rootStep, new FixedIdPreparationContent("74dq8sd"), versionService.version().getVersionId());
+        repository.add(step);
+        assertEquals(step, repository.get(step.id(), Step.class));
+
+        // when
+        repository.remove(step);
+
+        // then
+        assertNull(repository.get(step.id(), Step.class));
+    }
+
     @Test
     public void shouldListOnlyPreparationsContainingGivenName() {
         final List<Integer> ids = Arrays.asList(1, 12, 3);
@@ -0,0 +1,159 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.actions.datablending;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+
+public class LookupIndexTest {
+
+    private static final List<String> COLUMNS = Arrays.asList("0000", "0001", "0002");
+
+    private Path directory;
+
+    @Before
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("dataprep_lookup_test");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        FileUtils.deleteQuietly(directory.toFile());
+    }
+
+    private static DataSetRow row(String... values) {
+        final Map<String, String> rowValues = new HashMap<>();
+        for (int i = 0; i < values.length; i++) {
+            rowValues.put(COLUMNS.get(i), values[i]);
+        }
+        return new DataSetRow(rowValues);
+    }
+
+    @Test
+    public void should_find_first_matching_row() throws Exception {
+        // given
+        final List<DataSetRow> rows = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            rows.add(row(String.valueOf(i), "name " + i, "état " + i));
+        }
+        rows.add(row("42", "duplicate", "duplicate"));
+        rows.add(row(null, "no join value", ""));
+
+        // when
+        LookupIndex.build(directory, "index", rows.iterator(), "0000", COLUMNS);
+        final LookupIndex index = LookupIndex.open(directory, "index");
+
+        // then
+        assertEquals(1000, index.size());
+        assertEquals(COLUMNS, index.getColumns());
+        final Map<String, String> values = index.get("42");
+        assertEquals("42", values.get("0000"));
+        assertEquals("name 42", values.get("0001"));
+        assertEquals("état 42", values.get("0002"));
+        assertEquals("name 999", index.get("999").get("0001"));
+        assertNull(index.get("1000"));
+        assertNull(index.get(null));
+    }
+
+    @Test
+    public void should_keep_null_values() throws Exception {
+        // given
+        final List<DataSetRow> rows = Arrays.asList(row("a", null, ""), row("b", "", null));
+
+        // when
+        LookupIndex.build(directory, "index", rows.iterator(), "0000", COLUMNS);
+        final LookupIndex index = LookupIndex.open(directory, "index");
+
+        // then
+        assertNull(index.get("a").get("0001"));
+        assertEquals("", index.get("a").get("0002"));
+        assertEquals("", index.get("b").get("0001"));
+        assertNull(index.get("b").get("0002"));
+    }
+
+    @Test
+    public void should_open_only_built_index() throws Exception {
+        // when
+        LookupIndex.build(directory, "index", Arrays.asList(row("a", "b", "c")).iterator(), "0000", COLUMNS);
+
+        // then
+        assertNull(LookupIndex.open(directory, "other"));
+        assertEquals(1, LookupIndex.open(directory, "index").size());
+        // no temporary file left
+        assertEquals(2, directory.toFile().list().length);
+        assertTrue(Files.exists(directory.resolve("index" + LookupIndex.INDEX_EXTENSION)));
+        assertFalse(Files.exists(directory.resolve("other" + LookupIndex.INDEX_EXTENSION)));
+    }
+
+    @Test
+    public void should_find_rows_in_partitions() throws Exception {
+        // given
+        final List<DataSetRow> rows = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            rows.add(row(String.valueOf(i), "name " + i));
+        }
+        rows.add(row("42", "duplicate"));
+
+        // when
+        LookupIndex.build(directory, "index", rows.iterator(), "0000", COLUMNS, 8);
+        final LookupIndex index = LookupIndex.open(directory, "index");
+
+        // then
+        assertEquals(8, index.getPartitions());
+        assertEquals(10000, index.size());
+        for (int i = 0; i < 10000; i++) {
+            assertEquals("name " + i, index.get(String.valueOf(i)).get("0001"));
+        }
+        assertNull(index.get("10000"));
+        // no temporary file left
+        assertEquals(2, directory.toFile().list().length);
+    }
+
+    @Test
+    public void should_compute_partitions_from_memory_budget() throws Exception {
+        assertEquals(1, LookupIndex.partitions(0, 1024));
+        assertEquals(1, LookupIndex.partitions(1000, 1024 * 1024));
+        // 1M rows need at most 48MB of hash tables
+        assertEquals(1, LookupIndex.partitions(1000000, 48000000));
+        assertEquals(2, LookupIndex.partitions(1000000, 47999999));
+        assertEquals(8, LookupIndex.partitions(1000000, 8 * 1024 * 1024));
+        assertEquals(1024, LookupIndex.partitions(Long.MAX_VALUE / 64, 1));
+    }
+
+    @Test
+    public void should_index_empty_dataset() throws Exception {
+        // when
+        LookupIndex.build(directory, "index", new ArrayList<DataSetRow>().iterator(), "0000", COLUMNS);
+        final LookupIndex index = LookupIndex.open(directory, "index");
+
+        // then
+        assertEquals(0, index.size());
+        assertNull(index.get("a"));
+    }
+}
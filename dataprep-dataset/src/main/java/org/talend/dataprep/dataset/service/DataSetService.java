@@ -343,6 +343,7 @@ public class DataSetService extends BaseDataSetService {
     public Callable<DataSet> get(
             @RequestParam(defaultValue = "true") @ApiParam(name = "metadata", value = "Include metadata information in the response") boolean metadata, //
             @RequestParam(defaultValue = "false") @ApiParam(name = "includeInternalContent", value = "Include internal content in the response") boolean includeInternalContent, //
+            @RequestParam(required = false) @ApiParam(name = "columns", value = "Ids of the columns to include in the records (all columns if not set)") List<String> columns, //
             @PathVariable(value = "id") @ApiParam(name = "id", value = "Id of the requested data set") String dataSetId) {
         return () -> {
             final Marker marker = Markers.dataset(dataSetId);
@@ -371,6 +372,23 @@ public class DataSetService extends BaseDataSetService {
                         return new DataSetRow(r.getRowMetadata(), filteredValues);
                     });
                 }
+                if (columns != null && !columns.isEmpty()) {
+                    LOG.debug("Only serve columns {} of data set #{} content.", columns, dataSetId);
+                    final Set<String> columnsToKeep = new HashSet<>(columns);
+                    stream = stream.map(r -> {
+                        final Map<String, Object> projectedValues = new HashMap<>();
+                        r.values().forEach((k, v) -> {
+                            // Keep row id and technical properties (if any)
+                            if (k != null && v != null && (columnsToKeep.contains(k) || FlagNames.TDP_ID.equals(k)
+                                    || k.startsWith(FlagNames.INTERNAL_PROPERTY_PREFIX))) {
+                                projectedValues.put(k, v);
+                            }
+                        });
+                        final DataSetRow projected = new DataSetRow(r.getRowMetadata(), projectedValues);
+                        projected.setTdpId(r.getTdpId());
+                        return projected;
+                    });
+                }
                 dataSet.setRecords(stream);
                 return dataSet;
             } finally {
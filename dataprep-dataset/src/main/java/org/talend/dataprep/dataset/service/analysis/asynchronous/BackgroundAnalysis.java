@@ -119,6 +119,8 @@ public class BackgroundAnalysis {
                     if (dataSetMetadata != null) {
                         dataSetMetadata.getLifecycle().qualityAnalyzed(true);
                         repository.save(metadata);
+                        // Statistics may have changed column domains, refresh invalid markers if needed
+                        store.storeInvalidMarkers(dataSetMetadata);
                     }
                 } finally {
                     datasetLock.unlock();
@@ -78,6 +78,8 @@ public class QualityAnalysis implements SynchronousDataSetAnalyzer {
             // e.g. excel multi sheet dataset when user has not choose the sheet yet
             if (!metadata.getLifecycle().isInProgress()) {
                 LOGGER.debug("No need to recompute quality of data set #{} (statistics are completed).", dataSetId);
+                // ... but column types may have changed since last invalid markers computation.
+                store.storeInvalidMarkers(metadata);
                 return;
             }
             try (Stream<DataSetRow> stream = store.stream(metadata)) {
@@ -110,6 +112,10 @@ public class QualityAnalysis implements SynchronousDataSetAnalyzer {
                 LOGGER.warn("dataset '{}' generate an error, message: {} ", dataSetId, e.getMessage());
                 throw new TDPException(DataSetErrorCodes.UNABLE_TO_ANALYZE_DATASET_QUALITY, e);
             }
+            // Compute invalid markers once (reads no longer need to analyze quality of each row)
+            if (metadata.getLifecycle().qualityAnalyzed()) {
+                store.storeInvalidMarkers(metadata);
+            }
         } finally {
             datasetLock.unlock();
         }
@@ -93,6 +93,8 @@ public class SchemaAnalysis implements SynchronousDataSetAnalyzer {
                 LOGGER.error("Unable to analyse schema for dataset " + dataSetId + ".", e);
                 throw new TDPException(DataSetErrorCodes.UNABLE_TO_ANALYZE_COLUMN_TYPES, e);
             }
+            // Schema is now known, write columnar content once for all next reads
+            store.storeAsColumnar(metadata);
         } finally {
             datasetLock.unlock();
         }
@@ -50,6 +50,10 @@ public class ContentStoreRouter extends DataSetContentStore {
     public void storeAsRaw(DataSetMetadata dataSetMetadata, InputStream dataSetContent) {
         DataSetContentStore target = wrapStore(dataSetMetadata);
         target.storeAsRaw(dataSetMetadata, dataSetContent);
+        // columnar copy (if any) no longer matches raw content
+        if (columnarStore != null) {
+            columnarStore.delete(dataSetMetadata);
+        }
     }
 
     /**
@@ -89,6 +93,9 @@ public class ContentStoreRouter extends DataSetContentStore {
     public void delete(DataSetMetadata dataSetMetadata) {
         DataSetContentStore target = wrapStore(dataSetMetadata);
         target.delete(dataSetMetadata);
+        if (columnarStore != null) {
+            columnarStore.delete(dataSetMetadata);
+        }
     }
 
     @Override
@@ -105,6 +112,9 @@ public class ContentStoreRouter extends DataSetContentStore {
         // find the local store and clear it
         DataSetContentStore target = getLocalContentStore();
         target.clear();
+        if (columnarStore != null) {
+            columnarStore.clear();
+        }
     }
 
     /**
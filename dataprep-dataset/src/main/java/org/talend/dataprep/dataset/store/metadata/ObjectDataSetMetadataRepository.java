@@ -3,17 +3,20 @@ package org.talend.dataprep.dataset.store.metadata;
 import static org.talend.dataprep.util.SortAndOrderHelper.getDataSetMetadataComparator;
 
 import java.util.Comparator;
-import java.util.function.Predicate;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.talend.dataprep.api.dataset.DataSetMetadata;
-import org.talend.dataprep.filter.ObjectPredicateVisitor;
+import org.talend.dataprep.filter.ObjectIndex;
+import org.talend.dataprep.filter.ObjectPredicateCompiler;
+import org.talend.dataprep.filter.ObjectPredicateCompiler.CompiledPredicate;
 import org.talend.dataprep.lock.DistributedLock;
 import org.talend.dataprep.util.SortAndOrderHelper.Order;
 import org.talend.dataprep.util.SortAndOrderHelper.Sort;
-import org.talend.tql.parser.Tql;
+import org.talend.tql.model.TqlElement;
 
 public abstract class ObjectDataSetMetadataRepository extends DataSetMetadataRepositoryAdapter {
 
@@ -21,11 +24,31 @@ public abstract class ObjectDataSetMetadataRepository extends DataSetMetadataRep
 
     protected abstract Stream<DataSetMetadata> source();
 
+    /**
+     * @return An index on metadata fields used to answer queries without reading all metadata, or <code>null</code> if
+     * this repository has no index (all queries then use {@link #source()}).
+     */
+    protected ObjectIndex<DataSetMetadata> index() {
+        return null;
+    }
+
+    /**
+     * @param query A TQL query.
+     * @return The metadata that may match the query (only candidates from index if query can be answered by index).
+     */
+    private Stream<DataSetMetadata> select(TqlElement query) {
+        final ObjectIndex<DataSetMetadata> index = index();
+        final Set<String> candidates = index == null ? null : index.find(query);
+        if (candidates == null) {
+            return source();
+        }
+        return candidates.stream().map(this::get).filter(Objects::nonNull);
+    }
+
     @Override
     public boolean exist(String filter) {
-        final Predicate<Object> accept = (Predicate<Object>) Tql.parse(filter)
-                .accept(new ObjectPredicateVisitor(DataSetMetadata.class));
-        return source().filter(accept).findAny().isPresent();
+        final CompiledPredicate accept = ObjectPredicateCompiler.compile(DataSetMetadata.class, filter);
+        return select(accept.getQuery()).filter(accept).findAny().isPresent();
     }
 
     @Override
@@ -35,9 +58,8 @@ public abstract class ObjectDataSetMetadataRepository extends DataSetMetadataRep
 
     @Override
     public Stream<DataSetMetadata> list(String filter, Sort sortField, Order sortDirection) {
-        final Predicate<Object> accept = (Predicate<Object>) Tql.parse(filter)
-                .accept(new ObjectPredicateVisitor(DataSetMetadata.class));
-        final Stream<DataSetMetadata> stream = source().filter(accept);
+        final CompiledPredicate accept = ObjectPredicateCompiler.compile(DataSetMetadata.class, filter);
+        final Stream<DataSetMetadata> stream = select(accept.getQuery()).filter(accept);
         if (sortField != null) {
             final Comparator<DataSetMetadata> dataSetMetadataComparator = getDataSetMetadataComparator(sortField, sortDirection);
             return stream.sorted(dataSetMetadataComparator);
@@ -48,7 +70,8 @@ public abstract class ObjectDataSetMetadataRepository extends DataSetMetadataRep
 
     @Override
     public int size() {
-        return (int) source().count();
+        final ObjectIndex<DataSetMetadata> index = index();
+        return index == null ? (int) source().count() : index.size();
     }
 
     @Override
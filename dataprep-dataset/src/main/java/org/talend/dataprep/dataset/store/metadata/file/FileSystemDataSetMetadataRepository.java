@@ -38,6 +38,7 @@ import org.talend.dataprep.dataset.store.metadata.DataSetMetadataRepository;
 import org.talend.dataprep.dataset.store.metadata.ObjectDataSetMetadataRepository;
 import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.exception.error.DataSetErrorCodes;
+import org.talend.dataprep.filter.ObjectIndex;
 import org.talend.dataprep.util.FilesHelper;
 import org.talend.dataprep.util.ReentrantReadWriteLockGroup;
 
@@ -68,6 +69,10 @@ public class FileSystemDataSetMetadataRepository extends ObjectDataSetMetadataRe
     @Value("${dataset.metadata.store.file.location}")
     private String storeLocation;
 
+    /** Index on the fields used by data set queries (built at first query). */
+    private final ObjectIndex<DataSetMetadata> index = new ObjectIndex<>(DataSetMetadata.class, DataSetMetadata::getId, //
+            "id", "name", "author", "creationDate", "lastModificationDate", "draft", "location._class", "lifecycle.importing");
+
     @PostConstruct
     private void init() {
         try {
@@ -86,8 +91,12 @@ public class FileSystemDataSetMetadataRepository extends ObjectDataSetMetadataRe
         final File file = getFile(id);
 
         lock.writeLock().lock();
-        try (GZIPOutputStream output = new GZIPOutputStream(new FileOutputStream(file))) {
-            mapper.writer().writeValue(output, metadata);
+        try {
+            try (GZIPOutputStream output = new GZIPOutputStream(new FileOutputStream(file))) {
+                mapper.writer().writeValue(output, metadata);
+            }
+            // Update index while holding the lock so that concurrent saves of the same data set index the last write
+            index.put(metadata);
         } catch (IOException e) {
             LOG.error("Error saving {}", metadata, e);
             throw new TDPException(DataSetErrorCodes.UNABLE_TO_STORE_DATASET_METADATA, e,  ExceptionContext.build().put("id", metadata.getId()));
@@ -131,6 +140,7 @@ public class FileSystemDataSetMetadataRepository extends ObjectDataSetMetadataRe
     public void remove(String id) {
         final File file = getFile(id);
         FilesHelper.deleteQuietly(file);
+        index.remove(id);
         LOG.debug("metadata {} successfully deleted", id);
     }
 
@@ -145,6 +155,12 @@ public class FileSystemDataSetMetadataRepository extends ObjectDataSetMetadataRe
         return Arrays.stream(files).map(f -> get(f.getName())).filter(m -> m != null);
     }
 
+    @Override
+    protected ObjectIndex<DataSetMetadata> index() {
+        index.build(this::source);
+        return index;
+    }
+
     /**
      * Return the file that matches the given metadata id.
      *
@@ -785,6 +785,30 @@ public class DataSetServiceTest extends DataSetBaseTest {
         assertThat(contentAsString, sameJSONAsFile(expected));
     }
 
+    @Test
+    public void should_get_only_requested_columns() throws Exception {
+        // given
+        final String dataSetId = given().body(IOUtils.toString(this.getClass().getResourceAsStream(TAGADA_CSV))) //
+                .queryParam("Content-Type", "text/csv") //
+                .when() //
+                .post("/datasets") //
+                .asString();
+        assertQueueMessages(dataSetId);
+
+        // when
+        final String content = when().get("/datasets/{id}/content?metadata=false&columns=0000,0002", dataSetId).asString();
+
+        // then
+        final JsonNode records = mapper.readTree(content).get("records");
+        assertThat(records.size(), is(2));
+        assertThat(records.get(0).size(), is(3));
+        assertThat(records.get(0).get("0000").asText(), is("1"));
+        assertThat(records.get(0).get("0002").asText(), is("John"));
+        assertThat(records.get(0).get("tdpId").asInt(), is(1));
+        assertThat(records.get(1).get("0002").asText(), is("David"));
+        assertFalse(records.get(1).has("0001"));
+    }
+
     @Test
     public void should_get_content_from_updated_dataset() throws Exception {
         // given
@@ -0,0 +1,98 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.preparation.service;
+
+import static com.jayway.restassured.RestAssured.when;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertEquals;
+import static org.talend.dataprep.preparation.service.EntityBuilder.*;
+import static org.talend.dataprep.preparation.service.PreparationControllerTestClient.appendStepsToPrep;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.talend.dataprep.api.dataset.ColumnMetadata;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.preparation.Preparation;
+import org.talend.dataprep.api.preparation.PreparationActions;
+import org.talend.dataprep.api.preparation.PreparationUtils;
+import org.talend.dataprep.api.preparation.Step;
+import org.talend.dataprep.preparation.BasePreparationTest;
+
+/**
+ * Preparation service tests with the file system preparation store (that caches the objects it reads).
+ */
+@TestPropertySource(properties = { "preparation.store=file",
+        "preparation.store.file.location=target/test/store/preparation/service" })
+public class PreparationFileStoreTest extends BasePreparationTest {
+
+    @Autowired
+    private PreparationUtils preparationUtils;
+
+    @Test
+    public void shouldNotChangePreviousStepsWhenDeletingSteps() throws Exception {
+        // given
+        final Preparation preparation = new Preparation(UUID.randomUUID().toString(), "1234", rootStep.id(),
+                versionService.version().getVersionId());
+        preparation.setName("My preparation");
+        final List<ColumnMetadata> columns = new ArrayList<>();
+        for (String id : Arrays.asList("0001", "0002", "0003")) {
+            final ColumnMetadata column = new ColumnMetadata();
+            column.setId(id);
+            columns.add(column);
+        }
+        preparation.setRowMetadata(new RowMetadata(columns));
+        repository.add(preparation);
+        final String preparationId = preparation.id();
+        appendStepsToPrep(preparationId, step(null, action("copy", paramsColAction("0001", "lastname"))));
+        appendStepsToPrep(preparationId, step(null, action("copy", paramsColAction("0001", "lastname"))));
+        appendStepsToPrep(preparationId, step(null, action("uppercase", paramsColAction("0005", "lastname_copy"))));
+
+        // read (hence cache) the history before deletions
+        final String headId = repository.get(preparationId, Preparation.class).getHeadId();
+        final List<String> stepIds = preparationUtils.listStepsIds(headId, repository);
+        final Step head = repository.get(headId, Step.class);
+        final String headContentId = head.getContent().id();
+        final List<String> createdColumns = repository.get(stepIds.get(2), Step.class).getDiff().getCreatedColumns();
+        assertEquals(4, stepIds.size());
+        assertThat(getColumnIds(headContentId), contains("0001", "0001", "0005"));
+
+        // when: delete first step, then the (shifted) second copy
+        when().delete("/preparations/{id}/actions/{action}", preparationId, stepIds.get(1)) //
+                .then() //
+                .statusCode(200);
+        final String newHeadId = repository.get(preparationId, Preparation.class).getHeadId();
+        final List<String> newStepIds = preparationUtils.listStepsIds(newHeadId, repository);
+        when().delete("/preparations/{id}/actions/{action}", preparationId, newStepIds.get(1)) //
+                .then() //
+                .statusCode(200);
+
+        // then: previous steps and actions are unchanged
+        assertThat(getColumnIds(headContentId), contains("0001", "0001", "0005"));
+        assertThat(repository.get(stepIds.get(2), Step.class).getDiff().getCreatedColumns(), is(createdColumns));
+        assertThat(repository.get(headId, Step.class).getContent().id(), is(headContentId));
+    }
+
+    private List<String> getColumnIds(String preparationActionsId) {
+        return repository.get(preparationActionsId, PreparationActions.class).getActions().stream() //
+                .map(action -> action.getParameters().get("column_id")) //
+                .collect(toList());
+    }
+}
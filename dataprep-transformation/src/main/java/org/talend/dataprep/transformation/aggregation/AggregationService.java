@@ -13,9 +13,23 @@
 
 package org.talend.dataprep.transformation.aggregation;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.Semaphore;
 import java.util.function.Predicate;
 
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.talend.dataprep.api.dataset.DataSet;
 import org.talend.dataprep.api.dataset.DataSetMetadata;
@@ -24,24 +38,57 @@ import org.talend.dataprep.api.dataset.row.DataSetRow;
 import org.talend.dataprep.api.filter.FilterService;
 import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.exception.error.CommonErrorCodes;
+import org.talend.dataprep.transformation.aggregation.api.AggregationOperation;
 import org.talend.dataprep.transformation.aggregation.api.AggregationParameters;
 import org.talend.dataprep.transformation.aggregation.api.AggregationResult;
-import org.talend.dataprep.transformation.aggregation.operation.Aggregator;
-import org.talend.dataprep.transformation.aggregation.operation.AggregatorFactory;
+import org.talend.dataprep.transformation.aggregation.operation.GroupAccumulators;
 
 /**
+ * <p>
  * Service in charge of... aggregation !
+ * </p>
+ * <p>
+ * Rows are read (and filtered) by the calling thread, and group keys and values are handed over in chunks of
+ * {@link #CHUNK_SIZE} rows to the aggregation pool: each worker thread accumulates chunks in its own
+ * {@link GroupAccumulators} (value parsing and group lookup are done in parallel) and partial results are merged once
+ * all rows are read.
+ * </p>
+ * <p>
+ * Aggregation pool is dedicated to this service (so aggregations do not compete with other users of the common pool)
+ * and its size is set with <code>transformation.aggregation.threads</code>.
+ * </p>
  */
 @Service
-public class AggregationService {
+public class AggregationService implements DisposableBean {
 
-    /** Aggregator factory. */
-    @Autowired
-    private AggregatorFactory factory;
+    /** Number of rows handed over to a worker at once. */
+    static final int CHUNK_SIZE = 4096;
+
+    /** Number of threads aggregating chunks (&lt;= 0 for the number of available processors). */
+    @Value("${transformation.aggregation.threads:0}")
+    private int threads;
+
+    /** The pool used to aggregate chunks and merge partial results (threads are shared by all aggregations). */
+    private ForkJoinPool pool;
 
     @Autowired
     private FilterService filterService;
 
+    @PostConstruct
+    private void init() {
+        final int parallelism = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        pool = new ForkJoinPool(parallelism, p -> {
+            final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            thread.setName("aggregation-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdownNow();
+    }
+
     /**
      * Process an aggregation.
      *
@@ -56,10 +103,11 @@ public class AggregationService {
             throw new TDPException(CommonErrorCodes.BAD_AGGREGATION_PARAMETERS);
         }
 
-        AggregationResult result = new AggregationResult(parameters.getOperations().get(0).getOperator());
-
-        // get the aggregator
-        Aggregator aggregator = factory.get(parameters);
+        final AggregationOperation operation = parameters.getOperations().get(0);
+        final String groupBy = parameters.getGroupBy().get(0);
+        final String columnId = operation.getColumnId();
+        // Also checks operator is supported before reading any row
+        final GroupAccumulators accumulators = new GroupAccumulators(operation.getOperator());
 
         // Build optional filter
         final DataSetMetadata metadata = dataset.getMetadata();
@@ -67,11 +115,87 @@ public class AggregationService {
         final Predicate<DataSetRow> filter = filterService.build(parameters.getFilter(), rowMetadata);
 
         // process the dataset
-        dataset.getRecords().filter(filter).forEach(row -> aggregator.accept(row, result));
+        final Map<Thread, GroupAccumulators> partials = new ConcurrentHashMap<>();
+        final List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        // Bound the number of chunks waiting for a worker (rows are read faster than they are aggregated).
+        final Semaphore pending = new Semaphore(pool.getParallelism() * 2);
+        String[] keys = new String[CHUNK_SIZE];
+        String[] values = new String[CHUNK_SIZE];
+        int count = 0;
+        final Iterator<DataSetRow> rows = dataset.getRecords().filter(filter).iterator();
+        while (rows.hasNext()) {
+            // Rows may be reused by the iterator, only keep the values needed by aggregation.
+            final DataSetRow row = rows.next();
+            keys[count] = row.get(groupBy);
+            values[count] = row.get(columnId);
+            if (++count == CHUNK_SIZE) {
+                tasks.add(submit(partials, pending, operation, keys, values, count));
+                keys = new String[CHUNK_SIZE];
+                values = new String[CHUNK_SIZE];
+                count = 0;
+            }
+        }
 
-        // Normalize result (perform clean / optimization now that all input was processed).
-        aggregator.normalize(result);
+        if (tasks.isEmpty()) {
+            // Small input: no need for other threads
+            accumulate(accumulators, keys, values, count);
+            return accumulators.toResult();
+        }
+        if (count > 0) {
+            tasks.add(submit(partials, pending, operation, keys, values, count));
+        }
+        tasks.forEach(ForkJoinTask::join);
+        return pool.invoke(new Merge(new ArrayList<>(partials.values()), 0, partials.size())).toResult();
+    }
 
-        return result;
+    private ForkJoinTask<?> submit(Map<Thread, GroupAccumulators> partials, Semaphore pending,
+            AggregationOperation operation, String[] keys, String[] values, int count) {
+        pending.acquireUninterruptibly();
+        return pool.submit(() -> {
+            try {
+                // A worker thread processes one chunk at a time, so its accumulators are never shared.
+                final GroupAccumulators accumulators = partials.computeIfAbsent(Thread.currentThread(),
+                        t -> new GroupAccumulators(operation.getOperator()));
+                accumulate(accumulators, keys, values, count);
+            } finally {
+                pending.release();
+            }
+        });
+    }
+
+    private static void accumulate(GroupAccumulators accumulators, String[] keys, String[] values, int count) {
+        for (int i = 0; i < count; i++) {
+            accumulators.accumulate(keys[i], values[i]);
+        }
+    }
+
+    /**
+     * Merges partial results (two halves are merged in parallel, then merged together).
+     */
+    private static class Merge extends RecursiveTask<GroupAccumulators> {
+
+        private final List<GroupAccumulators> partials;
+
+        private final int from;
+
+        private final int to;
+
+        private Merge(List<GroupAccumulators> partials, int from, int to) {
+            this.partials = partials;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected GroupAccumulators compute() {
+            if (to - from == 1) {
+                return partials.get(from);
+            }
+            final int middle = (from + to) >>> 1;
+            final Merge left = new Merge(partials, from, middle);
+            left.fork();
+            final GroupAccumulators right = new Merge(partials, middle, to).compute();
+            return left.join().merge(right);
+        }
     }
 }
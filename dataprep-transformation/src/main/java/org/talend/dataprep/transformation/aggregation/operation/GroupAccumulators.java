@@ -0,0 +1,202 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.aggregation.operation;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import org.apache.commons.lang.StringUtils;
+import org.talend.dataprep.transformation.aggregation.api.AggregationResult;
+import org.talend.dataprep.transformation.aggregation.api.Operator;
+
+/**
+ * <p>
+ * Group by state for all operators: an open addressing hash table maps each group key to a group id, and accumulators
+ * (sum, count, min, max) are stored in primitive arrays indexed by this id (no boxing nor context object per group).
+ * </p>
+ * <p>
+ * Instances are not thread safe: when aggregating in parallel, each thread works on its own instance and instances are
+ * then {@link #merge(GroupAccumulators) merged}.
+ * </p>
+ */
+public class GroupAccumulators {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** Operator to compute. */
+    private final Operator operator;
+
+    /** Hash table: group id + 1 for each slot (0 for an empty slot). */
+    private int[] table = new int[INITIAL_CAPACITY * 2];
+
+    /** Group keys (by group id). */
+    private String[] keys = new String[INITIAL_CAPACITY];
+
+    private double[] sums = new double[INITIAL_CAPACITY];
+
+    private long[] counts = new long[INITIAL_CAPACITY];
+
+    private double[] mins = new double[INITIAL_CAPACITY];
+
+    private double[] maxs = new double[INITIAL_CAPACITY];
+
+    /** Number of groups. */
+    private int size;
+
+    /**
+     * @param operator The operator to compute.
+     * @throws IllegalArgumentException If operator is not supported.
+     */
+    public GroupAccumulators(Operator operator) {
+        if (operator != Operator.AVERAGE && operator != Operator.MIN && operator != Operator.MAX && operator != Operator.SUM) {
+            throw new IllegalArgumentException("Operation '" + operator + "' not supported");
+        }
+        this.operator = operator;
+    }
+
+    /**
+     * Accumulates a row.
+     *
+     * @param key The row group key.
+     * @param value The row value to aggregate (non numeric values are ignored).
+     */
+    public void accumulate(String key, String value) {
+        // Only average accepts empty group (to remain compatible with previous aggregators).
+        if (operator != Operator.AVERAGE && StringUtils.isEmpty(key)) {
+            return;
+        }
+        if (StringUtils.isEmpty(value)) {
+            return;
+        }
+        final double number;
+        try {
+            number = Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            // skip non number
+            return;
+        }
+        accumulate(groupId(key), number, 1, number, number);
+    }
+
+    private void accumulate(int groupId, double sum, long count, double min, double max) {
+        if (counts[groupId] == 0) {
+            sums[groupId] = sum;
+            mins[groupId] = min;
+            maxs[groupId] = max;
+        } else {
+            sums[groupId] += sum;
+            mins[groupId] = Math.min(mins[groupId], min);
+            maxs[groupId] = Math.max(maxs[groupId], max);
+        }
+        counts[groupId] += count;
+    }
+
+    /**
+     * Merges other accumulators in this one.
+     *
+     * @param other The accumulators to merge (left unchanged).
+     * @return This accumulators.
+     */
+    public GroupAccumulators merge(GroupAccumulators other) {
+        for (int i = 0; i < other.size; i++) {
+            accumulate(groupId(other.keys[i]), other.sums[i], other.counts[i], other.mins[i], other.maxs[i]);
+        }
+        return this;
+    }
+
+    /**
+     * @return The number of groups.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return The aggregation result for accumulated rows.
+     */
+    public AggregationResult toResult() {
+        final AggregationResult result = new AggregationResult(operator);
+        for (int i = 0; i < size; i++) {
+            final double value;
+            switch (operator) {
+            case AVERAGE:
+                value = sums[i] / counts[i];
+                break;
+            case MIN:
+                value = mins[i];
+                break;
+            case MAX:
+                value = maxs[i];
+                break;
+            default:
+                value = sums[i];
+                break;
+            }
+            result.put(keys[i], new NumberContext(value));
+        }
+        return result;
+    }
+
+    /**
+     * @param key A group key.
+     * @return The id of the group (group is created if needed).
+     */
+    private int groupId(String key) {
+        final int mask = table.length - 1;
+        int slot = hash(key) & mask;
+        while (table[slot] != 0) {
+            final int groupId = table[slot] - 1;
+            if (Objects.equals(keys[groupId], key)) {
+                return groupId;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (size == keys.length) {
+            grow();
+            return groupId(key);
+        }
+        final int groupId = size++;
+        keys[groupId] = key;
+        table[slot] = groupId + 1;
+        return groupId;
+    }
+
+    private void insert(int groupId) {
+        final int mask = table.length - 1;
+        int slot = hash(keys[groupId]) & mask;
+        while (table[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = groupId + 1;
+    }
+
+    private void grow() {
+        final int capacity = keys.length * 2;
+        keys = Arrays.copyOf(keys, capacity);
+        sums = Arrays.copyOf(sums, capacity);
+        counts = Arrays.copyOf(counts, capacity);
+        mins = Arrays.copyOf(mins, capacity);
+        maxs = Arrays.copyOf(maxs, capacity);
+        // Keep load factor of hash table under 0.5
+        table = new int[capacity * 2];
+        for (int i = 0; i < size; i++) {
+            insert(i);
+        }
+    }
+
+    private static int hash(String key) {
+        final int h = key == null ? 0 : key.hashCode();
+        return h ^ (h >>> 16);
+    }
+}
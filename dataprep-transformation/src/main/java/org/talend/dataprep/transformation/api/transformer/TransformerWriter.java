@@ -32,6 +32,18 @@ public interface TransformerWriter {
      */
     void write(RowMetadata columns) throws IOException;
 
+    /**
+     * Write the given RowMetadata before the rows, when it is known before the transformation (actions do not change the
+     * columns). Writers that need the columns first (e.g. for a header) may then write rows as they come instead of
+     * waiting for {@link #write(RowMetadata)}, which is still called at the end.
+     *
+     * @param columns the row metadata of the rows to write.
+     * @throws IOException if an unexpected error occurs.
+     */
+    default void writeHeader(RowMetadata columns) throws IOException {
+        // default implementation to ease implementations development
+    }
+
     /**
      * Write the given row.
      *
@@ -73,6 +73,11 @@ public class Configuration {
 
     private final Volume dataVolume;
 
+    /**
+     * Maximum number of rows in the transformed content.
+     */
+    private final long limit;
+
     private String preparationId;
 
     private PreparationMessage preparation;
@@ -92,7 +97,8 @@ public class Configuration {
                             final String stepId, //
                             boolean allowMetadataChange, //
                             boolean globalStatistics, //
-                            final Volume dataVolume) {
+                            final Volume dataVolume, //
+                            final long limit) {
         this.output = output;
         this.filter = filter;
         this.outFilter = outFilter;
@@ -106,6 +112,7 @@ public class Configuration {
         this.allowMetadataChange = allowMetadataChange;
         this.globalStatistics = globalStatistics;
         this.dataVolume = dataVolume;
+        this.limit = limit;
     }
 
     /**
@@ -155,6 +162,13 @@ public class Configuration {
         return dataVolume;
     }
 
+    /**
+     * @return The maximum number of rows in the transformed content ({@link Long#MAX_VALUE} if content is not limited).
+     */
+    public long getLimit() {
+        return limit;
+    }
+
     public boolean isAllowMetadataChange() {
         return allowMetadataChange;
     }
@@ -237,6 +251,8 @@ public class Configuration {
 
         private boolean globalStatistics = true;
 
+        private long limit = Long.MAX_VALUE;
+
         public Builder monitor(Supplier<Node> monitorSupplier) {
             this.monitorSupplier = monitorSupplier;
             return this;
@@ -255,7 +271,7 @@ public class Configuration {
          * @return a new {@link Configuration} from the mapper setup.
          */
         public Configuration build() {
-            return new Configuration(output, filter, outFilter, monitorSupplier, sourceType, format, actions, arguments, preparation, stepId, allowMetadataChange, globalStatistics, dataVolume);
+            return new Configuration(output, filter, outFilter, monitorSupplier, sourceType, format, actions, arguments, preparation, stepId, allowMetadataChange, globalStatistics, dataVolume, limit);
         }
 
         /**
@@ -339,5 +355,17 @@ public class Configuration {
             this.outFilter = outFilter;
             return this;
         }
+
+        /**
+         * Builder DSL for limit setter: transformation stops reading the input once <code>limit</code> rows were
+         * written (after out filter).
+         *
+         * @param limit The maximum number of rows in the transformed content.
+         * @return The mapper
+         */
+        public Builder limit(long limit) {
+            this.limit = limit;
+            return this;
+        }
     }
 }
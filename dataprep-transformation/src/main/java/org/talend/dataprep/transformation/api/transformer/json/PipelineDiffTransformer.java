@@ -14,7 +14,9 @@
 package org.talend.dataprep.transformation.api.transformer.json;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 import org.apache.commons.lang3.Validate;
 import org.slf4j.Logger;
@@ -104,7 +106,16 @@ class PipelineDiffTransformer implements Transformer {
         try {
             // Print pipeline before execution (for debug purposes).
             diffPipeline.logStatus(LOGGER, "Before execution: {}");
-            input.getRecords().forEach(r -> diffPipeline.exec().receive(r, rowMetadata));
+            // Records are sorted by TDP id: stop reading (and close records) once past max index or limit
+            final long limit = configuration.getLimit();
+            final AtomicLong count = new AtomicLong();
+            try (Stream<DataSetRow> records = input.getRecords()) {
+                records.allMatch(r -> {
+                    final long tdpId = r.getTdpId();
+                    diffPipeline.exec().receive(r, rowMetadata);
+                    return tdpId < maxIndex && count.incrementAndGet() < limit;
+                });
+            }
             diffPipeline.exec().signal(Signal.END_OF_STREAM);
         } finally {
             // Print pipeline after execution (for debug purposes).
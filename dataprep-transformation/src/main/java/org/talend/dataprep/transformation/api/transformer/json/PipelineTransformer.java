@@ -15,12 +15,14 @@ package org.talend.dataprep.transformation.api.transformer.json;
 import static org.talend.dataprep.cache.ContentCache.TimeToLive.DEFAULT;
 import static org.talend.dataprep.transformation.api.transformer.configuration.Configuration.Volume.SMALL;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.talend.dataprep.api.dataset.DataSet;
 import org.talend.dataprep.api.dataset.RowMetadata;
@@ -28,7 +30,10 @@ import org.talend.dataprep.api.preparation.PreparationMessage;
 import org.talend.dataprep.api.preparation.Step;
 import org.talend.dataprep.cache.ContentCache;
 import org.talend.dataprep.dataset.StatisticsAdapter;
+import org.talend.dataprep.exception.TDPException;
+import org.talend.dataprep.exception.error.TransformationErrorCodes;
 import org.talend.dataprep.quality.AnalyzerService;
+import org.talend.dataprep.transformation.actions.common.RunnableAction;
 import org.talend.dataprep.transformation.api.action.ActionParser;
 import org.talend.dataprep.transformation.api.transformer.ConfiguredCacheWriter;
 import org.talend.dataprep.transformation.api.transformer.Transformer;
@@ -39,7 +44,9 @@ import org.talend.dataprep.transformation.cache.TransformationMetadataCacheKey;
 import org.talend.dataprep.transformation.format.WriterRegistrationService;
 import org.talend.dataprep.transformation.pipeline.ActionRegistry;
 import org.talend.dataprep.transformation.pipeline.Pipeline;
+import org.talend.dataprep.transformation.pipeline.RunningPipelines;
 import org.talend.dataprep.transformation.pipeline.Visitor;
+import org.talend.dataprep.transformation.pipeline.builder.ActionsStaticProfiler;
 import org.talend.dataprep.transformation.pipeline.model.WriterNode;
 import org.talend.dataprep.transformation.pipeline.node.StepNode;
 import org.talend.dataprep.transformation.service.PreparationUpdater;
@@ -77,6 +84,21 @@ public class PipelineTransformer implements Transformer {
     @Autowired
     private PreparationUpdater preparationUpdater;
 
+    @Autowired
+    private RunningPipelines runningPipelines;
+
+    /** Maximum number of column shards analyzed in parallel when computing statistics (1 for no parallel analysis). */
+    @Value("${transformation.statistics.shards:1}")
+    private int statisticsShards;
+
+    /** Number of partitions running row local actions in parallel (1 to run actions in pipeline thread). */
+    @Value("${transformation.pipeline.partitions:1}")
+    private int partitions;
+
+    /** Number of rows sent at once in the pipeline (1 to send rows one by one). */
+    @Value("${transformation.pipeline.batch.size:1}")
+    private int batchSize;
+
     @Override
     public void transform(DataSet input, Configuration configuration) {
         final RowMetadata rowMetadata = input.getMetadata().getRowMetadata();
@@ -90,23 +112,43 @@ public class PipelineTransformer implements Transformer {
         final TransformationMetadataCacheKey metadataKey = cacheKeyGenerator.generateMetadataKey(configuration.getPreparationId(),
                 configuration.stepId(), configuration.getSourceType());
         final PreparationMessage preparation = configuration.getPreparation();
+        final List<RunnableAction> actions = actionParser.parse(configuration.getActions());
+        if (new ActionsStaticProfiler(actionRegistry).keepsColumns(actions)) {
+            // Columns are known before transformation, writer may write rows as they come
+            try {
+                writer.writeHeader(rowMetadata);
+            } catch (IOException e) {
+                throw new TDPException(TransformationErrorCodes.UNABLE_TO_TRANSFORM_DATASET, e);
+            }
+        }
         final Pipeline pipeline = Pipeline.Builder.builder().withAnalyzerService(analyzerService) //
                 .withActionRegistry(actionRegistry) //
                 .withPreparation(preparation) //
-                .withActions(actionParser.parse(configuration.getActions())) //
+                .withActions(actions) //
                 .withInitialMetadata(rowMetadata, configuration.volume() == SMALL) //
                 .withMonitor(configuration.getMonitor()) //
                 .withFilter(configuration.getFilter()) //
                 .withFilterOut(configuration.getOutFilter()) //
+                .withLimit(configuration.getLimit()) //
                 .withOutput(() -> new WriterNode(writer, metadataWriter, metadataKey, fallBackRowMetadata)) //
                 .withStatisticsAdapter(adapter) //
+                .withStatisticsShards(statisticsShards) //
+                .withPartitions(partitions) //
+                .withBatchSize(batchSize) //
                 .withGlobalStatistics(configuration.isGlobalStatistics()) //
                 .allowMetadataChange(configuration.isAllowMetadataChange()) //
                 .build();
+        final String preparationId = configuration.getPreparationId();
+        if (preparationId != null) {
+            runningPipelines.add(preparationId, pipeline);
+        }
         try {
             LOGGER.debug("Before transformation: {}", pipeline);
             pipeline.execute(input);
         } finally {
+            if (preparationId != null) {
+                runningPipelines.remove(preparationId, pipeline);
+            }
             LOGGER.debug("After transformation: {}", pipeline);
         }
 
@@ -16,6 +16,7 @@ package org.talend.dataprep.transformation.format;
 import static org.talend.dataprep.transformation.format.CSVFormat.CSV;
 
 import java.io.*;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Map;
 
@@ -36,6 +37,11 @@ import org.talend.dataprep.util.FilesHelper;
 
 /**
  * Write datasets in CSV.
+ * <p>
+ * When the columns are known before the rows (see {@link #writeHeader(RowMetadata)}), the header and then the records
+ * are written directly to the output. Otherwise, records are buffered in a temporary file until the columns are written
+ * at the end of the transformation (columns must then be the same as the header, as records are already written).
+ * </p>
  */
 @Scope("prototype")
 @Component("writer#" + CSV)
@@ -53,9 +59,17 @@ public class CSVWriter implements TransformerWriter {
 
     private final char separator;
 
-    private final File bufferFile;
+    /** Temporary file for the records written before the columns, null until the first buffered record. */
+    private File bufferFile;
 
-    private final au.com.bytecode.opencsv.CSVWriter recordsWriter;
+    /** Writer of the records written before the columns (in {@link #bufferFile}). */
+    private au.com.bytecode.opencsv.CSVWriter recordsWriter;
+
+    /** Writer to the output once the header is written, null until then. */
+    private au.com.bytecode.opencsv.CSVWriter outputWriter;
+
+    /** The columns names written in header (when written before the records). */
+    private String[] header;
 
     /**
      * Simple constructor with default separator value.
@@ -73,50 +87,91 @@ public class CSVWriter implements TransformerWriter {
      * @param parameters parameters to get the separator from.
      */
     public CSVWriter(final OutputStream output, Map<String, String> parameters) {
-        try {
-            this.output = output;
-            String separatorParameter = parameters.get(SEPARATOR_PARAM_NAME);
-            if (separatorParameter == null || StringUtils.isEmpty(separatorParameter) || separatorParameter.length() > 1) {
-                this.separator = String.valueOf(DEFAULT_SEPARATOR).charAt(0);
-            } else {
-                this.separator = separatorParameter.charAt(0);
-            }
-            bufferFile = File.createTempFile("csvWriter", ".csv");
-            recordsWriter = new au.com.bytecode.opencsv.CSVWriter(new FileWriter(bufferFile), separator);
-        } catch (IOException e) {
-            throw new TDPException(TransformationErrorCodes.UNABLE_TO_USE_EXPORT, e);
+        this.output = output;
+        String separatorParameter = parameters.get(SEPARATOR_PARAM_NAME);
+        if (separatorParameter == null || StringUtils.isEmpty(separatorParameter) || separatorParameter.length() > 1) {
+            this.separator = String.valueOf(DEFAULT_SEPARATOR).charAt(0);
+        } else {
+            this.separator = separatorParameter.charAt(0);
         }
     }
 
+    /**
+     * Write the columns names to the output, records written after are directly written to the output.
+     *
+     * @see TransformerWriter#writeHeader(RowMetadata)
+     */
+    @Override
+    public void writeHeader(final RowMetadata rowMetadata) throws IOException {
+        if (outputWriter != null || recordsWriter != null) {
+            // header already written, or records already buffered: columns are written at the end
+            return;
+        }
+        outputWriter = new au.com.bytecode.opencsv.CSVWriter(new OutputStreamWriter(output), separator);
+        header = getColumnsName(rowMetadata);
+        outputWriter.writeNext(header);
+        outputWriter.flush();
+    }
+
     /**
      * @see TransformerWriter#write(RowMetadata)
      */
     @Override
     public void write(final RowMetadata rowMetadata) throws IOException {
+        if (outputWriter != null) {
+            // columns and records are already written
+            outputWriter.flush();
+            final String[] columns = getColumnsName(rowMetadata);
+            if (!Arrays.equals(header, columns)) {
+                LOGGER.error("Columns {} differ from written header {}.", Arrays.toString(columns), Arrays.toString(header));
+                throw new TDPException(TransformationErrorCodes.UNABLE_TO_TRANSFORM_DATASET);
+            }
+            return;
+        }
         // write the columns names
-        String[] columnsName = rowMetadata.getColumns().stream().map(ColumnMetadata::getName).toArray(String[]::new);
         au.com.bytecode.opencsv.CSVWriter csvWriter = //
         new au.com.bytecode.opencsv.CSVWriter(new OutputStreamWriter(output), separator);
-        csvWriter.writeNext(columnsName);
+        csvWriter.writeNext(getColumnsName(rowMetadata));
         csvWriter.flush();
         // Write buffered records
-        recordsWriter.flush();
-        try (InputStream input = new FileInputStream(bufferFile)) {
-            IOUtils.copy(input, output);
-        } finally {
-            recordsWriter.close();
+        if (recordsWriter != null) {
+            recordsWriter.flush();
+            try (InputStream input = new FileInputStream(bufferFile)) {
+                IOUtils.copy(input, output);
+            } finally {
+                recordsWriter.close();
+            }
         }
+    }
 
+    private static String[] getColumnsName(final RowMetadata rowMetadata) {
+        return rowMetadata.getColumns().stream().map(ColumnMetadata::getName).toArray(String[]::new);
     }
 
     /**
      * @see TransformerWriter#write(DataSetRow)
-     * @throws UnsupportedOperationException if CsvWriter#write(RowMetadata) was not called before.
      */
     @Override
     public void write(final DataSetRow row) throws IOException {
         // values need to be written in the same order as the columns
-        recordsWriter.writeNext(row.order().toArray(DataSetRow.SKIP_TDP_ID));
+        final String[] values = row.order().toArray(DataSetRow.SKIP_TDP_ID);
+        if (outputWriter != null) {
+            outputWriter.writeNext(values);
+        } else {
+            getRecordsWriter().writeNext(values);
+        }
+    }
+
+    private au.com.bytecode.opencsv.CSVWriter getRecordsWriter() {
+        if (recordsWriter == null) {
+            try {
+                bufferFile = File.createTempFile("csvWriter", ".csv");
+                recordsWriter = new au.com.bytecode.opencsv.CSVWriter(new FileWriter(bufferFile), separator);
+            } catch (IOException e) {
+                throw new TDPException(TransformationErrorCodes.UNABLE_TO_USE_EXPORT, e);
+            }
+        }
+        return recordsWriter;
     }
 
     /**
@@ -124,11 +179,16 @@ public class CSVWriter implements TransformerWriter {
      */
     @Override
     public void flush() throws IOException {
+        if (outputWriter != null) {
+            outputWriter.flush();
+        }
         output.flush();
-        try {
-            FilesHelper.delete(bufferFile);
-        } catch (IOException e) {
-            LOGGER.warn("Unable to delete temporary file '{}'", bufferFile, e);
+        if (bufferFile != null) {
+            try {
+                FilesHelper.delete(bufferFile);
+            } catch (IOException e) {
+                LOGGER.warn("Unable to delete temporary file '{}'", bufferFile, e);
+            }
         }
     }
 
@@ -0,0 +1,65 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.pipeline;
+
+import static java.util.stream.Collectors.toList;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps track of the pipelines running for preparations, so their node metrics can be read while they run.
+ *
+ * @see PipelineProfiler
+ */
+@Component
+public class RunningPipelines {
+
+    private final Map<String, List<Pipeline>> pipelines = new ConcurrentHashMap<>();
+
+    /**
+     * Registers a running pipeline (to be {@link #remove(String, Pipeline) removed} once pipeline is over).
+     *
+     * @param preparationId The preparation id.
+     * @param pipeline The pipeline that runs preparation.
+     */
+    public void add(String preparationId, Pipeline pipeline) {
+        pipelines.computeIfAbsent(preparationId, id -> new CopyOnWriteArrayList<>()).add(pipeline);
+    }
+
+    /**
+     * @param preparationId The preparation id.
+     * @param pipeline A pipeline previously {@link #add(String, Pipeline) added}.
+     */
+    public void remove(String preparationId, Pipeline pipeline) {
+        pipelines.computeIfPresent(preparationId, (id, running) -> {
+            running.remove(pipeline);
+            return running.isEmpty() ? null : running;
+        });
+    }
+
+    /**
+     * @param preparationId The preparation id.
+     * @return The metrics of the nodes of each pipeline currently running for this preparation (values are read while
+     * pipelines run, hence approximate).
+     */
+    public List<List<PipelineProfiler.NodeProfile>> profile(String preparationId) {
+        final List<Pipeline> running = pipelines.getOrDefault(preparationId, Collections.emptyList());
+        return running.stream().map(PipelineProfiler::profile).collect(toList());
+    }
+}
@@ -22,6 +22,7 @@ import org.talend.dataprep.api.dataset.row.DataSetRow;
 import org.talend.dataprep.transformation.api.transformer.TransformerWriter;
 import org.talend.dataprep.transformation.pipeline.Monitored;
 import org.talend.dataprep.transformation.pipeline.Node;
+import org.talend.dataprep.transformation.pipeline.NodeMetrics;
 import org.talend.dataprep.transformation.pipeline.Signal;
 import org.talend.dataprep.transformation.pipeline.Visitor;
 import org.talend.dataprep.transformation.pipeline.node.BasicNode;
@@ -32,9 +33,7 @@ public class DiffWriterNode extends BasicNode implements Monitored {
 
     private final TransformerWriter writer;
 
-    private long totalTime;
-
-    private int count;
+    private final NodeMetrics metrics = new NodeMetrics();
 
     private boolean startRecords;
 
@@ -47,18 +46,13 @@ public class DiffWriterNode extends BasicNode implements Monitored {
     }
 
     @Override
-    public long getTotalTime() {
-        return totalTime;
-    }
-
-    @Override
-    public long getCount() {
-        return count;
+    public NodeMetrics getMetrics() {
+        return metrics;
     }
 
     @Override
     public void receive(final DataSetRow[] rows, final RowMetadata[] metadatas) {
-        final long start = System.currentTimeMillis();
+        metrics.start();
         try {
             // write start if not already started
             if (!startRecords) {
@@ -75,6 +69,9 @@ public class DiffWriterNode extends BasicNode implements Monitored {
             }
             if (initialRow.shouldWrite()) {
                 writer.write(initialRow);
+                metrics.emitted();
+            } else {
+                metrics.filtered();
             }
 
             // save metadata array to write at the end
@@ -82,15 +79,14 @@ public class DiffWriterNode extends BasicNode implements Monitored {
         } catch (final IOException e) {
             LOGGER.error("Unable to write record.", e);
         } finally {
-            totalTime += System.currentTimeMillis() - start;
-            count++;
+            metrics.stop();
         }
     }
 
     @Override
     public void signal(Signal signal) {
         if ((signal == Signal.END_OF_STREAM || signal == Signal.CANCEL || signal == Signal.STOP) && !endMetadata) {
-            final long start = System.currentTimeMillis();
+            final long start = System.nanoTime();
             try {
                 writer.endArray(); // <- end records
                 writer.fieldName("metadata"); // <- start metadata
@@ -114,7 +110,7 @@ public class DiffWriterNode extends BasicNode implements Monitored {
             } catch (IOException e) {
                 LOGGER.error("Unable to end writer.", e);
             } finally {
-                totalTime += System.currentTimeMillis() - start;
+                metrics.addTime(System.nanoTime() - start);
                 endMetadata = true;
             }
         } else {
@@ -44,9 +44,7 @@ public class WriterNode extends BasicNode implements Monitored {
 
     private boolean startRecords = false;
 
-    private long totalTime;
-
-    private int count;
+    private final NodeMetrics metrics = new NodeMetrics();
 
     /** True if the writer is stopped. */
     private AtomicBoolean isStopped = new AtomicBoolean(false);
@@ -83,7 +81,8 @@ public class WriterNode extends BasicNode implements Monitored {
             return;
         }
 
-        final long start = System.currentTimeMillis();
+        boolean written = false;
+        metrics.start();
         try {
             if (!startRecords) {
                 writer.startObject();
@@ -94,13 +93,65 @@ public class WriterNode extends BasicNode implements Monitored {
             lastRowMetadata = metadata;
             if (row.shouldWrite()) {
                 writer.write(row);
-                super.receive(row, metadata);
+                written = true;
             }
         } catch (IOException e) {
             LOGGER.error("Unable to write record.", e);
         } finally {
-            totalTime += System.currentTimeMillis() - start;
-            count++;
+            metrics.stop();
+        }
+        if (written) {
+            metrics.emitted();
+            super.receive(row, metadata);
+        } else {
+            metrics.filtered();
+        }
+    }
+
+    /**
+     * Synchronized method not to clash with the signal method.
+     *
+     * @see WriterNode#signal(Signal)
+     * @see RuntimeNode#receive(RowBatch)
+     */
+    @Override
+    public synchronized void receive(RowBatch batch) {
+
+        // do not write these rows if the writer is stopped
+        if (isStopped.get()) {
+            LOGGER.debug("already finished or canceled, let's skip these rows");
+            return;
+        }
+
+        try {
+            if (!startRecords) {
+                writer.startObject();
+                writer.fieldName("records");
+                writer.startArray();
+                startRecords = true;
+            }
+        } catch (IOException e) {
+            LOGGER.error("Unable to write record.", e);
+        }
+        lastRowMetadata = batch.getMetadata();
+        final int filtered = batch.retain(row -> {
+            metrics.start();
+            try {
+                if (row.shouldWrite()) {
+                    writer.write(row);
+                    return true;
+                }
+            } catch (IOException e) {
+                LOGGER.error("Unable to write record.", e);
+            } finally {
+                metrics.stop();
+            }
+            return false;
+        });
+        metrics.filtered(filtered);
+        if (!batch.isEmpty()) {
+            metrics.emitted(batch.size());
+            emit(batch);
         }
     }
 
@@ -150,7 +201,7 @@ public class WriterNode extends BasicNode implements Monitored {
         // set this writer to stopped
         this.isStopped.set(true);
 
-        final long start = System.currentTimeMillis();
+        final long start = System.nanoTime();
 
         try {
             // no row received, let's switch to the fallback row metadata
@@ -175,7 +226,7 @@ public class WriterNode extends BasicNode implements Monitored {
         } catch (IOException e) {
             LOGGER.error("Unable to end writer.", e);
         } finally {
-            totalTime += System.currentTimeMillis() - start;
+            metrics.addTime(System.nanoTime() - start);
         }
 
         // Cache computed metadata for later reuse
@@ -199,13 +250,8 @@ public class WriterNode extends BasicNode implements Monitored {
     }
 
     @Override
-    public long getTotalTime() {
-        return totalTime;
-    }
-
-    @Override
-    public long getCount() {
-        return count;
+    public NodeMetrics getMetrics() {
+        return metrics;
     }
 
     public TransformerWriter getWriter() {
@@ -54,6 +54,7 @@ import org.apache.lucene.store.FSDirectory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.task.TaskExecutor;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -112,6 +113,8 @@ import org.talend.dataprep.transformation.api.transformer.suggestion.SuggestionE
 import org.talend.dataprep.transformation.cache.CacheKeyGenerator;
 import org.talend.dataprep.transformation.cache.TransformationMetadataCacheKey;
 import org.talend.dataprep.transformation.pipeline.ActionRegistry;
+import org.talend.dataprep.transformation.pipeline.PipelineProfiler;
+import org.talend.dataprep.transformation.pipeline.RunningPipelines;
 import org.talend.dataprep.transformation.preview.api.PreviewParameters;
 import org.talend.dataquality.common.inference.Analyzer;
 import org.talend.dataquality.common.inference.Analyzers;
@@ -192,12 +195,24 @@ public class TransformationService extends BaseTransformationService {
     @Autowired
     private StatisticsAdapter statisticsAdapter;
 
+    /**
+     * Pipelines currently running for preparations.
+     */
+    @Autowired
+    private RunningPipelines runningPipelines;
+
     /**
      * The root step.
      */
     @Resource(name = "rootStep")
     private Step rootStep;
 
+    /**
+     * The maximum number of rows in a sample (previews stop reading content once this number of rows is read).
+     */
+    @Value("${dataset.records.limit:10000}")
+    private long sampleSize;
+
     @RequestMapping(value = "/apply", method = POST, consumes = APPLICATION_JSON_VALUE)
     @ApiOperation(value = "Run the transformation given the provided export parameters", notes = "This operation transforms the dataset or preparation using parameters in export parameters.")
     @VolumeMetered
@@ -475,6 +490,13 @@ public class TransformationService extends BaseTransformationService {
         }
     }
 
+    @RequestMapping(value = "/preparation/{preparationId}/profile", method = GET, produces = APPLICATION_JSON_VALUE)
+    @ApiOperation(value = "Get the metrics of the transformations running for the preparation", notes = "This operation returns, for each transformation running for the preparation, the rows and processing times of its nodes (times are in nanoseconds).")
+    @Timed
+    public List<List<PipelineProfiler.NodeProfile>> profile(@ApiParam(value = "Preparation Id.") @PathVariable(value = "preparationId") final String preparationId) {
+        return runningPipelines.profile(preparationId);
+    }
+
     private void evictCache(final String preparationId, final ExportParameters.SourceType sourceType) {
         final ContentCacheKey metadataKey = cacheKeyGenerator.metadataBuilder()
                 .preparationId(preparationId)
@@ -547,6 +569,7 @@ public class TransformationService extends BaseTransformationService {
                                 .format(JSON) //
                                 .output(output) //
                                 .actions(referenceActions) //
+                                .limit(sampleSize) //
                                 .build() //
                 ) //
                 .build();
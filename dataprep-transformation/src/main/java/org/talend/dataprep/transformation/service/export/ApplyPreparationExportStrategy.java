@@ -113,6 +113,7 @@ public class ApplyPreparationExportStrategy extends StandardExportStrategy {
                         .preparation(getPreparation(preparationId)) //
                         .stepId(version) //
                         .volume(SMALL) //
+                        .limit(sampleSize) //
                         .output(tee) //
                         .build();
                 factory.get(configuration).transform(dataSet, configuration);
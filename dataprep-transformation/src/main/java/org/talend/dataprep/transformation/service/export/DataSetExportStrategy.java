@@ -67,6 +67,7 @@ public class DataSetExportStrategy extends StandardExportStrategy {
                             .outFilter(rm -> filterService.build(parameters.getFilter(), rm)) //
                             .format(format.getName()) //
                             .volume(Configuration.Volume.SMALL) //
+                            .limit(sampleSize) //
                             .output(outputStream) //
                             .build();
                     factory.get(configuration).transform(dataSet, configuration);
@@ -152,6 +152,7 @@ public class OptimizedExportStrategy extends StandardExportStrategy {
                         .preparation(preparation) //
                         .stepId(version) //
                         .volume(Configuration.Volume.SMALL) //
+                        .limit(sampleSize) //
                         .output(tee) //
                         .build();
                 factory.get(configuration).transform(dataSet, configuration);
@@ -274,47 +275,53 @@ public class OptimizedExportStrategy extends StandardExportStrategy {
             }
             // head is not allowed as step id
             version = stepId;
-            previousVersion = rootStep.getId();
             final List<String> steps = preparation.getSteps().stream().map(Step::id).collect(Collectors.toList());
-            if (steps.size() <= 2) {
-                LOGGER.debug("Not enough steps ({}) in preparation.", steps.size());
-                return null;
-            }
             if (StringUtils.equals("head", stepId) || StringUtils.isEmpty(stepId)) {
                 version = steps.get(steps.size() - 1);
-                previousVersion = steps.get(steps.size() - 2);
             }
-            // Get metadata of previous step
-            final TransformationMetadataCacheKey transformationMetadataCacheKey = cacheKeyGenerator.generateMetadataKey(preparationId, previousVersion, sourceType);
-            if (!contentCache.has(transformationMetadataCacheKey)) {
-                LOGGER.debug("No metadata cached for previous version '{}' (key for lookup: '{}')", previousVersion,
-                        transformationMetadataCacheKey.getKey());
+            final int versionIndex = steps.indexOf(version);
+            if (versionIndex <= 0) {
+                LOGGER.debug("No step before version '{}' in preparation.", version);
                 return null;
             }
-            try (InputStream input = contentCache.get(transformationMetadataCacheKey)) {
-                metadata = mapper.readerFor(DataSetMetadata.class).readValue(input);
-            }
-            transformationCacheKey = cacheKeyGenerator.generateContentKey(
-                    dataSetId,
-                    preparationId,
-                    previousVersion,
-                    formatName,
-                    sourceType
-            );
-            LOGGER.debug("Previous content cache key: " + transformationCacheKey.getKey());
-            LOGGER.debug("Previous content cache key details: " + transformationCacheKey.toString());
-            final InputStream inputStream = contentCache.get(transformationCacheKey);
-            try {
-                if (inputStream == null) {
-                    LOGGER.debug("No content cached for previous version '{}'", previousVersion);
-                    return null;
+            // Look for the nearest step before version with both metadata and content in cache (only actions after
+            // this step need to be replayed).
+            for (int i = versionIndex - 1; i >= 0; i--) {
+                final String candidate = steps.get(i);
+                final TransformationMetadataCacheKey transformationMetadataCacheKey = cacheKeyGenerator
+                        .generateMetadataKey(preparationId, candidate, sourceType);
+                if (!contentCache.has(transformationMetadataCacheKey)) {
+                    LOGGER.debug("No metadata cached for version '{}' (key for lookup: '{}')", candidate,
+                            transformationMetadataCacheKey.getKey());
+                    continue;
+                }
+                final TransformationCacheKey contentKey = cacheKeyGenerator.generateContentKey(
+                        dataSetId,
+                        preparationId,
+                        candidate,
+                        formatName,
+                        sourceType
+                );
+                if (!contentCache.has(contentKey)) {
+                    LOGGER.debug("No content cached for version '{}' (key for lookup: '{}')", candidate, contentKey.getKey());
+                    continue;
                 }
-            } finally {
-                if (inputStream != null) {
-                    inputStream.close();
+                try (InputStream input = contentCache.get(transformationMetadataCacheKey)) {
+                    if (input == null) {
+                        // Evicted since has() call
+                        continue;
+                    }
+                    metadata = mapper.readerFor(DataSetMetadata.class).readValue(input);
                 }
+                previousVersion = candidate;
+                transformationCacheKey = contentKey;
+                LOGGER.debug("Previous content cache key: " + transformationCacheKey.getKey());
+                LOGGER.debug("Previous content cache key details: " + transformationCacheKey.toString());
+                LOGGER.debug("Replaying {} step(s) from cached version '{}'", versionIndex - i, previousVersion);
+                return this;
             }
-            return this;
+            LOGGER.debug("No cached content for any step before version '{}'", version);
+            return null;
         }
     }
 
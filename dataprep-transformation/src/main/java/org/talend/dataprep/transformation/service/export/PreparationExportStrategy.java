@@ -126,6 +126,7 @@ public class PreparationExportStrategy extends StandardExportStrategy {
                             .preparation(getPreparation(preparationId)) //
                             .stepId(version) //
                             .volume(Configuration.Volume.SMALL) //
+                            .limit(sampleSize) //
                             .output(tee) //
                             .build();
                     factory.get(configuration).transform(dataSet, configuration);
@@ -13,7 +13,12 @@
 
 package org.talend.dataprep.transformation.service.export;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.talend.dataprep.transformation.service.ExportStrategy;
 
 public abstract class StandardExportStrategy extends ExportStrategy {
+
+    /** The maximum number of rows in a sample: pipelines stop reading content once this number of rows is written. */
+    @Value("${dataset.records.limit:10000}")
+    protected long sampleSize;
 }
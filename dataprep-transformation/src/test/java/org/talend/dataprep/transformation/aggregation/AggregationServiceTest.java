@@ -13,13 +13,21 @@
 
 package org.talend.dataprep.transformation.aggregation;
 
+import static org.junit.Assert.assertEquals;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.IntStream;
+
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.talend.dataprep.api.dataset.DataSet;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
 import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.transformation.TransformationBaseTest;
 import org.talend.dataprep.transformation.aggregation.api.AggregationOperation;
 import org.talend.dataprep.transformation.aggregation.api.AggregationParameters;
+import org.talend.dataprep.transformation.aggregation.api.AggregationResult;
 import org.talend.dataprep.transformation.aggregation.api.Operator;
 
 /**
@@ -45,6 +53,30 @@ public class AggregationServiceTest extends TransformationBaseTest {
         service.aggregate(params, new DataSet());
     }
 
+    @Test
+    public void shouldAggregateInParallel() {
+        // given
+        final AggregationParameters params = new AggregationParameters();
+        params.addOperation(new AggregationOperation("0001", Operator.SUM));
+        params.addGroupBy("0000");
+        final int rows = AggregationService.CHUNK_SIZE * 10 + 1;
+        final DataSet dataSet = new DataSet();
+        dataSet.setRecords(IntStream.range(0, rows).mapToObj(i -> {
+            final Map<String, String> values = new HashMap<>();
+            values.put("0000", "group" + (i % 3));
+            values.put("0001", "1");
+            return new DataSetRow(values);
+        }));
+
+        // when
+        final AggregationResult result = service.aggregate(params, dataSet);
+
+        // then
+        assertEquals(rows / 3 + 1, result.get("group0").getValue(), 0d);
+        assertEquals(rows / 3, result.get("group1").getValue(), 0d);
+        assertEquals(rows / 3, result.get("group2").getValue(), 0d);
+    }
+
     // aggregation will be tested at service level, see AggregationTest.class
 
 }
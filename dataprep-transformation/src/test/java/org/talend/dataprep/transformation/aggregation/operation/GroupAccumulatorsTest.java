@@ -0,0 +1,100 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.aggregation.operation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+import org.talend.dataprep.transformation.aggregation.api.AggregationResult;
+import org.talend.dataprep.transformation.aggregation.api.Operator;
+
+/**
+ * Unit test for the group accumulators.
+ *
+ * @see GroupAccumulators
+ */
+public class GroupAccumulatorsTest {
+
+    @Test
+    public void shouldComputeAllOperators() {
+        for (Operator operator : new Operator[] { Operator.AVERAGE, Operator.MIN, Operator.MAX, Operator.SUM }) {
+            // given
+            final GroupAccumulators accumulators = new GroupAccumulators(operator);
+            accumulators.accumulate("toto", "10");
+            accumulators.accumulate("toto", "2");
+            accumulators.accumulate("toto", "not a number");
+            accumulators.accumulate("toto", "");
+            accumulators.accumulate("toto", null);
+            accumulators.accumulate("tata", "-5");
+
+            // when
+            final AggregationResult result = accumulators.toResult();
+
+            // then
+            switch (operator) {
+            case AVERAGE:
+                assertEquals(6d, result.get("toto").getValue(), 0d);
+                break;
+            case MIN:
+                assertEquals(2d, result.get("toto").getValue(), 0d);
+                break;
+            case MAX:
+                assertEquals(10d, result.get("toto").getValue(), 0d);
+                break;
+            default:
+                assertEquals(12d, result.get("toto").getValue(), 0d);
+                break;
+            }
+            assertEquals(-5d, result.get("tata").getValue(), 0d);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotSupportCount() {
+        new GroupAccumulators(Operator.COUNT);
+    }
+
+    @Test
+    public void shouldIgnoreGroupsWithoutNumbers() {
+        // given
+        final GroupAccumulators accumulators = new GroupAccumulators(Operator.AVERAGE);
+        accumulators.accumulate("toto", "10");
+        accumulators.accumulate("empty", "");
+
+        // then
+        assertEquals(1, accumulators.size());
+        assertNull(accumulators.toResult().get("empty"));
+    }
+
+    @Test
+    public void shouldMergeManyGroups() {
+        // given
+        final GroupAccumulators first = new GroupAccumulators(Operator.SUM);
+        final GroupAccumulators second = new GroupAccumulators(Operator.SUM);
+        for (int i = 0; i < 1000; i++) {
+            first.accumulate("group" + i, "1");
+            second.accumulate("group" + (i + 500), "2");
+        }
+
+        // when
+        final AggregationResult result = first.merge(second).toResult();
+
+        // then
+        assertEquals(1500, first.size());
+        assertEquals(1d, result.get("group0").getValue(), 0d);
+        assertEquals(3d, result.get("group500").getValue(), 0d);
+        assertEquals(2d, result.get("group1499").getValue(), 0d);
+    }
+}
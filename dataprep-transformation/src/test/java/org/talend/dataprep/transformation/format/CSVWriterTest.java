@@ -25,6 +25,7 @@ import org.talend.dataprep.api.dataset.ColumnMetadata;
 import org.talend.dataprep.api.dataset.RowMetadata;
 import org.talend.dataprep.api.dataset.row.DataSetRow;
 import org.talend.dataprep.api.type.Type;
+import org.talend.dataprep.exception.TDPException;
 
 /**
  * Unit test for the CSVWriter.
@@ -124,4 +125,44 @@ public class CSVWriterTest extends BaseFormatTest {
         assertThat(outputStream.toString()).isEqualTo(expectedCsv);
     }
 
-}
\ No newline at end of file
+    @Test
+    public void write_should_write_rows_directly_after_header() throws Exception {
+        // given
+        final ColumnMetadata column1 = ColumnMetadata.Builder.column().id(1).name("id").type(Type.STRING).build();
+        final ColumnMetadata column2 = ColumnMetadata.Builder.column().id(2).name("firstname").type(Type.STRING).build();
+        final List<ColumnMetadata> columns = Arrays.asList(column1, column2);
+
+        final DataSetRow row = new DataSetRow(Collections.emptyMap());
+        row.set("0001", "64a5456ac148b64524ef165");
+        row.set("0002", "Superman");
+
+        final String expectedCsv = "\"id\";\"firstname\"\n" + "\"64a5456ac148b64524ef165\";\"Superman\"\n";
+
+        // when
+        writer.writeHeader(new RowMetadata(columns));
+        writer.write(row);
+        writer.flush();
+
+        // then (row is written before the end of the transformation)
+        assertThat(outputStream.toString()).isEqualTo(expectedCsv);
+
+        // when
+        writer.write(new RowMetadata(columns));
+        writer.flush();
+
+        // then (columns are not written twice)
+        assertThat(outputStream.toString()).isEqualTo(expectedCsv);
+    }
+
+    @Test(expected = TDPException.class)
+    public void write_should_fail_when_columns_differ_from_header() throws Exception {
+        // given
+        final ColumnMetadata column1 = ColumnMetadata.Builder.column().id(1).name("id").type(Type.STRING).build();
+        final ColumnMetadata column2 = ColumnMetadata.Builder.column().id(2).name("firstname").type(Type.STRING).build();
+        writer.writeHeader(new RowMetadata(Arrays.asList(column1, column2)));
+
+        // when (columns were reordered after header was written)
+        writer.write(new RowMetadata(Arrays.asList(column2, column1)));
+    }
+
+}
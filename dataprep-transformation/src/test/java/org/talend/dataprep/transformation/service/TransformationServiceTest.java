@@ -160,6 +160,26 @@ public class TransformationServiceTest extends TransformationServiceBaseTest {
         JSONAssert.assertEquals(expectedContent, transformedContent, false);
     }
 
+    @Test
+    public void exportCsvWithReorderedColumns() throws Exception {
+        // given
+        String dataSetId = createDataset("input_dataset.csv", "reorder" + UUID.randomUUID().toString(), "text/csv");
+        String preparationId = createEmptyPreparationFromDataset(dataSetId, "reorder prep");
+        applyActionFromFile(preparationId, "reorder_action.json");
+
+        // when
+        String transformedContent = given() //
+                .expect().statusCode(200).log().ifError()//
+                .when() //
+                .get("/apply/preparation/{preparationId}/dataset/{datasetId}/{format}", preparationId, dataSetId, "CSV") //
+                .asString();
+
+        // then (header and values follow the reordered columns)
+        final String[] lines = transformedContent.split("\n");
+        assertTrue(lines[0].startsWith("\"firstname\",\"id\","));
+        assertTrue(lines[1].startsWith("\"Philip\",\"1\","));
+    }
+
     @Test
     public void lowercaseActionWithFilter() throws Exception {
         // given
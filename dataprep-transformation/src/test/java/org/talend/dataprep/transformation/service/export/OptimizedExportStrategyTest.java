@@ -174,6 +174,40 @@ public class OptimizedExportStrategyTest extends TransformationServiceBaseTest {
         assertTrue(optimizedExportStrategy.accept(exportParameters));
     }
 
+    @Test
+    public void testAcceptOK_withEarlierStepInCache() throws Exception {
+        // Given
+        final String datasetId = "1234";
+        final String format = "";
+        final String preparation = createEmptyPreparationFromDataset(datasetId, "test");
+        applyAction(preparation, "[{}]");
+        applyAction(preparation, "[{}]");
+        applyAction(preparation, "[{}]");
+
+        // only the first step (not the one right before head) is in cache
+        final Step cachedStep = getPreparation(preparation).getSteps().get(1);
+        try (OutputStream content = contentCache.put(cacheKeyGenerator.generateMetadataKey(preparation, cachedStep.id(), HEAD),
+                ContentCache.TimeToLive.DEFAULT)) {
+            content.write("{}".getBytes());
+            content.flush();
+        }
+        final TransformationCacheKey key = cacheKeyGenerator.generateContentKey(datasetId, preparation, cachedStep.id(), format,
+                HEAD);
+        try (OutputStream content = contentCache.put(key, ContentCache.TimeToLive.DEFAULT)) {
+            content.write("{}".getBytes());
+            content.flush();
+        }
+
+        ExportParameters exportParameters = new ExportParameters();
+        exportParameters.setPreparationId(preparation);
+        exportParameters.setDatasetId(datasetId);
+        exportParameters.setExportType(format);
+        exportParameters.setFrom(HEAD);
+
+        // Then
+        assertTrue(optimizedExportStrategy.accept(exportParameters));
+    }
+
     @Test
     public void testExecute() throws Exception {
         // Given